@@ -6,15 +6,18 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.http.HttpStatusCode;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
 import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
 
 import java.util.Map;
 import java.util.UUID;
 
 import static org.apache.logging.log4j.Level.ERROR;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.DYNAMODB_CLIENT;
 
 public class AbandonKbvHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -35,10 +38,16 @@ public class AbandonKbvHandler
     }
 
     public AbandonKbvHandler() {
+        this(new ColdStartMetrics());
+    }
+
+    private AbandonKbvHandler(ColdStartMetrics coldStartMetrics) {
         this(
                 new EventProbe(),
-                new KBVStorageService(new ConfigurationService()),
-                new SessionService());
+                coldStartMetrics.time(
+                        DYNAMODB_CLIENT, () -> new KBVStorageService(new ConfigurationService())),
+                coldStartMetrics.time(DYNAMODB_CLIENT, SessionService::new));
+        coldStartMetrics.emit();
     }
 
     @Override
@@ -49,9 +58,7 @@ public class AbandonKbvHandler
         try {
             var sessionHeader = input.getHeaders().get(HEADER_SESSION_ID);
             var sessionId = UUID.fromString(sessionHeader);
-            var kbvItem = kbvStorageService.getKBVItem(sessionId);
-            kbvItem.setStatus(ABANDON_STATUS);
-            kbvStorageService.update(kbvItem);
+            kbvStorageService.updateStatus(sessionId, ABANDON_STATUS);
 
             var sessionItem = sessionService.getSession(sessionId.toString());
             sessionService.createAuthorizationCode(sessionItem);
@@ -62,6 +69,9 @@ public class AbandonKbvHandler
         } catch (NullPointerException npe) {
             response.withStatusCode(HttpStatusCode.BAD_REQUEST);
             eventProbe.log(ERROR, npe).counterMetric(ABANDON_KBV, 0d);
+        } catch (ConditionalCheckFailedException e) {
+            response.withStatusCode(HttpStatusCode.BAD_REQUEST);
+            eventProbe.log(ERROR, e).counterMetric(ABANDON_KBV, 0d);
         } catch (AwsServiceException e) {
             response.withStatusCode(HttpStatusCode.INTERNAL_SERVER_ERROR);
             eventProbe.log(ERROR, e).counterMetric(ABANDON_KBV, 0d);
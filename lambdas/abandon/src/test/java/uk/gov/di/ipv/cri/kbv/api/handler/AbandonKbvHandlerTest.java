@@ -4,7 +4,6 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -12,10 +11,10 @@ import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.http.HttpStatusCode;
 import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import uk.gov.di.ipv.cri.common.library.persistence.item.SessionItem;
 import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
-import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
 
 import java.util.Map;
@@ -23,9 +22,9 @@ import java.util.UUID;
 
 import static org.apache.logging.log4j.Level.ERROR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -47,10 +46,6 @@ class AbandonKbvHandlerTest {
         Map<String, String> sessionHeader = Map.of(HEADER_SESSION_ID, UUID.randomUUID().toString());
         when(input.getHeaders()).thenReturn(sessionHeader);
 
-        KBVItem kbvItem = new KBVItem();
-        when(mockKbvStorageService.getKBVItem(
-                        UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
-                .thenReturn(kbvItem);
         SessionItem mockSessionItem = mock(SessionItem.class);
         when(mockSessionService.getSession(sessionHeader.get(HEADER_SESSION_ID)))
                 .thenReturn(mockSessionItem);
@@ -58,11 +53,11 @@ class AbandonKbvHandlerTest {
         var result = abandonKbvHandler.handleRequest(input, mock(Context.class));
 
         assertEquals(HttpStatusCode.OK, result.getStatusCode());
-        assertEquals(ABANDON_STATUS, kbvItem.getStatus());
 
         verify(mockKbvStorageService)
-                .getKBVItem(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
-        verify(mockKbvStorageService).update(kbvItem);
+                .updateStatus(
+                        UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)), ABANDON_STATUS);
+        verify(mockKbvStorageService, never()).getKBVItem(any(UUID.class));
         verify(mockSessionService).createAuthorizationCode(mockSessionItem);
         verify(mockEventProbe).counterMetric(ABANDON_KBV);
     }
@@ -81,12 +76,10 @@ class AbandonKbvHandlerTest {
     }
 
     @Test
-    void shouldReturn500InternalServerErrorWhenKbvItemCannotBeRetrievedDueToAWSError() {
-        ArgumentCaptor<String> abandonStatusCapture = ArgumentCaptor.forClass(String.class);
+    void shouldReturn500InternalServerErrorWhenKbvItemCannotBeUpdatedDueToAWSError() {
         Map<String, String> sessionHeader = Map.of(HEADER_SESSION_ID, UUID.randomUUID().toString());
         when(input.getHeaders()).thenReturn(sessionHeader);
-
-        var kbvItem = mock(KBVItem.class);
+        var sessionId = UUID.fromString(sessionHeader.get(HEADER_SESSION_ID));
 
         AwsErrorDetails awsErrorDetails =
                 AwsErrorDetails.builder()
@@ -97,41 +90,53 @@ class AbandonKbvHandlerTest {
                                         .build())
                         .errorMessage("AWS Server error occurred.")
                         .build();
-        when(mockKbvStorageService.getKBVItem(
-                        UUID.fromString(input.getHeaders().get(HEADER_SESSION_ID))))
-                .thenThrow(
+        doThrow(
                         AwsServiceException.builder()
                                 .statusCode(500)
                                 .awsErrorDetails(awsErrorDetails)
-                                .build());
+                                .build())
+                .when(mockKbvStorageService)
+                .updateStatus(sessionId, ABANDON_STATUS);
 
         when(mockEventProbe.log(any(ERROR.getClass()), any(AwsServiceException.class)))
                 .thenReturn(mockEventProbe);
         when(mockEventProbe.counterMetric(ABANDON_KBV, 0d)).thenReturn(mockEventProbe);
 
-        verify(kbvItem, never()).setStatus(abandonStatusCapture.capture());
-
         var response = abandonKbvHandler.handleRequest(input, mock(Context.class));
 
         assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        assertNotEquals(ABANDON_STATUS, kbvItem.getStatus());
-        verify(mockKbvStorageService)
-                .getKBVItem(UUID.fromString(input.getHeaders().get(HEADER_SESSION_ID)));
-        verify(mockKbvStorageService, never()).update(kbvItem);
+        verify(mockKbvStorageService).updateStatus(sessionId, ABANDON_STATUS);
+        verify(mockSessionService, never()).getSession(any());
         verify(mockEventProbe).log(any(ERROR.getClass()), any(AwsServiceException.class));
         verify(mockEventProbe).counterMetric(ABANDON_KBV, 0d);
     }
 
+    @Test
+    void shouldReturnErrorBadRequestWhenThereIsNoKbvItemForTheSession() {
+        Map<String, String> sessionHeader = Map.of(HEADER_SESSION_ID, UUID.randomUUID().toString());
+        when(input.getHeaders()).thenReturn(sessionHeader);
+        var sessionId = UUID.fromString(sessionHeader.get(HEADER_SESSION_ID));
+        doThrow(ConditionalCheckFailedException.builder().message("no item").build())
+                .when(mockKbvStorageService)
+                .updateStatus(sessionId, ABANDON_STATUS);
+        when(mockEventProbe.log(
+                        any(ERROR.getClass()), any(ConditionalCheckFailedException.class)))
+                .thenReturn(mockEventProbe);
+        when(mockEventProbe.counterMetric(ABANDON_KBV, 0d)).thenReturn(mockEventProbe);
+
+        var response = abandonKbvHandler.handleRequest(input, mock(Context.class));
+
+        assertEquals(HttpStatusCode.BAD_REQUEST, response.getStatusCode());
+        verify(mockSessionService, never()).getSession(any());
+        verify(mockEventProbe).counterMetric(ABANDON_KBV, 0d);
+    }
+
     @Test
     void shouldReturn500InternalServerErrorWhenSessionItemCannotBeRetrievedDueToAWSSError() {
         Map<String, String> sessionHeader = Map.of(HEADER_SESSION_ID, UUID.randomUUID().toString());
         when(input.getHeaders()).thenReturn(sessionHeader);
         var authorizationCode = UUID.randomUUID();
-        var kbvItem = new KBVItem();
         var mockSessionItem = mock(SessionItem.class);
-        when(mockKbvStorageService.getKBVItem(
-                        UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
-                .thenReturn(kbvItem);
         AwsErrorDetails awsErrorDetails =
                 AwsErrorDetails.builder()
                         .errorCode("")
@@ -6,8 +6,6 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.experian.uk.schema.experian.identityiq.services.webservice.ResultsQuestions;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import software.amazon.awssdk.http.HttpStatusCode;
 import software.amazon.lambda.powertools.logging.CorrelationIdPathConstants;
 import software.amazon.lambda.powertools.logging.Logging;
@@ -19,22 +17,32 @@ import uk.gov.di.ipv.cri.common.library.domain.AuditEventType;
 import uk.gov.di.ipv.cri.common.library.exception.SessionExpiredException;
 import uk.gov.di.ipv.cri.common.library.exception.SessionNotFoundException;
 import uk.gov.di.ipv.cri.common.library.exception.SqsException;
-import uk.gov.di.ipv.cri.common.library.persistence.item.SessionItem;
 import uk.gov.di.ipv.cri.common.library.service.AuditService;
 import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
 import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.ApiGatewayResponseGenerator;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
-import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
-import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
-import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
 import uk.gov.di.ipv.cri.kbv.api.gateway.KBVGatewayFactory;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
+import uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider;
+import uk.gov.di.ipv.cri.kbv.api.service.JourneyContext;
+import uk.gov.di.ipv.cri.kbv.api.service.JourneyContextService;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVService;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
+import uk.gov.di.ipv.cri.kbv.api.snapstart.SnapStartPrimer;
+import uk.gov.di.ipv.cri.kbv.api.snapstart.SnapStartResource;
+import uk.gov.di.ipv.cri.kbv.api.util.FutureUtils;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.ParallelInitializer;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -42,6 +50,9 @@ import java.util.Objects;
 import static org.apache.logging.log4j.Level.ERROR;
 import static uk.gov.di.ipv.cri.common.library.error.ErrorResponse.SESSION_EXPIRED;
 import static uk.gov.di.ipv.cri.common.library.error.ErrorResponse.SESSION_NOT_FOUND;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.DYNAMODB_CLIENT;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.JACKSON_WARMUP;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.SQS_CLIENT;
 
 public class QuestionAnswerHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -49,34 +60,91 @@ public class QuestionAnswerHandler
     private static final String HEADER_SESSION_ID = "session-id";
     private static final String ERROR_KEY = "error";
     private static final String LAMBDA_NAME = "post_answer";
-    private final ObjectMapper objectMapper;
+    private static final String AUDIT_EVENT_SKIPPED_METRIC = "audit_event_skipped";
+    private static final Duration AUDIT_BUDGET = Duration.ofSeconds(1);
+    private final JsonCodec jsonCodec;
+    private final JourneyContextService journeyContextService;
     private final KBVService kbvService;
-    private final KBVStorageService kbvStorageService;
     private final SessionService sessionService;
     private final EventProbe eventProbe;
     private final AuditService auditService;
+    private SnapStartResource snapStartResource;
 
     @ExcludeFromGeneratedCoverageReport
     public QuestionAnswerHandler() {
-        this.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
         var configurationService = new ConfigurationService();
-        this.kbvStorageService = new KBVStorageService(configurationService);
-        this.kbvService = new KBVService(new KBVGatewayFactory().create(configurationService));
-        this.sessionService = new SessionService(configurationService);
-        this.auditService = new AuditService(configurationService);
 
-        this.eventProbe = new EventProbe();
+        var eventProbe = new EventProbe();
+        var coldStartMetrics = new ColdStartMetrics();
+        var kbvGatewayFactory = new KBVGatewayFactory(coldStartMetrics);
+        var initializer = new ParallelInitializer();
+        var jsonCodec =
+                initializer.submit(
+                        "json_codec",
+                        () -> coldStartMetrics.time(JACKSON_WARMUP, JsonCodec::getInstance));
+        var questionStateCodec =
+                initializer.submit(
+                        "question_state_codec",
+                        jsonCodec,
+                        codec -> QuestionStateCodec.fromEnvironment(codec, eventProbe));
+        var kbvGateway =
+                initializer.submit(
+                        "kbv_gateway",
+                        () ->
+                                kbvGatewayFactory.create(
+                                        configurationService,
+                                        IIQConfigurationProvider.create(configurationService)));
+        var kbvService = initializer.submit("kbv_service", kbvGateway, KBVService::new);
+        initializer.submit("experian_prewarm", kbvGateway, gateway -> kbvGatewayFactory.prewarm());
+        var kbvStorageService =
+                initializer.submit(
+                        "kbv_storage_service",
+                        () ->
+                                coldStartMetrics.time(
+                                        DYNAMODB_CLIENT,
+                                        () -> new KBVStorageService(configurationService)));
+        var sessionService =
+                initializer.submit(
+                        "session_service",
+                        () ->
+                                coldStartMetrics.time(
+                                        DYNAMODB_CLIENT,
+                                        () -> new SessionService(configurationService)));
+        var auditService =
+                initializer.submit(
+                        "audit_service",
+                        () ->
+                                coldStartMetrics.time(
+                                        SQS_CLIENT, () -> new AuditService(configurationService)));
+        initializer.join();
+        coldStartMetrics.emit();
+
+        this.jsonCodec = jsonCodec.get();
+        this.kbvService = kbvService.get();
+        this.sessionService = sessionService.get();
+        this.journeyContextService =
+                new JourneyContextService(
+                        this.sessionService, kbvStorageService.get(), questionStateCodec.get());
+        this.auditService = auditService.get();
+        this.eventProbe = eventProbe;
+        var snapStartPrimer =
+                new SnapStartPrimer(this.jsonCodec, kbvGatewayFactory.getIdentityIQClient());
+        this.snapStartResource =
+                new SnapStartResource(snapStartPrimer::prime, kbvGatewayFactory::restore)
+                        .register();
     }
 
     public QuestionAnswerHandler(
-            ObjectMapper objectMapper,
+            JsonCodec jsonCodec,
+            QuestionStateCodec questionStateCodec,
             KBVStorageService kbvStorageService,
             KBVService kbvService,
             EventProbe eventProbe,
             SessionService sessionService,
             AuditService auditService) {
-        this.objectMapper = objectMapper;
-        this.kbvStorageService = kbvStorageService;
+        this.jsonCodec = jsonCodec;
+        this.journeyContextService =
+                new JourneyContextService(sessionService, kbvStorageService, questionStateCodec);
         this.sessionService = sessionService;
         this.auditService = auditService;
         this.kbvService = kbvService;
@@ -91,7 +159,10 @@ public class QuestionAnswerHandler
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
         try {
-            handleRequest(input.getBody(), input.getHeaders());
+            handleRequest(
+                    input.getBody(),
+                    input.getHeaders(),
+                    RequestDeadline.fromRemainingTime(context.getRemainingTimeInMillis()));
             eventProbe.counterMetric(LAMBDA_NAME);
             return new APIGatewayProxyResponseEvent()
                     .withHeaders(Map.of("Content-Type", "application/json"))
@@ -113,6 +184,16 @@ public class QuestionAnswerHandler
                     HttpStatusCode.INTERNAL_SERVER_ERROR,
                     jsonProcessingException,
                     "Failed to parse object using ObjectMapper.");
+        } catch (DeadlineExceededException deadlineExceededException) {
+            return handleException(
+                    HttpStatusCode.GATEWAY_TIMEOUT,
+                    deadlineExceededException,
+                    "Request deadline exceeded.");
+        } catch (ExperianUnavailableException experianUnavailableException) {
+            return handleException(
+                    HttpStatusCode.SERVICE_UNAVAILABLE,
+                    experianUnavailableException,
+                    "Experian is temporarily unavailable.");
         } catch (NullPointerException npe) {
             return handleException(
                     HttpStatusCode.BAD_REQUEST, npe, "Error finding the requested resource.");
@@ -133,69 +214,77 @@ public class QuestionAnswerHandler
         }
     }
 
-    public void handleRequest(String requestBody, Map<String, String> requestHeaders)
+    public void handleRequest(
+            String requestBody, Map<String, String> requestHeaders, RequestDeadline deadline)
             throws IOException, SqsException {
-        var sessionItem = sessionService.validateSessionId(requestHeaders.get(HEADER_SESSION_ID));
-        var kbvItem = kbvStorageService.getKBVItem(sessionItem.getSessionId());
+        var journeyContext =
+                journeyContextService.load(requestHeaders.get(HEADER_SESSION_ID), deadline);
 
-        var questionState = objectMapper.readValue(kbvItem.getQuestionState(), QuestionState.class);
-        var submittedAnswer = objectMapper.readValue(requestBody, QuestionAnswer.class);
+        var questionState = journeyContext.getQuestionState();
+        var submittedAnswer = jsonCodec.readQuestionAnswer(requestBody);
 
-        if (respondWithAnswerFromDbStore(submittedAnswer, questionState, kbvItem)) return;
-        respondWithAnswerFromExperianThenStoreInDb(
-                questionState, kbvItem, sessionItem, requestHeaders);
+        journeyContext.setAnswer(submittedAnswer);
+        if (questionState.hasAtLeastOneUnAnswered()) {
+            journeyContextService.update(journeyContext, deadline);
+            return;
+        }
+        try {
+            var questionsResponse =
+                    kbvService.submitAnswersAsync(createAnswerRequest(journeyContext), deadline);
+            respondWithAnswerFromExperianThenStoreInDb(
+                    FutureUtils.join(questionsResponse, deadline),
+                    journeyContext,
+                    requestHeaders,
+                    deadline);
+        } catch (IOException | RuntimeException e) {
+            journeyContextService.updateAfterFailure(journeyContext, e);
+            throw e;
+        }
     }
 
-    private void respondWithAnswerFromExperianThenStoreInDb(
-            QuestionState questionState,
-            KBVItem kbvItem,
-            SessionItem sessionItem,
-            Map<String, String> requestHeaders)
-            throws IOException, SqsException {
+    private QuestionAnswerRequest createAnswerRequest(JourneyContext journeyContext)
+            throws IOException {
         var questionAnswerRequest = new QuestionAnswerRequest();
-        questionAnswerRequest.setUrn(kbvItem.getUrn());
-        questionAnswerRequest.setAuthRefNo(kbvItem.getAuthRefNo());
-        questionAnswerRequest.setQuestionAnswers(questionState.getAnswers());
+        questionAnswerRequest.setUrn(journeyContext.getUrn());
+        questionAnswerRequest.setAuthRefNo(journeyContext.getAuthRefNo());
+        questionAnswerRequest.setQuestionAnswers(journeyContext.getQuestionState().getAnswers());
+        return questionAnswerRequest;
+    }
 
-        var questionsResponse = kbvService.submitAnswers(questionAnswerRequest);
+    private void respondWithAnswerFromExperianThenStoreInDb(
+            QuestionsResponse questionsResponse,
+            JourneyContext journeyContext,
+            Map<String, String> requestHeaders,
+            RequestDeadline deadline)
+            throws IOException, SqsException {
         if (questionsResponse.hasQuestions()) {
-            questionState.setQAPairs(questionsResponse.getQuestions());
-            var serializedQuestionState = objectMapper.writeValueAsString(questionState);
-            kbvItem.setQuestionState(serializedQuestionState);
-            kbvStorageService.update(kbvItem);
+            journeyContext.setQuestions(questionsResponse.getQuestions());
+            journeyContextService.update(journeyContext, deadline);
         } else if (questionsResponse.getResults() != null
                 && questionsResponse.hasQuestionRequestEnded()) {
-            var serializedQuestionState = objectMapper.writeValueAsString(questionState);
-            kbvItem.setQuestionState(serializedQuestionState);
-            kbvItem.setStatus(questionsResponse.getStatus());
-            kbvStorageService.update(kbvItem);
+            journeyContext.setStatus(questionsResponse.getStatus());
+            journeyContextService.update(journeyContext, deadline);
 
+            var sessionItem = journeyContext.getSessionItem();
             sessionService.createAuthorizationCode(sessionItem);
 
-            auditService.sendAuditEvent(
-                    AuditEventType.THIRD_PARTY_REQUEST_ENDED,
-                    new AuditEventContext(requestHeaders, sessionItem),
-                    createAuditEventExtensions(questionsResponse));
+            if (deadline.hasRemaining(AUDIT_BUDGET)) {
+                auditService.sendAuditEvent(
+                        AuditEventType.THIRD_PARTY_REQUEST_ENDED,
+                        new AuditEventContext(requestHeaders, sessionItem),
+                        createAuditEventExtensions(questionsResponse));
+            } else {
+                eventProbe.counterMetric(AUDIT_EVENT_SKIPPED_METRIC);
+            }
         } else if (questionsResponse.getError() != null) {
-            var serializedQuestionState = objectMapper.writeValueAsString(questionState);
-            kbvItem.setQuestionState(serializedQuestionState);
-            kbvItem.setStatus(questionsResponse.getError().getMessage());
-            kbvStorageService.update(kbvItem);
+            journeyContext.setStatus(questionsResponse.getError().getMessage());
+            journeyContextService.update(journeyContext, deadline);
             throw new IllegalStateException(questionsResponse.getError().getMessage());
+        } else {
+            journeyContextService.update(journeyContext, deadline);
         }
     }
 
-    private boolean respondWithAnswerFromDbStore(
-            QuestionAnswer answer, QuestionState questionState, KBVItem kbvItem)
-            throws JsonProcessingException {
-
-        questionState.setAnswer(answer);
-        kbvItem.setQuestionState(objectMapper.writeValueAsString(questionState));
-        kbvStorageService.update(kbvItem);
-
-        return questionState.hasAtLeastOneUnAnswered();
-    }
-
     private Map<String, Object> createAuditEventExtensions(QuestionsResponse questionsResponse) {
         Map<String, Object> contextEntries = new HashMap<>();
         contextEntries.put("outcome", questionsResponse.getStatus());
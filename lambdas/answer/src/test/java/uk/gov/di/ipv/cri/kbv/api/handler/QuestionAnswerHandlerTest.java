@@ -7,7 +7,6 @@ import com.experian.uk.schema.experian.identityiq.services.webservice.Error;
 import com.experian.uk.schema.experian.identityiq.services.webservice.Results;
 import com.experian.uk.schema.experian.identityiq.services.webservice.ResultsQuestions;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.Level;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,16 +26,23 @@ import uk.gov.di.ipv.cri.common.library.service.AuditService;
 import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
 import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItemUpdate;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
 import uk.gov.di.ipv.cri.kbv.api.gateway.KBVGateway;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVService;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 
 import java.io.IOException;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -48,7 +54,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -61,7 +67,8 @@ class QuestionAnswerHandlerTest {
     public static final String REQUEST_PAYLOAD =
             "\"questionID\":\" Q0008 \",\"answer\":\" some-answer \"";
     private QuestionAnswerHandler questionAnswerHandler;
-    @Mock private ObjectMapper mockObjectMapper;
+    @Mock private JsonCodec mockJsonCodec;
+    @Mock private QuestionStateCodec mockQuestionStateCodec;
     @Mock private KBVStorageService mockKBVStorageService;
     @Mock private APIGatewayProxyRequestEvent input;
     @Mock private Context contextMock;
@@ -79,7 +86,8 @@ class QuestionAnswerHandlerTest {
 
         questionAnswerHandler =
                 new QuestionAnswerHandler(
-                        mockObjectMapper,
+                        mockJsonCodec,
+                        mockQuestionStateCodec,
                         mockKBVStorageService,
                         spyKBVService,
                         mockEventProbe,
@@ -88,26 +96,27 @@ class QuestionAnswerHandlerTest {
     }
 
     @Test
-    void shouldReturn200WithWhen1stAnswerIsSubmitted() throws JsonProcessingException {
+    void shouldReturn200WithWhen1stAnswerIsSubmitted() throws IOException {
         KBVItem kbvItemMock = mock(KBVItem.class);
         SessionItem sessionItem = mock(SessionItem.class);
         QuestionState questionStateMock = mock(QuestionState.class);
 
         when(input.getHeaders()).thenReturn(createRequestHeaders());
         when(input.getBody()).thenReturn(REQUEST_PAYLOAD);
-        when(sessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING)).thenReturn(sessionItem);
-        when(mockKBVStorageService.getKBVItem(SESSION_ID)).thenReturn(kbvItemMock);
-        when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                .thenReturn(questionStateMock);
-        when(mockObjectMapper.writeValueAsString(questionStateMock)).thenReturn("question-state");
-        doNothing().when(mockKBVStorageService).update(kbvItemMock);
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
+        doNothing()
+                .when(mockKBVStorageService)
+                .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
         when(questionStateMock.hasAtLeastOneUnAnswered()).thenReturn(true);
 
         APIGatewayProxyResponseEvent result =
                 questionAnswerHandler.handleRequest(input, contextMock);
 
         verify(questionStateMock).setAnswer(any());
+        verify(mockQuestionStateCodec).write(kbvItemMock, questionStateMock);
         verify(mockSessionService).validateSessionId(SESSION_ID_AS_STRING);
         assertEquals(HttpStatusCode.OK, result.getStatusCode());
         assertNull(result.getBody());
@@ -131,14 +140,12 @@ class QuestionAnswerHandlerTest {
 
         when(input.getHeaders()).thenReturn(createRequestHeaders());
         when(input.getBody()).thenReturn(REQUEST_PAYLOAD);
-        when(mockSessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
                 .thenReturn(mockSessionItem);
-        when(mockKBVStorageService.getKBVItem(SESSION_ID)).thenReturn(kbvItemMock);
-        when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                .thenReturn(questionStateMock);
-        when(mockObjectMapper.readValue(REQUEST_PAYLOAD, QuestionAnswer.class))
-                .thenReturn(questionAnswerMock);
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
+        when(mockJsonCodec.readQuestionAnswer(REQUEST_PAYLOAD)).thenReturn(questionAnswerMock);
         when(questionStateMock.hasAtLeastOneUnAnswered()).thenReturn(false);
         when(mockResultsQuestions.getAsked()).thenReturn(4);
         when(mockResultsQuestions.getCorrect()).thenReturn(3);
@@ -148,8 +155,9 @@ class QuestionAnswerHandlerTest {
         when(mockResultsQuestions.getAsked()).thenReturn(totalQuestionsAsked);
         when(mockResultsQuestions.getCorrect()).thenReturn(totalCorrectAnswers);
         when(mockResultsQuestions.getIncorrect()).thenReturn(totalIncorrectAnswers);
-        when(mockKBVGateway.submitAnswers(any())).thenReturn(questionsResponseMock);
-        when(mockObjectMapper.writeValueAsString(any())).thenReturn("question-response");
+        when(mockKBVGateway.submitAnswersAsync(any(), any(RequestDeadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(questionsResponseMock));
+        when(contextMock.getRemainingTimeInMillis()).thenReturn(30_000);
         when(questionsResponseMock.hasQuestions()).thenReturn(false);
         when(questionsResponseMock.hasQuestionRequestEnded()).thenReturn(true);
         when(questionsResponseMock.getStatus()).thenReturn(responseStatus);
@@ -157,7 +165,9 @@ class QuestionAnswerHandlerTest {
         APIGatewayProxyResponseEvent result =
                 questionAnswerHandler.handleRequest(input, contextMock);
 
-        verify(mockKBVStorageService, times(2)).update(kbvItemMock);
+        verify(mockKBVStorageService)
+                .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
+        verify(mockQuestionStateCodec).write(kbvItemMock, questionStateMock);
         verify(mockSessionService).validateSessionId(SESSION_ID_AS_STRING);
         verify(mockSessionService).createAuthorizationCode(mockSessionItem);
         verify(mockAuditService)
@@ -194,25 +204,23 @@ class QuestionAnswerHandlerTest {
 
         when(input.getHeaders()).thenReturn(createRequestHeaders());
         when(input.getBody()).thenReturn(REQUEST_PAYLOAD);
-        when(mockSessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
                 .thenReturn(mockSessionItem);
-        when(mockKBVStorageService.getKBVItem(SESSION_ID)).thenReturn(kbvItemMock);
-        when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                .thenReturn(questionStateMock);
-        when(mockObjectMapper.readValue(REQUEST_PAYLOAD, QuestionAnswer.class))
-                .thenReturn(questionAnswerMock);
-        when(mockObjectMapper.writeValueAsString(questionStateMock)).thenReturn("question-state");
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
+        when(mockJsonCodec.readQuestionAnswer(REQUEST_PAYLOAD)).thenReturn(questionAnswerMock);
         when(questionStateMock.hasAtLeastOneUnAnswered()).thenReturn(false);
-        when(mockKBVGateway.submitAnswers(any())).thenReturn(questionsResponseMock);
+        when(mockKBVGateway.submitAnswersAsync(any(), any(RequestDeadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(questionsResponseMock));
         when(questionsResponseMock.hasQuestions()).thenReturn(true);
         doNothing().when(questionStateMock).setQAPairs(any());
-        when(mockObjectMapper.writeValueAsString(questionStateMock)).thenReturn("question-state");
 
         APIGatewayProxyResponseEvent result =
                 questionAnswerHandler.handleRequest(input, contextMock);
 
-        verify(mockKBVStorageService, times(2)).update(kbvItemMock);
+        verify(mockKBVStorageService)
+                .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
         assertEquals(HttpStatusCode.OK, result.getStatusCode());
         assertNull(result.getBody());
     }
@@ -221,12 +229,11 @@ class QuestionAnswerHandlerTest {
     void shouldReturn500ErrorWhenAWSDynamoDBServiceDown() {
         SessionItem mockSessionItem = mock(SessionItem.class);
         when(input.getHeaders()).thenReturn(createRequestHeaders());
-        when(mockSessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
                 .thenReturn(mockSessionItem);
         doThrow(InternalServerErrorException.class)
                 .when(mockKBVStorageService)
-                .getKBVItem(SESSION_ID);
+                .getKBVItem(eq(SESSION_ID), any(RequestDeadline.class));
         setupMockEventProbe();
 
         APIGatewayProxyResponseEvent response =
@@ -237,6 +244,25 @@ class QuestionAnswerHandlerTest {
         verify(mockEventProbe).counterMetric("post_answer", 0d);
     }
 
+    @Test
+    void shouldReturn504ErrorWhenTheRequestDeadlineIsExceeded() {
+        SessionItem mockSessionItem = mock(SessionItem.class);
+        when(input.getHeaders()).thenReturn(createRequestHeaders());
+        when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
+                .thenReturn(mockSessionItem);
+        doThrow(new DeadlineExceededException("KBV item read needs 200 ms"))
+                .when(mockKBVStorageService)
+                .getKBVItem(eq(SESSION_ID), any(RequestDeadline.class));
+        setupMockEventProbe();
+
+        APIGatewayProxyResponseEvent response =
+                questionAnswerHandler.handleRequest(input, contextMock);
+
+        assertEquals("{\"error\":\"Request deadline exceeded.\"}", response.getBody());
+        assertEquals(HttpStatusCode.GATEWAY_TIMEOUT, response.getStatusCode());
+        verify(mockEventProbe).counterMetric("post_answer", 0d);
+    }
+
     @Test
     void shouldReturn400ErrorWhenNoSessionIdProvided() {
         setupMockEventProbe();
@@ -254,12 +280,11 @@ class QuestionAnswerHandlerTest {
         SessionItem mockSessionItem = mock(SessionItem.class);
 
         when(input.getHeaders()).thenReturn(createRequestHeaders());
-        when(mockSessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
                 .thenReturn(mockSessionItem);
-        when(mockKBVStorageService.getKBVItem(SESSION_ID)).thenReturn(kbvItemMock);
-        when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                .thenThrow(JsonProcessingException.class);
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenThrow(JsonProcessingException.class);
         setupMockEventProbe();
 
         APIGatewayProxyResponseEvent response =
@@ -280,27 +305,61 @@ class QuestionAnswerHandlerTest {
 
         when(input.getHeaders()).thenReturn(createRequestHeaders());
         when(input.getBody()).thenReturn(REQUEST_PAYLOAD);
-        when(mockSessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
                 .thenReturn(mockSessionItem);
-        when(mockKBVStorageService.getKBVItem(SESSION_ID)).thenReturn(kbvItemMock);
-        when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                .thenReturn(questionStateMock);
-        when(mockObjectMapper.readValue(REQUEST_PAYLOAD, QuestionAnswer.class))
-                .thenReturn(questionAnswerMock);
-        when(mockObjectMapper.writeValueAsString(questionStateMock)).thenReturn("question-state");
-        when(mockKBVGateway.submitAnswers(any())).thenThrow(InternalServerErrorException.class);
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
+        when(mockJsonCodec.readQuestionAnswer(REQUEST_PAYLOAD)).thenReturn(questionAnswerMock);
+        when(mockKBVGateway.submitAnswersAsync(any(), any(RequestDeadline.class)))
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                InternalServerErrorException.builder().build()));
         setupMockEventProbe();
 
         APIGatewayProxyResponseEvent response =
                 questionAnswerHandler.handleRequest(input, mock(Context.class));
 
         assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        verify(questionStateMock).setAnswer(questionAnswerMock);
+        verify(mockQuestionStateCodec).write(kbvItemMock, questionStateMock);
+        verify(mockKBVStorageService).updateAttributes(any(KBVItemUpdate.class));
         verify(mockEventProbe).counterMetric("post_answer", 0d);
     }
 
     @Test
-    void shouldReturn500ErrorWhenExperianServerReturnsAnError() throws JsonProcessingException {
+    void shouldReturn503ErrorWhenTheExperianCircuitIsOpen() throws IOException {
+        KBVItem kbvItemMock = mock(KBVItem.class);
+        SessionItem mockSessionItem = mock(SessionItem.class);
+        QuestionState questionStateMock = mock(QuestionState.class);
+
+        when(input.getHeaders()).thenReturn(createRequestHeaders());
+        when(input.getBody()).thenReturn(REQUEST_PAYLOAD);
+        when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
+                .thenReturn(mockSessionItem);
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
+        when(questionStateMock.hasAtLeastOneUnAnswered()).thenReturn(false);
+        when(mockKBVGateway.submitAnswersAsync(any(), any(RequestDeadline.class)))
+                .thenThrow(new ExperianUnavailableException("RTQ call short-circuited"));
+        setupMockEventProbe();
+
+        APIGatewayProxyResponseEvent response =
+                questionAnswerHandler.handleRequest(input, contextMock);
+
+        assertEquals(
+                "{\"error\":\"Experian is temporarily unavailable.\"}", response.getBody());
+        assertEquals(HttpStatusCode.SERVICE_UNAVAILABLE, response.getStatusCode());
+        verify(mockQuestionStateCodec).write(kbvItemMock, questionStateMock);
+        verify(mockKBVStorageService).updateAttributes(any(KBVItemUpdate.class));
+        verify(mockKBVStorageService, never())
+                .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
+        verify(mockEventProbe).counterMetric("post_answer", 0d);
+    }
+
+    @Test
+    void shouldReturn500ErrorWhenExperianServerReturnsAnError() throws IOException {
         Error errorMock = mock(Error.class);
         KBVItem kbvItemMock = mock(KBVItem.class);
         SessionItem mockSessionItem = mock(SessionItem.class);
@@ -310,23 +369,21 @@ class QuestionAnswerHandlerTest {
 
         when(input.getHeaders()).thenReturn(createRequestHeaders());
         when(input.getBody()).thenReturn(REQUEST_PAYLOAD);
-        when(mockSessionItem.getSessionId()).thenReturn(SESSION_ID);
         when(mockSessionService.validateSessionId(SESSION_ID_AS_STRING))
                 .thenReturn(mockSessionItem);
-        when(mockKBVStorageService.getKBVItem(SESSION_ID)).thenReturn(kbvItemMock);
-        when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                .thenReturn(questionStateMock);
-        when(mockObjectMapper.readValue(REQUEST_PAYLOAD, QuestionAnswer.class))
-                .thenReturn(questionAnswerMock);
+        when(mockKBVStorageService.getKBVItem(eq(SESSION_ID), any(RequestDeadline.class)))
+                .thenReturn(kbvItemMock);
+        when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
+        when(mockJsonCodec.readQuestionAnswer(REQUEST_PAYLOAD)).thenReturn(questionAnswerMock);
         when(questionStateMock.hasAtLeastOneUnAnswered()).thenReturn(false);
-        when(mockKBVGateway.submitAnswers(any())).thenReturn(questionsResponseMock);
-        when(mockObjectMapper.writeValueAsString(any())).thenReturn("question-response");
+        when(mockKBVGateway.submitAnswersAsync(any(), any(RequestDeadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(questionsResponseMock));
         when(errorMock.getMessage()).thenReturn("Third Party Server error occurred.");
         when(questionsResponseMock.getResults()).thenReturn(null);
         when(questionsResponseMock.getError()).thenReturn(errorMock);
-        when(mockObjectMapper.writeValueAsString(questionStateMock))
-                .thenReturn("question-state-mock-string");
-        doNothing().when(mockKBVStorageService).update(any());
+        doNothing()
+                .when(mockKBVStorageService)
+                .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
         setupMockEventProbe();
 
         APIGatewayProxyResponseEvent response =
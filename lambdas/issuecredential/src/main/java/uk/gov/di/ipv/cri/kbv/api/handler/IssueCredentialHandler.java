@@ -33,6 +33,7 @@ import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.ApiGatewayResponseGenerator;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
 import uk.gov.di.ipv.cri.kbv.api.exception.CredentialRequestException;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
 import uk.gov.di.ipv.cri.kbv.api.service.VerifiableCredentialService;
 
@@ -41,6 +42,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.apache.logging.log4j.Level.ERROR;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.DYNAMODB_CLIENT;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.SQS_CLIENT;
 
 public class IssueCredentialHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -71,22 +74,32 @@ public class IssueCredentialHandler
 
     @ExcludeFromGeneratedCoverageReport
     public IssueCredentialHandler() {
-        this.verifiableCredentialService = new VerifiableCredentialService();
+        ColdStartMetrics coldStartMetrics = new ColdStartMetrics();
+        this.verifiableCredentialService = new VerifiableCredentialService(coldStartMetrics);
         ConfigurationService configurationService = new ConfigurationService();
-        this.kbvStorageService = new KBVStorageService(configurationService);
-        this.sessionService = new SessionService();
+        this.kbvStorageService =
+                coldStartMetrics.time(
+                        DYNAMODB_CLIENT, () -> new KBVStorageService(configurationService));
+        this.sessionService = coldStartMetrics.time(DYNAMODB_CLIENT, SessionService::new);
         this.eventProbe = new EventProbe();
+        SqsClient sqsClient =
+                coldStartMetrics.time(
+                        SQS_CLIENT,
+                        () ->
+                                SqsClient.builder()
+                                        .credentialsProvider(
+                                                EnvironmentVariableCredentialsProvider.create())
+                                        .region(Region.of(System.getenv("AWS_REGION")))
+                                        .build());
         this.auditService =
                 new AuditService(
-                        SqsClient.builder()
-                                .credentialsProvider(
-                                        EnvironmentVariableCredentialsProvider.create())
-                                .region(Region.of(System.getenv("AWS_REGION")))
-                                .build(),
+                        sqsClient,
                         configurationService,
                         new ObjectMapper(),
                         new AuditEventFactory(configurationService, Clock.systemUTC()));
-        this.personIdentityService = new PersonIdentityService();
+        this.personIdentityService =
+                coldStartMetrics.time(DYNAMODB_CLIENT, PersonIdentityService::new);
+        coldStartMetrics.emit();
     }
 
     @Override
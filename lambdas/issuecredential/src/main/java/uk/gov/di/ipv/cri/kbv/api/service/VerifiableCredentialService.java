@@ -1,8 +1,5 @@
 package uk.gov.di.ipv.cri.kbv.api.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
@@ -18,6 +15,7 @@ import uk.gov.di.ipv.cri.common.library.util.KMSSigner;
 import uk.gov.di.ipv.cri.common.library.util.SignedJWTFactory;
 import uk.gov.di.ipv.cri.kbv.api.domain.Evidence;
 import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
@@ -30,6 +28,8 @@ import static com.nimbusds.jwt.JWTClaimNames.ISSUER;
 import static com.nimbusds.jwt.JWTClaimNames.NOT_BEFORE;
 import static com.nimbusds.jwt.JWTClaimNames.SUBJECT;
 import static uk.gov.di.ipv.cri.kbv.api.domain.VerifiableCredentialConstants.*;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.JACKSON_WARMUP;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.KMS_SIGNER;
 
 public class VerifiableCredentialService {
 
@@ -37,28 +37,24 @@ public class VerifiableCredentialService {
     public static final String METRIC_DIMENSION_KBV_VERIFICATION = "kbv_verification";
     private final SignedJWTFactory signedJwtFactory;
     private final ConfigurationService configurationService;
+    private final JsonCodec jsonCodec;
 
-    private final ObjectMapper objectMapper;
-
-    public VerifiableCredentialService() {
+    public VerifiableCredentialService(ColdStartMetrics coldStartMetrics) {
         this.configurationService = new ConfigurationService();
+        var kmsSigningKeyId = configurationService.getVerifiableCredentialKmsSigningKeyId();
         this.signedJwtFactory =
-                new SignedJWTFactory(
-                        new KMSSigner(
-                                configurationService.getVerifiableCredentialKmsSigningKeyId()));
-        this.objectMapper =
-                new ObjectMapper()
-                        .registerModule(new Jdk8Module())
-                        .registerModule(new JavaTimeModule());
+                coldStartMetrics.time(
+                        KMS_SIGNER, () -> new SignedJWTFactory(new KMSSigner(kmsSigningKeyId)));
+        this.jsonCodec = coldStartMetrics.time(JACKSON_WARMUP, JsonCodec::getInstance);
     }
 
     public VerifiableCredentialService(
             SignedJWTFactory signedClaimSetJwt,
             ConfigurationService configurationService,
-            ObjectMapper objectMapper) {
+            JsonCodec jsonCodec) {
         this.signedJwtFactory = signedClaimSetJwt;
         this.configurationService = configurationService;
-        this.objectMapper = objectMapper;
+        this.jsonCodec = jsonCodec;
     }
 
     @Tracing
@@ -107,12 +103,11 @@ public class VerifiableCredentialService {
                 calculateEvidence(kbvItem));
     }
 
-    @SuppressWarnings("unchecked")
     private Object[] convertAddresses(List<Address> addresses) {
         return addresses.stream()
                 .map(
                         address -> {
-                            var mappedAddress = objectMapper.convertValue(address, Map.class);
+                            var mappedAddress = jsonCodec.toMap(address);
                             // Skip superfluous address type from the map to match RFC
                             HashMap<String, Object> addressMap = new HashMap<>();
                             if (mappedAddress != null) {
@@ -159,6 +154,6 @@ public class VerifiableCredentialService {
             LOGGER.info("kbv fail");
         }
 
-        return new Map[] {objectMapper.convertValue(evidence, Map.class)};
+        return new Map[] {jsonCodec.toMap(evidence)};
     }
 }
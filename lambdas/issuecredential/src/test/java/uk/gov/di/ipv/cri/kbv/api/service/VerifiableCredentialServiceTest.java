@@ -26,6 +26,7 @@ import uk.gov.di.ipv.cri.common.library.util.SignedJWTFactory;
 import uk.gov.di.ipv.cri.kbv.api.domain.Evidence;
 import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
 import uk.gov.di.ipv.cri.kbv.api.service.fixtures.TestFixtures;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
@@ -43,7 +44,6 @@ import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,7 +52,7 @@ import static uk.gov.di.ipv.cri.kbv.api.domain.VerifiableCredentialConstants.*;
 @ExtendWith(MockitoExtension.class)
 class VerifiableCredentialServiceTest implements TestFixtures {
     private static final String SUBJECT = "subject";
-    @Mock private ObjectMapper mockObjectMapper;
+    @Mock private JsonCodec mockJsonCodec;
     @Mock private ConfigurationService mockConfigurationService;
     @Captor private ArgumentCaptor<JWTClaimsSet> jwtClaimsSetCaptor;
 
@@ -70,11 +70,11 @@ class VerifiableCredentialServiceTest implements TestFixtures {
         SignedJWTFactory signedJwtFactory = new SignedJWTFactory(new ECDSASigner(getPrivateKey()));
         var verifiableCredentialService =
                 new VerifiableCredentialService(
-                        signedJwtFactory, mockConfigurationService, mockObjectMapper);
+                        signedJwtFactory, mockConfigurationService, mockJsonCodec);
 
-        when(mockObjectMapper.convertValue(any(Evidence.class), eq(Map.class)))
+        when(mockJsonCodec.toMap(any(Evidence.class)))
                 .thenReturn(Map.of("verificationScore", 2));
-        when(mockObjectMapper.convertValue(any(Address.class), eq(Map.class)))
+        when(mockJsonCodec.toMap(any(Address.class)))
                 .thenReturn(Map.of("address", new Address()));
 
         KBVItem kbvItem = new KBVItem();
@@ -130,11 +130,11 @@ class VerifiableCredentialServiceTest implements TestFixtures {
         SignedJWTFactory signedJwtFactory = new SignedJWTFactory(new ECDSASigner(getPrivateKey()));
         VerifiableCredentialService verifiableCredentialService =
                 new VerifiableCredentialService(
-                        signedJwtFactory, mockConfigurationService, mockObjectMapper);
-        when(mockObjectMapper.convertValue(any(Evidence.class), eq(Map.class)))
+                        signedJwtFactory, mockConfigurationService, mockJsonCodec);
+        when(mockJsonCodec.toMap(any(Evidence.class)))
                 .thenReturn(Map.of("verificationScore", 0));
 
-        when(mockObjectMapper.convertValue(any(Address.class), eq(Map.class)))
+        when(mockJsonCodec.toMap(any(Address.class)))
                 .thenReturn(Map.of("address", new Address()));
 
         KBVItem kbvItem = new KBVItem();
@@ -189,7 +189,7 @@ class VerifiableCredentialServiceTest implements TestFixtures {
         SignedJWTFactory signedJWTFactory = mock(SignedJWTFactory.class);
         var verifiableCredentialService =
                 new VerifiableCredentialService(
-                        signedJWTFactory, mockConfigurationService, new ObjectMapper());
+                        signedJWTFactory, mockConfigurationService, JsonCodec.getInstance());
 
         when(mockConfigurationService.getVerifiableCredentialIssuer()).thenReturn("kbv-cri-issue");
         when(mockConfigurationService.getMaxJwtTtl()).thenReturn(342L);
@@ -220,7 +220,7 @@ class VerifiableCredentialServiceTest implements TestFixtures {
         SignedJWTFactory signedJWTFactory = mock(SignedJWTFactory.class);
         var verifiableCredentialService =
                 new VerifiableCredentialService(
-                        signedJWTFactory, mockConfigurationService, new ObjectMapper());
+                        signedJWTFactory, mockConfigurationService, JsonCodec.getInstance());
 
         when(mockConfigurationService.getVerifiableCredentialIssuer()).thenReturn("kbv-cri-issue");
         when(mockConfigurationService.getMaxJwtTtl()).thenReturn(342L);
@@ -4,11 +4,8 @@ import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
 import com.experian.uk.schema.experian.identityiq.services.webservice.ResultsQuestions;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import software.amazon.awssdk.http.HttpStatusCode;
 import software.amazon.lambda.powertools.logging.CorrelationIdPathConstants;
 import software.amazon.lambda.powertools.logging.Logging;
@@ -27,73 +24,150 @@ import uk.gov.di.ipv.cri.common.library.service.PersonIdentityService;
 import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.ApiGatewayResponseGenerator;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
-import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
 import uk.gov.di.ipv.cri.kbv.api.exception.QuestionNotFoundException;
 import uk.gov.di.ipv.cri.kbv.api.gateway.KBVGatewayFactory;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
+import uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider;
+import uk.gov.di.ipv.cri.kbv.api.service.JourneyContext;
+import uk.gov.di.ipv.cri.kbv.api.service.JourneyContextService;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVService;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
+import uk.gov.di.ipv.cri.kbv.api.snapstart.SnapStartPrimer;
+import uk.gov.di.ipv.cri.kbv.api.snapstart.SnapStartResource;
+import uk.gov.di.ipv.cri.kbv.api.util.FutureUtils;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.ParallelInitializer;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 import static org.apache.logging.log4j.Level.ERROR;
 import static uk.gov.di.ipv.cri.common.library.error.ErrorResponse.SESSION_EXPIRED;
 import static uk.gov.di.ipv.cri.common.library.error.ErrorResponse.SESSION_NOT_FOUND;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.DYNAMODB_CLIENT;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.JACKSON_WARMUP;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.SQS_CLIENT;
 
 public class QuestionHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
     public static final String HEADER_SESSION_ID = "session-id";
     public static final String LAMBDA_NAME = "get_question";
     public static final String ERROR_KEY = "error";
-    public static final String IIQ_STRATEGY_PARAM_NAME = "IIQStrategy";
-    private static final String IIQ_OPERATOR_ID_PARAM_NAME = "IIQOperatorId";
     public static final String METRIC_DIMENSION_QUESTION_ID = "kbv_question_id";
     public static final String METRIC_DIMENSION_QUESTION_STRATEGY = "question_strategy";
-    private final ObjectMapper objectMapper;
-    private final KBVStorageService kbvStorageService;
+    public static final String AUDIT_EVENT_SKIPPED_METRIC = "audit_event_skipped";
+    public static final String AUDIT_EVENT_FAILED_METRIC = "audit_event_failed";
+    private static final Duration AUDIT_BUDGET = Duration.ofSeconds(1);
+    private final JourneyContextService journeyContextService;
     private final PersonIdentityService personIdentityService;
     private final EventProbe eventProbe;
     private final KBVService kbvService;
     private final AuditService auditService;
     private final ConfigurationService configurationService;
+    private final IIQConfigurationProvider iiqConfigurationProvider;
     private final SessionService sessionService;
+    private SnapStartResource snapStartResource;
 
     @ExcludeFromGeneratedCoverageReport
     public QuestionHandler() {
-        this.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
-        this.personIdentityService = new PersonIdentityService();
-        this.configurationService = new ConfigurationService();
-        this.kbvService = new KBVService(new KBVGatewayFactory().create(this.configurationService));
-        this.kbvStorageService = new KBVStorageService(this.configurationService);
-        this.auditService = new AuditService(this.configurationService);
-        this.sessionService = new SessionService(this.configurationService);
+        var configurationService = new ConfigurationService();
+        this.configurationService = configurationService;
+        this.iiqConfigurationProvider = IIQConfigurationProvider.create(configurationService);
+
+        var eventProbe = new EventProbe();
+        var coldStartMetrics = new ColdStartMetrics();
+        var kbvGatewayFactory = new KBVGatewayFactory(coldStartMetrics);
+        var initializer = new ParallelInitializer();
+        var jsonCodec =
+                initializer.submit(
+                        "json_codec",
+                        () -> coldStartMetrics.time(JACKSON_WARMUP, JsonCodec::getInstance));
+        var questionStateCodec =
+                initializer.submit(
+                        "question_state_codec",
+                        jsonCodec,
+                        codec -> QuestionStateCodec.fromEnvironment(codec, eventProbe));
+        var kbvGateway =
+                initializer.submit(
+                        "kbv_gateway",
+                        () ->
+                                kbvGatewayFactory.create(
+                                        configurationService, iiqConfigurationProvider));
+        var kbvService = initializer.submit("kbv_service", kbvGateway, KBVService::new);
+        initializer.submit("experian_prewarm", kbvGateway, gateway -> kbvGatewayFactory.prewarm());
+        initializer.submit("iiq_configuration", iiqConfigurationProvider::get);
+        var kbvStorageService =
+                initializer.submit(
+                        "kbv_storage_service",
+                        () ->
+                                coldStartMetrics.time(
+                                        DYNAMODB_CLIENT,
+                                        () -> new KBVStorageService(configurationService)));
+        var auditService =
+                initializer.submit(
+                        "audit_service",
+                        () ->
+                                coldStartMetrics.time(
+                                        SQS_CLIENT, () -> new AuditService(configurationService)));
+        var sessionService =
+                initializer.submit(
+                        "session_service",
+                        () ->
+                                coldStartMetrics.time(
+                                        DYNAMODB_CLIENT,
+                                        () -> new SessionService(configurationService)));
+        var personIdentityService =
+                initializer.submit(
+                        "person_identity_service",
+                        () -> coldStartMetrics.time(DYNAMODB_CLIENT, PersonIdentityService::new));
+        initializer.join();
+        coldStartMetrics.emit();
 
-        this.eventProbe = new EventProbe();
+        this.kbvService = kbvService.get();
+        this.auditService = auditService.get();
+        this.sessionService = sessionService.get();
+        this.journeyContextService =
+                new JourneyContextService(
+                        this.sessionService, kbvStorageService.get(), questionStateCodec.get());
+        this.personIdentityService = personIdentityService.get();
+        this.eventProbe = eventProbe;
+        var snapStartPrimer =
+                new SnapStartPrimer(jsonCodec.get(), kbvGatewayFactory.getIdentityIQClient());
+        this.snapStartResource =
+                new SnapStartResource(snapStartPrimer::prime, kbvGatewayFactory::restore)
+                        .register();
     }
 
     public QuestionHandler(
-            ObjectMapper objectMapper,
+            QuestionStateCodec questionStateCodec,
             KBVStorageService kbvStorageService,
             PersonIdentityService personIdentityService,
             KBVService kbvService,
             ConfigurationService configurationService,
+            IIQConfigurationProvider iiqConfigurationProvider,
             EventProbe eventProbe,
             AuditService auditService,
             SessionService sessionService) {
-        this.objectMapper = objectMapper;
-        this.kbvStorageService = kbvStorageService;
+        this.journeyContextService =
+                new JourneyContextService(sessionService, kbvStorageService, questionStateCodec);
         this.personIdentityService = personIdentityService;
         this.eventProbe = eventProbe;
         this.auditService = auditService;
         this.kbvService = kbvService;
         this.configurationService = configurationService;
+        this.iiqConfigurationProvider = iiqConfigurationProvider;
         this.sessionService = sessionService;
     }
 
@@ -105,24 +179,16 @@ public class QuestionHandler
             APIGatewayProxyRequestEvent input, Context context) {
 
         try {
-            var sessionId = UUID.fromString(input.getHeaders().get(HEADER_SESSION_ID));
-            var sessionItem = sessionService.validateSessionId(String.valueOf(sessionId));
-            var kbvItem = kbvStorageService.getKBVItem(sessionId);
-            var questionState = new QuestionState();
-            if (kbvItem != null) {
-                questionState =
-                        objectMapper.readValue(kbvItem.getQuestionState(), QuestionState.class);
-            } else {
-                kbvItem = new KBVItem();
-                kbvItem.setSessionId(sessionId);
-            }
-            if (Objects.nonNull(kbvItem.getStatus())) {
+            var deadline = RequestDeadline.fromRemainingTime(context.getRemainingTimeInMillis());
+            var journeyContext =
+                    journeyContextService.load(input.getHeaders().get(HEADER_SESSION_ID), deadline);
+            if (Objects.nonNull(journeyContext.getStatus())) {
                 eventProbe.counterMetric(LAMBDA_NAME);
                 return createNoContentResponse();
             }
 
-            Question question =
-                    processQuestionRequest(questionState, kbvItem, sessionItem, input.getHeaders());
+            KBVQuestion question =
+                    processQuestionRequest(journeyContext, input.getHeaders(), deadline);
             eventProbe.addDimensions(
                     Map.of(METRIC_DIMENSION_QUESTION_ID, question.getQuestionID()));
             eventProbe.counterMetric(LAMBDA_NAME);
@@ -144,6 +210,16 @@ public class QuestionHandler
                     HttpStatusCode.INTERNAL_SERVER_ERROR,
                     jsonProcessingException,
                     "Failed to parse object using ObjectMapper.");
+        } catch (DeadlineExceededException deadlineExceededException) {
+            return handleException(
+                    HttpStatusCode.GATEWAY_TIMEOUT,
+                    deadlineExceededException,
+                    "Request deadline exceeded.");
+        } catch (ExperianUnavailableException experianUnavailableException) {
+            return handleException(
+                    HttpStatusCode.SERVICE_UNAVAILABLE,
+                    experianUnavailableException,
+                    "Experian is temporarily unavailable.");
         } catch (NullPointerException npe) {
             return handleException(HttpStatusCode.BAD_REQUEST, npe, npe.toString());
         } catch (QuestionNotFoundException qe) {
@@ -160,8 +236,12 @@ public class QuestionHandler
     private void sendNoQuestionAuditEvent(
             QuestionsResponse questionsResponse,
             SessionItem sessionItem,
-            Map<String, String> requestHeaders)
+            Map<String, String> requestHeaders,
+            RequestDeadline deadline)
             throws SqsException {
+        if (!hasAuditBudget(deadline)) {
+            return;
+        }
         auditService.sendAuditEvent(
                 AuditEventType.THIRD_PARTY_REQUEST_ENDED,
                 new AuditEventContext(requestHeaders, sessionItem),
@@ -184,84 +264,110 @@ public class QuestionHandler
     }
 
     @Tracing
-    Question processQuestionRequest(
-            QuestionState questionState,
-            KBVItem kbvItem,
-            SessionItem sessionItem,
-            Map<String, String> requestHeaders)
+    KBVQuestion processQuestionRequest(
+            JourneyContext journeyContext,
+            Map<String, String> requestHeaders,
+            RequestDeadline deadline)
             throws IOException, SqsException {
+        Objects.requireNonNull(journeyContext, "journeyContext cannot be null");
 
-        Question question;
-        if ((question = getQuestionFromDbStore(questionState)) != null) {
+        KBVQuestion question;
+        if ((question = getQuestionFromDbStore(journeyContext.getQuestionState())) != null) {
             return question;
         }
-        var questionsResponse = getQuestionAnswerResponse(kbvItem, sessionItem, requestHeaders);
-        question = getQuestionFromResponse(questionsResponse, questionState);
-        saveQuestionStateToKbvItem(kbvItem, questionState, questionsResponse);
+        var questionsResponse = getQuestionAnswerResponse(journeyContext, requestHeaders, deadline);
+        question = getQuestionFromResponse(questionsResponse, journeyContext);
+        saveQuestionStateToKbvItem(journeyContext, questionsResponse, deadline);
         if (question != null) {
             return question;
         }
+        var sessionItem = journeyContext.getSessionItem();
         sessionService.createAuthorizationCode(sessionItem);
-        sendNoQuestionAuditEvent(questionsResponse, sessionItem, requestHeaders);
+        sendNoQuestionAuditEvent(questionsResponse, sessionItem, requestHeaders, deadline);
         throw new QuestionNotFoundException("No questions available");
     }
 
-    private Question getQuestionFromDbStore(QuestionState questionState) {
+    private KBVQuestion getQuestionFromDbStore(QuestionState questionState) {
         Objects.requireNonNull(questionState, "questionState cannot be null");
         // TODO Handle scenario when no questions are available
         return questionState.getNextQuestion().orElse(null);
     }
 
-    private Question getQuestionFromResponse(
-            QuestionsResponse questionsResponse, QuestionState questionState) {
+    private KBVQuestion getQuestionFromResponse(
+            QuestionsResponse questionsResponse, JourneyContext journeyContext) throws IOException {
 
         if (questionsResponse != null && questionsResponse.hasQuestions()) {
-            questionState.setQAPairs(questionsResponse.getQuestions());
-            return questionState.getNextQuestion().orElse(null);
+            journeyContext.setQuestions(questionsResponse.getQuestions());
+            return journeyContext.getQuestionState().getNextQuestion().orElse(null);
         }
         // Alternate flow when first request does not return questions
         return null;
     }
 
     private void saveQuestionStateToKbvItem(
-            KBVItem kbvItem, QuestionState questionState, QuestionsResponse questionsResponse)
-            throws JsonProcessingException {
-        var state = objectMapper.writeValueAsString(questionState);
-        kbvItem.setQuestionState(state);
-        kbvItem.setAuthRefNo(questionsResponse.getControl().getAuthRefNo());
-        kbvItem.setUrn(questionsResponse.getControl().getURN());
-        kbvItem.setExpiryDate(this.configurationService.getSessionExpirationEpoch());
+            JourneyContext journeyContext,
+            QuestionsResponse questionsResponse,
+            RequestDeadline deadline)
+            throws IOException {
+        journeyContext.setControl(
+                questionsResponse.getControl().getAuthRefNo(),
+                questionsResponse.getControl().getURN());
+        journeyContext.setExpiryDate(this.configurationService.getSessionExpirationEpoch());
 
-        kbvStorageService.save(kbvItem);
+        if (journeyContext.isStored()) {
+            journeyContextService.update(journeyContext, deadline);
+        } else {
+            journeyContextService.save(journeyContext, deadline);
+        }
     }
 
     private QuestionsResponse getQuestionAnswerResponse(
-            KBVItem kbvItem, SessionItem sessionItem, Map<String, String> requestHeaders)
-            throws JsonProcessingException, SqsException {
-        Objects.requireNonNull(kbvItem, "kbvItem cannot be null");
-
-        if (kbvItem.getExpiryDate() == 0L) { // first request for questions for a given session
+            JourneyContext journeyContext,
+            Map<String, String> requestHeaders,
+            RequestDeadline deadline)
+            throws IOException {
+        // first request for questions for a given session
+        if (journeyContext.getExpiryDate() == 0L) {
             var personIdentity =
-                    personIdentityService.getPersonIdentityDetailed(kbvItem.getSessionId());
+                    personIdentityService.getPersonIdentityDetailed(journeyContext.getSessionId());
             var questionRequest = new QuestionRequest();
-            var strategy = this.configurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME);
+            var iiqConfiguration = iiqConfigurationProvider.get();
+            var strategy = iiqConfiguration.getStrategy();
             questionRequest.setStrategy(strategy);
-            questionRequest.setIiqOperatorId(
-                    this.configurationService.getParameterValue(IIQ_OPERATOR_ID_PARAM_NAME));
+            questionRequest.setIiqOperatorId(iiqConfiguration.getOperatorId());
             questionRequest.setPersonIdentity(
                     personIdentityService.convertToPersonIdentitySummary(personIdentity));
             eventProbe.addDimensions(Map.of(METRIC_DIMENSION_QUESTION_STRATEGY, strategy));
-            auditService.sendAuditEvent(
-                    AuditEventType.REQUEST_SENT,
-                    new AuditEventContext(personIdentity, requestHeaders, sessionItem));
-            return this.kbvService.getQuestions(questionRequest);
+            var questionsResponse = this.kbvService.getQuestionsAsync(questionRequest, deadline);
+            if (hasAuditBudget(deadline)) {
+                sendRequestSentAuditEvent(
+                        new AuditEventContext(
+                                personIdentity, requestHeaders, journeyContext.getSessionItem()));
+            }
+            return FutureUtils.join(questionsResponse, deadline);
         }
-        var questionState = objectMapper.readValue(kbvItem.getQuestionState(), QuestionState.class);
         var questionAnswerRequest = new QuestionAnswerRequest();
-        questionAnswerRequest.setUrn(kbvItem.getUrn());
-        questionAnswerRequest.setAuthRefNo(kbvItem.getAuthRefNo());
-        questionAnswerRequest.setQuestionAnswers(questionState.getAnswers());
-        return this.kbvService.submitAnswers(questionAnswerRequest);
+        questionAnswerRequest.setUrn(journeyContext.getUrn());
+        questionAnswerRequest.setAuthRefNo(journeyContext.getAuthRefNo());
+        questionAnswerRequest.setQuestionAnswers(journeyContext.getQuestionState().getAnswers());
+        return FutureUtils.join(
+                this.kbvService.submitAnswersAsync(questionAnswerRequest, deadline), deadline);
+    }
+
+    private void sendRequestSentAuditEvent(AuditEventContext auditEventContext) {
+        try {
+            auditService.sendAuditEvent(AuditEventType.REQUEST_SENT, auditEventContext);
+        } catch (SqsException | RuntimeException e) {
+            eventProbe.log(ERROR, e).counterMetric(AUDIT_EVENT_FAILED_METRIC);
+        }
+    }
+
+    private boolean hasAuditBudget(RequestDeadline deadline) {
+        if (deadline.hasRemaining(AUDIT_BUDGET)) {
+            return true;
+        }
+        eventProbe.counterMetric(AUDIT_EVENT_SKIPPED_METRIC);
+        return false;
     }
 
     private APIGatewayProxyResponseEvent handleException(
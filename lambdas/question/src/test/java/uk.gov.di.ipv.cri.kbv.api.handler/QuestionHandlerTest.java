@@ -3,10 +3,7 @@ package uk.gov.di.ipv.cri.kbv.api.handler;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.experian.uk.schema.experian.identityiq.services.webservice.AnswerFormat;
 import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
-import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
-import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.Level;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,15 +30,25 @@ import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
 import uk.gov.di.ipv.cri.common.library.service.PersonIdentityService;
 import uk.gov.di.ipv.cri.common.library.service.SessionService;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.IIQConfiguration;
 import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItemUpdate;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
 import uk.gov.di.ipv.cri.kbv.api.exception.QuestionNotFoundException;
 import uk.gov.di.ipv.cri.kbv.api.gateway.KBVGateway;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
+import uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider;
+import uk.gov.di.ipv.cri.kbv.api.service.JourneyContext;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVService;
 import uk.gov.di.ipv.cri.kbv.api.service.KBVStorageService;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -49,6 +56,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -64,25 +72,29 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.AUDIT_EVENT_FAILED_METRIC;
+import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.AUDIT_EVENT_SKIPPED_METRIC;
 import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.HEADER_SESSION_ID;
-import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.IIQ_STRATEGY_PARAM_NAME;
 import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.LAMBDA_NAME;
 import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.METRIC_DIMENSION_QUESTION_ID;
 import static uk.gov.di.ipv.cri.kbv.api.handler.QuestionHandler.METRIC_DIMENSION_QUESTION_STRATEGY;
 
 @ExtendWith(MockitoExtension.class)
 class QuestionHandlerTest {
+    private static final int REMAINING_TIME_MILLIS = 30_000;
     private QuestionHandler questionHandler;
-    @Mock private ObjectMapper mockObjectMapper;
+    @Mock private QuestionStateCodec mockQuestionStateCodec;
     @Mock private KBVStorageService mockKBVStorageService;
     @Mock private PersonIdentityService mockPersonIdentityService;
     @Mock private EventProbe mockEventProbe;
     @Mock private KBVGateway mockKBVGateway;
     @Mock private ConfigurationService mockConfigurationService;
+    @Mock private IIQConfigurationProvider mockIiqConfigurationProvider;
     @Mock private AuditService mockAuditService;
     @Mock private SessionService sessionService;
     @Captor private ArgumentCaptor<Map<String, Object>> auditEventMap;
@@ -95,11 +107,12 @@ class QuestionHandlerTest {
         spyKBVService = Mockito.spy(new KBVService(mockKBVGateway));
         questionHandler =
                 new QuestionHandler(
-                        mockObjectMapper,
+                        mockQuestionStateCodec,
                         mockKBVStorageService,
                         mockPersonIdentityService,
                         spyKBVService,
                         mockConfigurationService,
+                        mockIiqConfigurationProvider,
                         mockEventProbe,
                         mockAuditService,
                         sessionService);
@@ -124,18 +137,22 @@ class QuestionHandlerTest {
                     .thenReturn(sessionItem);
             when(mockPersonIdentityService.getPersonIdentityDetailed(kbvItem.getSessionId()))
                     .thenReturn(personIdentity);
-            doNothing().when(mockKBVStorageService).save(any());
+            doNothing().when(mockKBVStorageService).save(any(), any(RequestDeadline.class));
 
             String expectedQuestion = new ObjectMapper().writeValueAsString(getQuestionOne());
 
-            doReturn(getExperianQuestionResponse(List.of(getQuestionOne(), getQuestionTwo())))
+            doReturn(
+                            CompletableFuture.completedFuture(
+                                    getExperianQuestionResponse(
+                                            List.of(getQuestionOne(), getQuestionTwo()))))
                     .when(spyKBVService)
-                    .getQuestions(any());
-            when(mockObjectMapper.writeValueAsString(any())).thenReturn(expectedQuestion);
-            when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
-                    .thenReturn("3 out of 4");
+                    .getQuestionsAsync(any(), any(RequestDeadline.class));
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
+            Context contextMock = mock(Context.class);
+            when(contextMock.getRemainingTimeInMillis()).thenReturn(REMAINING_TIME_MILLIS);
             APIGatewayProxyResponseEvent response =
-                    questionHandler.handleRequest(input, mock(Context.class));
+                    questionHandler.handleRequest(input, contextMock);
 
             assertEquals(HttpStatusCode.OK, response.getStatusCode());
             assertEquals(expectedQuestion, response.getBody());
@@ -144,10 +161,9 @@ class QuestionHandlerTest {
             verify(mockAuditService)
                     .sendAuditEvent(
                             eq(AuditEventType.REQUEST_SENT), auditEventContextArgCaptor.capture());
-            verify(mockKBVStorageService).save(any());
-            verify(mockConfigurationService).getParameterValue("IIQStrategy");
-            verify(mockConfigurationService).getParameterValue("IIQOperatorId");
-            verify(mockObjectMapper).writeValueAsString(any());
+            verify(mockKBVStorageService).save(any(), any(RequestDeadline.class));
+            verify(mockIiqConfigurationProvider).get();
+            verify(mockQuestionStateCodec).write(any(KBVItem.class), any(QuestionState.class));
             verify(mockEventProbe).counterMetric(LAMBDA_NAME);
             verify(mockEventProbe)
                     .addDimensions(Map.of(METRIC_DIMENSION_QUESTION_STRATEGY, "3 out of 4"));
@@ -169,26 +185,23 @@ class QuestionHandlerTest {
             KBVItem kbvItem = new KBVItem();
             kbvItem.setSessionId(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
 
-            Question answeredQuestion = getQuestionOne();
+            KBVQuestion answeredQuestion = getQuestionOne();
             QuestionAnswer questionAnswer = new QuestionAnswer();
             questionAnswer.setQuestionId(answeredQuestion.getQuestionID());
             questionAnswer.setAnswer("OVER £35,000 UP TO £60,000");
 
-            Question unAnsweredQuestion = getQuestionTwo();
-
-            Questions questions = new Questions();
-            questions.getQuestion().addAll(List.of(answeredQuestion, unAnsweredQuestion));
+            KBVQuestion unAnsweredQuestion = getQuestionTwo();
 
             QuestionState questionState = new QuestionState();
-            questionState.setQAPairs(questions);
+            questionState.setQAPairs(List.of(answeredQuestion, unAnsweredQuestion));
             questionState.setAnswer(questionAnswer);
 
             when(input.getHeaders()).thenReturn(sessionHeader);
             when(mockKBVStorageService.getKBVItem(
-                            UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class)))
                     .thenReturn(kbvItem);
-            when(mockObjectMapper.readValue(kbvItem.getQuestionState(), QuestionState.class))
-                    .thenReturn(questionState);
+            when(mockQuestionStateCodec.read(kbvItem)).thenReturn(questionState);
             String expectedQuestion = new ObjectMapper().writeValueAsString(unAnsweredQuestion);
 
             APIGatewayProxyResponseEvent response =
@@ -197,16 +210,18 @@ class QuestionHandlerTest {
             assertEquals(HttpStatusCode.OK, response.getStatusCode());
             assertEquals(expectedQuestion, response.getBody());
             verify(mockKBVStorageService)
-                    .getKBVItem(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
-            verify(mockConfigurationService, times(0)).getParameterValue("IIQOperatorId");
-            verify(mockObjectMapper).readValue(kbvItem.getQuestionState(), QuestionState.class);
-            verify(mockConfigurationService, times(0)).getParameterValue("IIQStrategy");
+                    .getKBVItem(
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class));
+            verify(mockIiqConfigurationProvider, times(0)).get();
+            verify(mockQuestionStateCodec).read(kbvItem);
             verify(mockEventProbe).counterMetric(LAMBDA_NAME);
         }
 
         @Test
         void shouldReturn204WhenThereAreNoQuestions() throws IOException {
             Context contextMock = mock(Context.class);
+            when(contextMock.getRemainingTimeInMillis()).thenReturn(REMAINING_TIME_MILLIS);
             QuestionsResponse questionsResponse = mock(QuestionsResponse.class);
             Control control = mock(Control.class);
             APIGatewayProxyRequestEvent input = mock(APIGatewayProxyRequestEvent.class);
@@ -218,22 +233,23 @@ class QuestionHandlerTest {
             KBVItem kbvItem = new KBVItem();
             kbvItem.setSessionId(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
             QuestionState questionStateMock = mock(QuestionState.class);
-            when(mockKBVGateway.getQuestions(any(QuestionRequest.class)))
-                    .thenReturn(questionsResponse);
+            when(mockKBVGateway.getQuestionsAsync(
+                            any(QuestionRequest.class), any(RequestDeadline.class)))
+                    .thenReturn(CompletableFuture.completedFuture(questionsResponse));
             when(questionsResponse.getControl()).thenReturn(control);
 
             when(input.getHeaders()).thenReturn(sessionHeader);
             when(mockKBVStorageService.getKBVItem(
-                            UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class)))
                     .thenReturn(kbvItem);
             when(mockPersonIdentityService.getPersonIdentityDetailed(kbvItem.getSessionId()))
                     .thenReturn(personIdentity);
 
-            when(mockObjectMapper.readValue(kbvItem.getQuestionState(), QuestionState.class))
-                    .thenReturn(questionStateMock);
+            when(mockQuestionStateCodec.read(kbvItem)).thenReturn(questionStateMock);
 
-            when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
-                    .thenReturn("3 out of 4");
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
 
             APIGatewayProxyResponseEvent response =
                     questionHandler.handleRequest(input, contextMock);
@@ -242,12 +258,13 @@ class QuestionHandlerTest {
             assertNull(response.getBody());
 
             verify(mockKBVStorageService)
-                    .getKBVItem(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
+                    .getKBVItem(
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class));
 
             verify(mockPersonIdentityService).getPersonIdentityDetailed(kbvItem.getSessionId());
-            verify(mockObjectMapper).readValue(kbvItem.getQuestionState(), QuestionState.class);
-            verify(mockConfigurationService).getParameterValue("IIQStrategy");
-            verify(mockConfigurationService).getParameterValue("IIQOperatorId");
+            verify(mockQuestionStateCodec).read(kbvItem);
+            verify(mockIiqConfigurationProvider).get();
             verify(mockEventProbe).counterMetric(LAMBDA_NAME, 0d);
             verify(mockEventProbe)
                     .addDimensions(Map.of(METRIC_DIMENSION_QUESTION_STRATEGY, "3 out of 4"));
@@ -277,7 +294,9 @@ class QuestionHandlerTest {
             when(input.getHeaders()).thenReturn(sessionHeader);
             doThrow(InternalServerErrorException.class)
                     .when(mockKBVStorageService)
-                    .getKBVItem(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
+                    .getKBVItem(
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class));
 
             setupEventProbeErrorBehaviour();
             APIGatewayProxyResponseEvent response =
@@ -288,6 +307,84 @@ class QuestionHandlerTest {
             verify(mockEventProbe).counterMetric(LAMBDA_NAME, 0d);
         }
 
+        @Test
+        void shouldReturn504ErrorWhenTheRequestDeadlineIsExceeded() {
+            APIGatewayProxyRequestEvent input = mock(APIGatewayProxyRequestEvent.class);
+            Map<String, String> sessionHeader =
+                    Map.of(HEADER_SESSION_ID, UUID.randomUUID().toString());
+
+            when(input.getHeaders()).thenReturn(sessionHeader);
+            doThrow(new DeadlineExceededException("KBV item read needs 200 ms"))
+                    .when(mockKBVStorageService)
+                    .getKBVItem(
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class));
+
+            setupEventProbeErrorBehaviour();
+            APIGatewayProxyResponseEvent response =
+                    questionHandler.handleRequest(input, mock(Context.class));
+
+            assertEquals("{\"error\":\"Request deadline exceeded.\"}", response.getBody());
+            assertEquals(HttpStatusCode.GATEWAY_TIMEOUT, response.getStatusCode());
+            verify(mockEventProbe).counterMetric(LAMBDA_NAME, 0d);
+        }
+
+        @Test
+        void shouldReturn503ErrorWhenTheExperianCircuitIsOpen() throws IOException {
+            APIGatewayProxyRequestEvent input = mock(APIGatewayProxyRequestEvent.class);
+            Map<String, String> sessionHeader =
+                    Map.of(HEADER_SESSION_ID, UUID.randomUUID().toString());
+            KBVItem kbvItem = new KBVItem();
+            kbvItem.setSessionId(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID)));
+
+            when(input.getHeaders()).thenReturn(sessionHeader);
+            when(mockKBVStorageService.getKBVItem(
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class)))
+                    .thenReturn(kbvItem);
+            when(mockQuestionStateCodec.read(kbvItem)).thenReturn(new QuestionState());
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
+            doThrow(new ExperianUnavailableException("SAA call short-circuited"))
+                    .when(spyKBVService)
+                    .getQuestionsAsync(any(), any(RequestDeadline.class));
+
+            setupEventProbeErrorBehaviour();
+            APIGatewayProxyResponseEvent response =
+                    questionHandler.handleRequest(input, mock(Context.class));
+
+            assertEquals(
+                    "{\"error\":\"Experian is temporarily unavailable.\"}", response.getBody());
+            assertEquals(HttpStatusCode.SERVICE_UNAVAILABLE, response.getStatusCode());
+            verify(mockAuditService, never())
+                    .sendAuditEvent(any(AuditEventType.class), any(AuditEventContext.class));
+            verify(mockEventProbe).counterMetric(LAMBDA_NAME, 0d);
+        }
+
+        @Test
+        void shouldSkipTheRequestSentAuditEventWhenTheDeadlineIsNearlySpent()
+                throws IOException, SqsException {
+            KBVItem kbvItem = new KBVItem();
+            UUID sessionId = UUID.randomUUID();
+            kbvItem.setSessionId(sessionId);
+            when(mockPersonIdentityService.getPersonIdentityDetailed(sessionId))
+                    .thenReturn(mock(PersonIdentityDetailed.class));
+            doReturn(CompletableFuture.completedFuture(getExperianQuestionResponse()))
+                    .when(spyKBVService)
+                    .getQuestionsAsync(any(), any(RequestDeadline.class));
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
+
+            questionHandler.processQuestionRequest(
+                    createJourneyContext(mock(SessionItem.class), kbvItem, new QuestionState()),
+                    new HashMap<>(),
+                    RequestDeadline.fromRemainingTime(1_500));
+
+            verify(mockAuditService, never())
+                    .sendAuditEvent(any(AuditEventType.class), any(AuditEventContext.class));
+            verify(mockEventProbe).counterMetric(AUDIT_EVENT_SKIPPED_METRIC);
+        }
+
         @Test
         void shouldReturn500ErrorWhenPersonIdentityCannotBeRetrievedDueToAnAwsError() {
             APIGatewayProxyRequestEvent input = mock(APIGatewayProxyRequestEvent.class);
@@ -339,18 +436,18 @@ class QuestionHandlerTest {
 
             when(input.getHeaders()).thenReturn(sessionHeader);
             when(mockKBVStorageService.getKBVItem(
-                            UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class)))
                     .thenReturn(kbvItemMock);
             when(mockPersonIdentityService.getPersonIdentityDetailed(
                             UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
                     .thenReturn(personIdentityMock);
 
-            when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                    .thenReturn(questionStateMock);
+            when(mockQuestionStateCodec.read(kbvItemMock)).thenReturn(questionStateMock);
 
-            doThrow(RuntimeException.class)
+            doReturn(CompletableFuture.failedFuture(new RuntimeException()))
                     .when(spyKBVService)
-                    .getQuestions(any(QuestionRequest.class));
+                    .getQuestionsAsync(any(QuestionRequest.class), any(RequestDeadline.class));
 
             setupEventProbeErrorBehaviour();
             APIGatewayProxyResponseEvent response =
@@ -370,16 +467,13 @@ class QuestionHandlerTest {
 
             Context contextMock = mock(Context.class);
             KBVItem kbvItemMock = mock(KBVItem.class);
-            QuestionState questionStateMock = mock(QuestionState.class);
 
             when(input.getHeaders()).thenReturn(sessionHeader);
             when(mockKBVStorageService.getKBVItem(
-                            UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))))
+                            eq(UUID.fromString(sessionHeader.get(HEADER_SESSION_ID))),
+                            any(RequestDeadline.class)))
                     .thenReturn(kbvItemMock);
 
-            when(mockObjectMapper.readValue(kbvItemMock.getQuestionState(), QuestionState.class))
-                    .thenReturn(questionStateMock);
-
             when(mockEventProbe.counterMetric(LAMBDA_NAME)).thenReturn(mockEventProbe);
             when(kbvItemMock.getStatus()).thenReturn("status-code");
             APIGatewayProxyResponseEvent response =
@@ -388,8 +482,8 @@ class QuestionHandlerTest {
             assertEquals(HttpStatusCode.NO_CONTENT, response.getStatusCode());
             assertNull(response.getBody());
             verify(mockEventProbe).counterMetric(LAMBDA_NAME);
-            verify(mockConfigurationService, times(0)).getParameterValue("IIQStrategy");
-            verify(mockConfigurationService, times(0)).getParameterValue("IIQOperatorId");
+            verify(mockIiqConfigurationProvider, times(0)).get();
+            verify(mockQuestionStateCodec, never()).read(any());
         }
     }
 
@@ -397,7 +491,7 @@ class QuestionHandlerTest {
     class ProcessQuestionRequest {
         @Test
         void shouldThrowQuestionNotFoundExceptionWhenQuestionStateAndKbvItemEmptyObjects()
-                throws SqsException {
+                throws IOException, SqsException {
             String expectedOutcome = "Insufficient Questions (Unable to Authenticate)";
             UUID sessionId = UUID.randomUUID();
             KBVItem kbvItem = mock(KBVItem.class);
@@ -411,15 +505,18 @@ class QuestionHandlerTest {
             when(control.getAuthRefNo()).thenReturn("an auth ref no");
             when(control.getURN()).thenReturn("a urn");
 
-            when(mockKBVGateway.getQuestions(any(QuestionRequest.class)))
-                    .thenReturn(questionsResponse);
-            when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
-                    .thenReturn("3 out of 4");
+            when(mockKBVGateway.getQuestionsAsync(
+                            any(QuestionRequest.class), any(RequestDeadline.class)))
+                    .thenReturn(CompletableFuture.completedFuture(questionsResponse));
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
+            JourneyContext journeyContext =
+                    createJourneyContext(sessionItem, kbvItem, new QuestionState());
             assertThrows(
                     QuestionNotFoundException.class,
                     () -> {
                         questionHandler.processQuestionRequest(
-                                new QuestionState(), kbvItem, sessionItem, requestHeaders);
+                                journeyContext, requestHeaders, createRequestDeadline());
                     },
                     "Question not Found");
             verify(sessionService).createAuthorizationCode(sessionItem);
@@ -428,7 +525,9 @@ class QuestionHandlerTest {
                             eq(AuditEventType.THIRD_PARTY_REQUEST_ENDED),
                             auditEventContextArgCaptor.capture(),
                             auditEventMap.capture());
-            verify(mockKBVStorageService).save(kbvItem);
+            verify(mockKBVStorageService)
+                    .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
+            verify(mockKBVStorageService, never()).save(any(), any(RequestDeadline.class));
             verify(mockEventProbe)
                     .addDimensions(Map.of(METRIC_DIMENSION_QUESTION_STRATEGY, "3 out of 4"));
             verifyNoMoreInteractions(mockEventProbe);
@@ -439,35 +538,46 @@ class QuestionHandlerTest {
                     (Map<String, Object>) auditEventMap.getValue().get("experianIiqResponse");
             String outcome = (String) response.get("outcome");
             assertThat(outcome, equalTo(expectedOutcome));
-            verify(mockConfigurationService).getParameterValue("IIQStrategy");
-            verify(mockConfigurationService).getParameterValue("IIQOperatorId");
+            verify(mockIiqConfigurationProvider).get();
             assertEquals(sessionItem, auditEventContextArgCaptor.getValue().getSessionItem());
             assertEquals(requestHeaders, auditEventContextArgCaptor.getValue().getRequestHeaders());
         }
 
         @Test
         void shouldReturnThrowErrorWhenQuestionStateIsNull() {
-            var kbvItem = new KBVItem();
-            assertThrows(
-                    NullPointerException.class,
-                    () ->
-                            questionHandler.processQuestionRequest(
-                                    null, kbvItem, new SessionItem(), new HashMap<>()),
-                    "questionState cannot be null");
+            var journeyContext =
+                    new JourneyContext(new SessionItem(), new KBVItem(), mockQuestionStateCodec);
+            NullPointerException expectedException =
+                    assertThrows(
+                            NullPointerException.class,
+                            () ->
+                                    questionHandler.processQuestionRequest(
+                                            journeyContext,
+                                            new HashMap<>(),
+                                            createRequestDeadline()));
+
+            assertEquals("questionState cannot be null", expectedException.getMessage());
         }
 
         @Test
-        void shouldReturnThrowErrorWhenKbvItemIsNull() {
-            var questionState = new QuestionState();
+        void shouldReturnThrowErrorWhenJourneyContextIsNull() {
             NullPointerException expectedException =
                     assertThrows(
                             NullPointerException.class,
                             () ->
                                     questionHandler.processQuestionRequest(
-                                            questionState,
-                                            null,
-                                            mock(SessionItem.class),
-                                            new HashMap<>()));
+                                            null, new HashMap<>(), createRequestDeadline()));
+
+            assertEquals("journeyContext cannot be null", expectedException.getMessage());
+        }
+
+        @Test
+        void shouldReturnThrowErrorWhenKbvItemIsNull() {
+            var sessionItem = mock(SessionItem.class);
+            NullPointerException expectedException =
+                    assertThrows(
+                            NullPointerException.class,
+                            () -> new JourneyContext(sessionItem, null, mockQuestionStateCodec));
 
             assertEquals("kbvItem cannot be null", expectedException.getMessage());
         }
@@ -476,25 +586,23 @@ class QuestionHandlerTest {
         void shouldReturnNextQuestionFromDbStoreWhenThereIsAnUnansweredQuestionInStorage()
                 throws IOException, SqsException {
             QuestionState questionState = new QuestionState();
-            Questions questions = new Questions();
 
-            Question answeredQuestion = getQuestionOne();
+            KBVQuestion answeredQuestion = getQuestionOne();
             QuestionAnswer questionAnswer = new QuestionAnswer();
             questionAnswer.setQuestionId(answeredQuestion.getQuestionID());
             questionAnswer.setAnswer("OVER £35,000 UP TO £60,000");
 
-            Question unAnsweredQuestion = getQuestionTwo();
-            questions.getQuestion().addAll(List.of(answeredQuestion, unAnsweredQuestion));
+            KBVQuestion unAnsweredQuestion = getQuestionTwo();
 
-            questionState.setQAPairs(questions);
+            questionState.setQAPairs(List.of(answeredQuestion, unAnsweredQuestion));
             questionState.setAnswer(questionAnswer);
 
-            Question nextQuestion =
+            KBVQuestion nextQuestion =
                     questionHandler.processQuestionRequest(
-                            questionState,
-                            mock(KBVItem.class),
-                            mock(SessionItem.class),
-                            new HashMap<>());
+                            createJourneyContext(
+                                    mock(SessionItem.class), mock(KBVItem.class), questionState),
+                            new HashMap<>(),
+                            createRequestDeadline());
 
             assertEquals(nextQuestion.getQuestionID(), unAnsweredQuestion.getQuestionID());
         }
@@ -511,21 +619,63 @@ class QuestionHandlerTest {
 
             when(mockPersonIdentityService.getPersonIdentityDetailed(sessionId))
                     .thenReturn(personIdentity);
-            doReturn(getExperianQuestionResponse()).when(spyKBVService).getQuestions(any());
-            when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
-                    .thenReturn("3 out of 4");
-            Question nextQuestionFromExperian =
+            doReturn(CompletableFuture.completedFuture(getExperianQuestionResponse()))
+                    .when(spyKBVService)
+                    .getQuestionsAsync(any(), any(RequestDeadline.class));
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
+            KBVQuestion nextQuestionFromExperian =
                     questionHandler.processQuestionRequest(
-                            questionState, kbvItem, mock(SessionItem.class), new HashMap<>());
+                            createJourneyContext(mock(SessionItem.class), kbvItem, questionState),
+                            new HashMap<>(),
+                            createRequestDeadline());
 
             assertEquals(
                     nextQuestionFromExperian.getQuestionID(),
-                    getExperianQuestionResponse()
-                            .getQuestions()
-                            .getQuestion()
-                            .get(0)
-                            .getQuestionID());
+                    getExperianQuestionResponse().getQuestions().get(0).getQuestionID());
         }
+
+        @Test
+        void shouldStillStoreTheSaaResultWhenTheRequestSentAuditEventFails()
+                throws IOException, SqsException {
+            KBVItem kbvItem = new KBVItem();
+            kbvItem.setSessionId(UUID.randomUUID());
+            RuntimeException auditFailure = new IllegalStateException("SQS unavailable");
+            doReturn(CompletableFuture.completedFuture(getExperianQuestionResponse()))
+                    .when(spyKBVService)
+                    .getQuestionsAsync(any(), any(RequestDeadline.class));
+            when(mockIiqConfigurationProvider.get())
+                    .thenReturn(new IIQConfiguration("3 out of 4", "operator-id", "Static"));
+            doThrow(auditFailure)
+                    .when(mockAuditService)
+                    .sendAuditEvent(eq(AuditEventType.REQUEST_SENT), any(AuditEventContext.class));
+            when(mockEventProbe.log(Level.ERROR, auditFailure)).thenReturn(mockEventProbe);
+
+            KBVQuestion nextQuestionFromExperian =
+                    questionHandler.processQuestionRequest(
+                            createJourneyContext(
+                                    mock(SessionItem.class), kbvItem, new QuestionState()),
+                            new HashMap<>(),
+                            createRequestDeadline());
+
+            assertEquals(
+                    getExperianQuestionResponse().getQuestions().get(0).getQuestionID(),
+                    nextQuestionFromExperian.getQuestionID());
+            verify(mockKBVStorageService)
+                    .updateAttributes(any(KBVItemUpdate.class), any(RequestDeadline.class));
+            verify(mockEventProbe).counterMetric(AUDIT_EVENT_FAILED_METRIC);
+        }
+    }
+
+    private JourneyContext createJourneyContext(
+            SessionItem sessionItem, KBVItem kbvItem, QuestionState questionState)
+            throws IOException {
+        when(mockQuestionStateCodec.read(kbvItem)).thenReturn(questionState);
+        return new JourneyContext(sessionItem, kbvItem, mockQuestionStateCodec);
+    }
+
+    private static RequestDeadline createRequestDeadline() {
+        return RequestDeadline.fromRemainingTime(REMAINING_TIME_MILLIS);
     }
 
     private void setupEventProbeErrorBehaviour() {
@@ -533,8 +683,8 @@ class QuestionHandlerTest {
         when(mockEventProbe.log(any(Level.class), any(Exception.class))).thenReturn(mockEventProbe);
     }
 
-    private Question getQuestionOne() {
-        Question question = new Question();
+    private KBVQuestion getQuestionOne() {
+        KBVQuestion question = new KBVQuestion();
         question.setQuestionID("Q00015");
         question.setText("What is the outstanding balance ");
         question.setTooltip("outstanding balance tooltip");
@@ -553,8 +703,8 @@ class QuestionHandlerTest {
         return question;
     }
 
-    private Question getQuestionTwo() {
-        Question question = new Question();
+    private KBVQuestion getQuestionTwo() {
+        KBVQuestion question = new KBVQuestion();
         question.setQuestionID("Q00040");
         question.setText("What your favorite color");
         question.setTooltip("favorite color tooltip");
@@ -570,17 +720,15 @@ class QuestionHandlerTest {
     }
 
     private QuestionsResponse getExperianQuestionResponse() {
-        return getExperianQuestionResponse(Collections.singletonList(new Question()));
+        return getExperianQuestionResponse(Collections.singletonList(new KBVQuestion()));
     }
 
-    private QuestionsResponse getExperianQuestionResponse(List<Question> questionList) {
+    private QuestionsResponse getExperianQuestionResponse(List<KBVQuestion> questionList) {
         QuestionsResponse questionsResponse = new QuestionsResponse();
-        Questions questions = new Questions();
         Control control = new Control();
         control.setAuthRefNo("authrefno");
         control.setURN("urn");
-        questions.getQuestion().addAll(questionList);
-        questionsResponse.setQuestions(questions);
+        questionsResponse.setQuestions(questionList);
         questionsResponse.setControl(control);
 
         return questionsResponse;
@@ -0,0 +1,175 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import com.experian.uk.wasp.TokenServiceSoap;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import uk.gov.di.ipv.cri.kbv.api.domain.WaspTokenItem;
+
+import javax.xml.namespace.QName;
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPEnvelope;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPHeader;
+import javax.xml.soap.SOAPHeaderElement;
+import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.di.ipv.cri.kbv.api.security.SecurityHeaderInterceptor.WSSE_NAMESPACE;
+import static uk.gov.di.ipv.cri.kbv.api.security.SecurityHeaderInterceptor.WSU_NAMESPACE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityHeaderBenchmark {
+    private static final String SOAP_NAMESPACE = SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE;
+    private static final String IIQ_NAMESPACE =
+            "http://schema.uk.experian.com/Experian/IdentityIQ/Services/WebService";
+    private static final String TOKEN = "wasp-benchmark-token-0123456789abcdef";
+    private static final String REQUEST =
+            "<soap:Envelope xmlns:soap=\""
+                    + SOAP_NAMESPACE
+                    + "\"><soap:Header/><soap:Body><SAA xmlns=\""
+                    + IIQ_NAMESPACE
+                    + "\"><sAARequest><Control><URN>urn</URN><OperatorID>op</OperatorID>"
+                    + "</Control><Applicant><Name><Forename>Mary</Forename>"
+                    + "<Surname>Smith</Surname></Name></Applicant></sAARequest></SAA>"
+                    + "</soap:Body></soap:Envelope>";
+
+    private MessageFactory messageFactory;
+    private String encodedToken;
+    private WaspTokenCache waspTokenCache;
+
+    @Setup
+    public void setUp() throws SOAPException {
+        messageFactory = MessageFactory.newInstance();
+        encodedToken = Base64.getEncoder().encodeToString(TOKEN.getBytes(StandardCharsets.UTF_8));
+        waspTokenCache =
+                new WaspTokenCache(
+                        new FixedSoapToken(),
+                        new SharedWaspTokenStore(unavailableTable(), Duration.ZERO, 0),
+                        emission -> {},
+                        Duration.ofHours(4),
+                        Runnable::run,
+                        Ticker.systemTicker(),
+                        System::currentTimeMillis);
+        waspTokenCache.getEncodedToken();
+    }
+
+    @Benchmark
+    public byte[] saajHeaderHandler() throws SOAPException, IOException {
+        SOAPMessage soapMessage =
+                messageFactory.createMessage(
+                        null, new ByteArrayInputStream(REQUEST.getBytes(StandardCharsets.UTF_8)));
+        SOAPEnvelope envelope = soapMessage.getSOAPPart().getEnvelope();
+
+        SOAPHeader currentHeader = envelope.getHeader();
+        if (currentHeader != null) {
+            currentHeader.detachNode();
+        }
+        SOAPHeader header = envelope.addHeader();
+        SOAPHeaderElement security =
+                header.addHeaderElement(envelope.createName("Security", "wsse", WSSE_NAMESPACE));
+        SOAPElement binarySecurityToken = security.addChildElement("BinarySecurityToken", "wsse");
+        binarySecurityToken.addAttribute(new QName("xmlns:wsu"), WSU_NAMESPACE);
+        binarySecurityToken.addAttribute(new QName("EncodingType"), "wsse:Base64Binary");
+        binarySecurityToken.addAttribute(new QName("ValueType"), "ExperianWASP");
+        binarySecurityToken.setValue(encodedToken);
+        soapMessage.saveChanges();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        soapMessage.writeTo(outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] streamingSecurityHeaderInterceptor() throws XMLStreamException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(outputStream);
+        writer.writeStartDocument();
+        writer.writeStartElement("soap", "Envelope", SOAP_NAMESPACE);
+        writer.writeNamespace("soap", SOAP_NAMESPACE);
+        writer.writeStartElement("soap", "Header", SOAP_NAMESPACE);
+        SecurityHeaderInterceptor.writeSecurityHeader(writer, waspTokenCache.getEncodedToken());
+        writer.writeEndElement();
+        writer.writeStartElement("soap", "Body", SOAP_NAMESPACE);
+        writer.writeStartElement("", "SAA", IIQ_NAMESPACE);
+        writer.writeDefaultNamespace(IIQ_NAMESPACE);
+        writer.writeStartElement(IIQ_NAMESPACE, "sAARequest");
+        writeControl(writer);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+        return outputStream.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DynamoDbTable<WaspTokenItem> unavailableTable() {
+        return (DynamoDbTable<WaspTokenItem>)
+                Proxy.newProxyInstance(
+                        SecurityHeaderBenchmark.class.getClassLoader(),
+                        new Class<?>[] {DynamoDbTable.class},
+                        (proxy, method, args) -> {
+                            throw new UnsupportedOperationException(method.getName());
+                        });
+    }
+
+    private static void writeControl(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeStartElement(IIQ_NAMESPACE, "Control");
+        writeText(writer, "URN", "urn");
+        writeText(writer, "OperatorID", "op");
+        writer.writeEndElement();
+        writer.writeStartElement(IIQ_NAMESPACE, "Applicant");
+        writer.writeStartElement(IIQ_NAMESPACE, "Name");
+        writeText(writer, "Forename", "Mary");
+        writeText(writer, "Surname", "Smith");
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private static void writeText(XMLStreamWriter writer, String localName, String text)
+            throws XMLStreamException {
+        writer.writeStartElement(IIQ_NAMESPACE, localName);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    private static class FixedSoapToken extends SoapToken {
+        private FixedSoapToken() {
+            super("benchmark", true, (TokenServiceSoap) null);
+        }
+
+        @Override
+        public String getToken() {
+            return TOKEN;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Applicant;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicantDateOfBirth;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicantName;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
+import com.experian.uk.schema.experian.identityiq.services.webservice.LocationDetails;
+import com.experian.uk.schema.experian.identityiq.services.webservice.LocationDetailsUKLocation;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ObjectFactory;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile;
+
+import javax.net.ssl.SSLContext;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentityIQCodecBenchmark {
+    private static final String ENCODED_TOKEN = "d2FzcC1iZW5jaG1hcmstdG9rZW4=";
+    private static final String RTQ_RESPONSE =
+            "<soap:Envelope xmlns:soap=\""
+                    + IdentityIQSoapCodec.SOAP_NAMESPACE
+                    + "\"><soap:Body><RTQResponse xmlns=\""
+                    + IdentityIQSoapCodec.IIQ_NAMESPACE
+                    + "\"><RTQResult><Control><URN>urn</URN><AuthRefNo>7DCTVTQ9</AuthRefNo>"
+                    + "</Control><Questions><Question><QuestionID>Q00015</QuestionID>"
+                    + "<Text>What is the outstanding balance of your current mortgage?</Text>"
+                    + "<AnswerFormat><Identifier>A00004</Identifier><FieldType>G</FieldType>"
+                    + "<AnswerList>UP TO 10,000</AnswerList><AnswerList>OVER 10,000 UP TO 35,000"
+                    + "</AnswerList><AnswerList>OVER 35,000 UP TO 60,000</AnswerList>"
+                    + "<AnswerList>NONE OF THE ABOVE / DOES NOT APPLY</AnswerList>"
+                    + "</AnswerFormat></Question><SkipsRemaining>2</SkipsRemaining>"
+                    + "</Questions><Results><Outcome>Authentication Questions returned</Outcome>"
+                    + "<NextTransId><string>RTQ</string></NextTransId></Results>"
+                    + "</RTQResult></RTQResponse></soap:Body></soap:Envelope>";
+
+    private final IdentityIQSoapCodec codec = new IdentityIQSoapCodec();
+    private final XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+    private JAXBContext jaxbContext;
+    private SAARequest saaRequest;
+    private byte[] rtqResponse;
+
+    @Setup
+    public void setUp() throws JAXBException {
+        jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
+        saaRequest = createSaaRequest();
+        rtqResponse = RTQ_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] jaxbEncodeSaaRequest() throws JAXBException, XMLStreamException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(outputStream, "UTF-8");
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("soap", "Envelope", IdentityIQSoapCodec.SOAP_NAMESPACE);
+        writer.writeNamespace("soap", IdentityIQSoapCodec.SOAP_NAMESPACE);
+        writer.writeStartElement("soap", "Body", IdentityIQSoapCodec.SOAP_NAMESPACE);
+        writer.writeStartElement("", "SAA", IdentityIQSoapCodec.IIQ_NAMESPACE);
+        writer.writeDefaultNamespace(IdentityIQSoapCodec.IIQ_NAMESPACE);
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.marshal(
+                new JAXBElement<>(
+                        new QName(IdentityIQSoapCodec.IIQ_NAMESPACE, "sAARequest"),
+                        SAARequest.class,
+                        saaRequest),
+                writer);
+        writer.writeEndDocument();
+        writer.flush();
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] staxEncodeSaaRequest() throws XMLStreamException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        codec.writeSaaRequest(outputStream, saaRequest, ENCODED_TOKEN);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public RTQResponse2 jaxbDecodeRtqResponse() throws JAXBException, XMLStreamException {
+        XMLStreamReader reader =
+                xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(rtqResponse));
+        try {
+            int event = reader.next();
+            while (event != XMLStreamReader.START_ELEMENT
+                    || !"RTQResult".equals(reader.getLocalName())) {
+                event = reader.next();
+            }
+            return jaxbContext
+                    .createUnmarshaller()
+                    .unmarshal(reader, RTQResponse2.class)
+                    .getValue();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Benchmark
+    public RTQResponse2 staxDecodeRtqResponse() throws XMLStreamException {
+        return codec.readRtqResponse(new ByteArrayInputStream(rtqResponse));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public IdentityIQWebServiceSoap coldStartCxfClient() {
+        JaxWsProxyFactoryBean proxyFactory = new JaxWsProxyFactoryBean();
+        proxyFactory.setServiceClass(IdentityIQWebServiceSoap.class);
+        proxyFactory.setAddress("https://localhost/IdentityIQWebService/IdentityIQWebService.asmx");
+        return proxyFactory.create(IdentityIQWebServiceSoap.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public byte[] coldStartHttpClient() throws XMLStreamException {
+        new SoapHttpClient(
+                IdentityIQCodecBenchmark::createSslContext, TransportProfile.fromEnvironment());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new IdentityIQSoapCodec().writeSaaRequest(outputStream, createSaaRequest(), ENCODED_TOKEN);
+        return outputStream.toByteArray();
+    }
+
+    private static SSLContext createSslContext() {
+        try {
+            return SSLContext.getDefault();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SAARequest createSaaRequest() {
+        Control control = new Control();
+        control.setURN("urn");
+        control.setOperatorID("GDSCABINETUIIQ01U");
+        ApplicantName name = new ApplicantName();
+        name.setForename("Mary");
+        name.setSurname("Watson");
+        ApplicantDateOfBirth dateOfBirth = new ApplicantDateOfBirth();
+        dateOfBirth.setCCYY(1932);
+        dateOfBirth.setMM(2);
+        dateOfBirth.setDD(25);
+        Applicant applicant = new Applicant();
+        applicant.setApplicantIdentifier("1");
+        applicant.setName(name);
+        applicant.setDateOfBirth(dateOfBirth);
+        LocationDetailsUKLocation ukLocation = new LocationDetailsUKLocation();
+        ukLocation.setHouseNumber("221B");
+        ukLocation.setStreet("Baker Street");
+        ukLocation.setPostTown("London");
+        ukLocation.setPostcode("NW1 6XE");
+        LocationDetails locationDetails = new LocationDetails();
+        locationDetails.setLocationIdentifier(1);
+        locationDetails.setUKLocation(ukLocation);
+        SAARequest request = new SAARequest();
+        request.setControl(control);
+        request.setApplicant(applicant);
+        request.getLocationDetails().add(locationDetails);
+        return request;
+    }
+}
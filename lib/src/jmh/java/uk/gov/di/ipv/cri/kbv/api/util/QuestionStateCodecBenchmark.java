@@ -0,0 +1,120 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionStateCodecBenchmark {
+    private final JsonCodec jsonCodec = new JsonCodec(false);
+
+    @Param({"512", "1024", "2147483647"})
+    private int compressionThreshold;
+
+    private QuestionStateCodec questionStateCodec;
+    private QuestionState questionState;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        questionStateCodec =
+                new QuestionStateCodec(jsonCodec, compressionThreshold, new EventProbe());
+        questionState = createQuestionState();
+        json = jsonCodec.writeQuestionState(questionState);
+        binary = questionStateCodec.encode(questionState);
+    }
+
+    @Benchmark
+    public String jsonWrite() throws JsonProcessingException {
+        return jsonCodec.writeQuestionState(questionState);
+    }
+
+    @Benchmark
+    public QuestionState jsonRead() throws JsonProcessingException {
+        return jsonCodec.readQuestionState(json);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() throws IOException {
+        return questionStateCodec.encode(questionState);
+    }
+
+    @Benchmark
+    public QuestionState binaryDecode() throws IOException {
+        return questionStateCodec.decode(binary);
+    }
+
+    private static QuestionState createQuestionState() {
+        List<KBVQuestion> questions =
+                List.of(
+                        createQuestion(
+                                "Q00015",
+                                "What is the outstanding balance of your current mortgage?",
+                                "UP TO 10,000",
+                                "OVER 10,000 UP TO 35,000",
+                                "OVER 35,000 UP TO 60,000",
+                                "NONE OF THE ABOVE / DOES NOT APPLY"),
+                        createQuestion(
+                                "Q00040",
+                                "Who is your mortgage with?",
+                                "NATIONWIDE",
+                                "HALIFAX",
+                                "BARCLAYS",
+                                "NONE OF THE ABOVE / DOES NOT APPLY"),
+                        createQuestion(
+                                "Q00018",
+                                "How much is your monthly loan repayment?",
+                                "UP TO 100",
+                                "OVER 100 UP TO 250",
+                                "OVER 250 UP TO 500",
+                                "NONE OF THE ABOVE / DOES NOT APPLY"));
+        QuestionAnswer questionAnswer = new QuestionAnswer();
+        questionAnswer.setQuestionId("Q00015");
+        questionAnswer.setAnswer("OVER 35,000 UP TO 60,000");
+
+        QuestionState state = new QuestionState();
+        state.setQAPairs(questions);
+        state.setAnswer(questionAnswer);
+        return state;
+    }
+
+    private static KBVQuestion createQuestion(String questionId, String text, String... answers) {
+        AnswerFormat answerFormat = new AnswerFormat();
+        answerFormat.setIdentifier("A00004");
+        answerFormat.setFieldType("G");
+        for (String answer : answers) {
+            answerFormat.getAnswerList().add(answer);
+        }
+
+        KBVQuestion question = new KBVQuestion();
+        question.setQuestionID(questionId);
+        question.setText(text);
+        question.setTooltip("Select the option that best describes your circumstances");
+        question.setAnswerFormat(answerFormat);
+        return question;
+    }
+}
@@ -1,22 +1,35 @@
 package uk.gov.di.ipv.cri.kbv.api.domain;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class AnswerFormat {
 
     private String identifier;
     private String fieldType;
-    private List<String> answerList;
+    private List<String> answerList = new ArrayList<>();
 
     public String getIdentifier() {
         return identifier;
     }
 
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
     public String getFieldType() {
         return fieldType;
     }
 
+    public void setFieldType(String fieldType) {
+        this.fieldType = fieldType;
+    }
+
     public List<String> getAnswerList() {
         return answerList;
     }
+
+    public void setAnswerList(List<String> answerList) {
+        this.answerList = answerList;
+    }
 }
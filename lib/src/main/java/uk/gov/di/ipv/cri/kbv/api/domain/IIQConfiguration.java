@@ -0,0 +1,25 @@
+package uk.gov.di.ipv.cri.kbv.api.domain;
+
+public class IIQConfiguration {
+    private final String strategy;
+    private final String operatorId;
+    private final String databaseMode;
+
+    public IIQConfiguration(String strategy, String operatorId, String databaseMode) {
+        this.strategy = strategy;
+        this.operatorId = operatorId;
+        this.databaseMode = databaseMode;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public String getOperatorId() {
+        return operatorId;
+    }
+
+    public String getDatabaseMode() {
+        return databaseMode;
+    }
+}
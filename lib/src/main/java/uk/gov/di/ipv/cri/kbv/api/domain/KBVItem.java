@@ -1,5 +1,6 @@
 package uk.gov.di.ipv.cri.kbv.api.domain;
 
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
 
@@ -9,6 +10,7 @@ import java.util.UUID;
 public class KBVItem {
     private UUID sessionId;
     private String questionState;
+    private SdkBytes questionStateData;
     private long expiryDate;
     private String authRefNo;
     private String urn;
@@ -26,6 +28,14 @@ public class KBVItem {
         return questionState;
     }
 
+    public SdkBytes getQuestionStateData() {
+        return questionStateData;
+    }
+
+    public void setQuestionStateData(SdkBytes questionStateData) {
+        this.questionStateData = questionStateData;
+    }
+
     public long getExpiryDate() {
         return expiryDate;
     }
@@ -0,0 +1,66 @@
+package uk.gov.di.ipv.cri.kbv.api.domain;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+import java.util.UUID;
+
+@DynamoDbBean
+public class KBVItemUpdate {
+    private UUID sessionId;
+    private SdkBytes questionStateData;
+    private Long expiryDate;
+    private String authRefNo;
+    private String urn;
+    private String status;
+
+    @DynamoDbPartitionKey
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(UUID sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public SdkBytes getQuestionStateData() {
+        return questionStateData;
+    }
+
+    public void setQuestionStateData(SdkBytes questionStateData) {
+        this.questionStateData = questionStateData;
+    }
+
+    public Long getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(Long expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public String getAuthRefNo() {
+        return authRefNo;
+    }
+
+    public void setAuthRefNo(String authRefNo) {
+        this.authRefNo = authRefNo;
+    }
+
+    public String getUrn() {
+        return urn;
+    }
+
+    public void setUrn(String urn) {
+        this.urn = urn;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
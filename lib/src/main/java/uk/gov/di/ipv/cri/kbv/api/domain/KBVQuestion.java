@@ -0,0 +1,43 @@
+package uk.gov.di.ipv.cri.kbv.api.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class KBVQuestion {
+    private String questionID;
+    private String text;
+    private String tooltip;
+    private AnswerFormat answerFormat;
+
+    public String getQuestionID() {
+        return questionID;
+    }
+
+    public void setQuestionID(String questionID) {
+        this.questionID = questionID;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getTooltip() {
+        return tooltip;
+    }
+
+    public void setTooltip(String tooltip) {
+        this.tooltip = tooltip;
+    }
+
+    public AnswerFormat getAnswerFormat() {
+        return answerFormat;
+    }
+
+    public void setAnswerFormat(AnswerFormat answerFormat) {
+        this.answerFormat = answerFormat;
+    }
+}
@@ -1,6 +1,5 @@
 package uk.gov.di.ipv.cri.kbv.api.domain;
 
-import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
 
 import java.util.ArrayList;
@@ -32,7 +31,7 @@ public class QuestionState {
 
     public boolean setQuestionsResponse(QuestionsResponse questionsResponse) {
         var questions = questionsResponse.getQuestions();
-        boolean hasQuestions = questions != null && questions.getQuestion() != null;
+        boolean hasQuestions = questions != null;
         if (hasQuestions) {
             // skipsRemaining = questions.getSkipsRemaining();
             // skipWarning = questions.getSkipWarning();
@@ -42,12 +41,8 @@ public class QuestionState {
         return hasQuestions;
     }
 
-    public void setQAPairs(
-            com.experian.uk.schema.experian.identityiq.services.webservice.Questions questions) {
-        qaPairs =
-                questions.getQuestion().stream()
-                        .map(QuestionAnswerPair::new)
-                        .collect(Collectors.toList());
+    public void setQAPairs(List<KBVQuestion> questions) {
+        qaPairs = questions.stream().map(QuestionAnswerPair::new).collect(Collectors.toList());
     }
 
     public List<QuestionAnswerPair> getQaPairs() {
@@ -66,7 +61,7 @@ public class QuestionState {
                 .collect(Collectors.toList());
     }
 
-    public Optional<Question> getNextQuestion() {
+    public Optional<KBVQuestion> getNextQuestion() {
         return qaPairs.stream()
                 .filter(pair -> pair.getAnswer() == null)
                 .map(QuestionAnswerPair::getQuestion)
@@ -0,0 +1,72 @@
+package uk.gov.di.ipv.cri.kbv.api.domain;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+@DynamoDbBean
+public class WaspTokenItem {
+    private String sessionId;
+    private String token;
+    private Long issuedAt;
+    private Long tokenExpiry;
+    private String leaseOwner;
+    private Long leaseExpiry;
+    private Long expiryDate;
+
+    @DynamoDbPartitionKey
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public void setIssuedAt(Long issuedAt) {
+        this.issuedAt = issuedAt;
+    }
+
+    public Long getTokenExpiry() {
+        return tokenExpiry;
+    }
+
+    public void setTokenExpiry(Long tokenExpiry) {
+        this.tokenExpiry = tokenExpiry;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public Long getLeaseExpiry() {
+        return leaseExpiry;
+    }
+
+    public void setLeaseExpiry(Long leaseExpiry) {
+        this.leaseExpiry = leaseExpiry;
+    }
+
+    public Long getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(Long expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+}
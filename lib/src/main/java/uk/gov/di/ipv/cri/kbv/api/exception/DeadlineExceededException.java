@@ -0,0 +1,11 @@
+package uk.gov.di.ipv.cri.kbv.api.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
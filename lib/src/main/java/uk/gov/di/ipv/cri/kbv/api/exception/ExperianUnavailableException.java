@@ -0,0 +1,7 @@
+package uk.gov.di.ipv.cri.kbv.api.exception;
+
+public class ExperianUnavailableException extends RuntimeException {
+    public ExperianUnavailableException(String message) {
+        super(message);
+    }
+}
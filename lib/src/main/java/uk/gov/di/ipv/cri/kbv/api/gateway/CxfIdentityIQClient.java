@@ -0,0 +1,123 @@
+package uk.gov.di.ipv.cri.kbv.api.gateway;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import org.apache.cxf.databinding.DataBinding;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.jaxb.JAXBDataBinding;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.ws.AsyncHandler;
+import javax.xml.ws.BindingProvider;
+import javax.xml.ws.WebServiceException;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+class CxfIdentityIQClient implements IdentityIQClient {
+    private static final String IIQ_NAMESPACE =
+            "http://schema.uk.experian.com/Experian/IdentityIQ/Services/WebService";
+    private final IdentityIQWebServiceSoap identityIQWebServiceSoap;
+
+    CxfIdentityIQClient(IdentityIQWebServiceSoap identityIQWebServiceSoap) {
+        this.identityIQWebServiceSoap =
+                Objects.requireNonNull(
+                        identityIQWebServiceSoap, "identityIQWebServiceSoap must not be null");
+    }
+
+    @Override
+    public SAAResponse2 saa(SAARequest saaRequest) {
+        return identityIQWebServiceSoap.saa(saaRequest);
+    }
+
+    @Override
+    public RTQResponse2 rtq(RTQRequest rtqRequest) {
+        return identityIQWebServiceSoap.rtq(rtqRequest);
+    }
+
+    @Override
+    public CompletableFuture<SAAResponse2> saaAsync(
+            SAARequest saaRequest, RequestDeadline deadline) {
+        CompletableFuture<SAAResponse> future = new CompletableFuture<>();
+        bindDeadline(deadline);
+        identityIQWebServiceSoap.saaAsync(saaRequest, completing(future, deadline, "SAA call"));
+        return future.thenApply(SAAResponse::getSAAResult);
+    }
+
+    @Override
+    public CompletableFuture<RTQResponse2> rtqAsync(
+            RTQRequest rtqRequest, RequestDeadline deadline) {
+        CompletableFuture<RTQResponse> future = new CompletableFuture<>();
+        bindDeadline(deadline);
+        identityIQWebServiceSoap.rtqAsync(rtqRequest, completing(future, deadline, "RTQ call"));
+        return future.thenApply(RTQResponse::getRTQResult);
+    }
+
+    @Override
+    public void primeBindings(SAARequest saaRequest, RTQRequest rtqRequest) {
+        if (!(identityIQWebServiceSoap instanceof BindingProvider)) {
+            return;
+        }
+        DataBinding dataBinding =
+                ClientProxy.getClient(identityIQWebServiceSoap)
+                        .getEndpoint()
+                        .getService()
+                        .getDataBinding();
+        if (!(dataBinding instanceof JAXBDataBinding)) {
+            return;
+        }
+        JAXBContext jaxbContext = ((JAXBDataBinding) dataBinding).getContext();
+        try {
+            roundTrip(jaxbContext, "sAARequest", SAARequest.class, saaRequest);
+            roundTrip(jaxbContext, "rTQRequest", RTQRequest.class, rtqRequest);
+        } catch (JAXBException e) {
+            throw new WebServiceException("Priming the IdentityIQ data binding failed", e);
+        }
+    }
+
+    private void bindDeadline(RequestDeadline deadline) {
+        if (identityIQWebServiceSoap instanceof BindingProvider) {
+            ((BindingProvider) identityIQWebServiceSoap)
+                    .getRequestContext()
+                    .put(RequestDeadline.CONTEXT_KEY, deadline);
+        }
+    }
+
+    private static <T> void roundTrip(
+            JAXBContext jaxbContext, String elementName, Class<T> type, T value)
+            throws JAXBException {
+        var element = new JAXBElement<>(new QName(IIQ_NAMESPACE, elementName), type, value);
+        var writer = new StringWriter();
+        jaxbContext.createMarshaller().marshal(element, writer);
+        jaxbContext
+                .createUnmarshaller()
+                .unmarshal(new StreamSource(new StringReader(writer.toString())), type);
+    }
+
+    private static <T> AsyncHandler<T> completing(
+            CompletableFuture<T> future, RequestDeadline deadline, String operation) {
+        return response -> {
+            try {
+                future.complete(response.get());
+            } catch (ExecutionException e) {
+                future.completeExceptionally(deadline.describeFailure(operation, e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+            }
+        };
+    }
+}
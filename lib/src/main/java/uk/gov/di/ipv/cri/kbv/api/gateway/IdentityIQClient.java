@@ -0,0 +1,21 @@
+package uk.gov.di.ipv.cri.kbv.api.gateway;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface IdentityIQClient {
+    SAAResponse2 saa(SAARequest saaRequest);
+
+    RTQResponse2 rtq(RTQRequest rtqRequest);
+
+    CompletableFuture<SAAResponse2> saaAsync(SAARequest saaRequest, RequestDeadline deadline);
+
+    CompletableFuture<RTQResponse2> rtqAsync(RTQRequest rtqRequest, RequestDeadline deadline);
+
+    void primeBindings(SAARequest saaRequest, RTQRequest rtqRequest);
+}
@@ -0,0 +1,23 @@
+package uk.gov.di.ipv.cri.kbv.api.gateway;
+
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+enum IdentityIQClientType {
+    CXF,
+    HTTP;
+
+    static final String CLIENT_TYPE_ENV_VAR = "EXPERIAN_IIQ_CLIENT";
+
+    static IdentityIQClientType fromEnvironment() {
+        return from(System::getenv);
+    }
+
+    static IdentityIQClientType from(UnaryOperator<String> environment) {
+        String clientType = environment.apply(CLIENT_TYPE_ENV_VAR);
+        if (clientType == null || clientType.isBlank()) {
+            return CXF;
+        }
+        return valueOf(clientType.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,6 +1,5 @@
 package uk.gov.di.ipv.cri.kbv.api.gateway;
 
-import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
 import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
 import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
 import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
@@ -8,32 +7,46 @@ import com.experian.uk.schema.experian.identityiq.services.webservice.SAARespons
 import software.amazon.lambda.powertools.tracing.Tracing;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.resilience.Bulkhead;
+import uk.gov.di.ipv.cri.kbv.api.resilience.CircuitBreaker;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class KBVGateway {
+    static final Duration MINIMUM_CALL_BUDGET = Duration.ofMillis(500);
     private final StartAuthnAttemptRequestMapper saaRequestMapper;
     private final ResponseToQuestionMapper responseToQuestionMapper;
-    private final IdentityIQWebServiceSoap identityIQWebServiceSoap;
+    private final IdentityIQClient identityIQClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
 
     KBVGateway(
             StartAuthnAttemptRequestMapper saaRequestMapper,
             ResponseToQuestionMapper responseToQuestionMapper,
-            IdentityIQWebServiceSoap identityIQWebServiceSoap) {
-        this.identityIQWebServiceSoap =
-                Objects.requireNonNull(
-                        identityIQWebServiceSoap, "identityIQWebServiceSoap must not be null");
+            IdentityIQClient identityIQClient,
+            CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead) {
+        this.identityIQClient =
+                Objects.requireNonNull(identityIQClient, "identityIQClient must not be null");
         this.saaRequestMapper =
                 Objects.requireNonNull(saaRequestMapper, "saaRequestMapper must not be null");
         this.responseToQuestionMapper =
                 Objects.requireNonNull(
                         responseToQuestionMapper, "rtqRequestMapper must not be null");
+        this.circuitBreaker =
+                Objects.requireNonNull(circuitBreaker, "circuitBreaker must not be null");
+        this.bulkhead = Objects.requireNonNull(bulkhead, "bulkhead must not be null");
     }
 
     @Tracing
     public QuestionsResponse getQuestions(QuestionRequest questionRequest) {
         SAARequest saaRequest = saaRequestMapper.mapQuestionRequest(questionRequest);
-        SAAResponse2 saaResponse2 = identityIQWebServiceSoap.saa(saaRequest);
+        SAAResponse2 saaResponse2 = guarded("SAA call", () -> identityIQClient.saa(saaRequest));
         return saaRequestMapper.mapSAAResponse2ToQuestionsResponse(saaResponse2);
     }
 
@@ -41,7 +54,85 @@ public class KBVGateway {
     public QuestionsResponse submitAnswers(QuestionAnswerRequest questionAnswerRequest) {
         RTQRequest rtqRequest =
                 responseToQuestionMapper.mapQuestionAnswersRtqRequest(questionAnswerRequest);
-        RTQResponse2 rtqResponse2 = identityIQWebServiceSoap.rtq(rtqRequest);
+        RTQResponse2 rtqResponse2 = guarded("RTQ call", () -> identityIQClient.rtq(rtqRequest));
         return responseToQuestionMapper.mapRTQResponse2ToMapQuestionsResponse(rtqResponse2);
     }
+
+    public CompletableFuture<QuestionsResponse> getQuestionsAsync(
+            QuestionRequest questionRequest, RequestDeadline deadline) {
+        deadline.ensureRemaining(MINIMUM_CALL_BUDGET, "SAA call");
+        SAARequest saaRequest = saaRequestMapper.mapQuestionRequest(questionRequest);
+        return guardedAsync("SAA call", () -> identityIQClient.saaAsync(saaRequest, deadline))
+                .thenApply(saaRequestMapper::mapSAAResponse2ToQuestionsResponse);
+    }
+
+    public CompletableFuture<QuestionsResponse> submitAnswersAsync(
+            QuestionAnswerRequest questionAnswerRequest, RequestDeadline deadline) {
+        deadline.ensureRemaining(MINIMUM_CALL_BUDGET, "RTQ call");
+        RTQRequest rtqRequest =
+                responseToQuestionMapper.mapQuestionAnswersRtqRequest(questionAnswerRequest);
+        return guardedAsync("RTQ call", () -> identityIQClient.rtqAsync(rtqRequest, deadline))
+                .thenApply(responseToQuestionMapper::mapRTQResponse2ToMapQuestionsResponse);
+    }
+
+    private <T> T guarded(String operation, Supplier<T> call) {
+        acquire(operation);
+        try {
+            T response = call.get();
+            circuitBreaker.onSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            recordFailure(e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> CompletableFuture<T> guardedAsync(
+            String operation, Supplier<CompletableFuture<T>> call) {
+        acquire(operation);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete(
+                (response, error) -> {
+                    bulkhead.release();
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        recordFailure(error);
+                    }
+                });
+    }
+
+    private void recordFailure(Throwable error) {
+        if (isDeadlineFailure(error)) {
+            circuitBreaker.onIgnoredFailure();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private static boolean isDeadlineFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void acquire(String operation) {
+        bulkhead.acquire(operation);
+        try {
+            circuitBreaker.acquirePermission(operation);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
 }
@@ -1,37 +1,174 @@
 package uk.gov.di.ipv.cri.kbv.api.gateway;
 
-import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebService;
-import com.experian.uk.wasp.TokenService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
 import uk.gov.di.ipv.cri.common.library.util.EventProbe;
-import uk.gov.di.ipv.cri.kbv.api.security.Base64TokenCacheLoader;
-import uk.gov.di.ipv.cri.kbv.api.security.HeaderHandler;
-import uk.gov.di.ipv.cri.kbv.api.security.HeaderHandlerResolver;
+import uk.gov.di.ipv.cri.kbv.api.resilience.Bulkhead;
+import uk.gov.di.ipv.cri.kbv.api.resilience.CircuitBreaker;
+import uk.gov.di.ipv.cri.kbv.api.resilience.ResilienceProfile;
+import uk.gov.di.ipv.cri.kbv.api.security.ExperianSecrets;
 import uk.gov.di.ipv.cri.kbv.api.security.KBVClientFactory;
+import uk.gov.di.ipv.cri.kbv.api.security.SharedWaspTokenStore;
 import uk.gov.di.ipv.cri.kbv.api.security.SoapToken;
+import uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
+import uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider;
 import uk.gov.di.ipv.cri.kbv.api.service.MetricsService;
+import uk.gov.di.ipv.cri.kbv.api.soap.HttpIdentityIQClient;
+import uk.gov.di.ipv.cri.kbv.api.soap.HttpTokenService;
+import uk.gov.di.ipv.cri.kbv.api.soap.SoapHttpClient;
+import uk.gov.di.ipv.cri.kbv.api.transport.ConduitConfigurer;
+import uk.gov.di.ipv.cri.kbv.api.transport.ConnectionPrewarmer;
+import uk.gov.di.ipv.cri.kbv.api.transport.TransportMetrics;
+import uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile;
+
+import java.util.Objects;
 
 public class KBVGatewayFactory {
-    public KBVGateway create(ConfigurationService configurationService) {
-        new KeyStoreLoader(configurationService).load();
-        return getKbvGateway(configurationService);
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String WASP_APPLICATION = "GDS DI";
+    private final ColdStartMetrics coldStartMetrics;
+    private final EventProbe eventProbe = new EventProbe();
+    private ExperianSecrets experianSecrets;
+    private IIQConfigurationProvider iiqConfigurationProvider;
+    private ConduitConfigurer conduitConfigurer;
+    private SoapHttpClient soapHttpClient;
+    private SharedWaspTokenStore sharedWaspTokenStore;
+    private WaspTokenCache waspTokenCache;
+    private ConnectionPrewarmer connectionPrewarmer;
+    private IdentityIQClient identityIQClient;
+
+    public KBVGatewayFactory(ColdStartMetrics coldStartMetrics) {
+        this.coldStartMetrics =
+                Objects.requireNonNull(coldStartMetrics, "coldStartMetrics must not be null");
+    }
+
+    public KBVGateway create(
+            ConfigurationService configurationService,
+            IIQConfigurationProvider iiqConfigurationProvider) {
+        this.iiqConfigurationProvider =
+                Objects.requireNonNull(
+                        iiqConfigurationProvider, "iiqConfigurationProvider must not be null");
+        experianSecrets =
+                coldStartMetrics.time(
+                        ColdStartMetrics.SECRET_FETCH,
+                        () -> ExperianSecrets.load(configurationService));
+        experianSecrets.addChangeListener(this::onSecretChange);
+        experianSecrets.emitStats();
+        sharedWaspTokenStore =
+                coldStartMetrics.time(
+                        ColdStartMetrics.DYNAMODB_CLIENT,
+                        () -> SharedWaspTokenStore.create(configurationService));
+        connectionPrewarmer = ConnectionPrewarmer.fromEnvironment(eventProbe);
+        var keyStoreLoader = new KeyStoreLoader(experianSecrets, coldStartMetrics);
+        if (IdentityIQClientType.fromEnvironment() == IdentityIQClientType.HTTP) {
+            soapHttpClient =
+                    new SoapHttpClient(keyStoreLoader::load, TransportProfile.fromEnvironment());
+            return coldStartMetrics.time(ColdStartMetrics.HTTP_CLIENT, this::getHttpKbvGateway);
+        }
+        conduitConfigurer =
+                new ConduitConfigurer(
+                        keyStoreLoader::load,
+                        TransportProfile.fromEnvironment(),
+                        new TransportMetrics(eventProbe));
+        return coldStartMetrics.time(ColdStartMetrics.CXF_CLIENT, this::getKbvGateway);
+    }
+
+    public void restore() {
+        if (experianSecrets != null) {
+            experianSecrets.emitStats();
+            experianSecrets.refresh();
+        }
+        if (iiqConfigurationProvider != null) {
+            iiqConfigurationProvider.refresh();
+        }
+        if (conduitConfigurer != null) {
+            conduitConfigurer.refresh();
+        }
+        if (soapHttpClient != null) {
+            soapHttpClient.refresh();
+        }
+        if (waspTokenCache != null) {
+            waspTokenCache.invalidate();
+        }
+        prewarm();
+    }
+
+    public IdentityIQClient getIdentityIQClient() {
+        return identityIQClient;
+    }
+
+    public boolean prewarm() {
+        if (connectionPrewarmer == null || !connectionPrewarmer.isEnabled()) {
+            return false;
+        }
+        String address = new KBVClientFactory(experianSecrets).getIdentityIQAddress();
+        if (soapHttpClient != null) {
+            return connectionPrewarmer.prewarm(address, soapHttpClient::prewarm);
+        }
+        return connectionPrewarmer.prewarm(address, conduitConfigurer::prewarm);
+    }
+
+    private void onSecretChange(String secretName) {
+        if (!ExperianSecrets.KEYSTORE.equals(secretName)
+                && !ExperianSecrets.KEYSTORE_PASSWORD.equals(secretName)) {
+            return;
+        }
+        try {
+            if (conduitConfigurer != null) {
+                conduitConfigurer.refresh();
+            }
+            if (soapHttpClient != null) {
+                soapHttpClient.refresh();
+            }
+            LOGGER.info("Reloaded the Experian keystore after {} changed", secretName);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("Keeping the current Experian keystore, the new one failed to load", e);
+        }
+    }
+
+    private KBVGateway getKbvGateway() {
+        var kbvClientFactory = new KBVClientFactory(experianSecrets);
+        var soapToken =
+                new SoapToken(
+                        WASP_APPLICATION,
+                        true,
+                        conduitConfigurer.configure(kbvClientFactory.createTokenClient()));
+        var identityIQWebServiceSoap =
+                conduitConfigurer.configure(
+                        kbvClientFactory.createClient(getWaspTokenCache(soapToken)));
+        return getKbvGateway(
+                new CxfIdentityIQClient(
+                        conduitConfigurer.configureCompression(identityIQWebServiceSoap)));
+    }
+
+    private KBVGateway getHttpKbvGateway() {
+        var kbvClientFactory = new KBVClientFactory(experianSecrets);
+        var tokenService =
+                new HttpTokenService(soapHttpClient, kbvClientFactory.getTokenServiceAddress());
+        var soapToken = new SoapToken(WASP_APPLICATION, true, tokenService::loginWithCertificate);
+        return getKbvGateway(
+                new HttpIdentityIQClient(
+                        soapHttpClient,
+                        kbvClientFactory.getIdentityIQAddress(),
+                        getWaspTokenCache(soapToken)));
     }
 
-    private KBVGateway getKbvGateway(ConfigurationService configurationService) {
-        var metricsService = new MetricsService(new EventProbe());
+    private KBVGateway getKbvGateway(IdentityIQClient identityIQClient) {
+        this.identityIQClient = identityIQClient;
+        var metricsService = new MetricsService(eventProbe);
+        var resilienceProfile = ResilienceProfile.fromEnvironment();
         return new KBVGateway(
-                new StartAuthnAttemptRequestMapper(configurationService, metricsService),
+                new StartAuthnAttemptRequestMapper(iiqConfigurationProvider, metricsService),
                 new ResponseToQuestionMapper(metricsService),
-                new KBVClientFactory(
-                                new IdentityIQWebService(),
-                                new HeaderHandlerResolver(getHeaderHandler(configurationService)),
-                                configurationService)
-                        .createClient());
+                identityIQClient,
+                new CircuitBreaker(resilienceProfile, eventProbe),
+                new Bulkhead(resilienceProfile.getMaxConcurrentCalls(), eventProbe));
     }
 
-    private HeaderHandler getHeaderHandler(ConfigurationService configurationService) {
-        return new HeaderHandler(
-                new Base64TokenCacheLoader(
-                        new SoapToken("GDS DI", true, new TokenService(), configurationService)));
+    private WaspTokenCache getWaspTokenCache(SoapToken soapToken) {
+        waspTokenCache = WaspTokenCache.create(soapToken, sharedWaspTokenStore);
+        return waspTokenCache;
     }
 }
@@ -0,0 +1,39 @@
+package uk.gov.di.ipv.cri.kbv.api.gateway;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+final class KBVQuestionMapper {
+
+    private KBVQuestionMapper() {}
+
+    static List<KBVQuestion> mapQuestions(Questions questions) {
+        if (questions == null) {
+            return null;
+        }
+        return questions.getQuestion().stream()
+                .map(KBVQuestionMapper::mapQuestion)
+                .collect(Collectors.toList());
+    }
+
+    static KBVQuestion mapQuestion(Question question) {
+        var kbvQuestion = new KBVQuestion();
+        kbvQuestion.setQuestionID(question.getQuestionID());
+        kbvQuestion.setText(question.getText());
+        kbvQuestion.setTooltip(question.getTooltip());
+        if (question.getAnswerFormat() != null) {
+            var answerFormat = new AnswerFormat();
+            answerFormat.setIdentifier(question.getAnswerFormat().getIdentifier());
+            answerFormat.setFieldType(question.getAnswerFormat().getFieldType());
+            answerFormat.setAnswerList(new ArrayList<>(question.getAnswerFormat().getAnswerList()));
+            kbvQuestion.setAnswerFormat(answerFormat);
+        }
+        return kbvQuestion;
+    }
+}
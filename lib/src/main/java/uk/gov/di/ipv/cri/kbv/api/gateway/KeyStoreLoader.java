@@ -2,48 +2,70 @@ package uk.gov.di.ipv.cri.kbv.api.gateway;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.kbv.api.security.ExperianSecrets;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
 
-import java.io.File;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
 import java.util.Base64;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.KEYSTORE_DECODE;
 
 class KeyStoreLoader {
     private static final Logger LOGGER = LoggerFactory.getLogger(KeyStoreLoader.class);
-    private final ConfigurationService configurationService;
+    private static final String KEYSTORE_TYPE = "PKCS12";
+    private static final String TLS_PROTOCOL = "TLS";
+    private final ExperianSecrets experianSecrets;
+    private final ColdStartMetrics coldStartMetrics;
 
-    KeyStoreLoader(ConfigurationService configurationService) {
-        this.configurationService =
-                Objects.requireNonNull(
-                        configurationService, "configurationService must not be null");
+    KeyStoreLoader(ExperianSecrets experianSecrets, ColdStartMetrics coldStartMetrics) {
+        this.experianSecrets =
+                Objects.requireNonNull(experianSecrets, "experianSecrets must not be null");
+        this.coldStartMetrics =
+                Objects.requireNonNull(coldStartMetrics, "coldStartMetrics must not be null");
     }
 
-    private String getKeyStorePath() {
+    SSLContext load() {
+        long start = System.nanoTime();
         try {
-            File file = Files.createTempFile(UUID.randomUUID().toString(), ".tmp").toFile();
-            Path tempFile = file.toPath();
-            Files.write(
-                    tempFile,
-                    Base64.getDecoder()
-                            .decode(configurationService.getSecretValue("experian/keystore")));
-            return tempFile.toString();
-        } catch (IllegalArgumentException | NullPointerException | IOException e) {
-            LOGGER.error("Persist keystore to file failed", e);
-            return null;
+            String encodedKeyStore = experianSecrets.getSecretValue(ExperianSecrets.KEYSTORE);
+            String keyStorePassword =
+                    experianSecrets.getSecretValue(ExperianSecrets.KEYSTORE_PASSWORD);
+            if (encodedKeyStore == null || keyStorePassword == null) {
+                throw new IllegalStateException("The Experian keystore secrets are missing");
+            }
+            return createSSLContext(encodedKeyStore, keyStorePassword);
+        } finally {
+            coldStartMetrics.record(
+                    KEYSTORE_DECODE, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         }
     }
 
-    private String getPassword() {
-        return this.configurationService.getSecretValue("experian/keystore-password");
-    }
+    private SSLContext createSSLContext(String encodedKeyStore, String keyStorePassword) {
+        try {
+            char[] password = keyStorePassword.toCharArray();
+            KeyStore keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
+            keyStore.load(
+                    new ByteArrayInputStream(Base64.getDecoder().decode(encodedKeyStore)),
+                    password);
+
+            KeyManagerFactory keyManagerFactory =
+                    KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, password);
 
-    void load() {
-        System.setProperty("javax.net.ssl.keyStoreType", "pkcs12");
-        System.setProperty("javax.net.ssl.keyStore", getKeyStorePath());
-        System.setProperty("javax.net.ssl.keyStorePassword", getPassword());
+            SSLContext sslContext = SSLContext.getInstance(TLS_PROTOCOL);
+            sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+            return sslContext;
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            LOGGER.error("Load keystore failed", e);
+            throw new IllegalStateException("Unable to load the Experian keystore", e);
+        }
     }
 }
@@ -2,16 +2,17 @@ package uk.gov.di.ipv.cri.kbv.api.gateway;
 
 import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
 import com.experian.uk.schema.experian.identityiq.services.webservice.Error;
-import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
 import com.experian.uk.schema.experian.identityiq.services.webservice.Results;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
 import uk.gov.di.ipv.cri.kbv.api.util.StringUtils;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class QuestionsResponse {
 
     protected Control control;
-    protected Questions questions;
+    protected List<KBVQuestion> questions;
     protected Results results;
     protected Error error;
 
@@ -23,11 +24,11 @@ public class QuestionsResponse {
         this.control = control;
     }
 
-    public Questions getQuestions() {
+    public List<KBVQuestion> getQuestions() {
         return questions;
     }
 
-    public void setQuestions(Questions questions) {
+    public void setQuestions(List<KBVQuestion> questions) {
         this.questions = questions;
     }
 
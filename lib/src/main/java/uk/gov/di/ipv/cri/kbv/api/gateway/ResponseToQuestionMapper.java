@@ -39,7 +39,8 @@ public class ResponseToQuestionMapper {
     public QuestionsResponse mapRTQResponse2ToMapQuestionsResponse(RTQResponse2 response) {
         QuestionsResponse questionAnswerResponse = new QuestionsResponse();
 
-        questionAnswerResponse.setQuestions(response.getQuestions());
+        questionAnswerResponse.setQuestions(
+                KBVQuestionMapper.mapQuestions(response.getQuestions()));
         Results results = response.getResults();
         Error error = response.getError();
         questionAnswerResponse.setResults(results);
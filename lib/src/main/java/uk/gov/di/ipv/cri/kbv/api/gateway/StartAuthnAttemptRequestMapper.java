@@ -18,8 +18,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.ipv.cri.common.library.domain.personidentity.Address;
 import uk.gov.di.ipv.cri.common.library.domain.personidentity.PersonIdentity;
-import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
+import uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider;
 import uk.gov.di.ipv.cri.kbv.api.service.MetricsService;
 import uk.gov.di.ipv.cri.kbv.api.util.StringUtils;
 
@@ -34,14 +34,12 @@ public class StartAuthnAttemptRequestMapper {
 
     public static final String DEFAULT_TITLE = "MR";
 
-    public static final String IIQ_DATABASE_MODE_PARAM_NAME = "IIQDatabaseMode";
-
-    private final ConfigurationService configurationService;
+    private final IIQConfigurationProvider iiqConfigurationProvider;
     private MetricsService metricsService;
 
     public StartAuthnAttemptRequestMapper(
-            ConfigurationService configurationService, MetricsService metricsService) {
-        this.configurationService = configurationService;
+            IIQConfigurationProvider iiqConfigurationProvider, MetricsService metricsService) {
+        this.iiqConfigurationProvider = iiqConfigurationProvider;
         this.metricsService = metricsService;
     }
 
@@ -53,7 +51,7 @@ public class StartAuthnAttemptRequestMapper {
 
     public QuestionsResponse mapSAAResponse2ToQuestionsResponse(SAAResponse2 sAAResponse2) {
         QuestionsResponse questionsResponse = new QuestionsResponse();
-        questionsResponse.setQuestions(sAAResponse2.getQuestions());
+        questionsResponse.setQuestions(KBVQuestionMapper.mapQuestions(sAAResponse2.getQuestions()));
         Control control = sAAResponse2.getControl();
         questionsResponse.setControl(control);
         Error error = sAAResponse2.getError();
@@ -144,8 +142,7 @@ public class StartAuthnAttemptRequestMapper {
 
     private Control createControl(QuestionRequest questionRequest) {
         Control control = new Control();
-        control.setTestDatabase(
-                configurationService.getParameterValue(IIQ_DATABASE_MODE_PARAM_NAME));
+        control.setTestDatabase(iiqConfigurationProvider.get().getDatabaseMode());
         Parameters parameters = new Parameters();
         parameters.setOneShotAuthentication("N");
         parameters.setStoreCaseData("P");
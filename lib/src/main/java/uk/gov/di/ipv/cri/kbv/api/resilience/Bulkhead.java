@@ -0,0 +1,38 @@
+package uk.gov.di.ipv.cri.kbv.api.resilience;
+
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
+
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+
+public class Bulkhead {
+    static final String REJECTED_METRIC = "experian_call_bulkhead_rejected";
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final EventProbe eventProbe;
+
+    public Bulkhead(int maxConcurrentCalls, EventProbe eventProbe) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.eventProbe = Objects.requireNonNull(eventProbe, "eventProbe must not be null");
+    }
+
+    public void acquire(String operation) {
+        if (!permits.tryAcquire()) {
+            eventProbe.counterMetric(REJECTED_METRIC);
+            throw new ExperianUnavailableException(
+                    String.format(
+                            "%s rejected because %d Experian calls are already in flight",
+                            operation, maxConcurrentCalls));
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
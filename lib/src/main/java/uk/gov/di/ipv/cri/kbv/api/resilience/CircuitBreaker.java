@@ -0,0 +1,111 @@
+package uk.gov.di.ipv.cri.kbv.api.resilience;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final String STATE_METRIC_PREFIX = "experian_circuit_";
+    static final String SHORT_CIRCUITED_METRIC = "experian_call_short_circuited";
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final EventProbe eventProbe;
+    private final LongSupplier nanoTime;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private long openedAt;
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    CircuitBreaker(
+            int failureThreshold,
+            Duration openDuration,
+            int halfOpenProbes,
+            EventProbe eventProbe,
+            LongSupplier nanoTime) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.eventProbe = Objects.requireNonNull(eventProbe, "eventProbe must not be null");
+        this.nanoTime = nanoTime;
+    }
+
+    public CircuitBreaker(ResilienceProfile resilienceProfile, EventProbe eventProbe) {
+        this(
+                resilienceProfile.getFailureThreshold(),
+                resilienceProfile.getOpenDuration(),
+                resilienceProfile.getHalfOpenProbes(),
+                eventProbe,
+                System::nanoTime);
+    }
+
+    public synchronized void acquirePermission(String operation) {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openDurationNanos) {
+                throw shortCircuit(operation);
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                throw shortCircuit(operation);
+            }
+            probesInFlight++;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN
+                || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = nanoTime.getAsLong();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized void onIgnoredFailure() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void transitionTo(State newState) {
+        LOGGER.warn("Experian circuit breaker moved from {} to {}", state, newState);
+        state = newState;
+        probesInFlight = 0;
+        if (newState == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+        eventProbe.counterMetric(STATE_METRIC_PREFIX + newState.name().toLowerCase(Locale.ROOT));
+    }
+
+    private ExperianUnavailableException shortCircuit(String operation) {
+        eventProbe.counterMetric(SHORT_CIRCUITED_METRIC);
+        return new ExperianUnavailableException(
+                operation + " short-circuited because the Experian circuit is " + state);
+    }
+}
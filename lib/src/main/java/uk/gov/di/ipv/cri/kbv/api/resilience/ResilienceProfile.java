@@ -0,0 +1,67 @@
+package uk.gov.di.ipv.cri.kbv.api.resilience;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+public class ResilienceProfile {
+    static final String FAILURE_THRESHOLD_ENV_VAR = "EXPERIAN_CIRCUIT_FAILURE_THRESHOLD";
+    static final String OPEN_DURATION_ENV_VAR = "EXPERIAN_CIRCUIT_OPEN_SECONDS";
+    static final String HALF_OPEN_PROBES_ENV_VAR = "EXPERIAN_CIRCUIT_HALF_OPEN_PROBES";
+    static final String MAX_CONCURRENT_CALLS_ENV_VAR = "EXPERIAN_MAX_CONCURRENT_CALLS";
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final int DEFAULT_OPEN_DURATION_SECONDS = 30;
+    private static final int DEFAULT_HALF_OPEN_PROBES = 1;
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 4;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int halfOpenProbes;
+    private final int maxConcurrentCalls;
+
+    public ResilienceProfile(
+            int failureThreshold,
+            Duration openDuration,
+            int halfOpenProbes,
+            int maxConcurrentCalls) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenProbes = halfOpenProbes;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public static ResilienceProfile fromEnvironment() {
+        return from(System::getenv);
+    }
+
+    static ResilienceProfile from(UnaryOperator<String> environment) {
+        return new ResilienceProfile(
+                getInt(environment, FAILURE_THRESHOLD_ENV_VAR, DEFAULT_FAILURE_THRESHOLD),
+                Duration.ofSeconds(
+                        getInt(environment, OPEN_DURATION_ENV_VAR, DEFAULT_OPEN_DURATION_SECONDS)),
+                getInt(environment, HALF_OPEN_PROBES_ENV_VAR, DEFAULT_HALF_OPEN_PROBES),
+                getInt(environment, MAX_CONCURRENT_CALLS_ENV_VAR, DEFAULT_MAX_CONCURRENT_CALLS));
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    private static int getInt(UnaryOperator<String> environment, String name, int fallback) {
+        String value = environment.apply(name);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return Integer.parseInt(value.trim());
+    }
+}
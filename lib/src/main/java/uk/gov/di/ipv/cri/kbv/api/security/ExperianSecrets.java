@@ -0,0 +1,170 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import software.amazon.lambda.powertools.metrics.MetricsUtils;
+import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class ExperianSecrets {
+    private static final Logger LOGGER = LogManager.getLogger();
+    public static final String KEYSTORE = "experian/keystore";
+    public static final String KEYSTORE_PASSWORD = "experian/keystore-password";
+    public static final String IIQ_WEBSERVICE = "experian/iiq-webservice";
+    public static final String IIQ_WASP_SERVICE = "experian/iiq-wasp-service";
+    static final String TTL_ENV_VAR = "EXPERIAN_SECRETS_TTL_SECONDS";
+    static final String HIT_METRIC = "experian_secrets_cache_hit";
+    static final String MISS_METRIC = "experian_secrets_cache_miss";
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    private static final Set<String> SECRET_NAMES =
+            Set.of(KEYSTORE, KEYSTORE_PASSWORD, IIQ_WEBSERVICE, IIQ_WASP_SERVICE);
+    private final LoadingCache<String, String> cache;
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+    private CacheStats emittedStats = CacheStats.empty();
+
+    ExperianSecrets(
+            ConfigurationService configurationService,
+            Duration ttl,
+            Executor executor,
+            Ticker ticker) {
+        Objects.requireNonNull(configurationService, "configurationService must not be null");
+        this.cache =
+                Caffeine.newBuilder()
+                        .refreshAfterWrite(ttl)
+                        .executor(executor)
+                        .ticker(ticker)
+                        .recordStats()
+                        .removalListener(this::onRemoval)
+                        .build(new SecretLoader(configurationService, executor));
+    }
+
+    public static ExperianSecrets load(ConfigurationService configurationService) {
+        var experianSecrets =
+                new ExperianSecrets(
+                        configurationService,
+                        getTtl(),
+                        Executors.newCachedThreadPool(ExperianSecrets::newDaemonThread),
+                        Ticker.systemTicker());
+        experianSecrets.loadAll();
+        return experianSecrets;
+    }
+
+    public String getSecretValue(String secretName) {
+        return cache.get(secretName);
+    }
+
+    public void refresh() {
+        cache.refreshAll(SECRET_NAMES);
+    }
+
+    public void addChangeListener(Consumer<String> changeListener) {
+        changeListeners.add(
+                Objects.requireNonNull(changeListener, "changeListener must not be null"));
+    }
+
+    public void emitStats() {
+        MetricsUtils.withMetricsLogger(this::emitStats);
+    }
+
+    synchronized void emitStats(MetricsLogger metricsLogger) {
+        CacheStats stats = cache.stats();
+        CacheStats sinceLastEmit = stats.minus(emittedStats);
+        metricsLogger.putMetric(HIT_METRIC, sinceLastEmit.hitCount(), Unit.COUNT);
+        metricsLogger.putMetric(MISS_METRIC, sinceLastEmit.missCount(), Unit.COUNT);
+        emittedStats = stats;
+    }
+
+    void loadAll() {
+        long start = System.nanoTime();
+        cache.getAll(SECRET_NAMES);
+        LOGGER.info(
+                "Loaded {} Experian secrets in {} ms",
+                SECRET_NAMES.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void onRemoval(String secretName, String previousValue, RemovalCause cause) {
+        if (cause != RemovalCause.REPLACED
+                || Objects.equals(previousValue, cache.asMap().get(secretName))) {
+            return;
+        }
+        LOGGER.info("Experian secret {} changed on refresh", secretName);
+        changeListeners.forEach(changeListener -> changeListener.accept(secretName));
+    }
+
+    private static Thread newDaemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "experian-secrets");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Duration getTtl() {
+        String ttlSeconds = System.getenv(TTL_ENV_VAR);
+        if (ttlSeconds == null || ttlSeconds.isBlank()) {
+            return DEFAULT_TTL;
+        }
+        return Duration.ofSeconds(Long.parseLong(ttlSeconds));
+    }
+
+    private static class SecretLoader implements CacheLoader<String, String> {
+        private final ConfigurationService configurationService;
+        private final Executor executor;
+
+        private SecretLoader(ConfigurationService configurationService, Executor executor) {
+            this.configurationService = configurationService;
+            this.executor = executor;
+        }
+
+        @Override
+        public String load(String secretName) {
+            return configurationService.getSecretValue(secretName);
+        }
+
+        @Override
+        public Map<String, String> loadAll(Set<? extends String> secretNames) {
+            Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+            for (String secretName : secretNames) {
+                futures.put(
+                        secretName,
+                        CompletableFuture.supplyAsync(() -> load(secretName), executor));
+            }
+            Map<String, String> secrets = new LinkedHashMap<>();
+            try {
+                futures.forEach(
+                        (secretName, future) -> {
+                            String secretValue = future.join();
+                            if (secretValue != null) {
+                                secrets.put(secretName, secretValue);
+                            }
+                        });
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            return secrets;
+        }
+    }
+}
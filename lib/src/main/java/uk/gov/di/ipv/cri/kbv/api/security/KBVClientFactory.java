@@ -1,37 +1,87 @@
 package uk.gov.di.ipv.cri.kbv.api.security;
 
-import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebService;
 import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
-import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import com.experian.uk.wasp.TokenServiceSoap;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.message.Message;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import javax.xml.ws.BindingProvider;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 
 public class KBVClientFactory {
-    private final HeaderHandlerResolver headerHandlerResolver;
-    private final IdentityIQWebService identityIQWebService;
-    private final ConfigurationService configurationService;
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final String IIQ_WEBSERVICE_URL_ENV_VAR = "EXPERIAN_IIQ_WEBSERVICE_URL";
+    static final String IIQ_WASP_SERVICE_URL_ENV_VAR = "EXPERIAN_IIQ_WASP_SERVICE_URL";
+    private final ExperianSecrets experianSecrets;
+    private final UnaryOperator<String> environment;
 
-    public KBVClientFactory(
-            IdentityIQWebService identityIQWebService,
-            HeaderHandlerResolver headerHandlerResolver,
-            ConfigurationService configurationService) {
-        this.identityIQWebService = identityIQWebService;
-        this.headerHandlerResolver = headerHandlerResolver;
-        this.configurationService = configurationService;
+    public KBVClientFactory(ExperianSecrets experianSecrets) {
+        this(experianSecrets, System::getenv);
     }
 
-    public IdentityIQWebServiceSoap createClient() {
-        identityIQWebService.setHandlerResolver(headerHandlerResolver);
+    KBVClientFactory(ExperianSecrets experianSecrets, UnaryOperator<String> environment) {
+        this.experianSecrets =
+                Objects.requireNonNull(experianSecrets, "experianSecrets must not be null");
+        this.environment = Objects.requireNonNull(environment, "environment must not be null");
+    }
+
+    public IdentityIQWebServiceSoap createClient(WaspTokenCache waspTokenCache) {
+        Objects.requireNonNull(waspTokenCache, "waspTokenCache must not be null");
+        return createProxy(
+                IdentityIQWebServiceSoap.class,
+                getIdentityIQAddress(),
+                List.of(new SecurityHeaderInterceptor(waspTokenCache)),
+                List.of(new WaspAuthenticationFaultInterceptor(waspTokenCache)));
+    }
+
+    public TokenServiceSoap createTokenClient() {
+        return createProxy(
+                TokenServiceSoap.class,
+                getTokenServiceAddress(),
+                List.of(),
+                List.of());
+    }
+
+    public String getIdentityIQAddress() {
+        return getAddress(ExperianSecrets.IIQ_WEBSERVICE, IIQ_WEBSERVICE_URL_ENV_VAR);
+    }
+
+    public String getTokenServiceAddress() {
+        return getAddress(ExperianSecrets.IIQ_WASP_SERVICE, IIQ_WASP_SERVICE_URL_ENV_VAR);
+    }
+
+    private String getAddress(String addressSecretName, String overrideEnvVar) {
+        String address = environment.apply(overrideEnvVar);
+        if (address == null || address.isBlank()) {
+            return experianSecrets.getSecretValue(addressSecretName);
+        }
+        LOGGER.info("Using {} in place of the {} secret", overrideEnvVar, addressSecretName);
+        return address.trim();
+    }
 
-        IdentityIQWebServiceSoap identityIQWebServiceSoap =
-                identityIQWebService.getIdentityIQWebServiceSoap();
+    private <T> T createProxy(
+            Class<T> serviceClass,
+            String address,
+            List<Interceptor<? extends Message>> outInterceptors,
+            List<Interceptor<? extends Message>> inFaultInterceptors) {
+        long start = System.nanoTime();
 
-        ((BindingProvider) identityIQWebServiceSoap)
-                .getRequestContext()
-                .put(
-                        BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
-                        configurationService.getSecretValue("experian/iiq-webservice"));
+        JaxWsProxyFactoryBean proxyFactory = new JaxWsProxyFactoryBean();
+        proxyFactory.setServiceClass(serviceClass);
+        proxyFactory.setAddress(address);
+        proxyFactory.getOutInterceptors().addAll(outInterceptors);
+        proxyFactory.getInFaultInterceptors().addAll(inFaultInterceptors);
+        T client = proxyFactory.create(serviceClass);
 
-        return identityIQWebServiceSoap;
+        LOGGER.info(
+                "Created {} client in {} ms",
+                serviceClass.getSimpleName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return client;
     }
 }
@@ -0,0 +1,129 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.apache.cxf.binding.soap.SoapHeader;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.binding.soap.interceptor.AbstractSoapInterceptor;
+import org.apache.cxf.databinding.AbstractDataBinding;
+import org.apache.cxf.databinding.DataReader;
+import org.apache.cxf.databinding.DataWriter;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Attachment;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.model.MessagePartInfo;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.validation.Schema;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public class SecurityHeaderInterceptor extends AbstractSoapInterceptor {
+    public static final String WSSE_NAMESPACE =
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
+    public static final String WSU_NAMESPACE =
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd";
+    static final QName SECURITY_HEADER = new QName(WSSE_NAMESPACE, "Security", "wsse");
+    private static final SecurityHeaderDataBinding DATA_BINDING = new SecurityHeaderDataBinding();
+    private final WaspTokenCache waspTokenCache;
+
+    public SecurityHeaderInterceptor(WaspTokenCache waspTokenCache) {
+        super(Phase.PRE_PROTOCOL);
+        this.waspTokenCache =
+                Objects.requireNonNull(waspTokenCache, "waspTokenCache must not be null");
+    }
+
+    @Override
+    public void handleMessage(SoapMessage message) throws Fault {
+        List<Header> headers = message.getHeaders();
+        headers.removeIf(header -> SECURITY_HEADER.equals(header.getName()));
+        headers.add(new SoapHeader(SECURITY_HEADER, getEncodedToken(message), DATA_BINDING));
+    }
+
+    private String getEncodedToken(SoapMessage message) {
+        Object deadline = message.getContextualProperty(RequestDeadline.CONTEXT_KEY);
+        return deadline instanceof RequestDeadline
+                ? waspTokenCache.getEncodedToken((RequestDeadline) deadline)
+                : waspTokenCache.getEncodedToken();
+    }
+
+    public static void writeSecurityHeader(XMLStreamWriter writer, String encodedToken)
+            throws XMLStreamException {
+        writer.writeStartElement("wsse", "Security", WSSE_NAMESPACE);
+        writer.writeNamespace("wsse", WSSE_NAMESPACE);
+        writer.writeStartElement("wsse", "BinarySecurityToken", WSSE_NAMESPACE);
+        writer.writeNamespace("wsu", WSU_NAMESPACE);
+        writer.writeAttribute("EncodingType", "wsse:Base64Binary");
+        writer.writeAttribute("ValueType", "ExperianWASP");
+        writer.writeCharacters(encodedToken);
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    static class SecurityHeaderDataBinding extends AbstractDataBinding {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> DataWriter<T> createWriter(Class<T> output) {
+            if (output != XMLStreamWriter.class) {
+                return null;
+            }
+            return (DataWriter<T>) new SecurityHeaderWriter();
+        }
+
+        @Override
+        public <T> DataReader<T> createReader(Class<T> input) {
+            return null;
+        }
+
+        @Override
+        public Class<?>[] getSupportedWriterFormats() {
+            return new Class<?>[] {XMLStreamWriter.class};
+        }
+
+        @Override
+        public Class<?>[] getSupportedReaderFormats() {
+            return new Class<?>[0];
+        }
+
+        @Override
+        public void initialize(Service service) {
+            // The security header is written directly and needs no schema or context.
+        }
+    }
+
+    private static class SecurityHeaderWriter implements DataWriter<XMLStreamWriter> {
+        @Override
+        public void write(Object obj, XMLStreamWriter output) {
+            try {
+                writeSecurityHeader(output, (String) obj);
+            } catch (XMLStreamException e) {
+                throw new Fault(e);
+            }
+        }
+
+        @Override
+        public void write(Object obj, MessagePartInfo part, XMLStreamWriter output) {
+            write(obj, output);
+        }
+
+        @Override
+        public void setSchema(Schema schema) {
+            // The security header is not validated.
+        }
+
+        @Override
+        public void setAttachments(Collection<Attachment> attachments) {
+            // The security header has no attachments.
+        }
+
+        @Override
+        public void setProperty(String key, Object value) {
+            // The security header has no writer properties.
+        }
+    }
+}
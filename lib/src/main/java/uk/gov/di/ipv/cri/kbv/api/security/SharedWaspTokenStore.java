@@ -0,0 +1,147 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import uk.gov.di.ipv.cri.common.library.annotations.ExcludeFromGeneratedCoverageReport;
+import uk.gov.di.ipv.cri.common.library.persistence.DynamoDbEnhancedClientFactory;
+import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.kbv.api.domain.WaspTokenItem;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public class SharedWaspTokenStore {
+    static final String TOKEN_ITEM_KEY = "experian-wasp-token";
+    static final Duration LEASE_DURATION = Duration.ofSeconds(10);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+    private static final int POLL_ATTEMPTS = 10;
+    private static final String LEASE_CONDITION =
+            "attribute_not_exists(leaseExpiry) OR leaseExpiry < :now";
+    static final String TOKEN_MATCHES_CONDITION = "#token = :token";
+    private final DynamoDbTable<WaspTokenItem> table;
+    private final Duration pollInterval;
+    private final int pollAttempts;
+
+    SharedWaspTokenStore(
+            DynamoDbTable<WaspTokenItem> table, Duration pollInterval, int pollAttempts) {
+        this.table = Objects.requireNonNull(table, "table must not be null");
+        this.pollInterval = pollInterval;
+        this.pollAttempts = pollAttempts;
+    }
+
+    @ExcludeFromGeneratedCoverageReport
+    public static SharedWaspTokenStore create(ConfigurationService configurationService) {
+        return new SharedWaspTokenStore(
+                new DynamoDbEnhancedClientFactory()
+                        .getClient()
+                        .table(
+                                configurationService.getParameterValue("KBVTableName"),
+                                TableSchema.fromBean(WaspTokenItem.class)),
+                POLL_INTERVAL,
+                POLL_ATTEMPTS);
+    }
+
+    public Optional<WaspTokenItem> getToken() {
+        return Optional.ofNullable(
+                        table.getItem(
+                                GetItemEnhancedRequest.builder()
+                                        .key(Key.builder().partitionValue(TOKEN_ITEM_KEY).build())
+                                        .consistentRead(true)
+                                        .build()))
+                .filter(
+                        item ->
+                                item.getToken() != null
+                                        && item.getIssuedAt() != null
+                                        && item.getTokenExpiry() != null);
+    }
+
+    public boolean tryAcquireLease(String owner, long nowMillis) {
+        WaspTokenItem lease = new WaspTokenItem();
+        lease.setSessionId(TOKEN_ITEM_KEY);
+        lease.setLeaseOwner(owner);
+        lease.setLeaseExpiry(nowMillis + LEASE_DURATION.toMillis());
+        try {
+            table.updateItem(
+                    UpdateItemEnhancedRequest.builder(WaspTokenItem.class)
+                            .item(lease)
+                            .ignoreNulls(true)
+                            .conditionExpression(
+                                    Expression.builder()
+                                            .expression(LEASE_CONDITION)
+                                            .expressionValues(
+                                                    Map.of(
+                                                            ":now",
+                                                            AttributeValue.builder()
+                                                                    .n(String.valueOf(nowMillis))
+                                                                    .build()))
+                                            .build())
+                            .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    public boolean expireToken(String token, long nowMillis) {
+        WaspTokenItem expired = new WaspTokenItem();
+        expired.setSessionId(TOKEN_ITEM_KEY);
+        expired.setTokenExpiry(nowMillis);
+        try {
+            table.updateItem(
+                    UpdateItemEnhancedRequest.builder(WaspTokenItem.class)
+                            .item(expired)
+                            .ignoreNulls(true)
+                            .conditionExpression(
+                                    Expression.builder()
+                                            .expression(TOKEN_MATCHES_CONDITION)
+                                            .expressionNames(Map.of("#token", "token"))
+                                            .expressionValues(
+                                                    Map.of(
+                                                            ":token",
+                                                            AttributeValue.builder()
+                                                                    .s(token)
+                                                                    .build()))
+                                            .build())
+                            .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    public Optional<WaspTokenItem> awaitToken(Predicate<WaspTokenItem> usable) {
+        for (int attempt = 0; attempt < pollAttempts; attempt++) {
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            Optional<WaspTokenItem> token = getToken().filter(usable);
+            if (token.isPresent()) {
+                return token;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void putToken(String token, long issuedAtMillis, long tokenExpiryMillis) {
+        WaspTokenItem item = new WaspTokenItem();
+        item.setSessionId(TOKEN_ITEM_KEY);
+        item.setToken(token);
+        item.setIssuedAt(issuedAtMillis);
+        item.setTokenExpiry(tokenExpiryMillis);
+        item.setExpiryDate(TimeUnit.MILLISECONDS.toSeconds(tokenExpiryMillis));
+        table.putItem(item);
+    }
+}
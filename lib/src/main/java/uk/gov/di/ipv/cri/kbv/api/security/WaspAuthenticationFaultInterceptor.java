@@ -0,0 +1,82 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.binding.soap.interceptor.AbstractSoapInterceptor;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.http.HTTPException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Objects;
+
+import static uk.gov.di.ipv.cri.kbv.api.security.SecurityHeaderInterceptor.SECURITY_HEADER;
+
+public class WaspAuthenticationFaultInterceptor extends AbstractSoapInterceptor {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private final WaspTokenCache waspTokenCache;
+
+    public WaspAuthenticationFaultInterceptor(WaspTokenCache waspTokenCache) {
+        super(Phase.POST_UNMARSHAL);
+        this.waspTokenCache =
+                Objects.requireNonNull(waspTokenCache, "waspTokenCache must not be null");
+    }
+
+    @Override
+    public void handleMessage(SoapMessage message) throws Fault {
+        if (isAuthenticationFault(message)) {
+            LOGGER.warn("Experian rejected the WASP token, invalidating the cached token");
+            waspTokenCache.invalidate(getRejectedToken(message));
+        }
+    }
+
+    private static boolean isAuthenticationFault(SoapMessage message) {
+        if (isAuthenticationStatus(message.get(SoapMessage.RESPONSE_CODE))) {
+            return true;
+        }
+        Throwable cause = message.getContent(Exception.class);
+        while (cause != null) {
+            if (cause instanceof HTTPException
+                    && isAuthenticationStatus(((HTTPException) cause).getResponseCode())) {
+                return true;
+            }
+            if (cause instanceof SoapFault && isAuthenticationFault((SoapFault) cause)) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private static String getRejectedToken(SoapMessage message) {
+        Message outMessage =
+                message.getExchange() == null ? null : message.getExchange().getOutMessage();
+        Object headers = outMessage == null ? null : outMessage.get(Header.HEADER_LIST);
+        if (!(headers instanceof List)) {
+            return null;
+        }
+        for (Object header : (List<?>) headers) {
+            if (header instanceof Header
+                    && SECURITY_HEADER.equals(((Header) header).getName())
+                    && ((Header) header).getObject() instanceof String) {
+                return (String) ((Header) header).getObject();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAuthenticationFault(SoapFault soapFault) {
+        String faultCode =
+                soapFault.getFaultCode() == null ? null : soapFault.getFaultCode().getLocalPart();
+        return WaspTokenCache.isAuthenticationFault(faultCode, soapFault.getReason());
+    }
+
+    private static boolean isAuthenticationStatus(Object responseCode) {
+        return responseCode instanceof Integer
+                && WaspTokenCache.isAuthenticationStatus((Integer) responseCode);
+    }
+}
@@ -0,0 +1,297 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import software.amazon.lambda.powertools.metrics.MetricsUtils;
+import uk.gov.di.ipv.cri.kbv.api.domain.WaspTokenItem;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+public class WaspTokenCache {
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final String TOKEN_AGE_METRIC = "wasp_token_age";
+    static final String REFRESH_LATENCY_METRIC = "wasp_token_refresh_latency";
+    static final String REFRESH_FAILURE_METRIC = "wasp_token_refresh_failure";
+    static final String SHARED_TOKEN_METRIC = "wasp_token_shared";
+    static final String REFRESH_AFTER_ENV_VAR = "WASP_TOKEN_REFRESH_AFTER_SECONDS";
+    static final Duration TOKEN_LIFETIME = Duration.ofHours(5);
+    private static final Duration DEFAULT_REFRESH_AFTER = Duration.ofHours(4);
+    private static final Duration REFRESH_RETRY_INTERVAL = Duration.ofMinutes(1);
+    private static final String CACHE_KEY = "experian-soap-token";
+    private static final Set<String> AUTHENTICATION_FAULT_CODES =
+            Set.of(
+                    "FailedAuthentication",
+                    "InvalidSecurity",
+                    "InvalidSecurityToken",
+                    "SecurityTokenUnavailable");
+    private static final Pattern AUTHENTICATION_FAULT_REASON =
+            Pattern.compile(
+                    "\\b(authentication failed"
+                            + "|invalid (authentication |security |wasp )?token"
+                            + "|(security |wasp )?token (has )?expired)\\b",
+                    Pattern.CASE_INSENSITIVE);
+    private final SoapToken soapToken;
+    private final SharedWaspTokenStore sharedWaspTokenStore;
+    private final Consumer<Consumer<MetricsLogger>> metricsEmitter;
+    private final long refreshMarginMillis;
+    private final Ticker ticker;
+    private final LongSupplier currentTimeMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final LoadingCache<String, WaspToken> cache;
+    private volatile long refreshNotBeforeMillis;
+
+    WaspTokenCache(
+            SoapToken soapToken,
+            SharedWaspTokenStore sharedWaspTokenStore,
+            Consumer<Consumer<MetricsLogger>> metricsEmitter,
+            Duration refreshAfter,
+            Executor executor,
+            Ticker ticker,
+            LongSupplier currentTimeMillis) {
+        this.soapToken = Objects.requireNonNull(soapToken, "soapToken must not be null");
+        this.sharedWaspTokenStore =
+                Objects.requireNonNull(
+                        sharedWaspTokenStore, "sharedWaspTokenStore must not be null");
+        this.metricsEmitter =
+                Objects.requireNonNull(metricsEmitter, "metricsEmitter must not be null");
+        this.refreshMarginMillis = TOKEN_LIFETIME.minus(refreshAfter).toMillis();
+        this.ticker = ticker;
+        this.currentTimeMillis = currentTimeMillis;
+        this.cache =
+                Caffeine.newBuilder()
+                        .expireAfter(new TokenExpiry())
+                        .executor(executor)
+                        .ticker(ticker)
+                        .build(key -> load());
+    }
+
+    public static WaspTokenCache create(
+            SoapToken soapToken, SharedWaspTokenStore sharedWaspTokenStore) {
+        return new WaspTokenCache(
+                soapToken,
+                sharedWaspTokenStore,
+                MetricsUtils::withMetricsLogger,
+                getRefreshAfter(),
+                Executors.newSingleThreadExecutor(WaspTokenCache::newDaemonThread),
+                Ticker.systemTicker(),
+                System::currentTimeMillis);
+    }
+
+    public String getEncodedToken() {
+        return serve(cache.get(CACHE_KEY));
+    }
+
+    public String getEncodedToken(RequestDeadline deadline) {
+        WaspToken waspToken = cache.getIfPresent(CACHE_KEY);
+        return serve(waspToken == null ? awaitLoad(deadline) : waspToken);
+    }
+
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    public void invalidate(String rejectedToken) {
+        if (rejectedToken != null) {
+            try {
+                sharedWaspTokenStore.expireToken(rejectedToken, currentTimeMillis.getAsLong());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to expire the rejected WASP token in the shared store", e);
+            }
+        }
+        invalidate();
+    }
+
+    public static boolean isAuthenticationStatus(int responseCode) {
+        return responseCode == HttpURLConnection.HTTP_UNAUTHORIZED
+                || responseCode == HttpURLConnection.HTTP_FORBIDDEN;
+    }
+
+    public static boolean isAuthenticationFault(String faultCode, String reason) {
+        if (faultCode != null
+                && AUTHENTICATION_FAULT_CODES.contains(
+                        faultCode.substring(faultCode.indexOf(':') + 1))) {
+            return true;
+        }
+        return reason != null && AUTHENTICATION_FAULT_REASON.matcher(reason).find();
+    }
+
+    private String serve(WaspToken waspToken) {
+        long nowMillis = currentTimeMillis.getAsLong();
+        if (isDueForRefresh(waspToken.expiresAtMillis, nowMillis)) {
+            refreshAhead(nowMillis);
+        }
+        putMetric(
+                TOKEN_AGE_METRIC,
+                TimeUnit.MILLISECONDS.toSeconds(nowMillis - waspToken.issuedAtMillis),
+                Unit.SECONDS);
+        return waspToken.encodedToken;
+    }
+
+    private WaspToken awaitLoad(RequestDeadline deadline) {
+        try {
+            return cache.refresh(CACHE_KEY)
+                    .get(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(
+                    "Fetching the WASP token did not complete before the request deadline", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new IllegalStateException("Fetching the WASP token failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching the WASP token", e);
+        }
+    }
+
+    private WaspToken load() {
+        long start = ticker.read();
+        try {
+            Optional<WaspToken> sharedToken = getSharedToken();
+            if (sharedToken.isPresent()) {
+                putMetric(SHARED_TOKEN_METRIC, 1, Unit.COUNT);
+                return sharedToken.get();
+            }
+            return login();
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to refresh the WASP token", e);
+            putMetric(REFRESH_FAILURE_METRIC, 1, Unit.COUNT);
+            throw e;
+        } finally {
+            putMetric(
+                    REFRESH_LATENCY_METRIC,
+                    TimeUnit.NANOSECONDS.toMillis(ticker.read() - start),
+                    Unit.MILLISECONDS);
+        }
+    }
+
+    private Optional<WaspToken> getSharedToken() {
+        try {
+            Optional<WaspTokenItem> sharedToken =
+                    sharedWaspTokenStore.getToken().filter(this::isFresh);
+            if (sharedToken.isEmpty()
+                    && !sharedWaspTokenStore.tryAcquireLease(
+                            instanceId, currentTimeMillis.getAsLong())) {
+                sharedToken = sharedWaspTokenStore.awaitToken(this::isFresh);
+            }
+            return sharedToken.map(WaspToken::new);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Shared WASP token store unavailable, logging in directly", e);
+            return Optional.empty();
+        }
+    }
+
+    private WaspToken login() {
+        long issuedAtMillis = currentTimeMillis.getAsLong();
+        String token = soapToken.getToken();
+        Objects.requireNonNull(token, "The token must not be null");
+        if (token.contains("Error")) {
+            throw new IllegalStateException("The WASP token service returned an error");
+        }
+        WaspToken waspToken =
+                new WaspToken(
+                        Base64.getEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8)),
+                        issuedAtMillis,
+                        issuedAtMillis + TOKEN_LIFETIME.toMillis());
+        try {
+            sharedWaspTokenStore.putToken(
+                    waspToken.encodedToken, waspToken.issuedAtMillis, waspToken.expiresAtMillis);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to share the WASP token", e);
+        }
+        return waspToken;
+    }
+
+    private void refreshAhead(long nowMillis) {
+        if (nowMillis < refreshNotBeforeMillis) {
+            return;
+        }
+        refreshNotBeforeMillis = nowMillis + REFRESH_RETRY_INTERVAL.toMillis();
+        cache.refresh(CACHE_KEY);
+    }
+
+    private boolean isDueForRefresh(long expiresAtMillis, long nowMillis) {
+        return expiresAtMillis - nowMillis <= refreshMarginMillis;
+    }
+
+    private boolean isFresh(WaspTokenItem item) {
+        return !isDueForRefresh(item.getTokenExpiry(), currentTimeMillis.getAsLong());
+    }
+
+    private void putMetric(String name, long value, Unit unit) {
+        metricsEmitter.accept(metricsLogger -> metricsLogger.putMetric(name, value, unit));
+    }
+
+    private static Thread newDaemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "wasp-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Duration getRefreshAfter() {
+        String refreshSeconds = System.getenv(REFRESH_AFTER_ENV_VAR);
+        if (refreshSeconds == null || refreshSeconds.isBlank()) {
+            return DEFAULT_REFRESH_AFTER;
+        }
+        return Duration.ofSeconds(Long.parseLong(refreshSeconds));
+    }
+
+    private class TokenExpiry implements Expiry<String, WaspToken> {
+        @Override
+        public long expireAfterCreate(String key, WaspToken waspToken, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(0, waspToken.expiresAtMillis - currentTimeMillis.getAsLong()));
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                String key, WaspToken waspToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, waspToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                String key, WaspToken waspToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static class WaspToken {
+        private final String encodedToken;
+        private final long issuedAtMillis;
+        private final long expiresAtMillis;
+
+        private WaspToken(String encodedToken, long issuedAtMillis, long expiresAtMillis) {
+            this.encodedToken = encodedToken;
+            this.issuedAtMillis = issuedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private WaspToken(WaspTokenItem item) {
+            this(item.getToken(), item.getIssuedAt(), item.getTokenExpiry());
+        }
+    }
+}
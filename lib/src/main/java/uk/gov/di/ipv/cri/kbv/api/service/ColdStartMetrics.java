@@ -0,0 +1,58 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import software.amazon.lambda.powertools.metrics.MetricsUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class ColdStartMetrics {
+    public static final String COLD_START_DIMENSION = "cold_start";
+    public static final String SECRET_FETCH = "secret_fetch";
+    public static final String KEYSTORE_DECODE = "keystore_decode";
+    public static final String CXF_CLIENT = "cxf_client";
+    public static final String HTTP_CLIENT = "http_client";
+    public static final String DYNAMODB_CLIENT = "dynamodb_client";
+    public static final String SQS_CLIENT = "sqs_client";
+    public static final String KMS_SIGNER = "kms_signer";
+    public static final String JACKSON_WARMUP = "jackson_warmup";
+    private static final String METRIC_PREFIX = "init_";
+    private final Map<String, Long> phases = new ConcurrentHashMap<>();
+
+    public <T> T time(String phase, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "supplier must not be null");
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    public void record(String phase, long durationMillis) {
+        Objects.requireNonNull(phase, "phase must not be null");
+        phases.merge(phase, durationMillis, Long::sum);
+    }
+
+    public Map<String, Long> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    public void emit() {
+        MetricsUtils.withMetricsLogger(this::emit);
+    }
+
+    void emit(MetricsLogger metricsLogger) {
+        metricsLogger.putDimensions(DimensionSet.of(COLD_START_DIMENSION, "true"));
+        phases.forEach(
+                (phase, durationMillis) ->
+                        metricsLogger.putMetric(
+                                METRIC_PREFIX + phase, durationMillis, Unit.MILLISECONDS));
+    }
+}
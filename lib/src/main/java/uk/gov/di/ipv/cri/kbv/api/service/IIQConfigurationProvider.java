@@ -0,0 +1,87 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.kbv.api.domain.IIQConfiguration;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+public class IIQConfigurationProvider {
+    private static final Logger LOGGER = LogManager.getLogger();
+    public static final String IIQ_STRATEGY_PARAM_NAME = "IIQStrategy";
+    public static final String IIQ_OPERATOR_ID_PARAM_NAME = "IIQOperatorId";
+    public static final String IIQ_DATABASE_MODE_PARAM_NAME = "IIQDatabaseMode";
+    static final String REFRESH_INTERVAL_ENV_VAR = "IIQ_CONFIGURATION_REFRESH_SECONDS";
+    private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+    private static final String CACHE_KEY = "iiq-configuration";
+    private final ConfigurationService configurationService;
+    private final LoadingCache<String, IIQConfiguration> cache;
+
+    IIQConfigurationProvider(
+            ConfigurationService configurationService,
+            Duration refreshInterval,
+            Executor executor,
+            Ticker ticker) {
+        this.configurationService =
+                Objects.requireNonNull(
+                        configurationService, "configurationService must not be null");
+        this.cache =
+                Caffeine.newBuilder()
+                        .refreshAfterWrite(refreshInterval)
+                        .executor(executor)
+                        .ticker(ticker)
+                        .build(key -> load());
+    }
+
+    public static IIQConfigurationProvider create(ConfigurationService configurationService) {
+        return new IIQConfigurationProvider(
+                configurationService,
+                getRefreshInterval(),
+                Executors.newSingleThreadExecutor(IIQConfigurationProvider::newDaemonThread),
+                Ticker.systemTicker());
+    }
+
+    public IIQConfiguration get() {
+        return cache.get(CACHE_KEY);
+    }
+
+    public void refresh() {
+        if (cache.asMap().containsKey(CACHE_KEY)) {
+            cache.refresh(CACHE_KEY);
+        }
+    }
+
+    private IIQConfiguration load() {
+        var iiqConfiguration =
+                new IIQConfiguration(
+                        configurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME),
+                        configurationService.getParameterValue(IIQ_OPERATOR_ID_PARAM_NAME),
+                        configurationService.getParameterValue(IIQ_DATABASE_MODE_PARAM_NAME));
+        LOGGER.info(
+                "Loaded IIQ configuration with strategy {} and database mode {}",
+                iiqConfiguration.getStrategy(),
+                iiqConfiguration.getDatabaseMode());
+        return iiqConfiguration;
+    }
+
+    private static Thread newDaemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "iiq-configuration");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Duration getRefreshInterval() {
+        String refreshSeconds = System.getenv(REFRESH_INTERVAL_ENV_VAR);
+        if (refreshSeconds == null || refreshSeconds.isBlank()) {
+            return DEFAULT_REFRESH_INTERVAL;
+        }
+        return Duration.ofSeconds(Long.parseLong(refreshSeconds));
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import uk.gov.di.ipv.cri.common.library.persistence.item.SessionItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItemUpdate;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+public class JourneyContext {
+    public enum Attribute {
+        QUESTION_STATE,
+        STATUS,
+        CONTROL,
+        EXPIRY_DATE
+    }
+
+    private final SessionItem sessionItem;
+    private final KBVItem kbvItem;
+    private final QuestionStateCodec questionStateCodec;
+    private final Set<Attribute> dirtyAttributes = EnumSet.noneOf(Attribute.class);
+    private QuestionState questionState;
+    private boolean stored;
+
+    public JourneyContext(
+            SessionItem sessionItem, KBVItem kbvItem, QuestionStateCodec questionStateCodec) {
+        this(sessionItem, kbvItem, null, questionStateCodec, true);
+    }
+
+    JourneyContext(
+            SessionItem sessionItem,
+            KBVItem kbvItem,
+            QuestionState questionState,
+            QuestionStateCodec questionStateCodec,
+            boolean stored) {
+        this.sessionItem = sessionItem;
+        this.kbvItem = Objects.requireNonNull(kbvItem, "kbvItem cannot be null");
+        this.questionState = questionState;
+        this.stored = stored;
+        this.questionStateCodec =
+                Objects.requireNonNull(questionStateCodec, "questionStateCodec cannot be null");
+    }
+
+    public SessionItem getSessionItem() {
+        return sessionItem;
+    }
+
+    public UUID getSessionId() {
+        return kbvItem.getSessionId();
+    }
+
+    public KBVItem getKbvItem() {
+        return kbvItem;
+    }
+
+    public QuestionState getQuestionState() throws IOException {
+        if (questionState == null) {
+            questionState = questionStateCodec.read(kbvItem);
+        }
+        return questionState;
+    }
+
+    public void setQuestions(List<KBVQuestion> questions) throws IOException {
+        getQuestionState().setQAPairs(questions);
+        dirtyAttributes.add(Attribute.QUESTION_STATE);
+    }
+
+    public void setAnswer(QuestionAnswer questionAnswer) throws IOException {
+        getQuestionState().setAnswer(questionAnswer);
+        dirtyAttributes.add(Attribute.QUESTION_STATE);
+    }
+
+    public String getStatus() {
+        return kbvItem.getStatus();
+    }
+
+    public void setStatus(String status) {
+        kbvItem.setStatus(status);
+        dirtyAttributes.add(Attribute.STATUS);
+    }
+
+    public String getAuthRefNo() {
+        return kbvItem.getAuthRefNo();
+    }
+
+    public String getUrn() {
+        return kbvItem.getUrn();
+    }
+
+    public void setControl(String authRefNo, String urn) {
+        kbvItem.setAuthRefNo(authRefNo);
+        kbvItem.setUrn(urn);
+        dirtyAttributes.add(Attribute.CONTROL);
+    }
+
+    public long getExpiryDate() {
+        return kbvItem.getExpiryDate();
+    }
+
+    public void setExpiryDate(long expiryDate) {
+        kbvItem.setExpiryDate(expiryDate);
+        dirtyAttributes.add(Attribute.EXPIRY_DATE);
+    }
+
+    public boolean isStored() {
+        return stored;
+    }
+
+    public boolean isDirty() {
+        return !dirtyAttributes.isEmpty();
+    }
+
+    public Set<Attribute> getDirtyAttributes() {
+        return Collections.unmodifiableSet(EnumSet.copyOf(dirtyAttributes));
+    }
+
+    KBVItem applyChanges() throws IOException {
+        if (dirtyAttributes.contains(Attribute.QUESTION_STATE)) {
+            questionStateCodec.write(kbvItem, questionState);
+        }
+        return kbvItem;
+    }
+
+    KBVItemUpdate getItemUpdate() {
+        var itemUpdate = new KBVItemUpdate();
+        itemUpdate.setSessionId(kbvItem.getSessionId());
+        for (Attribute attribute : dirtyAttributes) {
+            switch (attribute) {
+                case QUESTION_STATE:
+                    itemUpdate.setQuestionStateData(kbvItem.getQuestionStateData());
+                    break;
+                case STATUS:
+                    itemUpdate.setStatus(kbvItem.getStatus());
+                    break;
+                case CONTROL:
+                    itemUpdate.setAuthRefNo(kbvItem.getAuthRefNo());
+                    itemUpdate.setUrn(kbvItem.getUrn());
+                    break;
+                case EXPIRY_DATE:
+                    itemUpdate.setExpiryDate(kbvItem.getExpiryDate());
+                    break;
+            }
+        }
+        return itemUpdate;
+    }
+
+    void clearChanges() {
+        dirtyAttributes.clear();
+    }
+
+    void markStored() {
+        stored = true;
+    }
+}
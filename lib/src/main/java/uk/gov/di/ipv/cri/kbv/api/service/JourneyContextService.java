@@ -0,0 +1,67 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import uk.gov.di.ipv.cri.common.library.service.SessionService;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.io.IOException;
+import java.util.UUID;
+
+public class JourneyContextService {
+    private final SessionService sessionService;
+    private final KBVStorageService kbvStorageService;
+    private final QuestionStateCodec questionStateCodec;
+
+    public JourneyContextService(
+            SessionService sessionService,
+            KBVStorageService kbvStorageService,
+            QuestionStateCodec questionStateCodec) {
+        this.sessionService = sessionService;
+        this.kbvStorageService = kbvStorageService;
+        this.questionStateCodec = questionStateCodec;
+    }
+
+    public JourneyContext load(String sessionId, RequestDeadline deadline) {
+        var sessionItem = sessionService.validateSessionId(sessionId);
+        var kbvSessionId = UUID.fromString(sessionId);
+        var kbvItem = kbvStorageService.getKBVItem(kbvSessionId, deadline);
+        if (kbvItem == null) {
+            kbvItem = new KBVItem();
+            kbvItem.setSessionId(kbvSessionId);
+            return new JourneyContext(
+                    sessionItem, kbvItem, new QuestionState(), questionStateCodec, false);
+        }
+        return new JourneyContext(sessionItem, kbvItem, questionStateCodec);
+    }
+
+    public void save(JourneyContext journeyContext, RequestDeadline deadline) throws IOException {
+        if (journeyContext.isDirty()) {
+            kbvStorageService.save(journeyContext.applyChanges(), deadline);
+            journeyContext.clearChanges();
+            journeyContext.markStored();
+        }
+    }
+
+    public void update(JourneyContext journeyContext, RequestDeadline deadline) throws IOException {
+        if (journeyContext.isDirty()) {
+            journeyContext.applyChanges();
+            kbvStorageService.updateAttributes(journeyContext.getItemUpdate(), deadline);
+            journeyContext.clearChanges();
+        }
+    }
+
+    public void updateAfterFailure(JourneyContext journeyContext, Exception failure) {
+        if (!journeyContext.isDirty()) {
+            return;
+        }
+        try {
+            journeyContext.applyChanges();
+            kbvStorageService.updateAttributes(journeyContext.getItemUpdate());
+            journeyContext.clearChanges();
+        } catch (IOException | RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
 import uk.gov.di.ipv.cri.kbv.api.gateway.KBVGateway;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.util.concurrent.CompletableFuture;
 
 public class KBVService {
     private final KBVGateway kbvGateway;
@@ -19,4 +22,14 @@ public class KBVService {
     public QuestionsResponse submitAnswers(QuestionAnswerRequest answers) {
         return kbvGateway.submitAnswers(answers);
     }
+
+    public CompletableFuture<QuestionsResponse> getQuestionsAsync(
+            QuestionRequest questionRequest, RequestDeadline deadline) {
+        return kbvGateway.getQuestionsAsync(questionRequest, deadline);
+    }
+
+    public CompletableFuture<QuestionsResponse> submitAnswersAsync(
+            QuestionAnswerRequest answers, RequestDeadline deadline) {
+        return kbvGateway.submitAnswersAsync(answers, deadline);
+    }
 }
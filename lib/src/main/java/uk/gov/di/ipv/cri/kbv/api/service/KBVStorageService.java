@@ -1,28 +1,67 @@
 package uk.gov.di.ipv.cri.kbv.api.service;
 
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 import uk.gov.di.ipv.cri.common.library.annotations.ExcludeFromGeneratedCoverageReport;
 import uk.gov.di.ipv.cri.common.library.persistence.DataStore;
-import uk.gov.di.ipv.cri.common.library.persistence.DynamoDbEnhancedClientFactory;
 import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
 import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItemUpdate;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class KBVStorageService {
+    static final Duration MINIMUM_CALL_BUDGET = Duration.ofMillis(200);
+    static final String ITEM_EXISTS_CONDITION = "attribute_exists(sessionId)";
+    static final String JOURNEY_IN_PROGRESS_CONDITION =
+            ITEM_EXISTS_CONDITION + " AND attribute_not_exists(#status)";
+    private static final String PARTITION_KEY = "sessionId";
+    private static final String LEGACY_QUESTION_STATE = "questionState";
+    private static final TableSchema<KBVItem> ITEM_SCHEMA = TableSchema.fromBean(KBVItem.class);
+    private static final TableSchema<KBVItemUpdate> ITEM_UPDATE_SCHEMA =
+            TableSchema.fromBean(KBVItemUpdate.class);
     private final DataStore<KBVItem> dataStore;
+    private final DynamoDbClient dynamoDbClient;
+    private final String tableName;
 
     @ExcludeFromGeneratedCoverageReport
     public KBVStorageService(ConfigurationService configurationService) {
-        this.dataStore =
+        this(configurationService.getParameterValue("KBVTableName"), DynamoDbClient.create());
+    }
+
+    @ExcludeFromGeneratedCoverageReport
+    private KBVStorageService(String tableName, DynamoDbClient dynamoDbClient) {
+        this(
                 new DataStore<>(
-                        configurationService.getParameterValue("KBVTableName"),
+                        tableName,
                         KBVItem.class,
-                        new DynamoDbEnhancedClientFactory().getClient());
+                        DynamoDbEnhancedClient.builder().dynamoDbClient(dynamoDbClient).build()),
+                dynamoDbClient,
+                tableName);
     }
 
-    public KBVStorageService(DataStore<KBVItem> datastore) {
+    public KBVStorageService(
+            DataStore<KBVItem> datastore, DynamoDbClient dynamoDbClient, String tableName) {
         this.dataStore = datastore;
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
     }
 
     public Optional<KBVItem> getSessionId(String sessionId) {
@@ -40,4 +79,105 @@ public class KBVStorageService {
     public void save(KBVItem kbvItem) {
         dataStore.create(kbvItem);
     }
+
+    public void updateAttributes(KBVItemUpdate itemUpdate) {
+        dynamoDbClient.updateItem(createUpdateRequest(itemUpdate).build());
+    }
+
+    public void updateStatus(UUID sessionId, String status) {
+        var itemUpdate = new KBVItemUpdate();
+        itemUpdate.setSessionId(sessionId);
+        itemUpdate.setStatus(status);
+        updateAttributes(itemUpdate);
+    }
+
+    public KBVItem getKBVItem(UUID sessionId, RequestDeadline deadline) {
+        GetItemResponse response =
+                callWithin(
+                        deadline,
+                        "KBV item read",
+                        timeout ->
+                                dynamoDbClient.getItem(
+                                        GetItemRequest.builder()
+                                                .tableName(tableName)
+                                                .key(
+                                                        Map.of(
+                                                                PARTITION_KEY,
+                                                                AttributeValue.builder()
+                                                                        .s(sessionId.toString())
+                                                                        .build()))
+                                                .overrideConfiguration(timeout)
+                                                .build()));
+        return response.hasItem() ? ITEM_SCHEMA.mapToItem(response.item()) : null;
+    }
+
+    public void save(KBVItem kbvItem, RequestDeadline deadline) {
+        callWithin(
+                deadline,
+                "KBV item save",
+                timeout ->
+                        dynamoDbClient.putItem(
+                                PutItemRequest.builder()
+                                        .tableName(tableName)
+                                        .item(ITEM_SCHEMA.itemToMap(kbvItem, true))
+                                        .overrideConfiguration(timeout)
+                                        .build()));
+    }
+
+    public void updateAttributes(KBVItemUpdate itemUpdate, RequestDeadline deadline) {
+        callWithin(
+                deadline,
+                "KBV item update",
+                timeout ->
+                        dynamoDbClient.updateItem(
+                                createUpdateRequest(itemUpdate)
+                                        .overrideConfiguration(timeout)
+                                        .build()));
+    }
+
+    UpdateItemRequest.Builder createUpdateRequest(KBVItemUpdate itemUpdate) {
+        Map<String, AttributeValue> attributes = ITEM_UPDATE_SCHEMA.itemToMap(itemUpdate, true);
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> assignments = new ArrayList<>();
+        attributes.forEach(
+                (name, value) -> {
+                    if (!PARTITION_KEY.equals(name)) {
+                        names.put("#" + name, name);
+                        values.put(":" + name, value);
+                        assignments.add("#" + name + " = :" + name);
+                    }
+                });
+        String updateExpression = "SET " + String.join(", ", assignments);
+        String condition = ITEM_EXISTS_CONDITION;
+        if (itemUpdate.getQuestionStateData() != null) {
+            updateExpression += " REMOVE #" + LEGACY_QUESTION_STATE;
+            names.put("#" + LEGACY_QUESTION_STATE, LEGACY_QUESTION_STATE);
+            condition = JOURNEY_IN_PROGRESS_CONDITION;
+            names.put("#status", "status");
+        }
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of(PARTITION_KEY, attributes.get(PARTITION_KEY)))
+                .updateExpression(updateExpression)
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values);
+    }
+
+    private static <T> T callWithin(
+            RequestDeadline deadline,
+            String operation,
+            Function<AwsRequestOverrideConfiguration, T> call) {
+        deadline.ensureRemaining(MINIMUM_CALL_BUDGET, operation);
+        try {
+            return call.apply(
+                    AwsRequestOverrideConfiguration.builder()
+                            .apiCallTimeout(Duration.ofMillis(deadline.getRemainingMillis()))
+                            .build());
+        } catch (ApiCallTimeoutException e) {
+            throw new DeadlineExceededException(
+                    operation + " did not complete before the request deadline", e);
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package uk.gov.di.ipv.cri.kbv.api.snapstart;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Response;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Responses;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.ipv.cri.kbv.api.gateway.IdentityIQClient;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
+
+import java.util.Objects;
+
+public class SnapStartPrimer {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String PRIMING_QUESTION_ID = "Q00000";
+    private final JsonCodec jsonCodec;
+    private final IdentityIQClient identityIQClient;
+
+    public SnapStartPrimer(JsonCodec jsonCodec, IdentityIQClient identityIQClient) {
+        this.jsonCodec = Objects.requireNonNull(jsonCodec, "jsonCodec must not be null");
+        this.identityIQClient =
+                Objects.requireNonNull(identityIQClient, "identityIQClient must not be null");
+    }
+
+    public void prime() {
+        try {
+            identityIQClient.primeBindings(createSaaRequest(), createRtqRequest());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Priming before checkpoint failed", e);
+        }
+        jsonCodec.warmUp();
+    }
+
+    static SAARequest createSaaRequest() {
+        var saaRequest = new SAARequest();
+        saaRequest.setControl(createControl());
+        return saaRequest;
+    }
+
+    static RTQRequest createRtqRequest() {
+        var response = new Response();
+        response.setQuestionID(PRIMING_QUESTION_ID);
+        response.setAnswerGiven("priming");
+        response.setCustResponseFlag(0);
+        response.setAnswerActionFlag("U");
+        var responses = new Responses();
+        responses.getResponse().add(response);
+
+        var rtqRequest = new RTQRequest();
+        rtqRequest.setControl(createControl());
+        rtqRequest.setResponses(responses);
+        return rtqRequest;
+    }
+
+    private static Control createControl() {
+        var control = new Control();
+        control.setURN("priming-urn");
+        control.setAuthRefNo("priming-auth-ref");
+        return control;
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.di.ipv.cri.kbv.api.snapstart;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import java.util.Objects;
+
+public class SnapStartResource implements Resource {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private final Runnable primer;
+    private final Runnable restorer;
+
+    public SnapStartResource(Runnable primer, Runnable restorer) {
+        this.primer = Objects.requireNonNull(primer, "primer must not be null");
+        this.restorer = Objects.requireNonNull(restorer, "restorer must not be null");
+    }
+
+    public SnapStartResource register() {
+        Core.getGlobalContext().register(this);
+        return this;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        primer.run();
+        LOGGER.info("Primed before checkpoint in {} ms", elapsedMillis(start));
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        restorer.run();
+        LOGGER.info("Restored after checkpoint in {} ms", elapsedMillis(start));
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
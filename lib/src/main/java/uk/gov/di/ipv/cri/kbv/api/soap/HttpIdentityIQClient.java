@@ -0,0 +1,172 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.ipv.cri.kbv.api.gateway.IdentityIQClient;
+import uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.ws.WebServiceException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+public class HttpIdentityIQClient implements IdentityIQClient {
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final String SAA_ACTION = IdentityIQSoapCodec.IIQ_NAMESPACE + "/SAA";
+    static final String RTQ_ACTION = IdentityIQSoapCodec.IIQ_NAMESPACE + "/RTQ";
+    private static final String PRIMING_TOKEN = "cHJpbWluZw==";
+    private final SoapHttpClient soapHttpClient;
+    private final String address;
+    private final WaspTokenCache waspTokenCache;
+    private final IdentityIQSoapCodec codec = new IdentityIQSoapCodec();
+
+    public HttpIdentityIQClient(
+            SoapHttpClient soapHttpClient, String address, WaspTokenCache waspTokenCache) {
+        this.soapHttpClient =
+                Objects.requireNonNull(soapHttpClient, "soapHttpClient must not be null");
+        this.address = Objects.requireNonNull(address, "address must not be null");
+        this.waspTokenCache =
+                Objects.requireNonNull(waspTokenCache, "waspTokenCache must not be null");
+    }
+
+    @Override
+    public SAAResponse2 saa(SAARequest saaRequest) {
+        String encodedToken = waspTokenCache.getEncodedToken();
+        return invalidatingTokenOnFailure(
+                encodedToken,
+                () ->
+                        soapHttpClient.call(
+                                address,
+                                SAA_ACTION,
+                                outputStream ->
+                                        codec.writeSaaRequest(
+                                                outputStream, saaRequest, encodedToken),
+                                codec::readSaaResponse));
+    }
+
+    @Override
+    public RTQResponse2 rtq(RTQRequest rtqRequest) {
+        String encodedToken = waspTokenCache.getEncodedToken();
+        return invalidatingTokenOnFailure(
+                encodedToken,
+                () ->
+                        soapHttpClient.call(
+                                address,
+                                RTQ_ACTION,
+                                outputStream ->
+                                        codec.writeRtqRequest(
+                                                outputStream, rtqRequest, encodedToken),
+                                codec::readRtqResponse));
+    }
+
+    @Override
+    public CompletableFuture<SAAResponse2> saaAsync(
+            SAARequest saaRequest, RequestDeadline deadline) {
+        String encodedToken = waspTokenCache.getEncodedToken(deadline);
+        return completing(
+                soapHttpClient.callAsync(
+                        address,
+                        SAA_ACTION,
+                        outputStream ->
+                                codec.writeSaaRequest(outputStream, saaRequest, encodedToken),
+                        codec::readSaaResponse,
+                        deadline),
+                encodedToken,
+                deadline,
+                "SAA call");
+    }
+
+    @Override
+    public CompletableFuture<RTQResponse2> rtqAsync(
+            RTQRequest rtqRequest, RequestDeadline deadline) {
+        String encodedToken = waspTokenCache.getEncodedToken(deadline);
+        return completing(
+                soapHttpClient.callAsync(
+                        address,
+                        RTQ_ACTION,
+                        outputStream ->
+                                codec.writeRtqRequest(outputStream, rtqRequest, encodedToken),
+                        codec::readRtqResponse,
+                        deadline),
+                encodedToken,
+                deadline,
+                "RTQ call");
+    }
+
+    @Override
+    public void primeBindings(SAARequest saaRequest, RTQRequest rtqRequest) {
+        try {
+            var saaOutput = new ByteArrayOutputStream();
+            codec.writeSaaRequest(saaOutput, saaRequest, PRIMING_TOKEN);
+            codec.readSaaResponse(new ByteArrayInputStream(saaOutput.toByteArray()));
+            var rtqOutput = new ByteArrayOutputStream();
+            codec.writeRtqRequest(rtqOutput, rtqRequest, PRIMING_TOKEN);
+            codec.readRtqResponse(new ByteArrayInputStream(rtqOutput.toByteArray()));
+        } catch (XMLStreamException e) {
+            throw new WebServiceException("Priming the IdentityIQ codec failed", e);
+        }
+    }
+
+    private <T> T invalidatingTokenOnFailure(String encodedToken, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            invalidateOnAuthenticationFailure(e, encodedToken);
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> completing(
+            CompletableFuture<T> call,
+            String encodedToken,
+            RequestDeadline deadline,
+            String operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        call.whenComplete(
+                (response, error) -> {
+                    if (error == null) {
+                        future.complete(response);
+                        return;
+                    }
+                    Throwable cause = unwrap(error);
+                    invalidateOnAuthenticationFailure(cause, encodedToken);
+                    future.completeExceptionally(deadline.describeFailure(operation, cause));
+                });
+        return future;
+    }
+
+    private void invalidateOnAuthenticationFailure(Throwable failure, String encodedToken) {
+        boolean authenticationFailure =
+                (failure instanceof SoapHttpException
+                                && WaspTokenCache.isAuthenticationStatus(
+                                        ((SoapHttpException) failure).getStatusCode()))
+                        || (failure instanceof SoapFaultException
+                                && WaspTokenCache.isAuthenticationFault(
+                                        ((SoapFaultException) failure).getFaultCode(),
+                                        ((SoapFaultException) failure).getFaultString()));
+        if (authenticationFailure) {
+            LOGGER.warn("Experian rejected the WASP token, invalidating the cached token");
+            waspTokenCache.invalidate(encodedToken);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause =
+                error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+        return cause instanceof RuntimeException
+                ? cause
+                : new WebServiceException(cause.getMessage(), cause);
+    }
+}
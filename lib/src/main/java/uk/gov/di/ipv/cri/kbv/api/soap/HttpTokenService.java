@@ -0,0 +1,25 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import java.util.Objects;
+
+public class HttpTokenService {
+    static final String LOGIN_WITH_CERTIFICATE_ACTION =
+            IdentityIQSoapCodec.WASP_NAMESPACE + "LoginWithCertificate";
+    private final SoapHttpClient soapHttpClient;
+    private final String address;
+    private final IdentityIQSoapCodec codec = new IdentityIQSoapCodec();
+
+    public HttpTokenService(SoapHttpClient soapHttpClient, String address) {
+        this.soapHttpClient =
+                Objects.requireNonNull(soapHttpClient, "soapHttpClient must not be null");
+        this.address = Objects.requireNonNull(address, "address must not be null");
+    }
+
+    public String loginWithCertificate(String application, boolean checkIp) {
+        return soapHttpClient.call(
+                address,
+                LOGIN_WITH_CERTIFICATE_ACTION,
+                outputStream -> codec.writeLoginRequest(outputStream, application, checkIp),
+                codec::readLoginResponse);
+    }
+}
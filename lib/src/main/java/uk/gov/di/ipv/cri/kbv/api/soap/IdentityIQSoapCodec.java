@@ -0,0 +1,644 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Alerts;
+import com.experian.uk.schema.experian.identityiq.services.webservice.AnswerFormat;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Applicant;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicantDateOfBirth;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicantName;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicationData;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ArrayOfAlerts;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ArrayOfString;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Error;
+import com.experian.uk.schema.experian.identityiq.services.webservice.LocationDetails;
+import com.experian.uk.schema.experian.identityiq.services.webservice.LocationDetailsUKLocation;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Parameters;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Residency;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Response;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Responses;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Results;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ResultsQuestions;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import uk.gov.di.ipv.cri.kbv.api.security.SecurityHeaderInterceptor;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+class IdentityIQSoapCodec {
+    static final String SOAP_NAMESPACE = "http://schemas.xmlsoap.org/soap/envelope/";
+    static final String IIQ_NAMESPACE =
+            "http://schema.uk.experian.com/Experian/IdentityIQ/Services/WebService";
+    static final String WASP_NAMESPACE = "http://www.uk.experian.com/WASP/";
+    private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+    private final XMLInputFactory xmlInputFactory;
+    private final XMLOutputFactory xmlOutputFactory;
+
+    IdentityIQSoapCodec() {
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.xmlOutputFactory = XMLOutputFactory.newFactory();
+    }
+
+    void writeSaaRequest(OutputStream outputStream, SAARequest saaRequest, String encodedToken)
+            throws XMLStreamException {
+        XMLStreamWriter writer = startEnvelope(outputStream, encodedToken);
+        startOperation(writer, "SAA", IIQ_NAMESPACE);
+        writer.writeStartElement("", "sAARequest", IIQ_NAMESPACE);
+        writeApplicant(writer, saaRequest.getApplicant());
+        writeApplicationData(writer, saaRequest.getApplicationData());
+        writeControl(writer, saaRequest.getControl());
+        for (LocationDetails locationDetails : saaRequest.getLocationDetails()) {
+            writeLocationDetails(writer, locationDetails);
+        }
+        for (Residency residency : saaRequest.getResidency()) {
+            writeResidency(writer, residency);
+        }
+        writer.writeEndElement();
+        endEnvelope(writer);
+    }
+
+    void writeRtqRequest(OutputStream outputStream, RTQRequest rtqRequest, String encodedToken)
+            throws XMLStreamException {
+        XMLStreamWriter writer = startEnvelope(outputStream, encodedToken);
+        startOperation(writer, "RTQ", IIQ_NAMESPACE);
+        writer.writeStartElement("", "rTQRequest", IIQ_NAMESPACE);
+        writeControl(writer, rtqRequest.getControl());
+        Responses responses = rtqRequest.getResponses();
+        if (responses != null) {
+            writer.writeStartElement("", "Responses", IIQ_NAMESPACE);
+            for (Response response : responses.getResponse()) {
+                writeResponse(writer, response);
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        endEnvelope(writer);
+    }
+
+    void writeLoginRequest(OutputStream outputStream, String application, boolean checkIp)
+            throws XMLStreamException {
+        XMLStreamWriter writer = startEnvelope(outputStream, null);
+        startOperation(writer, "LoginWithCertificate", WASP_NAMESPACE);
+        writer.writeStartElement("", "application", WASP_NAMESPACE);
+        writer.writeCharacters(application);
+        writer.writeEndElement();
+        writer.writeStartElement("", "checkIP", WASP_NAMESPACE);
+        writer.writeCharacters(String.valueOf(checkIp));
+        writer.writeEndElement();
+        endEnvelope(writer);
+    }
+
+    SAAResponse2 readSaaResponse(InputStream inputStream) throws XMLStreamException {
+        SAAResponse2 saaResponse = new SAAResponse2();
+        readResult(
+                inputStream,
+                "SAAResult",
+                saaResponse::setControl,
+                saaResponse::setQuestions,
+                saaResponse::setResults,
+                saaResponse::setError);
+        return saaResponse;
+    }
+
+    RTQResponse2 readRtqResponse(InputStream inputStream) throws XMLStreamException {
+        RTQResponse2 rtqResponse = new RTQResponse2();
+        readResult(
+                inputStream,
+                "RTQResult",
+                rtqResponse::setControl,
+                rtqResponse::setQuestions,
+                rtqResponse::setResults,
+                rtqResponse::setError);
+        return rtqResponse;
+    }
+
+    String readLoginResponse(InputStream inputStream) throws XMLStreamException {
+        XMLStreamReader reader = openBody(inputStream);
+        try {
+            String token = null;
+            while (nextChild(reader)) {
+                if ("LoginWithCertificateResult".equals(reader.getLocalName())) {
+                    token = readText(reader);
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return token;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void readResult(
+            InputStream inputStream,
+            String resultName,
+            Consumer<Control> control,
+            Consumer<Questions> questions,
+            Consumer<Results> results,
+            Consumer<Error> error)
+            throws XMLStreamException {
+        XMLStreamReader reader = openBody(inputStream);
+        try {
+            while (nextChild(reader)) {
+                if (!resultName.equals(reader.getLocalName())) {
+                    skipElement(reader);
+                    continue;
+                }
+                while (nextChild(reader)) {
+                    switch (reader.getLocalName()) {
+                        case "Control":
+                            control.accept(readControl(reader));
+                            break;
+                        case "Questions":
+                            questions.accept(readQuestions(reader));
+                            break;
+                        case "Results":
+                            results.accept(readResults(reader));
+                            break;
+                        case "Error":
+                            error.accept(readError(reader));
+                            break;
+                        default:
+                            skipElement(reader);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private XMLStreamReader openBody(InputStream inputStream) throws XMLStreamException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && SOAP_NAMESPACE.equals(reader.getNamespaceURI())
+                        && "Body".equals(reader.getLocalName())) {
+                    if (!nextChild(reader)) {
+                        throw new XMLStreamException("The SOAP body is empty");
+                    }
+                    if (SOAP_NAMESPACE.equals(reader.getNamespaceURI())
+                            && "Fault".equals(reader.getLocalName())) {
+                        throw readFault(reader);
+                    }
+                    return reader;
+                }
+            }
+            throw new XMLStreamException("No Body element in the SOAP envelope");
+        } catch (XMLStreamException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private XMLStreamWriter startEnvelope(OutputStream outputStream, String encodedToken)
+            throws XMLStreamException {
+        XMLStreamWriter writer =
+                xmlOutputFactory.createXMLStreamWriter(
+                        outputStream, StandardCharsets.UTF_8.name());
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        writer.writeStartElement("soap", "Envelope", SOAP_NAMESPACE);
+        writer.writeNamespace("soap", SOAP_NAMESPACE);
+        if (encodedToken != null) {
+            writer.writeStartElement("soap", "Header", SOAP_NAMESPACE);
+            SecurityHeaderInterceptor.writeSecurityHeader(writer, encodedToken);
+            writer.writeEndElement();
+        }
+        writer.writeStartElement("soap", "Body", SOAP_NAMESPACE);
+        return writer;
+    }
+
+    private static void startOperation(XMLStreamWriter writer, String operation, String namespace)
+            throws XMLStreamException {
+        writer.writeStartElement("", operation, namespace);
+        writer.writeDefaultNamespace(namespace);
+    }
+
+    private static void endEnvelope(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+    }
+
+    private static void writeApplicant(XMLStreamWriter writer, Applicant applicant)
+            throws XMLStreamException {
+        if (applicant == null) {
+            return;
+        }
+        writer.writeStartElement("", "Applicant", IIQ_NAMESPACE);
+        writeText(writer, "ApplicantIdentifier", applicant.getApplicantIdentifier());
+        ApplicantName name = applicant.getName();
+        if (name != null) {
+            writer.writeStartElement("", "Name", IIQ_NAMESPACE);
+            writeText(writer, "Title", name.getTitle());
+            writeText(writer, "Forename", name.getForename());
+            writeText(writer, "MiddleName", name.getMiddleName());
+            writeText(writer, "Surname", name.getSurname());
+            writeText(writer, "Suffix", name.getSuffix());
+            writer.writeEndElement();
+        }
+        writeText(writer, "Gender", applicant.getGender());
+        ApplicantDateOfBirth dateOfBirth = applicant.getDateOfBirth();
+        if (dateOfBirth != null) {
+            writer.writeStartElement("", "DateOfBirth", IIQ_NAMESPACE);
+            writeText(writer, "CCYY", dateOfBirth.getCCYY());
+            writeText(writer, "MM", dateOfBirth.getMM());
+            writeText(writer, "DD", dateOfBirth.getDD());
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeApplicationData(
+            XMLStreamWriter writer, ApplicationData applicationData) throws XMLStreamException {
+        if (applicationData == null) {
+            return;
+        }
+        writer.writeStartElement("", "ApplicationData", IIQ_NAMESPACE);
+        writeText(writer, "ApplicationType", applicationData.getApplicationType());
+        writeText(writer, "Channel", applicationData.getChannel());
+        writeText(writer, "Product", applicationData.getProduct());
+        writeText(writer, "SearchConsent", applicationData.getSearchConsent());
+        writer.writeEndElement();
+    }
+
+    private static void writeControl(XMLStreamWriter writer, Control control)
+            throws XMLStreamException {
+        if (control == null) {
+            return;
+        }
+        writer.writeStartElement("", "Control", IIQ_NAMESPACE);
+        writeText(writer, "URN", control.getURN());
+        writeText(writer, "AuthRefNo", control.getAuthRefNo());
+        writeText(writer, "TestDatabase", control.getTestDatabase());
+        writeText(writer, "ClientAccountNo", control.getClientAccountNo());
+        writeText(writer, "ClientBranchNo", control.getClientBranchNo());
+        writeText(writer, "OperatorID", control.getOperatorID());
+        Parameters parameters = control.getParameters();
+        if (parameters != null) {
+            writer.writeStartElement("", "Parameters", IIQ_NAMESPACE);
+            writeText(writer, "OneShotAuthentication", parameters.getOneShotAuthentication());
+            writeText(writer, "StoreCaseData", parameters.getStoreCaseData());
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeLocationDetails(
+            XMLStreamWriter writer, LocationDetails locationDetails) throws XMLStreamException {
+        writer.writeStartElement("", "LocationDetails", IIQ_NAMESPACE);
+        writeText(writer, "LocationIdentifier", locationDetails.getLocationIdentifier());
+        LocationDetailsUKLocation ukLocation = locationDetails.getUKLocation();
+        if (ukLocation != null) {
+            writer.writeStartElement("", "UKLocation", IIQ_NAMESPACE);
+            writeText(writer, "Flat", ukLocation.getFlat());
+            writeText(writer, "HouseName", ukLocation.getHouseName());
+            writeText(writer, "HouseNumber", ukLocation.getHouseNumber());
+            writeText(writer, "Street", ukLocation.getStreet());
+            writeText(writer, "Street2", ukLocation.getStreet2());
+            writeText(writer, "District", ukLocation.getDistrict());
+            writeText(writer, "District2", ukLocation.getDistrict2());
+            writeText(writer, "PostTown", ukLocation.getPostTown());
+            writeText(writer, "County", ukLocation.getCounty());
+            writeText(writer, "Postcode", ukLocation.getPostcode());
+            writeText(writer, "POBox", ukLocation.getPOBox());
+            writeText(writer, "Country", ukLocation.getCountry());
+            writeText(writer, "SharedLetterbox", ukLocation.getSharedLetterbox());
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private static void writeResidency(XMLStreamWriter writer, Residency residency)
+            throws XMLStreamException {
+        writer.writeStartElement("", "Residency", IIQ_NAMESPACE);
+        writeText(writer, "ApplicantIdentifier", residency.getApplicantIdentifier());
+        writeText(writer, "LocationIdentifier", residency.getLocationIdentifier());
+        writeText(writer, "LocationCode", residency.getLocationCode());
+        writer.writeEndElement();
+    }
+
+    private static void writeResponse(XMLStreamWriter writer, Response response)
+            throws XMLStreamException {
+        writer.writeStartElement("", "Response", IIQ_NAMESPACE);
+        writeText(writer, "QuestionID", response.getQuestionID());
+        writeText(writer, "AnswerGiven", response.getAnswerGiven());
+        if (response.getCustResponseFlag() == null) {
+            writer.writeStartElement("", "CustResponseFlag", IIQ_NAMESPACE);
+            writer.writeNamespace("xsi", XSI_NAMESPACE);
+            writer.writeAttribute("xsi", XSI_NAMESPACE, "nil", "true");
+            writer.writeEndElement();
+        } else {
+            writeText(writer, "CustResponseFlag", response.getCustResponseFlag());
+        }
+        writeText(writer, "AnswerActionFlag", response.getAnswerActionFlag());
+        writer.writeEndElement();
+    }
+
+    private static void writeText(XMLStreamWriter writer, String localName, Object value)
+            throws XMLStreamException {
+        if (value == null) {
+            return;
+        }
+        writer.writeStartElement("", localName, IIQ_NAMESPACE);
+        writer.writeCharacters(String.valueOf(value));
+        writer.writeEndElement();
+    }
+
+    private static Control readControl(XMLStreamReader reader) throws XMLStreamException {
+        Control control = new Control();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "URN":
+                    control.setURN(readText(reader));
+                    break;
+                case "AuthRefNo":
+                    control.setAuthRefNo(readText(reader));
+                    break;
+                case "TestDatabase":
+                    control.setTestDatabase(readText(reader));
+                    break;
+                case "ClientAccountNo":
+                    control.setClientAccountNo(readText(reader));
+                    break;
+                case "ClientBranchNo":
+                    control.setClientBranchNo(readText(reader));
+                    break;
+                case "OperatorID":
+                    control.setOperatorID(readText(reader));
+                    break;
+                case "Parameters":
+                    control.setParameters(readParameters(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return control;
+    }
+
+    private static Parameters readParameters(XMLStreamReader reader) throws XMLStreamException {
+        Parameters parameters = new Parameters();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "OneShotAuthentication":
+                    parameters.setOneShotAuthentication(readText(reader));
+                    break;
+                case "StoreCaseData":
+                    parameters.setStoreCaseData(readText(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return parameters;
+    }
+
+    private static Error readError(XMLStreamReader reader) throws XMLStreamException {
+        Error error = new Error();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "ErrorCode":
+                    error.setErrorCode(readText(reader));
+                    break;
+                case "Message":
+                    error.setMessage(readText(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return error;
+    }
+
+    private static Questions readQuestions(XMLStreamReader reader) throws XMLStreamException {
+        Questions questions = new Questions();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "Question":
+                    questions.getQuestion().add(readQuestion(reader));
+                    break;
+                case "SkipsRemaining":
+                    questions.setSkipsRemaining(readInteger(reader));
+                    break;
+                case "SkipWarning":
+                    questions.setSkipWarning(readText(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return questions;
+    }
+
+    private static Question readQuestion(XMLStreamReader reader) throws XMLStreamException {
+        Question question = new Question();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "QuestionID":
+                    question.setQuestionID(readText(reader));
+                    break;
+                case "Text":
+                    question.setText(readText(reader));
+                    break;
+                case "Tooltip":
+                    question.setTooltip(readText(reader));
+                    break;
+                case "AnswerFormat":
+                    question.setAnswerFormat(readAnswerFormat(reader));
+                    break;
+                case "AnswerHeldFlag":
+                    question.setAnswerHeldFlag(readText(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return question;
+    }
+
+    private static AnswerFormat readAnswerFormat(XMLStreamReader reader)
+            throws XMLStreamException {
+        AnswerFormat answerFormat = new AnswerFormat();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "Identifier":
+                    answerFormat.setIdentifier(readText(reader));
+                    break;
+                case "FieldType":
+                    answerFormat.setFieldType(readText(reader));
+                    break;
+                case "AnswerList":
+                    answerFormat.getAnswerList().add(readText(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return answerFormat;
+    }
+
+    private static Results readResults(XMLStreamReader reader) throws XMLStreamException {
+        Results results = new Results();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "Outcome":
+                    results.setOutcome(readText(reader));
+                    break;
+                case "AuthenticationResult":
+                    results.setAuthenticationResult(readText(reader));
+                    break;
+                case "Questions":
+                    results.setQuestions(readResultsQuestions(reader));
+                    break;
+                case "Alerts":
+                    results.setAlerts(readAlerts(reader));
+                    break;
+                case "NextTransId":
+                    results.setNextTransId(readArrayOfString(reader));
+                    break;
+                case "CaseFoundFlag":
+                    results.setCaseFoundFlag(readText(reader));
+                    break;
+                case "ConfirmationCode":
+                    results.setConfirmationCode(readText(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return results;
+    }
+
+    private static ResultsQuestions readResultsQuestions(XMLStreamReader reader)
+            throws XMLStreamException {
+        ResultsQuestions resultsQuestions = new ResultsQuestions();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "Asked":
+                    resultsQuestions.setAsked(readInt(reader));
+                    break;
+                case "Correct":
+                    resultsQuestions.setCorrect(readInt(reader));
+                    break;
+                case "Incorrect":
+                    resultsQuestions.setIncorrect(readInt(reader));
+                    break;
+                case "Skipped":
+                    resultsQuestions.setSkipped(readInt(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return resultsQuestions;
+    }
+
+    private static ArrayOfAlerts readAlerts(XMLStreamReader reader) throws XMLStreamException {
+        ArrayOfAlerts arrayOfAlerts = new ArrayOfAlerts();
+        while (nextChild(reader)) {
+            if (!"Alerts".equals(reader.getLocalName())) {
+                skipElement(reader);
+                continue;
+            }
+            Alerts alerts = new Alerts();
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "Code":
+                        alerts.setCode(readText(reader));
+                        break;
+                    case "Text":
+                        alerts.setText(readText(reader));
+                        break;
+                    default:
+                        skipElement(reader);
+                }
+            }
+            arrayOfAlerts.getAlerts().add(alerts);
+        }
+        return arrayOfAlerts;
+    }
+
+    private static ArrayOfString readArrayOfString(XMLStreamReader reader)
+            throws XMLStreamException {
+        ArrayOfString arrayOfString = new ArrayOfString();
+        while (nextChild(reader)) {
+            if ("string".equals(reader.getLocalName())) {
+                arrayOfString.getString().add(readText(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return arrayOfString;
+    }
+
+    private static SoapFaultException readFault(XMLStreamReader reader)
+            throws XMLStreamException {
+        String faultCode = null;
+        String faultString = null;
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "faultcode":
+                    faultCode = readText(reader);
+                    break;
+                case "faultstring":
+                    faultString = readText(reader);
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return new SoapFaultException(faultCode, faultString);
+    }
+
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        return reader.nextTag() == XMLStreamConstants.START_ELEMENT;
+    }
+
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        boolean nil = "true".equals(reader.getAttributeValue(XSI_NAMESPACE, "nil"));
+        String text = reader.getElementText();
+        return nil ? null : text;
+    }
+
+    private static Integer readInteger(XMLStreamReader reader) throws XMLStreamException {
+        String text = readText(reader);
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return Integer.valueOf(text.trim());
+    }
+
+    private static int readInt(XMLStreamReader reader) throws XMLStreamException {
+        Integer value = readInteger(reader);
+        return value == null ? 0 : value;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import javax.xml.ws.WebServiceException;
+
+public class SoapFaultException extends WebServiceException {
+    private final String faultCode;
+    private final String faultString;
+
+    public SoapFaultException(String faultCode, String faultString) {
+        super(faultCode + ": " + faultString);
+        this.faultCode = faultCode;
+        this.faultString = faultString;
+    }
+
+    public String getFaultCode() {
+        return faultCode;
+    }
+
+    public String getFaultString() {
+        return faultString;
+    }
+}
@@ -0,0 +1,169 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.ws.WebServiceException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class SoapHttpClient {
+    static final String CONTENT_TYPE = "text/xml; charset=utf-8";
+    static final String GZIP_ENCODING = "gzip";
+    private final Supplier<SSLContext> sslContextSupplier;
+    private final TransportProfile transportProfile;
+    private volatile HttpClient httpClient;
+
+    public SoapHttpClient(
+            Supplier<SSLContext> sslContextSupplier, TransportProfile transportProfile) {
+        this.sslContextSupplier =
+                Objects.requireNonNull(sslContextSupplier, "sslContextSupplier must not be null");
+        this.transportProfile =
+                Objects.requireNonNull(transportProfile, "transportProfile must not be null");
+        this.httpClient = createHttpClient();
+    }
+
+    public void refresh() {
+        httpClient = createHttpClient();
+    }
+
+    public int prewarm(String address, Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request =
+                HttpRequest.newBuilder(URI.create(address)).timeout(timeout).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    <T> T call(String address, String soapAction, SoapWriter writer, SoapReader<T> reader) {
+        HttpRequest request = createRequest(address, soapAction, encode(writer), null);
+        try {
+            return decode(
+                    httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()), reader);
+        } catch (IOException e) {
+            throw new WebServiceException("The " + soapAction + " call failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceException("The " + soapAction + " call was interrupted", e);
+        }
+    }
+
+    <T> CompletableFuture<T> callAsync(
+            String address,
+            String soapAction,
+            SoapWriter writer,
+            SoapReader<T> reader,
+            RequestDeadline deadline) {
+        HttpRequest request = createRequest(address, soapAction, encode(writer), deadline);
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> decode(response, reader));
+    }
+
+    private HttpClient createHttpClient() {
+        SSLContext sslContext = sslContextSupplier.get();
+        SSLSessionContext clientSessionContext = sslContext.getClientSessionContext();
+        clientSessionContext.setSessionCacheSize(transportProfile.getTlsSessionCacheSize());
+        clientSessionContext.setSessionTimeout(transportProfile.getTlsSessionTimeoutSeconds());
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(transportProfile.getConnectionTimeoutMillis()))
+                .sslContext(sslContext)
+                .build();
+    }
+
+    private HttpRequest createRequest(
+            String address, String soapAction, byte[] body, RequestDeadline deadline) {
+        long receiveTimeoutMillis = transportProfile.getReceiveTimeoutMillis();
+        HttpRequest.Builder builder =
+                HttpRequest.newBuilder(URI.create(address))
+                        .timeout(
+                                Duration.ofMillis(
+                                        deadline == null
+                                                ? receiveTimeoutMillis
+                                                : deadline.capTimeoutMillis(receiveTimeoutMillis)))
+                        .header("Content-Type", CONTENT_TYPE)
+                        .header("SOAPAction", "\"" + soapAction + "\"");
+        if (transportProfile.isGzipResponses()) {
+            builder.header("Accept-Encoding", GZIP_ENCODING);
+        }
+        if (transportProfile.isGzipRequests()
+                && body.length >= transportProfile.getGzipThresholdBytes()) {
+            builder.header("Content-Encoding", GZIP_ENCODING);
+            body = gzip(body);
+        }
+        return builder.POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+    }
+
+    private static byte[] encode(SoapWriter writer) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writer.write(outputStream);
+        } catch (XMLStreamException e) {
+            throw new WebServiceException("Unable to write the SOAP request", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static <T> T decode(HttpResponse<byte[]> response, SoapReader<T> reader) {
+        int statusCode = response.statusCode();
+        try (InputStream body = openBody(response)) {
+            T result = reader.read(body);
+            if (statusCode != HttpURLConnection.HTTP_OK) {
+                throw new SoapHttpException(statusCode, null);
+            }
+            return result;
+        } catch (XMLStreamException e) {
+            if (statusCode != HttpURLConnection.HTTP_OK) {
+                throw new SoapHttpException(statusCode, e);
+            }
+            throw new WebServiceException("Unable to read the SOAP response", e);
+        } catch (IOException e) {
+            throw new WebServiceException("Unable to read the SOAP response", e);
+        }
+    }
+
+    private static InputStream openBody(HttpResponse<byte[]> response) throws IOException {
+        InputStream body = new ByteArrayInputStream(response.body());
+        boolean gzipped =
+                response.headers()
+                        .firstValue("Content-Encoding")
+                        .filter(GZIP_ENCODING::equalsIgnoreCase)
+                        .isPresent();
+        return gzipped ? new GZIPInputStream(body) : body;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new WebServiceException("Unable to compress the SOAP request", e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    interface SoapWriter {
+        void write(OutputStream outputStream) throws XMLStreamException;
+    }
+
+    interface SoapReader<T> {
+        T read(InputStream inputStream) throws XMLStreamException;
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import javax.xml.ws.WebServiceException;
+
+public class SoapHttpException extends WebServiceException {
+    private final int statusCode;
+
+    public SoapHttpException(int statusCode, Throwable cause) {
+        super("The SOAP endpoint responded with HTTP status " + statusCode, cause);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
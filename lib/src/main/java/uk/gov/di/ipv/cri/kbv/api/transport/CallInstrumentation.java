@@ -0,0 +1,276 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import com.amazonaws.xray.AWSXRay;
+import com.amazonaws.xray.entities.Entity;
+import com.amazonaws.xray.entities.Subsegment;
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.transport.http.HTTPException;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import software.amazon.lambda.powertools.metrics.MetricsUtils;
+import software.amazon.lambda.powertools.tracing.TracingUtils;
+
+import javax.net.ssl.SSLException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+class CallInstrumentation {
+    static final String OPERATION_DIMENSION = "operation";
+    static final String OUTCOME_DIMENSION = "outcome";
+    static final String CONNECT_TIME_METRIC = "experian_connect_time";
+    static final String TLS_TIME_METRIC = "experian_tls_time";
+    static final String TIME_TO_FIRST_BYTE_METRIC = "experian_time_to_first_byte";
+    static final String TOTAL_TIME_METRIC = "experian_total_time";
+    static final String REQUEST_BYTES_METRIC = "experian_request_bytes";
+    static final String REQUEST_WIRE_BYTES_METRIC = "experian_request_wire_bytes";
+    static final String RESPONSE_BYTES_METRIC = "experian_response_bytes";
+    static final String RESPONSE_WIRE_BYTES_METRIC = "experian_response_wire_bytes";
+    static final String SUCCESS = "success";
+    static final String TIMEOUT = "timeout";
+    static final String CONNECT_FAILURE = "connect_failure";
+    static final String TLS_FAILURE = "tls_failure";
+    static final String SOAP_FAULT = "soap_fault";
+    static final String HTTP_ERROR = "http_error";
+    static final String OTHER_FAILURE = "other_failure";
+    private static final String TRACE_NAMESPACE = "remote";
+    private static final String UNKNOWN_OPERATION = "unknown";
+    private final Supplier<Entity> traceEntitySupplier;
+
+    CallInstrumentation() {
+        this(AWSXRay::getTraceEntity);
+    }
+
+    CallInstrumentation(Supplier<Entity> traceEntitySupplier) {
+        this.traceEntitySupplier =
+                Objects.requireNonNull(traceEntitySupplier, "traceEntitySupplier must not be null");
+    }
+
+    void install(Client client) {
+        client.getOutInterceptors().add(new CallStartInterceptor(this));
+        client.getOutInterceptors().add(new ConnectionReleaseInterceptor());
+        client.getInInterceptors().add(new FirstByteInterceptor(this));
+        client.getInInterceptors().add(new CallCompletedInterceptor(this, SUCCESS));
+        client.getInFaultInterceptors().add(new CallCompletedInterceptor(this, SOAP_FAULT));
+    }
+
+    CallTimings start(Exchange exchange) {
+        CallTimings callTimings =
+                new CallTimings(
+                        getOperation(exchange),
+                        System.nanoTime(),
+                        System.currentTimeMillis(),
+                        traceEntitySupplier.get());
+        exchange.put(CallTimings.class, callTimings);
+        return callTimings;
+    }
+
+    void complete(Exchange exchange, String outcome) {
+        CallTimings callTimings = exchange == null ? null : exchange.get(CallTimings.class);
+        if (callTimings == null || !callTimings.complete(System.nanoTime(), outcome)) {
+            return;
+        }
+        callTimings.payloadMeasured(
+                PayloadSizeInterceptors.getBytes(
+                        exchange, PayloadSizeInterceptors.REQUEST_BYTES_KEY),
+                PayloadSizeInterceptors.getBytes(
+                        exchange, PayloadSizeInterceptors.REQUEST_WIRE_BYTES_KEY),
+                PayloadSizeInterceptors.getBytes(
+                        exchange, PayloadSizeInterceptors.RESPONSE_BYTES_KEY),
+                PayloadSizeInterceptors.getBytes(
+                        exchange, PayloadSizeInterceptors.RESPONSE_WIRE_BYTES_KEY));
+        MetricsUtils.withMetricsLogger(metricsLogger -> emit(metricsLogger, callTimings));
+        trace(callTimings);
+    }
+
+    void emit(MetricsLogger metricsLogger, CallTimings callTimings) {
+        metricsLogger.putDimensions(
+                DimensionSet.of(
+                        OPERATION_DIMENSION,
+                        callTimings.getOperation(),
+                        OUTCOME_DIMENSION,
+                        callTimings.getFaultType()));
+        putMetric(
+                metricsLogger,
+                CONNECT_TIME_METRIC,
+                callTimings.getConnectMillis(),
+                Unit.MILLISECONDS);
+        putMetric(metricsLogger, TLS_TIME_METRIC, callTimings.getTlsMillis(), Unit.MILLISECONDS);
+        putMetric(
+                metricsLogger,
+                TIME_TO_FIRST_BYTE_METRIC,
+                callTimings.getTimeToFirstByteMillis(),
+                Unit.MILLISECONDS);
+        putMetric(
+                metricsLogger, TOTAL_TIME_METRIC, callTimings.getTotalMillis(), Unit.MILLISECONDS);
+        putMetric(metricsLogger, REQUEST_BYTES_METRIC, callTimings.getRequestBytes(), Unit.BYTES);
+        putMetric(
+                metricsLogger,
+                REQUEST_WIRE_BYTES_METRIC,
+                callTimings.getRequestWireBytes(),
+                Unit.BYTES);
+        putMetric(metricsLogger, RESPONSE_BYTES_METRIC, callTimings.getResponseBytes(), Unit.BYTES);
+        putMetric(
+                metricsLogger,
+                RESPONSE_WIRE_BYTES_METRIC,
+                callTimings.getResponseWireBytes(),
+                Unit.BYTES);
+    }
+
+    static String classify(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) {
+                return TIMEOUT;
+            }
+            if (cause instanceof ConnectException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException) {
+                return CONNECT_FAILURE;
+            }
+            if (cause instanceof SSLException) {
+                return TLS_FAILURE;
+            }
+            if (cause instanceof SoapFault) {
+                return SOAP_FAULT;
+            }
+            if (cause instanceof HTTPException) {
+                return HTTP_ERROR;
+            }
+        }
+        return OTHER_FAILURE;
+    }
+
+    private void trace(CallTimings callTimings) {
+        Entity traceEntity = callTimings.getTraceEntity();
+        if (traceEntity == null) {
+            return;
+        }
+        Entity previousEntity = AWSXRay.getTraceEntity();
+        try {
+            TracingUtils.withEntitySubsegment(
+                    TRACE_NAMESPACE,
+                    "Experian " + callTimings.getOperation(),
+                    traceEntity,
+                    subsegment -> annotate(subsegment, callTimings));
+        } finally {
+            if (previousEntity == null) {
+                AWSXRay.clearTraceEntity();
+            } else {
+                AWSXRay.setTraceEntity(previousEntity);
+            }
+        }
+    }
+
+    private static void annotate(Subsegment subsegment, CallTimings callTimings) {
+        subsegment.setStartTime(callTimings.getStartEpochMillis() / 1000d);
+        subsegment.putAnnotation(OPERATION_DIMENSION, callTimings.getOperation());
+        subsegment.putAnnotation(OUTCOME_DIMENSION, callTimings.getFaultType());
+        subsegment.putMetadata(CONNECT_TIME_METRIC, callTimings.getConnectMillis());
+        subsegment.putMetadata(TLS_TIME_METRIC, callTimings.getTlsMillis());
+        subsegment.putMetadata(TIME_TO_FIRST_BYTE_METRIC, callTimings.getTimeToFirstByteMillis());
+        subsegment.putMetadata(REQUEST_BYTES_METRIC, callTimings.getRequestBytes());
+        subsegment.putMetadata(RESPONSE_BYTES_METRIC, callTimings.getResponseBytes());
+        if (!SUCCESS.equals(callTimings.getFaultType())) {
+            subsegment.setFault(true);
+        }
+    }
+
+    private static void putMetric(MetricsLogger metricsLogger, String name, long value, Unit unit) {
+        if (value != CallTimings.NOT_MEASURED) {
+            metricsLogger.putMetric(name, value, unit);
+        }
+    }
+
+    private static String getOperation(Exchange exchange) {
+        BindingOperationInfo bindingOperationInfo = exchange.getBindingOperationInfo();
+        if (bindingOperationInfo == null) {
+            return UNKNOWN_OPERATION;
+        }
+        return bindingOperationInfo.getName().getLocalPart();
+    }
+
+    static class CallStartInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final CallInstrumentation callInstrumentation;
+
+        private CallStartInterceptor(CallInstrumentation callInstrumentation) {
+            super(Phase.SETUP);
+            this.callInstrumentation = callInstrumentation;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            CallTimings.bind(callInstrumentation.start(message.getExchange()));
+        }
+
+        @Override
+        public void handleFault(Message message) {
+            CallTimings.unbind();
+            callInstrumentation.complete(
+                    message.getExchange(), classify(message.getContent(Exception.class)));
+        }
+    }
+
+    static class ConnectionReleaseInterceptor extends AbstractPhaseInterceptor<Message> {
+        private ConnectionReleaseInterceptor() {
+            super(Phase.PREPARE_SEND_ENDING);
+            addAfter(MessageSenderInterceptor.MessageSenderEndingInterceptor.class.getName());
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            CallTimings.unbind();
+        }
+    }
+
+    static class FirstByteInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final CallInstrumentation callInstrumentation;
+
+        private FirstByteInterceptor(CallInstrumentation callInstrumentation) {
+            super(Phase.RECEIVE);
+            this.callInstrumentation = callInstrumentation;
+            addBefore(PayloadSizeInterceptors.RESPONSE_WIRE_BYTES_KEY);
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            CallTimings callTimings = message.getExchange().get(CallTimings.class);
+            if (callTimings != null) {
+                callTimings.firstByteReceived(System.nanoTime());
+            }
+        }
+
+        @Override
+        public void handleFault(Message message) {
+            callInstrumentation.complete(
+                    message.getExchange(), classify(message.getContent(Exception.class)));
+        }
+    }
+
+    static class CallCompletedInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final CallInstrumentation callInstrumentation;
+        private final String outcome;
+
+        private CallCompletedInterceptor(CallInstrumentation callInstrumentation, String outcome) {
+            super(Phase.POST_UNMARSHAL);
+            this.callInstrumentation = callInstrumentation;
+            this.outcome = outcome;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            callInstrumentation.complete(message.getExchange(), outcome);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import com.amazonaws.xray.entities.Entity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class CallTimings {
+    static final long NOT_MEASURED = -1;
+    private static final long UNSET = Long.MIN_VALUE;
+    private static final ThreadLocal<CallTimings> CURRENT = new ThreadLocal<>();
+    private final String operation;
+    private final long startNanos;
+    private final long startEpochMillis;
+    private final Entity traceEntity;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile long connectStartNanos = UNSET;
+    private volatile long connectEndNanos = UNSET;
+    private volatile long handshakeEndNanos = UNSET;
+    private volatile long firstByteNanos = UNSET;
+    private volatile long endNanos = UNSET;
+    private volatile String faultType;
+    private volatile long requestBytes = NOT_MEASURED;
+    private volatile long requestWireBytes = NOT_MEASURED;
+    private volatile long responseBytes = NOT_MEASURED;
+    private volatile long responseWireBytes = NOT_MEASURED;
+
+    CallTimings(String operation, long startNanos, long startEpochMillis, Entity traceEntity) {
+        this.operation = operation;
+        this.startNanos = startNanos;
+        this.startEpochMillis = startEpochMillis;
+        this.traceEntity = traceEntity;
+    }
+
+    static CallTimings current() {
+        return CURRENT.get();
+    }
+
+    static void bind(CallTimings callTimings) {
+        CURRENT.set(callTimings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    void connectStarted(long nanos) {
+        connectStartNanos = nanos;
+    }
+
+    void connectCompleted(long nanos) {
+        connectEndNanos = nanos;
+    }
+
+    void handshakeCompleted(long nanos) {
+        handshakeEndNanos = nanos;
+    }
+
+    void firstByteReceived(long nanos) {
+        if (firstByteNanos == UNSET) {
+            firstByteNanos = nanos;
+        }
+    }
+
+    void payloadMeasured(
+            long requestBytes, long requestWireBytes, long responseBytes, long responseWireBytes) {
+        this.requestBytes = requestBytes;
+        this.requestWireBytes = requestWireBytes;
+        this.responseBytes = responseBytes;
+        this.responseWireBytes = responseWireBytes;
+    }
+
+    boolean complete(long nanos, String faultType) {
+        if (!completed.compareAndSet(false, true)) {
+            return false;
+        }
+        this.endNanos = nanos;
+        this.faultType = faultType;
+        return true;
+    }
+
+    String getOperation() {
+        return operation;
+    }
+
+    long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    Entity getTraceEntity() {
+        return traceEntity;
+    }
+
+    String getFaultType() {
+        return faultType;
+    }
+
+    long getConnectMillis() {
+        return between(connectStartNanos, connectEndNanos);
+    }
+
+    long getTlsMillis() {
+        return between(connectEndNanos, handshakeEndNanos);
+    }
+
+    long getTimeToFirstByteMillis() {
+        return between(startNanos, firstByteNanos);
+    }
+
+    long getTotalMillis() {
+        return between(startNanos, endNanos);
+    }
+
+    long getRequestBytes() {
+        return requestBytes;
+    }
+
+    long getRequestWireBytes() {
+        return requestWireBytes;
+    }
+
+    long getResponseBytes() {
+        return responseBytes;
+    }
+
+    long getResponseWireBytes() {
+        return responseWireBytes;
+    }
+
+    private static long between(long fromNanos, long toNanos) {
+        if (fromNanos == UNSET || toNanos == UNSET || toNanos < fromNanos) {
+            return NOT_MEASURED;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(toNanos - fromNanos);
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class ConduitConfigurer {
+    static final String GZIP_ENCODING = "gzip";
+    private final Supplier<SSLContext> sslContextSupplier;
+    private final TransportProfile transportProfile;
+    private final TransportMetrics transportMetrics;
+    private final CallInstrumentation callInstrumentation;
+    private final ReloadableSSLSocketFactory sslSocketFactory;
+
+    public ConduitConfigurer(
+            Supplier<SSLContext> sslContextSupplier,
+            TransportProfile transportProfile,
+            TransportMetrics transportMetrics) {
+        this.sslContextSupplier =
+                Objects.requireNonNull(sslContextSupplier, "sslContextSupplier must not be null");
+        this.transportProfile =
+                Objects.requireNonNull(transportProfile, "transportProfile must not be null");
+        this.transportMetrics =
+                Objects.requireNonNull(transportMetrics, "transportMetrics must not be null");
+        this.callInstrumentation = new CallInstrumentation();
+        this.sslSocketFactory =
+                new InstrumentedSSLSocketFactory(
+                        createSslContext().getSocketFactory(), transportMetrics);
+    }
+
+    public <T> T configure(T port) {
+        Client client = ClientProxy.getClient(port);
+        HTTPConduit httpConduit = (HTTPConduit) client.getConduit();
+        TLSClientParameters tlsClientParameters = new TLSClientParameters();
+        tlsClientParameters.setSSLSocketFactory(sslSocketFactory);
+        httpConduit.setTlsClientParameters(tlsClientParameters);
+        httpConduit.setClient(createClientPolicy());
+        client.setThreadLocalRequestContext(true);
+        client.getOutInterceptors().add(new DeadlineInterceptor(transportProfile));
+        client.getOutInterceptors().add(new RequestCountingInterceptor(transportMetrics));
+        PayloadSizeInterceptors.install(client);
+        callInstrumentation.install(client);
+        return port;
+    }
+
+    public <T> T configureCompression(T port) {
+        Client client = ClientProxy.getClient(port);
+        if (transportProfile.isGzipResponses()) {
+            ((HTTPConduit) client.getConduit()).getClient().setAcceptEncoding(GZIP_ENCODING);
+        }
+        if (transportProfile.isGzipRequests()) {
+            client.getOutInterceptors()
+                    .add(new GZIPOutInterceptor(transportProfile.getGzipThresholdBytes()));
+        }
+        if (transportProfile.isGzipRequests() || transportProfile.isGzipResponses()) {
+            client.getInInterceptors().add(new GZIPInInterceptor());
+        }
+        return port;
+    }
+
+    public void refresh() {
+        sslSocketFactory.setDelegate(createSslContext().getSocketFactory());
+    }
+
+    public int prewarm(String address, Duration timeout) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(address).openConnection();
+        if (connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+        }
+        connection.setConnectTimeout((int) timeout.toMillis());
+        connection.setReadTimeout((int) timeout.toMillis());
+        int statusCode = connection.getResponseCode();
+        InputStream body =
+                statusCode >= HttpURLConnection.HTTP_BAD_REQUEST
+                        ? connection.getErrorStream()
+                        : connection.getInputStream();
+        if (body != null) {
+            try (body) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return statusCode;
+    }
+
+    private SSLContext createSslContext() {
+        SSLContext sslContext = sslContextSupplier.get();
+        SSLSessionContext clientSessionContext = sslContext.getClientSessionContext();
+        clientSessionContext.setSessionCacheSize(transportProfile.getTlsSessionCacheSize());
+        clientSessionContext.setSessionTimeout(transportProfile.getTlsSessionTimeoutSeconds());
+        return sslContext;
+    }
+
+    private HTTPClientPolicy createClientPolicy() {
+        HTTPClientPolicy clientPolicy = new HTTPClientPolicy();
+        clientPolicy.setConnection(ConnectionType.KEEP_ALIVE);
+        clientPolicy.setConnectionTimeout(transportProfile.getConnectionTimeoutMillis());
+        clientPolicy.setReceiveTimeout(transportProfile.getReceiveTimeoutMillis());
+        clientPolicy.setAllowChunking(transportProfile.isAllowChunking());
+        clientPolicy.setChunkingThreshold(transportProfile.getChunkingThresholdBytes());
+        return clientPolicy;
+    }
+
+    static class RequestCountingInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final TransportMetrics transportMetrics;
+
+        private RequestCountingInterceptor(TransportMetrics transportMetrics) {
+            super(Phase.PREPARE_SEND);
+            this.transportMetrics = transportMetrics;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            transportMetrics.requestSent();
+        }
+    }
+
+    static class DeadlineInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final TransportProfile transportProfile;
+
+        private DeadlineInterceptor(TransportProfile transportProfile) {
+            super(Phase.SETUP);
+            this.transportProfile = transportProfile;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            Object deadline = message.getContextualProperty(RequestDeadline.CONTEXT_KEY);
+            if (deadline instanceof RequestDeadline) {
+                RequestDeadline requestDeadline = (RequestDeadline) deadline;
+                message.put(
+                        Message.CONNECTION_TIMEOUT,
+                        requestDeadline.capTimeoutMillis(
+                                transportProfile.getConnectionTimeoutMillis()));
+                message.put(
+                        Message.RECEIVE_TIMEOUT,
+                        requestDeadline.capTimeoutMillis(
+                                transportProfile.getReceiveTimeoutMillis()));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+public class ConnectionPrewarmer {
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final String ENABLED_ENV_VAR = "EXPERIAN_PREWARM_ENABLED";
+    static final String TIMEOUT_ENV_VAR = "EXPERIAN_PREWARM_TIMEOUT_MILLIS";
+    static final String PREWARM_SUCCESS_METRIC = "experian_prewarm_success";
+    static final String PREWARM_FAILURE_METRIC = "experian_prewarm_failure";
+    static final String PREWARM_LATENCY_METRIC = "experian_prewarm_latency";
+    private static final long DEFAULT_TIMEOUT_MILLIS = 2_000;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final EventProbe eventProbe;
+
+    ConnectionPrewarmer(boolean enabled, Duration timeout, EventProbe eventProbe) {
+        this.enabled = enabled;
+        this.timeout = Objects.requireNonNull(timeout, "timeout must not be null");
+        this.eventProbe = Objects.requireNonNull(eventProbe, "eventProbe must not be null");
+    }
+
+    public static ConnectionPrewarmer fromEnvironment(EventProbe eventProbe) {
+        return from(System::getenv, eventProbe);
+    }
+
+    static ConnectionPrewarmer from(UnaryOperator<String> environment, EventProbe eventProbe) {
+        String enabled = environment.apply(ENABLED_ENV_VAR);
+        String timeoutMillis = environment.apply(TIMEOUT_ENV_VAR);
+        return new ConnectionPrewarmer(
+                enabled != null && Boolean.parseBoolean(enabled.trim()),
+                Duration.ofMillis(
+                        timeoutMillis == null || timeoutMillis.isBlank()
+                                ? DEFAULT_TIMEOUT_MILLIS
+                                : Long.parseLong(timeoutMillis.trim())),
+                eventProbe);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public boolean prewarm(String address, Connector connector) {
+        if (!enabled) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            int statusCode = connector.connect(address, timeout);
+            long elapsedMillis = elapsedMillis(start);
+            LOGGER.info(
+                    "Pre-warmed the Experian connection in {} ms (HTTP {})",
+                    elapsedMillis,
+                    statusCode);
+            eventProbe.counterMetric(PREWARM_SUCCESS_METRIC);
+            eventProbe.counterMetric(PREWARM_LATENCY_METRIC, elapsedMillis);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn(
+                    "Failed to pre-warm the Experian connection after {} ms",
+                    elapsedMillis(start),
+                    e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while pre-warming the Experian connection");
+        }
+        eventProbe.counterMetric(PREWARM_FAILURE_METRIC);
+        return false;
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    public interface Connector {
+        int connect(String address, Duration timeout) throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,91 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Objects;
+
+class InstrumentedSSLSocketFactory extends ReloadableSSLSocketFactory {
+    private final TransportMetrics transportMetrics;
+
+    InstrumentedSSLSocketFactory(SSLSocketFactory delegate, TransportMetrics transportMetrics) {
+        super(delegate);
+        this.transportMetrics =
+                Objects.requireNonNull(transportMetrics, "transportMetrics must not be null");
+    }
+
+    @Override
+    public Socket createSocket() {
+        return new TimedConnectSocket(CallTimings.current());
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose)
+            throws IOException {
+        return track(super.createSocket(socket, host, port, autoClose));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return track(super.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+            throws IOException {
+        return track(super.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return track(super.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(
+            InetAddress address, int port, InetAddress localAddress, int localPort)
+            throws IOException {
+        return track(super.createSocket(address, port, localAddress, localPort));
+    }
+
+    private Socket track(Socket socket) {
+        transportMetrics.connectionOpened();
+        CallTimings callTimings = CallTimings.current();
+        if (socket instanceof SSLSocket) {
+            long createdAt = System.currentTimeMillis();
+            ((SSLSocket) socket)
+                    .addHandshakeCompletedListener(
+                            event -> {
+                                if (callTimings != null) {
+                                    callTimings.handshakeCompleted(System.nanoTime());
+                                }
+                                transportMetrics.handshakeCompleted(
+                                        event.getSession().getCreationTime() < createdAt);
+                            });
+        }
+        return socket;
+    }
+
+    private static class TimedConnectSocket extends Socket {
+        private final CallTimings callTimings;
+
+        private TimedConnectSocket(CallTimings callTimings) {
+            this.callTimings = callTimings;
+        }
+
+        @Override
+        public void connect(SocketAddress endpoint, int timeout) throws IOException {
+            if (callTimings != null) {
+                callTimings.connectStarted(System.nanoTime());
+            }
+            super.connect(endpoint, timeout);
+            if (callTimings != null) {
+                callTimings.connectCompleted(System.nanoTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.interceptor.MessageSenderInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class PayloadSizeInterceptors {
+    static final String REQUEST_BYTES_KEY = PayloadSizeInterceptors.class.getName() + ".request";
+    static final String REQUEST_WIRE_BYTES_KEY = REQUEST_BYTES_KEY + ".wire";
+    static final String RESPONSE_BYTES_KEY = PayloadSizeInterceptors.class.getName() + ".response";
+    static final String RESPONSE_WIRE_BYTES_KEY = RESPONSE_BYTES_KEY + ".wire";
+
+    private PayloadSizeInterceptors() {}
+
+    static void install(Client client) {
+        client.getOutInterceptors().add(new RequestSizeInterceptor(REQUEST_WIRE_BYTES_KEY));
+        client.getOutInterceptors().add(new RequestSizeInterceptor(REQUEST_BYTES_KEY));
+        client.getInInterceptors().add(new ResponseSizeInterceptor(RESPONSE_WIRE_BYTES_KEY));
+        client.getInInterceptors().add(new ResponseSizeInterceptor(RESPONSE_BYTES_KEY));
+    }
+
+    static long getBytes(Exchange exchange, String key) {
+        Object bytes = exchange.get(key);
+        return bytes instanceof AtomicLong ? ((AtomicLong) bytes).get() : CallTimings.NOT_MEASURED;
+    }
+
+    static class RequestSizeInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final String key;
+
+        RequestSizeInterceptor(String key) {
+            super(key, Phase.PREPARE_SEND);
+            this.key = key;
+            addAfter(MessageSenderInterceptor.class.getName());
+            if (REQUEST_WIRE_BYTES_KEY.equals(key)) {
+                addBefore(GZIPOutInterceptor.class.getName());
+            } else {
+                addAfter(GZIPOutInterceptor.class.getName());
+                addAfter(REQUEST_WIRE_BYTES_KEY);
+            }
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            OutputStream outputStream = message.getContent(OutputStream.class);
+            if (outputStream != null) {
+                AtomicLong bytes = new AtomicLong();
+                message.getExchange().put(key, bytes);
+                message.setContent(
+                        OutputStream.class, new CountingOutputStream(outputStream, bytes));
+            }
+        }
+    }
+
+    static class ResponseSizeInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final String key;
+
+        ResponseSizeInterceptor(String key) {
+            super(key, Phase.RECEIVE);
+            this.key = key;
+            if (RESPONSE_WIRE_BYTES_KEY.equals(key)) {
+                addBefore(GZIPInInterceptor.class.getName());
+            } else {
+                addAfter(GZIPInInterceptor.class.getName());
+                addAfter(RESPONSE_WIRE_BYTES_KEY);
+            }
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            InputStream inputStream = message.getContent(InputStream.class);
+            if (inputStream != null) {
+                AtomicLong bytes = new AtomicLong();
+                message.getExchange().put(key, bytes);
+                message.setContent(InputStream.class, new CountingInputStream(inputStream, bytes));
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private final AtomicLong bytes;
+
+        private CountingOutputStream(OutputStream outputStream, AtomicLong bytes) {
+            super(outputStream);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes.addAndGet(len);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong bytes;
+
+        private CountingInputStream(InputStream inputStream, AtomicLong bytes) {
+            super(inputStream);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                bytes.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                bytes.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            bytes.addAndGet(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
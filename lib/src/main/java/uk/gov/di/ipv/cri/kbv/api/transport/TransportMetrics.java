@@ -0,0 +1,62 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransportMetrics {
+    static final String REQUESTS_METRIC = "experian_requests";
+    static final String CONNECTIONS_OPENED_METRIC = "experian_connections_opened";
+    static final String FULL_HANDSHAKES_METRIC = "experian_tls_full_handshakes";
+    static final String RESUMED_HANDSHAKES_METRIC = "experian_tls_resumed_handshakes";
+    private final EventProbe eventProbe;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong fullHandshakes = new AtomicLong();
+    private final AtomicLong resumedHandshakes = new AtomicLong();
+
+    public TransportMetrics(EventProbe eventProbe) {
+        this.eventProbe = Objects.requireNonNull(eventProbe, "eventProbe must not be null");
+    }
+
+    void requestSent() {
+        requests.incrementAndGet();
+        eventProbe.counterMetric(REQUESTS_METRIC);
+    }
+
+    void connectionOpened() {
+        connectionsOpened.incrementAndGet();
+        eventProbe.counterMetric(CONNECTIONS_OPENED_METRIC);
+    }
+
+    void handshakeCompleted(boolean resumed) {
+        if (resumed) {
+            resumedHandshakes.incrementAndGet();
+            eventProbe.counterMetric(RESUMED_HANDSHAKES_METRIC);
+        } else {
+            fullHandshakes.incrementAndGet();
+            eventProbe.counterMetric(FULL_HANDSHAKES_METRIC);
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long getConnectionsReused() {
+        return Math.max(0, requests.get() - connectionsOpened.get());
+    }
+
+    public long getFullHandshakes() {
+        return fullHandshakes.get();
+    }
+
+    public long getResumedHandshakes() {
+        return resumedHandshakes.get();
+    }
+}
@@ -0,0 +1,135 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import java.util.function.UnaryOperator;
+
+public class TransportProfile {
+    static final String CONNECTION_TIMEOUT_ENV_VAR = "EXPERIAN_CONNECTION_TIMEOUT_MILLIS";
+    static final String RECEIVE_TIMEOUT_ENV_VAR = "EXPERIAN_RECEIVE_TIMEOUT_MILLIS";
+    static final String ALLOW_CHUNKING_ENV_VAR = "EXPERIAN_ALLOW_CHUNKING";
+    static final String CHUNKING_THRESHOLD_ENV_VAR = "EXPERIAN_CHUNKING_THRESHOLD_BYTES";
+    static final String TLS_SESSION_CACHE_SIZE_ENV_VAR = "EXPERIAN_TLS_SESSION_CACHE_SIZE";
+    static final String TLS_SESSION_TIMEOUT_ENV_VAR = "EXPERIAN_TLS_SESSION_TIMEOUT_SECONDS";
+    static final String GZIP_REQUESTS_ENV_VAR = "EXPERIAN_GZIP_REQUESTS";
+    static final String GZIP_RESPONSES_ENV_VAR = "EXPERIAN_GZIP_RESPONSES";
+    static final String GZIP_THRESHOLD_ENV_VAR = "EXPERIAN_GZIP_THRESHOLD_BYTES";
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 5_000;
+    private static final long DEFAULT_RECEIVE_TIMEOUT_MILLIS = 20_000;
+    private static final boolean DEFAULT_ALLOW_CHUNKING = true;
+    private static final int DEFAULT_CHUNKING_THRESHOLD_BYTES = 65_536;
+    private static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 64;
+    private static final int DEFAULT_TLS_SESSION_TIMEOUT_SECONDS = 3_600;
+    private static final boolean DEFAULT_GZIP_REQUESTS = false;
+    private static final boolean DEFAULT_GZIP_RESPONSES = false;
+    private static final int DEFAULT_GZIP_THRESHOLD_BYTES = 1_024;
+    private final long connectionTimeoutMillis;
+    private final long receiveTimeoutMillis;
+    private final boolean allowChunking;
+    private final int chunkingThresholdBytes;
+    private final int tlsSessionCacheSize;
+    private final int tlsSessionTimeoutSeconds;
+    private final boolean gzipRequests;
+    private final boolean gzipResponses;
+    private final int gzipThresholdBytes;
+
+    public TransportProfile(
+            long connectionTimeoutMillis,
+            long receiveTimeoutMillis,
+            boolean allowChunking,
+            int chunkingThresholdBytes,
+            int tlsSessionCacheSize,
+            int tlsSessionTimeoutSeconds,
+            boolean gzipRequests,
+            boolean gzipResponses,
+            int gzipThresholdBytes) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.receiveTimeoutMillis = receiveTimeoutMillis;
+        this.allowChunking = allowChunking;
+        this.chunkingThresholdBytes = chunkingThresholdBytes;
+        this.tlsSessionCacheSize = tlsSessionCacheSize;
+        this.tlsSessionTimeoutSeconds = tlsSessionTimeoutSeconds;
+        this.gzipRequests = gzipRequests;
+        this.gzipResponses = gzipResponses;
+        this.gzipThresholdBytes = gzipThresholdBytes;
+    }
+
+    public static TransportProfile fromEnvironment() {
+        return from(System::getenv);
+    }
+
+    static TransportProfile from(UnaryOperator<String> environment) {
+        return new TransportProfile(
+                getLong(environment, CONNECTION_TIMEOUT_ENV_VAR, DEFAULT_CONNECTION_TIMEOUT_MILLIS),
+                getLong(environment, RECEIVE_TIMEOUT_ENV_VAR, DEFAULT_RECEIVE_TIMEOUT_MILLIS),
+                getBoolean(environment, ALLOW_CHUNKING_ENV_VAR, DEFAULT_ALLOW_CHUNKING),
+                getInt(environment, CHUNKING_THRESHOLD_ENV_VAR, DEFAULT_CHUNKING_THRESHOLD_BYTES),
+                getInt(environment, TLS_SESSION_CACHE_SIZE_ENV_VAR, DEFAULT_TLS_SESSION_CACHE_SIZE),
+                getInt(
+                        environment,
+                        TLS_SESSION_TIMEOUT_ENV_VAR,
+                        DEFAULT_TLS_SESSION_TIMEOUT_SECONDS),
+                getBoolean(environment, GZIP_REQUESTS_ENV_VAR, DEFAULT_GZIP_REQUESTS),
+                getBoolean(environment, GZIP_RESPONSES_ENV_VAR, DEFAULT_GZIP_RESPONSES),
+                getInt(environment, GZIP_THRESHOLD_ENV_VAR, DEFAULT_GZIP_THRESHOLD_BYTES));
+    }
+
+    public long getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    public long getReceiveTimeoutMillis() {
+        return receiveTimeoutMillis;
+    }
+
+    public boolean isAllowChunking() {
+        return allowChunking;
+    }
+
+    public int getChunkingThresholdBytes() {
+        return chunkingThresholdBytes;
+    }
+
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    public int getTlsSessionTimeoutSeconds() {
+        return tlsSessionTimeoutSeconds;
+    }
+
+    public boolean isGzipRequests() {
+        return gzipRequests;
+    }
+
+    public boolean isGzipResponses() {
+        return gzipResponses;
+    }
+
+    public int getGzipThresholdBytes() {
+        return gzipThresholdBytes;
+    }
+
+    private static long getLong(UnaryOperator<String> environment, String name, long fallback) {
+        String value = environment.apply(name);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    private static int getInt(UnaryOperator<String> environment, String name, int fallback) {
+        String value = environment.apply(name);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    private static boolean getBoolean(
+            UnaryOperator<String> environment, String name, boolean fallback) {
+        String value = environment.apply(name);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class FutureUtils {
+    private FutureUtils() {}
+
+    public static <T> T join(CompletableFuture<T> future, RequestDeadline deadline) {
+        try {
+            return future.get(deadline.getRemainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(
+                    "The call did not complete before the request deadline", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the call", e);
+        }
+    }
+}
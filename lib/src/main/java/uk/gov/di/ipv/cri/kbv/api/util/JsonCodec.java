@@ -0,0 +1,136 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.Evidence;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class JsonCodec {
+    private static final Logger LOGGER = LogManager.getLogger();
+    static final String BLACKBIRD_ENABLED_ENV_VAR = "JACKSON_BLACKBIRD_ENABLED";
+    private static final String WARM_UP_QUESTION_ID = "Q00000";
+    private static final String WARM_UP_ANSWER =
+            "{\"questionId\":\"" + WARM_UP_QUESTION_ID + "\",\"answer\":\"warm-up\"}";
+
+    private final ObjectMapper payloadMapper;
+    private final ObjectReader questionStateReader;
+    private final ObjectWriter questionStateWriter;
+    private final ObjectReader questionAnswerReader;
+    private final ObjectWriter evidenceWriter;
+    private final ObjectReader mapReader;
+    private final JavaType mapType;
+
+    JsonCodec(boolean blackbirdEnabled) {
+        ObjectMapper stateMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        this.payloadMapper =
+                new ObjectMapper()
+                        .registerModule(new Jdk8Module())
+                        .registerModule(new JavaTimeModule());
+        if (blackbirdEnabled) {
+            stateMapper.registerModule(new BlackbirdModule());
+            payloadMapper.registerModule(new BlackbirdModule());
+        }
+        this.questionStateReader = stateMapper.readerFor(QuestionState.class);
+        this.questionStateWriter = stateMapper.writerFor(QuestionState.class);
+        this.questionAnswerReader = stateMapper.readerFor(QuestionAnswer.class);
+        this.mapType =
+                payloadMapper
+                        .getTypeFactory()
+                        .constructMapType(Map.class, String.class, Object.class);
+        this.evidenceWriter = payloadMapper.writerFor(Evidence.class);
+        this.mapReader = payloadMapper.readerFor(mapType);
+    }
+
+    public static JsonCodec getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public QuestionState readQuestionState(String json) throws JsonProcessingException {
+        return questionStateReader.readValue(json);
+    }
+
+    public String writeQuestionState(QuestionState questionState) throws JsonProcessingException {
+        return questionStateWriter.writeValueAsString(questionState);
+    }
+
+    public QuestionAnswer readQuestionAnswer(String json) throws JsonProcessingException {
+        return questionAnswerReader.readValue(json);
+    }
+
+    public Map<String, Object> toMap(Object value) {
+        return payloadMapper.convertValue(value, mapType);
+    }
+
+    public Map<String, Object> toMap(Evidence evidence) {
+        try (TokenBuffer buffer = new TokenBuffer(payloadMapper, false)) {
+            evidenceWriter.writeValue(buffer, evidence);
+            return mapReader.readValue(buffer.asParser());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to convert the evidence to a map", e);
+        }
+    }
+
+    public void warmUp() {
+        long start = System.nanoTime();
+        try {
+            var questionState = new QuestionState();
+            questionState.setQAPairs(List.of(createWarmUpQuestion()));
+            questionState.setAnswer(readQuestionAnswer(WARM_UP_ANSWER));
+            readQuestionState(writeQuestionState(questionState));
+
+            var evidence = new Evidence();
+            evidence.setTxn("warm-up");
+            evidence.setVerificationScore(0);
+            toMap(evidence);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Json codec warm up failed", e);
+        }
+        LOGGER.info(
+                "Json codec warmed up in {} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static KBVQuestion createWarmUpQuestion() {
+        var answerFormat = new AnswerFormat();
+        answerFormat.setIdentifier("A00000");
+        answerFormat.setFieldType("G");
+        answerFormat.getAnswerList().add("warm-up");
+
+        var question = new KBVQuestion();
+        question.setQuestionID(WARM_UP_QUESTION_ID);
+        question.setText("warm-up");
+        question.setAnswerFormat(answerFormat);
+        return question;
+    }
+
+    private static boolean isBlackbirdEnabled() {
+        return Boolean.parseBoolean(System.getenv(BLACKBIRD_ENABLED_ENV_VAR));
+    }
+
+    private static final class Holder {
+        private static final JsonCodec INSTANCE = create();
+
+        private static JsonCodec create() {
+            var jsonCodec = new JsonCodec(isBlackbirdEnabled());
+            jsonCodec.warmUp();
+            return jsonCodec;
+        }
+    }
+}
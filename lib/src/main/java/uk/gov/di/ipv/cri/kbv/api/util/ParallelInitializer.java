@@ -0,0 +1,127 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ParallelInitializer {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private final ExecutorService executorService;
+    private final Map<String, CompletableFuture<?>> components = new LinkedHashMap<>();
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+    public ParallelInitializer() {
+        this(Executors.newCachedThreadPool(new InitializerThreadFactory()));
+    }
+
+    ParallelInitializer(ExecutorService executorService) {
+        this.executorService =
+                Objects.requireNonNull(executorService, "executorService must not be null");
+    }
+
+    public <T> Component<T> submit(String name, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, "supplier must not be null");
+        return register(
+                name, CompletableFuture.supplyAsync(() -> timed(name, supplier), executorService));
+    }
+
+    public <D, T> Component<T> submit(
+            String name, Component<D> dependency, Function<D, T> function) {
+        Objects.requireNonNull(dependency, "dependency must not be null");
+        Objects.requireNonNull(function, "function must not be null");
+        return register(
+                name,
+                dependency.future.thenApplyAsync(
+                        value -> timed(name, () -> function.apply(value)), executorService));
+    }
+
+    public Map<String, Long> join() {
+        long start = System.nanoTime();
+        try {
+            CompletableFuture.allOf(components.values().toArray(new CompletableFuture[0]))
+                    .join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        } finally {
+            executorService.shutdown();
+        }
+        LOGGER.info(
+                "Initialised {} components in {} ms: {}",
+                components.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                timings);
+        return getTimings();
+    }
+
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+
+    private <T> Component<T> register(String name, CompletableFuture<T> future) {
+        if (components.putIfAbsent(name, future) != null) {
+            throw new IllegalArgumentException("Component already submitted: " + name);
+        }
+        return new Component<>(future);
+    }
+
+    private <T> T timed(String name, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException("Initialisation failed", cause);
+    }
+
+    public static final class Component<T> {
+        private final CompletableFuture<T> future;
+
+        private Component(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        public T get() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+    }
+
+    private static class InitializerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "kbv-init-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import software.amazon.awssdk.core.SdkBytes;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerPair;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class QuestionStateCodec {
+    static final String COMPRESSION_THRESHOLD_ENV_VAR = "QUESTION_STATE_COMPRESSION_THRESHOLD";
+    static final String QUESTION_STATE_BYTES_METRIC = "question_state_bytes";
+    static final String LEGACY_READ_METRIC = "question_state_legacy_read";
+    static final byte VERSION = 2;
+    static final byte VERSION_WITH_ANSWER_HELD_FLAG = 1;
+    static final byte COMPRESSED = 1;
+    private static final byte UNCOMPRESSED = 0;
+    private static final int HEADER_LENGTH = 2;
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 1_024;
+    private final JsonCodec jsonCodec;
+    private final int compressionThreshold;
+    private final EventProbe eventProbe;
+
+    QuestionStateCodec(JsonCodec jsonCodec, int compressionThreshold, EventProbe eventProbe) {
+        this.jsonCodec = Objects.requireNonNull(jsonCodec, "jsonCodec must not be null");
+        this.compressionThreshold = compressionThreshold;
+        this.eventProbe = Objects.requireNonNull(eventProbe, "eventProbe must not be null");
+    }
+
+    public static QuestionStateCodec fromEnvironment(JsonCodec jsonCodec, EventProbe eventProbe) {
+        return from(System::getenv, jsonCodec, eventProbe);
+    }
+
+    static QuestionStateCodec from(
+            UnaryOperator<String> environment, JsonCodec jsonCodec, EventProbe eventProbe) {
+        String compressionThreshold = environment.apply(COMPRESSION_THRESHOLD_ENV_VAR);
+        return new QuestionStateCodec(
+                jsonCodec,
+                compressionThreshold == null || compressionThreshold.isBlank()
+                        ? DEFAULT_COMPRESSION_THRESHOLD
+                        : Integer.parseInt(compressionThreshold.trim()),
+                eventProbe);
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public QuestionState read(KBVItem kbvItem) throws IOException {
+        SdkBytes questionStateData = kbvItem.getQuestionStateData();
+        if (questionStateData != null) {
+            return decode(questionStateData.asByteArrayUnsafe());
+        }
+        if (kbvItem.getQuestionState() != null) {
+            eventProbe.counterMetric(LEGACY_READ_METRIC);
+            return jsonCodec.readQuestionState(kbvItem.getQuestionState());
+        }
+        return new QuestionState();
+    }
+
+    public void write(KBVItem kbvItem, QuestionState questionState) throws IOException {
+        byte[] encoded = encode(questionState);
+        kbvItem.setQuestionStateData(SdkBytes.fromByteArrayUnsafe(encoded));
+        kbvItem.setQuestionState(null);
+        eventProbe.counterMetric(QUESTION_STATE_BYTES_METRIC, encoded.length);
+    }
+
+    public byte[] encode(QuestionState questionState) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(payload)) {
+            writePairs(output, questionState.getQaPairs());
+        }
+        if (payload.size() > compressionThreshold) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+                payload.writeTo(output);
+            }
+            if (compressed.size() < payload.size()) {
+                return withHeader(COMPRESSED, compressed);
+            }
+        }
+        return withHeader(UNCOMPRESSED, payload);
+    }
+
+    public QuestionState decode(byte[] encoded) throws IOException {
+        if (encoded.length < HEADER_LENGTH) {
+            throw new IOException("Question state is truncated");
+        }
+        byte version = encoded[0];
+        if (version != VERSION && version != VERSION_WITH_ANSWER_HELD_FLAG) {
+            throw new IOException("Unsupported question state version " + version);
+        }
+        InputStream payload =
+                new ByteArrayInputStream(encoded, HEADER_LENGTH, encoded.length - HEADER_LENGTH);
+        if (encoded[1] == COMPRESSED) {
+            payload = new GZIPInputStream(payload);
+        }
+        try (DataInputStream input = new DataInputStream(payload)) {
+            QuestionState questionState = new QuestionState();
+            questionState.getQaPairs().addAll(readPairs(input, version));
+            return questionState;
+        }
+    }
+
+    private static byte[] withHeader(byte compression, ByteArrayOutputStream payload)
+            throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(HEADER_LENGTH + payload.size());
+        encoded.write(VERSION);
+        encoded.write(compression);
+        payload.writeTo(encoded);
+        return encoded.toByteArray();
+    }
+
+    private static void writePairs(DataOutputStream output, List<QuestionAnswerPair> qaPairs)
+            throws IOException {
+        output.writeShort(qaPairs.size());
+        for (QuestionAnswerPair qaPair : qaPairs) {
+            KBVQuestion question = qaPair.getQuestion();
+            writeString(output, question.getQuestionID());
+            writeString(output, question.getText());
+            writeString(output, question.getTooltip());
+            AnswerFormat answerFormat = question.getAnswerFormat();
+            output.writeBoolean(answerFormat != null);
+            if (answerFormat != null) {
+                writeString(output, answerFormat.getIdentifier());
+                writeString(output, answerFormat.getFieldType());
+                output.writeShort(answerFormat.getAnswerList().size());
+                for (String answer : answerFormat.getAnswerList()) {
+                    writeString(output, answer);
+                }
+            }
+            writeString(output, qaPair.getAnswer());
+        }
+    }
+
+    private static List<QuestionAnswerPair> readPairs(DataInputStream input, byte version)
+            throws IOException {
+        int size = input.readUnsignedShort();
+        List<QuestionAnswerPair> qaPairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            KBVQuestion question = new KBVQuestion();
+            question.setQuestionID(readString(input));
+            question.setText(readString(input));
+            question.setTooltip(readString(input));
+            if (version == VERSION_WITH_ANSWER_HELD_FLAG) {
+                readString(input);
+            }
+            if (input.readBoolean()) {
+                AnswerFormat answerFormat = new AnswerFormat();
+                answerFormat.setIdentifier(readString(input));
+                answerFormat.setFieldType(readString(input));
+                int answerCount = input.readUnsignedShort();
+                for (int j = 0; j < answerCount; j++) {
+                    answerFormat.getAnswerList().add(readString(input));
+                }
+                question.setAnswerFormat(answerFormat);
+            }
+            QuestionAnswerPair qaPair = new QuestionAnswerPair(question);
+            qaPair.setAnswer(readString(input));
+            qaPairs.add(qaPair);
+        }
+        return qaPairs;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class RequestDeadline {
+    public static final String CONTEXT_KEY = RequestDeadline.class.getName();
+    static final String SAFETY_MARGIN_ENV_VAR = "REQUEST_DEADLINE_SAFETY_MARGIN_MILLIS";
+    private static final long DEFAULT_SAFETY_MARGIN_MILLIS = 1_000;
+    private static final long SAFETY_MARGIN_MILLIS = getSafetyMarginMillis();
+    private final long deadlineNanos;
+    private final LongSupplier nanoTime;
+
+    RequestDeadline(long budgetMillis, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.deadlineNanos = nanoTime.getAsLong() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    public static RequestDeadline fromRemainingTime(long remainingTimeMillis) {
+        return new RequestDeadline(remainingTimeMillis - SAFETY_MARGIN_MILLIS, System::nanoTime);
+    }
+
+    public long getRemainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - nanoTime.getAsLong()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - nanoTime.getAsLong() <= 0;
+    }
+
+    public boolean hasRemaining(Duration budget) {
+        return getRemainingMillis() >= budget.toMillis();
+    }
+
+    public void ensureRemaining(Duration budget, String operation) {
+        long remainingMillis = getRemainingMillis();
+        if (remainingMillis < budget.toMillis()) {
+            throw new DeadlineExceededException(
+                    String.format(
+                            "%s needs %d ms but only %d ms of the request deadline remain",
+                            operation, budget.toMillis(), remainingMillis));
+        }
+    }
+
+    public long capTimeoutMillis(long timeoutMillis) {
+        return Math.max(1, Math.min(timeoutMillis, getRemainingMillis()));
+    }
+
+    public Throwable describeFailure(String operation, Throwable cause) {
+        if (getRemainingMillis() > 0) {
+            return cause;
+        }
+        return new DeadlineExceededException(
+                operation + " did not complete before the request deadline", cause);
+    }
+
+    private static long getSafetyMarginMillis() {
+        String safetyMargin = System.getenv(SAFETY_MARGIN_ENV_VAR);
+        if (safetyMargin == null || safetyMargin.isBlank()) {
+            return DEFAULT_SAFETY_MARGIN_MILLIS;
+        }
+        return Long.parseLong(safetyMargin.trim());
+    }
+}
@@ -1,7 +1,5 @@
 package uk.gov.di.ipv.cri.kbv.api.domain;
 
-import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
-import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -56,23 +54,22 @@ class QuestionStateTest {
     @Test
     void shouldEvaluateToTrueWhenQuestionsResponseHasQuestions() {
         QuestionsResponse questionsResponseMock = mock(QuestionsResponse.class);
-        Questions questionsMock = mock(Questions.class);
-        when(questionsMock.getQuestion()).thenReturn(List.of(new Question[0]));
-        when(questionsResponseMock.getQuestions()).thenReturn(questionsMock);
+        when(questionsResponseMock.getQuestions()).thenReturn(List.of());
 
         boolean hasMoreQuestions = questionState.setQuestionsResponse(questionsResponseMock);
         assertTrue(hasMoreQuestions);
     }
 
     @Test
-    void shouldEvaluateToFalseWhenQuestionResponseHasNoQuestion() {
+    void shouldPairEachQuestionOfTheResponseWithoutAnAnswer() {
         QuestionsResponse questionsResponse = mock(QuestionsResponse.class);
-        Questions questionsMock = mock(Questions.class);
-        when(questionsMock.getQuestion()).thenReturn(null);
-        when(questionsResponse.getQuestions()).thenReturn(questionsMock);
+        KBVQuestion question = new KBVQuestion();
+        question.setQuestionID("Q00015");
+        when(questionsResponse.getQuestions()).thenReturn(List.of(question));
 
         boolean hasMoreQuestions = questionState.setQuestionsResponse(questionsResponse);
-        assertFalse(hasMoreQuestions);
+        assertTrue(hasMoreQuestions);
+        assertEquals(question, questionState.getNextQuestion().orElseThrow());
     }
 
     @Test
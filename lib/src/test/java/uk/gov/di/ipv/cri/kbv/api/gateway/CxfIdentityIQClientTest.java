@@ -0,0 +1,43 @@
+package uk.gov.di.ipv.cri.kbv.api.gateway;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CxfIdentityIQClientTest {
+    @Test
+    void shouldPrimeTheDataBindingOfTheIdentityIQProxyWithoutCallingExperian() {
+        JaxWsProxyFactoryBean proxyFactory = new JaxWsProxyFactoryBean();
+        proxyFactory.setServiceClass(IdentityIQWebServiceSoap.class);
+        proxyFactory.setAddress("http://localhost:1/IdentityIQWebService.asmx");
+        var client =
+                new CxfIdentityIQClient(proxyFactory.create(IdentityIQWebServiceSoap.class));
+
+        assertDoesNotThrow(() -> client.primeBindings(createSaaRequest(), new RTQRequest()));
+    }
+
+    @Test
+    void shouldSkipPrimingWhenTheClientIsNotACxfProxy() {
+        IdentityIQWebServiceSoap identityIQWebServiceSoap = mock(IdentityIQWebServiceSoap.class);
+
+        new CxfIdentityIQClient(identityIQWebServiceSoap)
+                .primeBindings(createSaaRequest(), new RTQRequest());
+
+        verifyNoInteractions(identityIQWebServiceSoap);
+    }
+
+    private static SAARequest createSaaRequest() {
+        var control = new Control();
+        control.setURN("priming-urn");
+        var saaRequest = new SAARequest();
+        saaRequest.setControl(control);
+        return saaRequest;
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.di.ipv.cri.kbv.api.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.di.ipv.cri.kbv.api.gateway.IdentityIQClientType.CLIENT_TYPE_ENV_VAR;
+
+class IdentityIQClientTypeTest {
+    @Test
+    void shouldDefaultToTheCxfClient() {
+        assertEquals(IdentityIQClientType.CXF, IdentityIQClientType.from(name -> null));
+        assertEquals(
+                IdentityIQClientType.CXF,
+                IdentityIQClientType.from(Map.of(CLIENT_TYPE_ENV_VAR, " ")::get));
+    }
+
+    @Test
+    void shouldSelectTheHttpClientFromTheEnvironment() {
+        assertEquals(
+                IdentityIQClientType.HTTP,
+                IdentityIQClientType.from(Map.of(CLIENT_TYPE_ENV_VAR, " http ")::get));
+    }
+
+    @Test
+    void shouldRejectAnUnknownClientType() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> IdentityIQClientType.from(Map.of(CLIENT_TYPE_ENV_VAR, "axis")::get));
+    }
+}
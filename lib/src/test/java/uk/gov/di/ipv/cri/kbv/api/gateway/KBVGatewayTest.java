@@ -1,39 +1,80 @@
 package uk.gov.di.ipv.cri.kbv.api.gateway;
 
-import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebService;
 import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
 import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse;
 import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
 import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse;
 import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
-import uk.gov.di.ipv.cri.kbv.api.security.HeaderHandler;
-import uk.gov.di.ipv.cri.kbv.api.security.HeaderHandlerResolver;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
+import uk.gov.di.ipv.cri.kbv.api.resilience.Bulkhead;
+import uk.gov.di.ipv.cri.kbv.api.resilience.CircuitBreaker;
+import uk.gov.di.ipv.cri.kbv.api.resilience.ResilienceProfile;
+import uk.gov.di.ipv.cri.kbv.api.security.ExperianSecrets;
 import uk.gov.di.ipv.cri.kbv.api.security.KBVClientFactory;
+import uk.gov.di.ipv.cri.kbv.api.security.SharedWaspTokenStore;
+import uk.gov.di.ipv.cri.kbv.api.security.SoapToken;
+import uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
 import uk.gov.di.ipv.cri.kbv.api.util.TestDataCreator;
 
+import javax.xml.ws.AsyncHandler;
+import javax.xml.ws.Response;
+import javax.xml.ws.WebServiceException;
 import javax.xml.ws.soap.SOAPFaultException;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class KBVGatewayTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
     @Mock private StartAuthnAttemptRequestMapper mockSAARequestMapper;
     @Mock private ResponseToQuestionMapper mockResponseToQuestionMapper;
     @Mock private IdentityIQWebServiceSoap mockIdentityIQWebServiceSoap;
-    @InjectMocks private KBVGateway kbvGateway;
+    @Mock private EventProbe mockEventProbe;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private KBVGateway kbvGateway;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker =
+                new CircuitBreaker(new ResilienceProfile(1, OPEN_DURATION, 1, 2), mockEventProbe);
+        bulkhead = new Bulkhead(2, mockEventProbe);
+        kbvGateway =
+                new KBVGateway(
+                        mockSAARequestMapper,
+                        mockResponseToQuestionMapper,
+                        new CxfIdentityIQClient(mockIdentityIQWebServiceSoap),
+                        circuitBreaker,
+                        bulkhead);
+    }
 
     @Test
     void shouldCallGetQuestionsSuccessfully() {
@@ -69,14 +110,153 @@ class KBVGatewayTest {
                 .mapRTQResponse2ToMapQuestionsResponse(mockRtqResponse.capture());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCompleteGetQuestionsAsyncWithTheMappedResponse() throws Exception {
+        QuestionRequest questionRequest = mock(QuestionRequest.class);
+        SAARequest mockSaaRequest = mock(SAARequest.class);
+        SAAResponse2 saaResponse2 = new SAAResponse2();
+        SAAResponse saaResponse = new SAAResponse();
+        saaResponse.setSAAResult(saaResponse2);
+        QuestionsResponse questionsResponse = mock(QuestionsResponse.class);
+        Response<SAAResponse> response = mock(Response.class);
+        when(response.get()).thenReturn(saaResponse);
+        when(mockSAARequestMapper.mapQuestionRequest(questionRequest)).thenReturn(mockSaaRequest);
+        when(mockSAARequestMapper.mapSAAResponse2ToQuestionsResponse(saaResponse2))
+                .thenReturn(questionsResponse);
+        ArgumentCaptor<AsyncHandler<SAAResponse>> asyncHandler =
+                ArgumentCaptor.forClass(AsyncHandler.class);
+
+        CompletableFuture<QuestionsResponse> result =
+                kbvGateway.getQuestionsAsync(
+                        questionRequest, RequestDeadline.fromRemainingTime(30_000));
+
+        verify(mockIdentityIQWebServiceSoap).saaAsync(eq(mockSaaRequest), asyncHandler.capture());
+        assertFalse(result.isDone());
+        asyncHandler.getValue().handleResponse(response);
+        assertEquals(questionsResponse, result.join());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFailSubmitAnswersAsyncWithTheCauseOfTheFailedCall() throws Exception {
+        QuestionAnswerRequest questionAnswerRequest =
+                TestDataCreator.createTestQuestionAnswerRequest();
+        RTQRequest rtqRequest = new RTQRequest();
+        SOAPFaultException soapFaultException = mock(SOAPFaultException.class);
+        Response<RTQResponse> response = mock(Response.class);
+        when(response.get()).thenThrow(new ExecutionException(soapFaultException));
+        when(mockResponseToQuestionMapper.mapQuestionAnswersRtqRequest(questionAnswerRequest))
+                .thenReturn(rtqRequest);
+        ArgumentCaptor<AsyncHandler<RTQResponse>> asyncHandler =
+                ArgumentCaptor.forClass(AsyncHandler.class);
+
+        CompletableFuture<QuestionsResponse> result =
+                kbvGateway.submitAnswersAsync(
+                        questionAnswerRequest, RequestDeadline.fromRemainingTime(30_000));
+
+        verify(mockIdentityIQWebServiceSoap).rtqAsync(eq(rtqRequest), asyncHandler.capture());
+        asyncHandler.getValue().handleResponse(response);
+        CompletionException completionException =
+                assertThrows(CompletionException.class, result::join);
+        assertEquals(soapFaultException, completionException.getCause());
+        verify(mockResponseToQuestionMapper, never()).mapRTQResponse2ToMapQuestionsResponse(any());
+    }
+
+    @Test
+    void shouldNotStartAnSaaCallWhenTheRequestDeadlineIsSpent() {
+        QuestionRequest questionRequest = mock(QuestionRequest.class);
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(0);
+
+        assertThrows(
+                DeadlineExceededException.class,
+                () -> kbvGateway.getQuestionsAsync(questionRequest, deadline));
+
+        verifyNoInteractions(mockSAARequestMapper, mockIdentityIQWebServiceSoap);
+    }
+
+    @Test
+    void shouldShortCircuitCallsOnceTheCircuitHasOpened() {
+        QuestionAnswerRequest questionAnswerRequest =
+                TestDataCreator.createTestQuestionAnswerRequest();
+        RTQRequest rtqRequest = new RTQRequest();
+        when(mockResponseToQuestionMapper.mapQuestionAnswersRtqRequest(questionAnswerRequest))
+                .thenReturn(rtqRequest);
+        when(mockIdentityIQWebServiceSoap.rtq(rtqRequest))
+                .thenThrow(new WebServiceException("Read timed out"));
+
+        assertThrows(
+                WebServiceException.class,
+                () -> kbvGateway.submitAnswers(questionAnswerRequest));
+        assertThrows(
+                ExperianUnavailableException.class,
+                () -> kbvGateway.submitAnswers(questionAnswerRequest));
+
+        verify(mockIdentityIQWebServiceSoap).rtq(rtqRequest);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void shouldNotOpenTheCircuitWhenACallRunsOutOfRequestDeadline() {
+        QuestionAnswerRequest questionAnswerRequest =
+                TestDataCreator.createTestQuestionAnswerRequest();
+        RTQRequest rtqRequest = new RTQRequest();
+        when(mockResponseToQuestionMapper.mapQuestionAnswersRtqRequest(questionAnswerRequest))
+                .thenReturn(rtqRequest);
+        when(mockIdentityIQWebServiceSoap.rtq(rtqRequest))
+                .thenThrow(
+                        new WebServiceException(
+                                new DeadlineExceededException("No time left for the WASP token")));
+
+        assertThrows(
+                WebServiceException.class,
+                () -> kbvGateway.submitAnswers(questionAnswerRequest));
+        assertThrows(
+                WebServiceException.class,
+                () -> kbvGateway.submitAnswers(questionAnswerRequest));
+
+        verify(mockIdentityIQWebServiceSoap, times(2)).rtq(rtqRequest);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldHoldABulkheadPermitUntilAnAsyncCallCompletes() throws Exception {
+        QuestionRequest questionRequest = mock(QuestionRequest.class);
+        SAARequest saaRequest = mock(SAARequest.class);
+        when(mockSAARequestMapper.mapQuestionRequest(questionRequest)).thenReturn(saaRequest);
+        Response<SAAResponse> response = mock(Response.class);
+        when(response.get()).thenReturn(new SAAResponse());
+        ArgumentCaptor<AsyncHandler<SAAResponse>> asyncHandler =
+                ArgumentCaptor.forClass(AsyncHandler.class);
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(30_000);
+
+        kbvGateway.getQuestionsAsync(questionRequest, deadline);
+        kbvGateway.getQuestionsAsync(questionRequest, deadline);
+
+        assertThrows(
+                ExperianUnavailableException.class,
+                () -> kbvGateway.getQuestionsAsync(questionRequest, deadline));
+        verify(mockIdentityIQWebServiceSoap, times(2))
+                .saaAsync(eq(saaRequest), asyncHandler.capture());
+        asyncHandler.getValue().handleResponse(response);
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
     @Test
     void shouldThrowNullPointerExceptionWhenIdentityIQWebServiceIsNull() {
         assertThrows(
                 NullPointerException.class,
                 () -> {
-                    new KBVGateway(mockSAARequestMapper, mockResponseToQuestionMapper, null);
+                    new KBVGateway(
+                            mockSAARequestMapper,
+                            mockResponseToQuestionMapper,
+                            null,
+                            circuitBreaker,
+                            bulkhead);
                 },
-                "identityIQWebServiceSoap must not be null");
+                "identityIQClient must not be null");
     }
 
     @Test
@@ -85,7 +265,11 @@ class KBVGatewayTest {
                 NullPointerException.class,
                 () -> {
                     new KBVGateway(
-                            null, mockResponseToQuestionMapper, mockIdentityIQWebServiceSoap);
+                            null,
+                            mockResponseToQuestionMapper,
+                            new CxfIdentityIQClient(mockIdentityIQWebServiceSoap),
+                            circuitBreaker,
+                            bulkhead);
                 },
                 "identityIQWebServiceSoap must not be null");
     }
@@ -95,28 +279,36 @@ class KBVGatewayTest {
         assertThrows(
                 NullPointerException.class,
                 () -> {
-                    new KBVGateway(mockSAARequestMapper, null, mockIdentityIQWebServiceSoap);
+                    new KBVGateway(
+                            mockSAARequestMapper,
+                            null,
+                            new CxfIdentityIQClient(mockIdentityIQWebServiceSoap),
+                            circuitBreaker,
+                            bulkhead);
                 },
                 "identityIQWebServiceSoap must not be null");
     }
 
     @Test
-    void shouldThrowSOAPFaultExceptionWhenInvokingKbvServiceWithBadHeaderHandler() {
+    void shouldThrowSOAPFaultExceptionWhenInvokingKbvServiceWithBadSecurityHeader() {
         QuestionAnswerRequest mockQuestionAnswerRequest = mock(QuestionAnswerRequest.class);
 
-        HeaderHandler headerHandler = mock(HeaderHandler.class);
+        SoapToken mockSoapToken = mock(SoapToken.class);
+        when(mockSoapToken.getToken()).thenReturn("Error");
+        WaspTokenCache waspTokenCache =
+                WaspTokenCache.create(mockSoapToken, mock(SharedWaspTokenStore.class));
 
-        ConfigurationService mockConfigurationService = mock(ConfigurationService.class);
-        when(mockConfigurationService.getSecretValue(any())).thenReturn("endpoint");
+        ExperianSecrets mockExperianSecrets = mock(ExperianSecrets.class);
+        when(mockExperianSecrets.getSecretValue(any())).thenReturn("endpoint");
         KBVGateway kbvGateway =
                 new KBVGateway(
                         mock(StartAuthnAttemptRequestMapper.class),
                         mock(ResponseToQuestionMapper.class),
-                        new KBVClientFactory(
-                                        new IdentityIQWebService(),
-                                        new HeaderHandlerResolver(headerHandler),
-                                        mockConfigurationService)
-                                .createClient());
+                        new CxfIdentityIQClient(
+                                new KBVClientFactory(mockExperianSecrets)
+                                        .createClient(waspTokenCache)),
+                        circuitBreaker,
+                        bulkhead);
 
         assertThrows(
                 SOAPFaultException.class,
@@ -5,39 +5,82 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.kbv.api.security.ExperianSecrets;
+import uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics;
+
+import javax.net.ssl.SSLContext;
+
+import java.io.ByteArrayOutputStream;
+import java.security.KeyStore;
+import java.util.Base64;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.KEYSTORE_DECODE;
 
 @ExtendWith(MockitoExtension.class)
 class KeyStoreLoaderTest {
-    @Mock private ConfigurationService mockConfigurationService;
+    private static final String KEYSTORE_PASSWORD = "keystore-password";
+    @Mock private ExperianSecrets mockExperianSecrets;
+    private ColdStartMetrics coldStartMetrics;
     private KeyStoreLoader keyStoreLoader;
 
     @BeforeEach
     void setUp() {
-        this.keyStoreLoader = new KeyStoreLoader(mockConfigurationService);
+        this.coldStartMetrics = new ColdStartMetrics();
+        this.keyStoreLoader = new KeyStoreLoader(mockExperianSecrets, coldStartMetrics);
+    }
+
+    @Test
+    void loadShouldCreateAnSslContextFromTheKeyStoreSecret() throws Exception {
+        System.clearProperty("javax.net.ssl.keyStore");
+        when(mockExperianSecrets.getSecretValue("experian/keystore"))
+                .thenReturn(createBase64KeyStore());
+        when(mockExperianSecrets.getSecretValue("experian/keystore-password"))
+                .thenReturn(KEYSTORE_PASSWORD);
+
+        SSLContext sslContext = keyStoreLoader.load();
+
+        verify(mockExperianSecrets).getSecretValue("experian/keystore");
+        verify(mockExperianSecrets).getSecretValue("experian/keystore-password");
+        assertEquals("TLS", sslContext.getProtocol());
+        assertNotNull(sslContext.getSocketFactory());
+        assertNull(System.getProperty("javax.net.ssl.keyStore"));
+        assertTrue(coldStartMetrics.getPhases().containsKey(KEYSTORE_DECODE));
     }
 
     @Test
-    void loadShouldSetupSystemProperties() {
-        final String base64KeyStorePassword = "keystore-password";
-        final String keystoreValue = "a2V5c3RvcmUtdmFsdWU=";
-        when(mockConfigurationService.getSecretValue("experian/keystore"))
-                .thenReturn(keystoreValue);
-        when(mockConfigurationService.getSecretValue("experian/keystore-password"))
-                .thenReturn(base64KeyStorePassword);
-        keyStoreLoader.load();
-        verify(mockConfigurationService).getSecretValue("experian/keystore");
-        verify(mockConfigurationService).getSecretValue("experian/keystore-password");
-
-        assertEquals("pkcs12", System.getProperty("javax.net.ssl.keyStoreType"));
-        String keyStoreSysProperty = System.getProperty("javax.net.ssl.keyStore");
-        assertTrue(keyStoreSysProperty.startsWith(System.getProperty("java.io.tmpdir")));
-        assertTrue(keyStoreSysProperty.endsWith(".tmp"));
-        assertEquals(base64KeyStorePassword, System.getProperty("javax.net.ssl.keyStorePassword"));
+    void loadShouldThrowWhenTheKeyStoreSecretIsNotAValidKeyStore() {
+        when(mockExperianSecrets.getSecretValue("experian/keystore"))
+                .thenReturn("a2V5c3RvcmUtdmFsdWU=");
+        when(mockExperianSecrets.getSecretValue("experian/keystore-password"))
+                .thenReturn(KEYSTORE_PASSWORD);
+
+        assertThrows(IllegalStateException.class, () -> keyStoreLoader.load());
+    }
+
+    @Test
+    void loadShouldThrowWhenTheKeyStorePasswordSecretIsMissing() {
+        when(mockExperianSecrets.getSecretValue("experian/keystore"))
+                .thenReturn("a2V5c3RvcmUtdmFsdWU=");
+
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class, () -> keyStoreLoader.load());
+
+        assertEquals("The Experian keystore secrets are missing", exception.getMessage());
+        assertTrue(coldStartMetrics.getPhases().containsKey(KEYSTORE_DECODE));
+    }
+
+    private static String createBase64KeyStore() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, KEYSTORE_PASSWORD.toCharArray());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        keyStore.store(outputStream, KEYSTORE_PASSWORD.toCharArray());
+        return Base64.getEncoder().encodeToString(outputStream.toByteArray());
     }
 }
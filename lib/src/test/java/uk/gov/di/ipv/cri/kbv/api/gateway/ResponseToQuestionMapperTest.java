@@ -1,6 +1,9 @@
 package uk.gov.di.ipv.cri.kbv.api.gateway;
 
+import com.experian.uk.schema.experian.identityiq.services.webservice.AnswerFormat;
 import com.experian.uk.schema.experian.identityiq.services.webservice.Error;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
 import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
 import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
 import com.experian.uk.schema.experian.identityiq.services.webservice.Results;
@@ -9,10 +12,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
 import uk.gov.di.ipv.cri.kbv.api.service.MetricsService;
 import uk.gov.di.ipv.cri.kbv.api.util.TestDataCreator;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -44,6 +50,37 @@ class ResponseToQuestionMapperTest {
         verify(metricsService).sendErrorMetric(error, "submit_questions_response_error");
     }
 
+    @Test
+    void shouldMapExperianQuestionsToTheSlimQuestionModel() {
+        AnswerFormat answerFormat = new AnswerFormat();
+        answerFormat.setIdentifier("A00004");
+        answerFormat.setFieldType("G");
+        answerFormat.getAnswerList().addAll(List.of("UP TO 10,000", "OVER 10,000"));
+        Question question = new Question();
+        question.setQuestionID("Q00015");
+        question.setText("What is the outstanding balance of your mortgage?");
+        question.setTooltip("Think about your main mortgage");
+        question.setAnswerHeldFlag("N");
+        question.setAnswerFormat(answerFormat);
+        Questions questions = new Questions();
+        questions.getQuestion().add(question);
+        RTQResponse2 response = new RTQResponse2();
+        response.setQuestions(questions);
+
+        QuestionsResponse questionsResponse =
+                responseToQuestionMapper.mapRTQResponse2ToMapQuestionsResponse(response);
+
+        KBVQuestion kbvQuestion = questionsResponse.getQuestions().get(0);
+        assertEquals("Q00015", kbvQuestion.getQuestionID());
+        assertEquals("What is the outstanding balance of your mortgage?", kbvQuestion.getText());
+        assertEquals("Think about your main mortgage", kbvQuestion.getTooltip());
+        assertEquals("A00004", kbvQuestion.getAnswerFormat().getIdentifier());
+        assertEquals("G", kbvQuestion.getAnswerFormat().getFieldType());
+        assertEquals(
+                List.of("UP TO 10,000", "OVER 10,000"),
+                kbvQuestion.getAnswerFormat().getAnswerList());
+    }
+
     @Test
     void shouldConvertAnAnswerQuestionRequestInToARtqRequest() {
         questionAnswerRequest = TestDataCreator.createTestQuestionAnswerRequest();
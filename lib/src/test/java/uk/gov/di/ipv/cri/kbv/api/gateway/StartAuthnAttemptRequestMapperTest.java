@@ -10,16 +10,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import software.amazon.lambda.powertools.parameters.SSMProvider;
-import software.amazon.lambda.powertools.parameters.SecretsProvider;
 import uk.gov.di.ipv.cri.common.library.domain.personidentity.Address;
 import uk.gov.di.ipv.cri.common.library.domain.personidentity.AddressType;
 import uk.gov.di.ipv.cri.common.library.domain.personidentity.PersonIdentity;
-import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.kbv.api.domain.IIQConfiguration;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
+import uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider;
 import uk.gov.di.ipv.cri.kbv.api.service.MetricsService;
 
-import java.time.Clock;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -34,22 +32,17 @@ import static uk.gov.di.ipv.cri.kbv.api.util.TestDataCreator.createTestQuestionA
 
 @ExtendWith(MockitoExtension.class)
 class StartAuthnAttemptRequestMapperTest {
-    private static final String TEST_STACK_NAME = "stack-name";
-    private static final String PARAM_NAME_FORMAT = "/%s/%s";
+    private static final IIQConfiguration IIQ_CONFIGURATION =
+            new IIQConfiguration("3 out of 4", "operator-id", "Static");
     private StartAuthnAttemptRequestMapper startAuthnAttemptRequestMapper;
     QuestionRequest questionRequest;
     @Mock private MetricsService metricsService;
-    @Mock private SSMProvider mockSsmProvider;
-    @Mock private SecretsProvider mockSecretsProvider;
-    @Mock private Clock mockClock;
+    @Mock private IIQConfigurationProvider mockIiqConfigurationProvider;
 
     @BeforeEach
     void setUp() {
         startAuthnAttemptRequestMapper =
-                new StartAuthnAttemptRequestMapper(
-                        new ConfigurationService(
-                                mockSsmProvider, mockSecretsProvider, TEST_STACK_NAME, mockClock),
-                        metricsService);
+                new StartAuthnAttemptRequestMapper(mockIiqConfigurationProvider, metricsService);
     }
 
     @Test
@@ -66,6 +59,7 @@ class StartAuthnAttemptRequestMapperTest {
 
     @Test
     void shouldConvertPersonIdentityToSAARequestForCurrentAddress() {
+        when(mockIiqConfigurationProvider.get()).thenReturn(IIQ_CONFIGURATION);
         questionRequest = createTestQuestionAnswerRequest(AddressType.CURRENT);
         PersonIdentity personIdentity = questionRequest.getPersonIdentity();
         SAARequest result = startAuthnAttemptRequestMapper.mapQuestionRequest(questionRequest);
@@ -117,6 +111,7 @@ class StartAuthnAttemptRequestMapperTest {
 
     @Test
     void shouldOnlyMapAddressWithAValidFromValue() {
+        when(mockIiqConfigurationProvider.get()).thenReturn(IIQ_CONFIGURATION);
         questionRequest =
                 createTestQuestionAnswerRequestWithDuplicateAddresses(AddressType.CURRENT);
         assertEquals(4, questionRequest.getPersonIdentity().getAddresses().size());
@@ -129,8 +124,7 @@ class StartAuthnAttemptRequestMapperTest {
 
     @Test
     void shouldConvertPersonIdentityToSAARequestForPreviousAddress() {
-        String fullParamName = String.format(PARAM_NAME_FORMAT, TEST_STACK_NAME, "IIQDatabaseMode");
-        when(mockSsmProvider.get(fullParamName)).thenReturn("Static");
+        when(mockIiqConfigurationProvider.get()).thenReturn(IIQ_CONFIGURATION);
         questionRequest = createTestQuestionAnswerRequest(AddressType.CURRENT);
         PersonIdentity personIdentity = questionRequest.getPersonIdentity();
 
@@ -0,0 +1,46 @@
+package uk.gov.di.ipv.cri.kbv.api.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static uk.gov.di.ipv.cri.kbv.api.resilience.Bulkhead.REJECTED_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadTest {
+    @Mock private EventProbe mockEventProbe;
+
+    @Test
+    void shouldRejectCallsBeyondTheConcurrencyLimit() {
+        Bulkhead bulkhead = new Bulkhead(2, mockEventProbe);
+        bulkhead.acquire("SAA call");
+        bulkhead.acquire("SAA call");
+
+        ExperianUnavailableException exception =
+                assertThrows(
+                        ExperianUnavailableException.class, () -> bulkhead.acquire("RTQ call"));
+
+        assertEquals(
+                "RTQ call rejected because 2 Experian calls are already in flight",
+                exception.getMessage());
+        verify(mockEventProbe).counterMetric(REJECTED_METRIC);
+    }
+
+    @Test
+    void shouldAdmitAnotherCallOnceAPermitIsReleased() {
+        Bulkhead bulkhead = new Bulkhead(1, mockEventProbe);
+        bulkhead.acquire("SAA call");
+
+        bulkhead.release();
+
+        assertDoesNotThrow(() -> bulkhead.acquire("RTQ call"));
+        assertEquals(0, bulkhead.getAvailablePermits());
+    }
+}
@@ -0,0 +1,115 @@
+package uk.gov.di.ipv.cri.kbv.api.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.exception.ExperianUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static uk.gov.di.ipv.cri.kbv.api.resilience.CircuitBreaker.SHORT_CIRCUITED_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+    @Mock private EventProbe mockEventProbe;
+    private final AtomicLong nanoTime = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(3, OPEN_DURATION, 1, mockEventProbe, nanoTime::get);
+    }
+
+    @Test
+    void shouldOpenAfterTheConsecutiveFailureThreshold() {
+        failCalls(2);
+        circuitBreaker.acquirePermission("SAA call");
+        circuitBreaker.onSuccess();
+        failCalls(3);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(mockEventProbe).counterMetric("experian_circuit_open");
+    }
+
+    @Test
+    void shouldShortCircuitCallsWhileOpen() {
+        failCalls(3);
+
+        ExperianUnavailableException exception =
+                assertThrows(
+                        ExperianUnavailableException.class,
+                        () -> circuitBreaker.acquirePermission("RTQ call"));
+
+        assertEquals(
+                "RTQ call short-circuited because the Experian circuit is OPEN",
+                exception.getMessage());
+        verify(mockEventProbe).counterMetric(SHORT_CIRCUITED_METRIC);
+    }
+
+    @Test
+    void shouldLetASingleProbeThroughOnceTheOpenDurationHasPassed() {
+        failCalls(3);
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+        assertDoesNotThrow(() -> circuitBreaker.acquirePermission("SAA call"));
+        assertThrows(
+                ExperianUnavailableException.class,
+                () -> circuitBreaker.acquirePermission("SAA call"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        verify(mockEventProbe).counterMetric("experian_circuit_half_open");
+    }
+
+    @Test
+    void shouldCloseWhenTheProbeSucceeds() {
+        failCalls(3);
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+        circuitBreaker.acquirePermission("SAA call");
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verify(mockEventProbe).counterMetric("experian_circuit_closed");
+    }
+
+    @Test
+    void shouldReopenWhenTheProbeFails() {
+        failCalls(3);
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+        circuitBreaker.acquirePermission("SAA call");
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(
+                ExperianUnavailableException.class,
+                () -> circuitBreaker.acquirePermission("SAA call"));
+    }
+
+    @Test
+    void shouldReleaseTheProbeWithoutReopeningWhenItFailsForALocalReason() {
+        failCalls(3);
+        nanoTime.addAndGet(OPEN_DURATION.toNanos());
+
+        circuitBreaker.acquirePermission("SAA call");
+        circuitBreaker.onIgnoredFailure();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertDoesNotThrow(() -> circuitBreaker.acquirePermission("SAA call"));
+    }
+
+    private void failCalls(int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.acquirePermission("SAA call");
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExperianSecretsTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+    @Mock private ConfigurationService mockConfigurationService;
+    @Mock private MetricsLogger mockMetricsLogger;
+    private final AtomicLong nanoTime = new AtomicLong();
+    private ExperianSecrets experianSecrets;
+
+    @BeforeEach
+    void setUp() {
+        experianSecrets =
+                new ExperianSecrets(mockConfigurationService, TTL, Runnable::run, nanoTime::get);
+    }
+
+    @Test
+    void shouldLoadEverySecretOnceAndServeLaterReadsFromTheCache() {
+        stubSecrets("https://iiq.example.com");
+
+        experianSecrets.loadAll();
+
+        assertEquals(
+                "https://iiq.example.com",
+                experianSecrets.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE));
+        assertEquals("keystore", experianSecrets.getSecretValue(ExperianSecrets.KEYSTORE));
+        verify(mockConfigurationService).getSecretValue(ExperianSecrets.IIQ_WEBSERVICE);
+        verify(mockConfigurationService).getSecretValue(ExperianSecrets.KEYSTORE);
+    }
+
+    @Test
+    void shouldEmitTheCacheHitsAndMissesSinceTheLastEmission() {
+        stubSecrets("https://iiq.example.com");
+        experianSecrets.loadAll();
+        experianSecrets.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE);
+        experianSecrets.getSecretValue(ExperianSecrets.KEYSTORE);
+
+        experianSecrets.emitStats(mockMetricsLogger);
+        experianSecrets.getSecretValue(ExperianSecrets.KEYSTORE);
+        experianSecrets.emitStats(mockMetricsLogger);
+
+        verify(mockMetricsLogger).putMetric(ExperianSecrets.HIT_METRIC, 2, Unit.COUNT);
+        verify(mockMetricsLogger).putMetric(ExperianSecrets.MISS_METRIC, 4, Unit.COUNT);
+        verify(mockMetricsLogger).putMetric(ExperianSecrets.HIT_METRIC, 1, Unit.COUNT);
+        verify(mockMetricsLogger).putMetric(ExperianSecrets.MISS_METRIC, 0, Unit.COUNT);
+    }
+
+    @Test
+    void shouldServeTheCachedValueAndRefreshItOnceTheTtlHasPassed() {
+        stubSecrets("https://iiq.example.com");
+        experianSecrets.loadAll();
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE))
+                .thenReturn("https://iiq-rotated.example.com");
+
+        nanoTime.addAndGet(TTL.toNanos() + TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(
+                "https://iiq.example.com",
+                experianSecrets.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE));
+        assertEquals(
+                "https://iiq-rotated.example.com",
+                experianSecrets.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE));
+        verify(mockConfigurationService, times(2))
+                .getSecretValue(ExperianSecrets.IIQ_WEBSERVICE);
+    }
+
+    @Test
+    void shouldKeepServingTheLastValueWhenARefreshFails() {
+        stubSecrets("https://iiq.example.com");
+        experianSecrets.loadAll();
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE))
+                .thenThrow(new IllegalStateException("throttled"));
+
+        experianSecrets.refresh();
+
+        assertEquals(
+                "https://iiq.example.com",
+                experianSecrets.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE));
+    }
+
+    @Test
+    void shouldNotifyTheChangeListenersWhenARefreshedSecretChanges() {
+        stubSecrets("https://iiq.example.com");
+        experianSecrets.loadAll();
+        List<String> changedSecrets = new ArrayList<>();
+        experianSecrets.addChangeListener(changedSecrets::add);
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.KEYSTORE))
+                .thenReturn("rotated-keystore");
+
+        experianSecrets.refresh();
+
+        assertEquals(List.of(ExperianSecrets.KEYSTORE), changedSecrets);
+        assertEquals(
+                "rotated-keystore", experianSecrets.getSecretValue(ExperianSecrets.KEYSTORE));
+    }
+
+    @Test
+    void shouldNotNotifyTheChangeListenersWhenTheRefreshedSecretsAreUnchanged() {
+        stubSecrets("https://iiq.example.com");
+        experianSecrets.loadAll();
+        List<String> changedSecrets = new ArrayList<>();
+        experianSecrets.addChangeListener(changedSecrets::add);
+
+        experianSecrets.refresh();
+
+        assertTrue(changedSecrets.isEmpty());
+    }
+
+    private void stubSecrets(String iiqEndpoint) {
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.KEYSTORE))
+                .thenReturn("keystore");
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.KEYSTORE_PASSWORD))
+                .thenReturn("keystore-password");
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE))
+                .thenReturn(iiqEndpoint);
+        when(mockConfigurationService.getSecretValue(ExperianSecrets.IIQ_WASP_SERVICE))
+                .thenReturn("https://wasp.example.com");
+    }
+}
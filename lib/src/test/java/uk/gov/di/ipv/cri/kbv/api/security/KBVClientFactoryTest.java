@@ -0,0 +1,95 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
+import com.experian.uk.wasp.TokenServiceSoap;
+import org.apache.cxf.frontend.ClientProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KBVClientFactoryTest {
+    private static final String IIQ_ENDPOINT = "https://iiq.example.com/IdentityIQWebService.asmx";
+    private static final String WASP_ENDPOINT = "https://wasp.example.com/tokenService.asmx";
+    @Mock private ExperianSecrets mockExperianSecrets;
+    private KBVClientFactory kbvClientFactory;
+
+    @BeforeEach
+    void setUp() {
+        kbvClientFactory = new KBVClientFactory(mockExperianSecrets);
+    }
+
+    @Test
+    void shouldCreateIdentityIQClientWithEndpointAndWaspTokenInterceptors() {
+        when(mockExperianSecrets.getSecretValue("experian/iiq-webservice"))
+                .thenReturn(IIQ_ENDPOINT);
+
+        IdentityIQWebServiceSoap client =
+                kbvClientFactory.createClient(mock(WaspTokenCache.class));
+
+        assertEquals(
+                IIQ_ENDPOINT,
+                ClientProxy.getClient(client).getEndpoint().getEndpointInfo().getAddress());
+        assertTrue(
+                ClientProxy.getClient(client).getOutInterceptors().stream()
+                        .anyMatch(SecurityHeaderInterceptor.class::isInstance));
+        assertTrue(
+                ClientProxy.getClient(client).getInFaultInterceptors().stream()
+                        .anyMatch(WaspAuthenticationFaultInterceptor.class::isInstance));
+    }
+
+    @Test
+    void shouldCreateTokenClientWithEndpointAndNoSecurityHeaderInterceptor() {
+        when(mockExperianSecrets.getSecretValue("experian/iiq-wasp-service"))
+                .thenReturn(WASP_ENDPOINT);
+
+        TokenServiceSoap client = kbvClientFactory.createTokenClient();
+
+        assertEquals(
+                WASP_ENDPOINT,
+                ClientProxy.getClient(client).getEndpoint().getEndpointInfo().getAddress());
+        assertFalse(
+                ClientProxy.getClient(client).getOutInterceptors().stream()
+                        .anyMatch(SecurityHeaderInterceptor.class::isInstance));
+    }
+
+    @Test
+    void shouldPreferEndpointOverridesFromTheEnvironment() {
+        Map<String, String> environment =
+                Map.of(
+                        KBVClientFactory.IIQ_WEBSERVICE_URL_ENV_VAR,
+                        "http://localhost:8090/IdentityIQWebService/IdentityIQWebService.asmx",
+                        KBVClientFactory.IIQ_WASP_SERVICE_URL_ENV_VAR,
+                        "http://localhost:8090/WASPAuthenticator/tokenService.asmx");
+        kbvClientFactory = new KBVClientFactory(mockExperianSecrets, environment::get);
+
+        IdentityIQWebServiceSoap client =
+                kbvClientFactory.createClient(mock(WaspTokenCache.class));
+        TokenServiceSoap tokenClient = kbvClientFactory.createTokenClient();
+
+        assertEquals(
+                "http://localhost:8090/IdentityIQWebService/IdentityIQWebService.asmx",
+                ClientProxy.getClient(client).getEndpoint().getEndpointInfo().getAddress());
+        assertEquals(
+                "http://localhost:8090/WASPAuthenticator/tokenService.asmx",
+                ClientProxy.getClient(tokenClient).getEndpoint().getEndpointInfo().getAddress());
+        verifyNoInteractions(mockExperianSecrets);
+    }
+
+    @Test
+    void shouldNotAllowANullWaspTokenCache() {
+        assertThrows(NullPointerException.class, () -> kbvClientFactory.createClient(null));
+    }
+}
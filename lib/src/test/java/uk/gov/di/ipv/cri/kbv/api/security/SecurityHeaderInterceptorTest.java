@@ -0,0 +1,100 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.apache.cxf.binding.soap.SoapHeader;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.message.MessageImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.ipv.cri.kbv.api.security.SecurityHeaderInterceptor.SECURITY_HEADER;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityHeaderInterceptorTest {
+    @Mock private WaspTokenCache mockWaspTokenCache;
+    private SecurityHeaderInterceptor securityHeaderInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        securityHeaderInterceptor = new SecurityHeaderInterceptor(mockWaspTokenCache);
+    }
+
+    @Test
+    void shouldAddTheSecurityHeaderWithTheEncodedToken() throws XMLStreamException {
+        when(mockWaspTokenCache.getEncodedToken()).thenReturn("ZW5jb2RlZA==");
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+
+        securityHeaderInterceptor.handleMessage(soapMessage);
+
+        assertEquals(1, soapMessage.getHeaders().size());
+        Header header = soapMessage.getHeaders().get(0);
+        assertEquals(SECURITY_HEADER, header.getName());
+        String securityHeader = write(header);
+        assertTrue(securityHeader.startsWith("<wsse:Security xmlns:wsse="));
+        assertTrue(securityHeader.contains("EncodingType=\"wsse:Base64Binary\""));
+        assertTrue(securityHeader.contains("ValueType=\"ExperianWASP\">ZW5jb2RlZA==</wsse:"));
+    }
+
+    @Test
+    void shouldBoundTheTokenFetchByTheRequestDeadline() {
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(5_000);
+        when(mockWaspTokenCache.getEncodedToken(deadline)).thenReturn("ZW5jb2RlZA==");
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.put(RequestDeadline.CONTEXT_KEY, deadline);
+
+        securityHeaderInterceptor.handleMessage(soapMessage);
+
+        assertEquals("ZW5jb2RlZA==", soapMessage.getHeaders().get(0).getObject());
+        verify(mockWaspTokenCache, never()).getEncodedToken();
+    }
+
+    @Test
+    void shouldReplaceAnExistingSecurityHeader() {
+        when(mockWaspTokenCache.getEncodedToken()).thenReturn("ZW5jb2RlZA==");
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.getHeaders().add(new SoapHeader(SECURITY_HEADER, "stale"));
+
+        securityHeaderInterceptor.handleMessage(soapMessage);
+
+        assertEquals(1, soapMessage.getHeaders().size());
+        assertEquals("ZW5jb2RlZA==", soapMessage.getHeaders().get(0).getObject());
+    }
+
+    @Test
+    void shouldWriteEachMessageItsOwnHeaderWithoutSharingDomNodes() throws XMLStreamException {
+        when(mockWaspTokenCache.getEncodedToken()).thenReturn("Zmlyc3Q=", "c2Vjb25k");
+        SoapMessage first = new SoapMessage(new MessageImpl());
+        SoapMessage second = new SoapMessage(new MessageImpl());
+
+        securityHeaderInterceptor.handleMessage(first);
+        securityHeaderInterceptor.handleMessage(second);
+
+        assertTrue(write(first.getHeaders().get(0)).contains(">Zmlyc3Q=</"));
+        assertTrue(write(second.getHeaders().get(0)).contains(">c2Vjb25k</"));
+    }
+
+    private static String write(Header header) throws XMLStreamException {
+        StringWriter output = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(output);
+        header.getDataBinding()
+                .createWriter(XMLStreamWriter.class)
+                .write(header.getObject(), null, writer);
+        writer.flush();
+        return output.toString();
+    }
+}
@@ -0,0 +1,160 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import uk.gov.di.ipv.cri.kbv.api.domain.WaspTokenItem;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.ipv.cri.kbv.api.security.SharedWaspTokenStore.LEASE_DURATION;
+import static uk.gov.di.ipv.cri.kbv.api.security.SharedWaspTokenStore.TOKEN_ITEM_KEY;
+
+@ExtendWith(MockitoExtension.class)
+class SharedWaspTokenStoreTest {
+    private static final long NOW = 1_700_000_000_000L;
+    @Mock private DynamoDbTable<WaspTokenItem> mockTable;
+    private SharedWaspTokenStore sharedWaspTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        sharedWaspTokenStore = new SharedWaspTokenStore(mockTable, Duration.ZERO, 3);
+    }
+
+    @Test
+    void shouldReadTheSharedTokenWithAConsistentRead() {
+        WaspTokenItem item = tokenItem();
+        when(mockTable.getItem(any(GetItemEnhancedRequest.class))).thenReturn(item);
+
+        assertEquals(Optional.of(item), sharedWaspTokenStore.getToken());
+
+        ArgumentCaptor<GetItemEnhancedRequest> requestCaptor =
+                ArgumentCaptor.forClass(GetItemEnhancedRequest.class);
+        verify(mockTable).getItem(requestCaptor.capture());
+        assertTrue(requestCaptor.getValue().consistentRead());
+        assertEquals(TOKEN_ITEM_KEY, requestCaptor.getValue().key().partitionKeyValue().s());
+    }
+
+    @Test
+    void shouldIgnoreAnItemThatOnlyHoldsALease() {
+        WaspTokenItem lease = new WaspTokenItem();
+        lease.setLeaseOwner("another-container");
+        lease.setLeaseExpiry(NOW);
+        when(mockTable.getItem(any(GetItemEnhancedRequest.class))).thenReturn(lease);
+
+        assertTrue(sharedWaspTokenStore.getToken().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAcquireTheLeaseWithAConditionalUpdate() {
+        assertTrue(sharedWaspTokenStore.tryAcquireLease("this-container", NOW));
+
+        ArgumentCaptor<UpdateItemEnhancedRequest<WaspTokenItem>> requestCaptor =
+                ArgumentCaptor.forClass(UpdateItemEnhancedRequest.class);
+        verify(mockTable).updateItem(requestCaptor.capture());
+        UpdateItemEnhancedRequest<WaspTokenItem> request = requestCaptor.getValue();
+        assertTrue(request.ignoreNulls());
+        assertEquals(
+                "attribute_not_exists(leaseExpiry) OR leaseExpiry < :now",
+                request.conditionExpression().expression());
+        assertEquals(
+                String.valueOf(NOW),
+                request.conditionExpression().expressionValues().get(":now").n());
+        assertEquals("this-container", request.item().getLeaseOwner());
+        assertEquals(NOW + LEASE_DURATION.toMillis(), request.item().getLeaseExpiry());
+        assertNull(request.item().getToken());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotAcquireTheLeaseWhileAnotherContainerHoldsIt() {
+        when(mockTable.updateItem(any(UpdateItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("held").build());
+
+        assertFalse(sharedWaspTokenStore.tryAcquireLease("this-container", NOW));
+    }
+
+    @Test
+    void shouldReplaceTheItemAndReleaseTheLeaseWhenSharingAToken() {
+        sharedWaspTokenStore.putToken("dG9rZW4=", NOW, NOW + 18_000_000L);
+
+        ArgumentCaptor<WaspTokenItem> itemCaptor = ArgumentCaptor.forClass(WaspTokenItem.class);
+        verify(mockTable).putItem(itemCaptor.capture());
+        WaspTokenItem item = itemCaptor.getValue();
+        assertEquals(TOKEN_ITEM_KEY, item.getSessionId());
+        assertEquals("dG9rZW4=", item.getToken());
+        assertEquals(NOW + 18_000_000L, item.getTokenExpiry());
+        assertEquals((NOW + 18_000_000L) / 1000, item.getExpiryDate());
+        assertNull(item.getLeaseOwner());
+        assertNull(item.getLeaseExpiry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExpireTheSharedTokenOnlyWhileItIsTheRejectedOne() {
+        assertTrue(sharedWaspTokenStore.expireToken("dG9rZW4=", NOW));
+
+        ArgumentCaptor<UpdateItemEnhancedRequest<WaspTokenItem>> requestCaptor =
+                ArgumentCaptor.forClass(UpdateItemEnhancedRequest.class);
+        verify(mockTable).updateItem(requestCaptor.capture());
+        UpdateItemEnhancedRequest<WaspTokenItem> request = requestCaptor.getValue();
+        assertTrue(request.ignoreNulls());
+        assertEquals("#token = :token", request.conditionExpression().expression());
+        assertEquals(
+                "dG9rZW4=", request.conditionExpression().expressionValues().get(":token").s());
+        assertEquals(NOW, request.item().getTokenExpiry());
+        assertNull(request.item().getToken());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLeaveATokenSharedSinceTheRejectionInPlace() {
+        when(mockTable.updateItem(any(UpdateItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("replaced").build());
+
+        assertFalse(sharedWaspTokenStore.expireToken("dG9rZW4=", NOW));
+    }
+
+    @Test
+    void shouldPollUntilTheLeaseHolderSharesTheToken() {
+        WaspTokenItem item = tokenItem();
+        when(mockTable.getItem(any(GetItemEnhancedRequest.class))).thenReturn(null, item);
+
+        assertEquals(Optional.of(item), sharedWaspTokenStore.awaitToken(token -> true));
+        verify(mockTable, times(2)).getItem(any(GetItemEnhancedRequest.class));
+    }
+
+    @Test
+    void shouldGiveUpWaitingAfterTheLastPoll() {
+        when(mockTable.getItem(any(GetItemEnhancedRequest.class))).thenReturn(null);
+
+        assertTrue(sharedWaspTokenStore.awaitToken(token -> true).isEmpty());
+        verify(mockTable, times(3)).getItem(any(GetItemEnhancedRequest.class));
+    }
+
+    private static WaspTokenItem tokenItem() {
+        WaspTokenItem item = new WaspTokenItem();
+        item.setSessionId(TOKEN_ITEM_KEY);
+        item.setToken("dG9rZW4=");
+        item.setIssuedAt(NOW);
+        item.setTokenExpiry(NOW + 18_000_000L);
+        return item;
+    }
+}
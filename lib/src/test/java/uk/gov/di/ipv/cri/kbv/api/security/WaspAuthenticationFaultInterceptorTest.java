@@ -0,0 +1,134 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.binding.soap.SoapHeader;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.transport.http.HTTPException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.xml.namespace.QName;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static uk.gov.di.ipv.cri.kbv.api.security.SecurityHeaderInterceptor.SECURITY_HEADER;
+
+@ExtendWith(MockitoExtension.class)
+class WaspAuthenticationFaultInterceptorTest {
+    private static final String WSSE_NAMESPACE =
+            "http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-secext-1.0.xsd";
+    @Mock private WaspTokenCache mockWaspTokenCache;
+    private WaspAuthenticationFaultInterceptor waspAuthenticationFaultInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        waspAuthenticationFaultInterceptor =
+                new WaspAuthenticationFaultInterceptor(mockWaspTokenCache);
+    }
+
+    @Test
+    void shouldInvalidateTheTokenWhenExperianReturnsAnAuthenticationFault() {
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.setContent(
+                Exception.class,
+                new SoapFault("Authentication failed", Soap11.getInstance().getSender()));
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache).invalidate(null);
+    }
+
+    @Test
+    void shouldExpireTheTokenThatWasSentWithTheRejectedRequest() {
+        Exchange exchange = new ExchangeImpl();
+        SoapMessage outMessage = new SoapMessage(new MessageImpl());
+        outMessage.getHeaders().add(new SoapHeader(SECURITY_HEADER, "cmVqZWN0ZWQ="));
+        exchange.setOutMessage(outMessage);
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.setExchange(exchange);
+        soapMessage.put(SoapMessage.RESPONSE_CODE, 401);
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache).invalidate("cmVqZWN0ZWQ=");
+    }
+
+    @Test
+    void shouldInvalidateTheTokenWhenExperianReturnsAWsSecurityFaultCode() {
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.setContent(
+                Exception.class,
+                new SoapFault(
+                        "The security token could not be authenticated or authorized",
+                        new QName(WSSE_NAMESPACE, "FailedAuthentication")));
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache).invalidate(null);
+    }
+
+    @Test
+    void shouldInvalidateTheTokenWhenTheRequestIsRejectedWithForbidden()
+            throws MalformedURLException {
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.setContent(
+                Exception.class,
+                new Fault(
+                        new HTTPException(
+                                403, "Forbidden", new URL("https://iiq.example.com/"))));
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache).invalidate(null);
+    }
+
+    @Test
+    void shouldInvalidateTheTokenWhenTheResponseCodeIsUnauthorized() {
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.put(SoapMessage.RESPONSE_CODE, 401);
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache).invalidate(null);
+    }
+
+    @Test
+    void shouldKeepTheTokenForOtherFaults() {
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.put(SoapMessage.RESPONSE_CODE, 500);
+        soapMessage.setContent(
+                Exception.class,
+                new SoapFault("Server was unable to process", Soap11.getInstance().getReceiver()));
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache, never()).invalidate(any());
+    }
+
+    @Test
+    void shouldKeepTheTokenForClientFaultsThatMentionAuthenticationOrATokenField() {
+        SoapMessage soapMessage = new SoapMessage(new MessageImpl());
+        soapMessage.put(SoapMessage.RESPONSE_CODE, 500);
+        soapMessage.setContent(
+                Exception.class,
+                new SoapFault(
+                        "Unknown authentication reference, invalid tokenised field",
+                        Soap11.getInstance().getSender()));
+
+        waspAuthenticationFaultInterceptor.handleMessage(soapMessage);
+
+        verify(mockWaspTokenCache, never()).invalidate(any());
+    }
+}
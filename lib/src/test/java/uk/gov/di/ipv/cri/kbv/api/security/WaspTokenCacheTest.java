@@ -0,0 +1,325 @@
+package uk.gov.di.ipv.cri.kbv.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+import uk.gov.di.ipv.cri.kbv.api.domain.WaspTokenItem;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache.REFRESH_FAILURE_METRIC;
+import static uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache.REFRESH_LATENCY_METRIC;
+import static uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache.SHARED_TOKEN_METRIC;
+import static uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache.TOKEN_AGE_METRIC;
+import static uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache.TOKEN_LIFETIME;
+
+@ExtendWith(MockitoExtension.class)
+class WaspTokenCacheTest {
+    private static final Duration REFRESH_AFTER = Duration.ofHours(4);
+    private static final long NOW = TimeUnit.DAYS.toMillis(1);
+    @Mock private SoapToken mockSoapToken;
+    @Mock private SharedWaspTokenStore mockSharedWaspTokenStore;
+    @Mock private MetricsLogger mockMetricsLogger;
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(NOW));
+    private WaspTokenCache waspTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        waspTokenCache =
+                new WaspTokenCache(
+                        mockSoapToken,
+                        mockSharedWaspTokenStore,
+                        emission -> emission.accept(mockMetricsLogger),
+                        REFRESH_AFTER,
+                        Runnable::run,
+                        nanoTime::get,
+                        () -> TimeUnit.NANOSECONDS.toMillis(nanoTime.get()));
+    }
+
+    @Test
+    void shouldLoginOnceAndServeTheEncodedTokenFromMemory() {
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+
+        waspTokenCache.getEncodedToken();
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        verify(mockSoapToken).getToken();
+        verify(mockMetricsLogger).putMetric(REFRESH_LATENCY_METRIC, 0, Unit.MILLISECONDS);
+    }
+
+    @Test
+    void shouldRefreshTheTokenInTheBackgroundBeforeItExpires() {
+        when(mockSoapToken.getToken()).thenReturn("first-token", "second-token");
+        waspTokenCache.getEncodedToken();
+
+        nanoTime.addAndGet(REFRESH_AFTER.toNanos() + TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        assertEquals(encode("second-token"), waspTokenCache.getEncodedToken());
+        verify(mockSoapToken, times(2)).getToken();
+    }
+
+    @Test
+    void shouldKeepServingTheCurrentTokenWhenABackgroundRefreshFails() {
+        when(mockSoapToken.getToken()).thenReturn("first-token", "Error: login failed");
+        waspTokenCache.getEncodedToken();
+
+        nanoTime.addAndGet(REFRESH_AFTER.toNanos() + TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        verify(mockMetricsLogger).putMetric(REFRESH_FAILURE_METRIC, 1, Unit.COUNT);
+    }
+
+    @Test
+    void shouldFetchTheTokenWithinTheRequestDeadline() {
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+
+        assertEquals(
+                encode("first-token"),
+                waspTokenCache.getEncodedToken(RequestDeadline.fromRemainingTime(30_000)));
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        verify(mockSoapToken).getToken();
+    }
+
+    @Test
+    void shouldServeACachedTokenEvenOnceTheRequestDeadlineHasPassed() {
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+        waspTokenCache.getEncodedToken();
+
+        assertEquals(
+                encode("first-token"),
+                waspTokenCache.getEncodedToken(RequestDeadline.fromRemainingTime(0)));
+    }
+
+    @Test
+    void shouldStopWaitingForALoginThatOutlivesTheRequestDeadline() {
+        WaspTokenCache stalledWaspTokenCache =
+                new WaspTokenCache(
+                        mockSoapToken,
+                        mockSharedWaspTokenStore,
+                        emission -> emission.accept(mockMetricsLogger),
+                        REFRESH_AFTER,
+                        runnable -> {},
+                        nanoTime::get,
+                        () -> TimeUnit.NANOSECONDS.toMillis(nanoTime.get()));
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(0);
+
+        assertThrows(
+                DeadlineExceededException.class,
+                () -> stalledWaspTokenCache.getEncodedToken(deadline));
+        verifyNoInteractions(mockSoapToken);
+    }
+
+    @Test
+    void shouldSurfaceALoginFailureWithinTheRequestDeadline() {
+        when(mockSoapToken.getToken()).thenReturn("Error: invalid certificate");
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(30_000);
+
+        assertThrows(IllegalStateException.class, () -> waspTokenCache.getEncodedToken(deadline));
+    }
+
+    @Test
+    void shouldLoginAgainOnceInvalidated() {
+        when(mockSoapToken.getToken()).thenReturn("first-token", "second-token");
+        waspTokenCache.getEncodedToken();
+
+        waspTokenCache.invalidate();
+
+        assertEquals(encode("second-token"), waspTokenCache.getEncodedToken());
+    }
+
+    @Test
+    void shouldNotAdoptTheRejectedTokenFromTheSharedStoreAgain() {
+        WaspTokenItem rejected = sharedToken("cmVqZWN0ZWQ=", NOW - 3_600_000L);
+        when(mockSharedWaspTokenStore.getToken()).thenReturn(Optional.of(rejected));
+        when(mockSharedWaspTokenStore.expireToken("cmVqZWN0ZWQ=", NOW))
+                .thenAnswer(
+                        invocation -> {
+                            rejected.setTokenExpiry(NOW);
+                            return true;
+                        });
+        when(mockSharedWaspTokenStore.tryAcquireLease(anyString(), anyLong())).thenReturn(true);
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+        waspTokenCache.getEncodedToken();
+
+        waspTokenCache.invalidate("cmVqZWN0ZWQ=");
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        verify(mockSharedWaspTokenStore).expireToken("cmVqZWN0ZWQ=", NOW);
+    }
+
+    @Test
+    void shouldStillInvalidateLocallyWhenTheSharedStoreIsUnavailable() {
+        when(mockSoapToken.getToken()).thenReturn("first-token", "second-token");
+        when(mockSharedWaspTokenStore.expireToken(anyString(), anyLong()))
+                .thenThrow(new IllegalStateException("Throughput exceeded"));
+        waspTokenCache.getEncodedToken();
+
+        waspTokenCache.invalidate(encode("first-token"));
+
+        assertEquals(encode("second-token"), waspTokenCache.getEncodedToken());
+    }
+
+    @Test
+    void shouldReportTheAgeOfTheTokenInUse() {
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+        waspTokenCache.getEncodedToken();
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(30));
+        waspTokenCache.getEncodedToken();
+
+        verify(mockMetricsLogger).putMetric(TOKEN_AGE_METRIC, 1800, Unit.SECONDS);
+    }
+
+    @Test
+    void shouldFailWhenTheTokenServiceReturnsAnError() {
+        when(mockSoapToken.getToken()).thenReturn("Error: invalid certificate");
+
+        assertThrows(IllegalStateException.class, () -> waspTokenCache.getEncodedToken());
+        verify(mockMetricsLogger).putMetric(REFRESH_FAILURE_METRIC, 1, Unit.COUNT);
+    }
+
+    @Test
+    void shouldFailWhenTheTokenServiceReturnsNoToken() {
+        when(mockSoapToken.getToken()).thenReturn(null);
+
+        NullPointerException exception =
+                assertThrows(NullPointerException.class, () -> waspTokenCache.getEncodedToken());
+
+        assertEquals("The token must not be null", exception.getMessage());
+    }
+
+    @Test
+    void shouldReuseAFreshTokenSharedByAnotherContainer() {
+        when(mockSharedWaspTokenStore.getToken())
+                .thenReturn(Optional.of(sharedToken("c2hhcmVk", NOW - 3_600_000L)));
+
+        assertEquals("c2hhcmVk", waspTokenCache.getEncodedToken());
+        verifyNoInteractions(mockSoapToken);
+        verify(mockMetricsLogger).putMetric(SHARED_TOKEN_METRIC, 1, Unit.COUNT);
+        verify(mockMetricsLogger).putMetric(TOKEN_AGE_METRIC, 3600, Unit.SECONDS);
+    }
+
+    @Test
+    void shouldLoginAndShareTheTokenWhenHoldingTheLease() {
+        when(mockSharedWaspTokenStore.tryAcquireLease(anyString(), anyLong())).thenReturn(true);
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        verify(mockSharedWaspTokenStore)
+                .putToken(encode("first-token"), NOW, NOW + TOKEN_LIFETIME.toMillis());
+        verify(mockSharedWaspTokenStore, never()).awaitToken(any());
+    }
+
+    @Test
+    void shouldNotReuseASharedTokenThatIsDueForRefresh() {
+        when(mockSharedWaspTokenStore.getToken())
+                .thenReturn(Optional.of(sharedToken("c2hhcmVk", NOW - REFRESH_AFTER.toMillis())));
+        when(mockSharedWaspTokenStore.tryAcquireLease(anyString(), anyLong())).thenReturn(true);
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+    }
+
+    @Test
+    void shouldRefreshAnAdoptedSharedTokenAheadOfItsExpiry() {
+        long issuedAt = NOW - TOKEN_LIFETIME.minusMinutes(61).toMillis();
+        when(mockSharedWaspTokenStore.getToken())
+                .thenReturn(Optional.of(sharedToken("c2hhcmVk", issuedAt)));
+        when(mockSharedWaspTokenStore.tryAcquireLease(anyString(), anyLong())).thenReturn(true);
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+        waspTokenCache.getEncodedToken();
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertEquals("c2hhcmVk", waspTokenCache.getEncodedToken());
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+        verify(mockSoapToken).getToken();
+    }
+
+    @Test
+    void shouldWaitForTheLeaseHolderToShareTheToken() {
+        when(mockSharedWaspTokenStore.awaitToken(any()))
+                .thenReturn(Optional.of(sharedToken("c2hhcmVk", NOW)));
+
+        assertEquals("c2hhcmVk", waspTokenCache.getEncodedToken());
+        verifyNoInteractions(mockSoapToken);
+    }
+
+    @Test
+    void shouldLoginDirectlyWhenTheSharedStoreIsUnavailable() {
+        when(mockSharedWaspTokenStore.getToken())
+                .thenThrow(new IllegalStateException("Throughput exceeded"));
+        doThrow(new IllegalStateException("Throughput exceeded"))
+                .when(mockSharedWaspTokenStore)
+                .putToken(anyString(), anyLong(), anyLong());
+        when(mockSoapToken.getToken()).thenReturn("first-token");
+
+        assertEquals(encode("first-token"), waspTokenCache.getEncodedToken());
+    }
+
+    @Test
+    void shouldRecogniseWaspAuthenticationFaults() {
+        assertTrue(WaspTokenCache.isAuthenticationFault("soap:Client", "Authentication failed"));
+        assertTrue(
+                WaspTokenCache.isAuthenticationFault(
+                        "soap:Client", "Invalid authentication token"));
+        assertTrue(WaspTokenCache.isAuthenticationFault("soap:Client", "WASP token has expired"));
+        assertTrue(
+                WaspTokenCache.isAuthenticationFault(
+                        "wsse:FailedAuthentication", "The security token could not be verified"));
+        assertTrue(WaspTokenCache.isAuthenticationFault("InvalidSecurityToken", null));
+    }
+
+    @Test
+    void shouldNotTreatOtherFaultsMentioningATokenOrAuthenticationAsAuthenticationFaults() {
+        assertFalse(
+                WaspTokenCache.isAuthenticationFault(
+                        "soap:Client", "Unknown authentication reference"));
+        assertFalse(
+                WaspTokenCache.isAuthenticationFault(
+                        "soap:Client", "Invalid tokenised field: Postcode"));
+        assertFalse(WaspTokenCache.isAuthenticationFault("soap:Client", "1022: Token missing"));
+        assertFalse(
+                WaspTokenCache.isAuthenticationFault(
+                        "soap:Server", "Authentication unsuccessful"));
+        assertFalse(WaspTokenCache.isAuthenticationFault(null, null));
+    }
+
+    private static WaspTokenItem sharedToken(String token, long issuedAt) {
+        WaspTokenItem item = new WaspTokenItem();
+        item.setToken(token);
+        item.setIssuedAt(issuedAt);
+        item.setTokenExpiry(issuedAt + TOKEN_LIFETIME.toMillis());
+        return item;
+    }
+
+    private static String encode(String token) {
+        return Base64.getEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.DYNAMODB_CLIENT;
+import static uk.gov.di.ipv.cri.kbv.api.service.ColdStartMetrics.SECRET_FETCH;
+
+@ExtendWith(MockitoExtension.class)
+class ColdStartMetricsTest {
+    @Mock private MetricsLogger mockMetricsLogger;
+
+    @Test
+    void shouldReturnTheValueOfATimedPhase() {
+        var coldStartMetrics = new ColdStartMetrics();
+
+        String value = coldStartMetrics.time(SECRET_FETCH, () -> "secret");
+
+        assertEquals("secret", value);
+        assertTrue(coldStartMetrics.getPhases().containsKey(SECRET_FETCH));
+    }
+
+    @Test
+    void shouldRecordAPhaseThatFails() {
+        var coldStartMetrics = new ColdStartMetrics();
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        coldStartMetrics.time(
+                                SECRET_FETCH,
+                                () -> {
+                                    throw new IllegalStateException("secret unavailable");
+                                }));
+
+        assertTrue(coldStartMetrics.getPhases().containsKey(SECRET_FETCH));
+    }
+
+    @Test
+    void shouldAccumulateRepeatedPhases() {
+        var coldStartMetrics = new ColdStartMetrics();
+
+        coldStartMetrics.record(DYNAMODB_CLIENT, 40L);
+        coldStartMetrics.record(DYNAMODB_CLIENT, 2L);
+
+        assertEquals(42L, coldStartMetrics.getPhases().get(DYNAMODB_CLIENT));
+    }
+
+    @Test
+    void shouldEmitEveryPhaseWithTheColdStartDimension() {
+        var coldStartMetrics = new ColdStartMetrics();
+        coldStartMetrics.record(SECRET_FETCH, 120L);
+        coldStartMetrics.record(DYNAMODB_CLIENT, 80L);
+
+        coldStartMetrics.emit(mockMetricsLogger);
+
+        verify(mockMetricsLogger).putDimensions(any(DimensionSet.class));
+        verify(mockMetricsLogger).putMetric("init_secret_fetch", 120L, Unit.MILLISECONDS);
+        verify(mockMetricsLogger).putMetric("init_dynamodb_client", 80L, Unit.MILLISECONDS);
+    }
+}
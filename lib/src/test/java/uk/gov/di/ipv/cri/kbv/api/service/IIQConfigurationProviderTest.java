@@ -0,0 +1,92 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.service.ConfigurationService;
+import uk.gov.di.ipv.cri.kbv.api.domain.IIQConfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider.IIQ_DATABASE_MODE_PARAM_NAME;
+import static uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider.IIQ_OPERATOR_ID_PARAM_NAME;
+import static uk.gov.di.ipv.cri.kbv.api.service.IIQConfigurationProvider.IIQ_STRATEGY_PARAM_NAME;
+
+@ExtendWith(MockitoExtension.class)
+class IIQConfigurationProviderTest {
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(5);
+    @Mock private ConfigurationService mockConfigurationService;
+    private final AtomicLong nanoTime = new AtomicLong();
+    private IIQConfigurationProvider iiqConfigurationProvider;
+
+    @BeforeEach
+    void setUp() {
+        iiqConfigurationProvider =
+                new IIQConfigurationProvider(
+                        mockConfigurationService, REFRESH_INTERVAL, Runnable::run, nanoTime::get);
+    }
+
+    @Test
+    void shouldLoadTheConfigurationOnceAndServeLaterReadsFromMemory() {
+        stubParameters("3 out of 4");
+
+        iiqConfigurationProvider.get();
+        IIQConfiguration iiqConfiguration = iiqConfigurationProvider.get();
+
+        assertEquals("3 out of 4", iiqConfiguration.getStrategy());
+        assertEquals("operator-id", iiqConfiguration.getOperatorId());
+        assertEquals("Static", iiqConfiguration.getDatabaseMode());
+        verify(mockConfigurationService).getParameterValue(IIQ_STRATEGY_PARAM_NAME);
+    }
+
+    @Test
+    void shouldRefreshInTheBackgroundOnceTheIntervalHasPassed() {
+        stubParameters("3 out of 4");
+        iiqConfigurationProvider.get();
+        when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
+                .thenReturn("2 out of 3");
+
+        nanoTime.addAndGet(REFRESH_INTERVAL.toNanos() + TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals("3 out of 4", iiqConfigurationProvider.get().getStrategy());
+        assertEquals("2 out of 3", iiqConfigurationProvider.get().getStrategy());
+        verify(mockConfigurationService, times(2)).getParameterValue(IIQ_STRATEGY_PARAM_NAME);
+    }
+
+    @Test
+    void shouldKeepServingTheLastGoodValueWhenSsmThrottles() {
+        stubParameters("3 out of 4");
+        iiqConfigurationProvider.get();
+        when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
+                .thenThrow(new IllegalStateException("Rate exceeded"));
+
+        iiqConfigurationProvider.refresh();
+
+        assertEquals("3 out of 4", iiqConfigurationProvider.get().getStrategy());
+    }
+
+    @Test
+    void shouldNotLoadTheConfigurationWhenRefreshedBeforeFirstUse() {
+        iiqConfigurationProvider.refresh();
+
+        verifyNoInteractions(mockConfigurationService);
+    }
+
+    private void stubParameters(String strategy) {
+        when(mockConfigurationService.getParameterValue(IIQ_STRATEGY_PARAM_NAME))
+                .thenReturn(strategy);
+        when(mockConfigurationService.getParameterValue(IIQ_OPERATOR_ID_PARAM_NAME))
+                .thenReturn("operator-id");
+        when(mockConfigurationService.getParameterValue(IIQ_DATABASE_MODE_PARAM_NAME))
+                .thenReturn("Static");
+    }
+}
@@ -0,0 +1,196 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.persistence.item.SessionItem;
+import uk.gov.di.ipv.cri.common.library.service.SessionService;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItemUpdate;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+import uk.gov.di.ipv.cri.kbv.api.service.JourneyContext.Attribute;
+import uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JourneyContextServiceTest {
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private final RequestDeadline deadline = RequestDeadline.fromRemainingTime(30_000);
+    @Mock private SessionService mockSessionService;
+    @Mock private KBVStorageService mockKBVStorageService;
+    @Mock private QuestionStateCodec mockQuestionStateCodec;
+    @Mock private SessionItem mockSessionItem;
+    @Captor private ArgumentCaptor<KBVItemUpdate> itemUpdateCaptor;
+    private JourneyContextService journeyContextService;
+
+    @BeforeEach
+    void setUp() {
+        journeyContextService =
+                new JourneyContextService(
+                        mockSessionService, mockKBVStorageService, mockQuestionStateCodec);
+    }
+
+    @Test
+    void shouldLoadTheSessionAndKbvItemOnceAndParseTheQuestionStateLazily() throws IOException {
+        KBVItem kbvItem = new KBVItem();
+        kbvItem.setSessionId(SESSION_ID);
+        QuestionState questionState = new QuestionState();
+        when(mockSessionService.validateSessionId(SESSION_ID.toString()))
+                .thenReturn(mockSessionItem);
+        when(mockKBVStorageService.getKBVItem(SESSION_ID, deadline)).thenReturn(kbvItem);
+
+        JourneyContext journeyContext = journeyContextService.load(SESSION_ID.toString(), deadline);
+
+        assertSame(mockSessionItem, journeyContext.getSessionItem());
+        assertSame(kbvItem, journeyContext.getKbvItem());
+        assertTrue(journeyContext.isStored());
+        verify(mockQuestionStateCodec, never()).read(any());
+
+        when(mockQuestionStateCodec.read(kbvItem)).thenReturn(questionState);
+        assertSame(questionState, journeyContext.getQuestionState());
+        assertSame(questionState, journeyContext.getQuestionState());
+        verify(mockQuestionStateCodec).read(kbvItem);
+    }
+
+    @Test
+    void shouldStartANewJourneyWithoutParsingWhenThereIsNoKbvItem() throws IOException {
+        JourneyContext journeyContext = journeyContextService.load(SESSION_ID.toString(), deadline);
+
+        assertEquals(SESSION_ID, journeyContext.getSessionId());
+        assertTrue(journeyContext.getQuestionState().getQaPairs().isEmpty());
+        assertFalse(journeyContext.isDirty());
+        assertFalse(journeyContext.isStored());
+        verifyNoInteractions(mockQuestionStateCodec);
+    }
+
+    @Test
+    void shouldOnlyEncodeTheQuestionStateWhenItChanged() throws IOException {
+        KBVItem kbvItem = new KBVItem();
+        JourneyContext journeyContext =
+                new JourneyContext(mockSessionItem, kbvItem, mockQuestionStateCodec);
+
+        kbvItem.setSessionId(SESSION_ID);
+        kbvItem.setExpiryDate(1_000L);
+        journeyContext.setStatus("Abandoned");
+        journeyContext.setControl("auth-ref-no", "urn");
+        journeyContextService.update(journeyContext, deadline);
+
+        verify(mockKBVStorageService).updateAttributes(itemUpdateCaptor.capture(), eq(deadline));
+        KBVItemUpdate itemUpdate = itemUpdateCaptor.getValue();
+        assertEquals(SESSION_ID, itemUpdate.getSessionId());
+        assertEquals("Abandoned", itemUpdate.getStatus());
+        assertEquals("auth-ref-no", itemUpdate.getAuthRefNo());
+        assertEquals("urn", itemUpdate.getUrn());
+        assertNull(itemUpdate.getExpiryDate());
+        assertNull(itemUpdate.getQuestionStateData());
+        assertFalse(journeyContext.isDirty());
+        verifyNoInteractions(mockQuestionStateCodec);
+    }
+
+    @Test
+    void shouldTrackAndWriteChangesToTheQuestionState() throws IOException {
+        KBVItem kbvItem = new KBVItem();
+        QuestionState questionState = new QuestionState();
+        KBVQuestion question = new KBVQuestion();
+        question.setQuestionID("Q00015");
+        QuestionAnswer questionAnswer = new QuestionAnswer();
+        questionAnswer.setQuestionId("Q00015");
+        questionAnswer.setAnswer("UP TO 10,000");
+        when(mockQuestionStateCodec.read(kbvItem)).thenReturn(questionState);
+        JourneyContext journeyContext =
+                new JourneyContext(mockSessionItem, kbvItem, mockQuestionStateCodec);
+
+        journeyContext.setQuestions(List.of(question));
+        journeyContext.setAnswer(questionAnswer);
+        journeyContext.setExpiryDate(1_000L);
+
+        assertEquals(
+                Set.of(Attribute.QUESTION_STATE, Attribute.EXPIRY_DATE),
+                journeyContext.getDirtyAttributes());
+        journeyContextService.save(journeyContext, deadline);
+
+        assertEquals("UP TO 10,000", questionState.getQaPairs().get(0).getAnswer());
+        verify(mockQuestionStateCodec).write(kbvItem, questionState);
+        verify(mockKBVStorageService).save(kbvItem, deadline);
+    }
+
+    @Test
+    void shouldTreatANewJourneyAsStoredOnceSaved() throws IOException {
+        JourneyContext journeyContext = journeyContextService.load(SESSION_ID.toString(), deadline);
+        journeyContext.setControl("auth-ref-no", "urn");
+
+        journeyContextService.save(journeyContext, deadline);
+
+        assertTrue(journeyContext.isStored());
+        verify(mockKBVStorageService).save(journeyContext.getKbvItem(), deadline);
+    }
+
+    @Test
+    void shouldPersistTheAnswerWhenTheRequestFailsAfterItWasRecorded() throws IOException {
+        KBVItem kbvItem = new KBVItem();
+        QuestionState questionState = new QuestionState();
+        when(mockQuestionStateCodec.read(kbvItem)).thenReturn(questionState);
+        JourneyContext journeyContext =
+                new JourneyContext(mockSessionItem, kbvItem, mockQuestionStateCodec);
+        journeyContext.setQuestions(List.of());
+        RuntimeException failure = new IllegalStateException("RTQ call failed");
+
+        journeyContextService.updateAfterFailure(journeyContext, failure);
+
+        assertFalse(journeyContext.isDirty());
+        verify(mockQuestionStateCodec).write(kbvItem, questionState);
+        verify(mockKBVStorageService).updateAttributes(any(KBVItemUpdate.class));
+    }
+
+    @Test
+    void shouldKeepTheOriginalFailureWhenTheAnswerCannotBePersisted() throws IOException {
+        KBVItem kbvItem = new KBVItem();
+        JourneyContext journeyContext =
+                new JourneyContext(mockSessionItem, kbvItem, mockQuestionStateCodec);
+        journeyContext.setStatus("Abandoned");
+        RuntimeException failure = new IllegalStateException("RTQ call failed");
+        RuntimeException writeFailure = new IllegalStateException("DynamoDB unavailable");
+        doThrow(writeFailure).when(mockKBVStorageService).updateAttributes(any());
+
+        journeyContextService.updateAfterFailure(journeyContext, failure);
+
+        assertSame(writeFailure, failure.getSuppressed()[0]);
+        assertTrue(journeyContext.isDirty());
+    }
+
+    @Test
+    void shouldNotWriteAnUnchangedJourney() throws IOException {
+        JourneyContext journeyContext =
+                new JourneyContext(mockSessionItem, new KBVItem(), mockQuestionStateCodec);
+
+        journeyContextService.save(journeyContext, deadline);
+        journeyContextService.update(journeyContext, deadline);
+        journeyContextService.updateAfterFailure(journeyContext, new IllegalStateException());
+
+        verifyNoInteractions(mockKBVStorageService, mockQuestionStateCodec);
+    }
+}
@@ -6,8 +6,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswerRequest;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionRequest;
 import uk.gov.di.ipv.cri.kbv.api.gateway.KBVGateway;
 import uk.gov.di.ipv.cri.kbv.api.gateway.QuestionsResponse;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -35,4 +39,16 @@ class KBVServiceTest {
         verify(mockKbvGateway).submitAnswers(mockQuestionAnswerRequest);
         assertEquals(answerResponseResult, result);
     }
+
+    @Test
+    void shouldDelegateAsyncQuestionRequestsToTheGateway() {
+        QuestionRequest questionRequest = mock(QuestionRequest.class);
+        CompletableFuture<QuestionsResponse> questionsResponse =
+                CompletableFuture.completedFuture(mock(QuestionsResponse.class));
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(30_000);
+        when(mockKbvGateway.getQuestionsAsync(questionRequest, deadline))
+                .thenReturn(questionsResponse);
+
+        assertEquals(questionsResponse, kbvService.getQuestionsAsync(questionRequest, deadline));
+    }
 }
@@ -0,0 +1,159 @@
+package uk.gov.di.ipv.cri.kbv.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import uk.gov.di.ipv.cri.common.library.persistence.DataStore;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItemUpdate;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KBVStorageServiceTest {
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private static final String TABLE_NAME = "kbv-table";
+    private static final Duration REMAINING_TIME = Duration.ofSeconds(30);
+    @Mock private DataStore<KBVItem> mockDataStore;
+    @Mock private DynamoDbClient mockDynamoDbClient;
+    @Captor private ArgumentCaptor<UpdateItemRequest> updateCaptor;
+    @Captor private ArgumentCaptor<GetItemRequest> getCaptor;
+    @Captor private ArgumentCaptor<PutItemRequest> putCaptor;
+    private KBVStorageService kbvStorageService;
+
+    @BeforeEach
+    void setUp() {
+        kbvStorageService = new KBVStorageService(mockDataStore, mockDynamoDbClient, TABLE_NAME);
+    }
+
+    @Test
+    void shouldOnlySetTheStatusOfAnExistingItem() {
+        kbvStorageService.updateStatus(SESSION_ID, "Abandoned");
+
+        verify(mockDynamoDbClient).updateItem(updateCaptor.capture());
+        UpdateItemRequest request = updateCaptor.getValue();
+        assertEquals(TABLE_NAME, request.tableName());
+        assertEquals(
+                Map.of("sessionId", AttributeValue.builder().s(SESSION_ID.toString()).build()),
+                request.key());
+        assertEquals("SET #status = :status", request.updateExpression());
+        assertEquals(Map.of("#status", "status"), request.expressionAttributeNames());
+        assertEquals(
+                Map.of(":status", AttributeValue.builder().s("Abandoned").build()),
+                request.expressionAttributeValues());
+        assertEquals(KBVStorageService.ITEM_EXISTS_CONDITION, request.conditionExpression());
+        verifyNoInteractions(mockDataStore);
+    }
+
+    @Test
+    void shouldOnlyRecordAnswersWhileTheJourneyIsInProgress() {
+        KBVItemUpdate itemUpdate = new KBVItemUpdate();
+        itemUpdate.setSessionId(SESSION_ID);
+        itemUpdate.setQuestionStateData(SdkBytes.fromByteArray(new byte[] {2, 0, 0, 0}));
+
+        kbvStorageService.updateAttributes(itemUpdate, deadline());
+
+        verify(mockDynamoDbClient).updateItem(updateCaptor.capture());
+        UpdateItemRequest request = updateCaptor.getValue();
+        assertEquals(
+                "SET #questionStateData = :questionStateData REMOVE #questionState",
+                request.updateExpression());
+        assertEquals("questionState", request.expressionAttributeNames().get("#questionState"));
+        assertEquals(
+                KBVStorageService.JOURNEY_IN_PROGRESS_CONDITION, request.conditionExpression());
+        assertEquals("status", request.expressionAttributeNames().get("#status"));
+        assertCallTimeoutIsCappedByTheDeadline(
+                request.overrideConfiguration().orElseThrow().apiCallTimeout().orElseThrow());
+    }
+
+    @Test
+    void shouldBoundTheItemReadByTheRequestDeadline() {
+        when(mockDynamoDbClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        assertNull(kbvStorageService.getKBVItem(SESSION_ID, deadline()));
+
+        verify(mockDynamoDbClient).getItem(getCaptor.capture());
+        GetItemRequest request = getCaptor.getValue();
+        assertEquals(TABLE_NAME, request.tableName());
+        assertEquals(SESSION_ID.toString(), request.key().get("sessionId").s());
+        assertCallTimeoutIsCappedByTheDeadline(
+                request.overrideConfiguration().orElseThrow().apiCallTimeout().orElseThrow());
+    }
+
+    @Test
+    void shouldBoundTheItemSaveByTheRequestDeadline() {
+        KBVItem kbvItem = new KBVItem();
+        kbvItem.setSessionId(SESSION_ID);
+        kbvItem.setStatus("Pending");
+
+        kbvStorageService.save(kbvItem, deadline());
+
+        verify(mockDynamoDbClient).putItem(putCaptor.capture());
+        PutItemRequest request = putCaptor.getValue();
+        assertEquals(SESSION_ID.toString(), request.item().get("sessionId").s());
+        assertEquals("Pending", request.item().get("status").s());
+        assertFalse(request.item().containsKey("questionState"));
+        assertCallTimeoutIsCappedByTheDeadline(
+                request.overrideConfiguration().orElseThrow().apiCallTimeout().orElseThrow());
+        verifyNoInteractions(mockDataStore);
+    }
+
+    @Test
+    void shouldReportACallTimeoutAsAnExceededDeadline() {
+        ApiCallTimeoutException timeout = ApiCallTimeoutException.create(1000);
+        when(mockDynamoDbClient.getItem(any(GetItemRequest.class))).thenThrow(timeout);
+
+        DeadlineExceededException exception =
+                assertThrows(
+                        DeadlineExceededException.class,
+                        () -> kbvStorageService.getKBVItem(SESSION_ID, deadline()));
+
+        assertEquals(timeout, exception.getCause());
+    }
+
+    @Test
+    void shouldNotUpdateAttributesWhenTheRequestDeadlineIsSpent() {
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(0);
+
+        assertThrows(
+                DeadlineExceededException.class,
+                () -> kbvStorageService.updateAttributes(new KBVItemUpdate(), deadline));
+        verifyNoInteractions(mockDynamoDbClient);
+    }
+
+    private static RequestDeadline deadline() {
+        return RequestDeadline.fromRemainingTime(REMAINING_TIME.toMillis());
+    }
+
+    private static void assertCallTimeoutIsCappedByTheDeadline(Duration apiCallTimeout) {
+        assertTrue(apiCallTimeout.compareTo(Duration.ZERO) > 0);
+        assertTrue(apiCallTimeout.compareTo(REMAINING_TIME) < 0);
+    }
+}
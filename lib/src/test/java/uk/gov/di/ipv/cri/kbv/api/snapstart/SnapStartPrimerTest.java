@@ -0,0 +1,64 @@
+package uk.gov.di.ipv.cri.kbv.api.snapstart;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.kbv.api.gateway.IdentityIQClient;
+import uk.gov.di.ipv.cri.kbv.api.util.JsonCodec;
+
+import javax.xml.ws.WebServiceException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SnapStartPrimerTest {
+    @Mock private JsonCodec mockJsonCodec;
+    @Mock private IdentityIQClient mockIdentityIQClient;
+    @Captor private ArgumentCaptor<SAARequest> saaRequestCaptor;
+    @Captor private ArgumentCaptor<RTQRequest> rtqRequestCaptor;
+
+    @Test
+    void shouldPrimeTheBindingsOfTheConfiguredIdentityIQClientWithStubbedData() {
+        new SnapStartPrimer(mockJsonCodec, mockIdentityIQClient).prime();
+
+        verify(mockIdentityIQClient)
+                .primeBindings(saaRequestCaptor.capture(), rtqRequestCaptor.capture());
+        assertEquals("priming-urn", saaRequestCaptor.getValue().getControl().getURN());
+        assertEquals(
+                "Q00000",
+                rtqRequestCaptor.getValue().getResponses().getResponse().get(0).getQuestionID());
+        verify(mockJsonCodec).warmUp();
+    }
+
+    @Test
+    void shouldWarmUpTheJsonCodecWhenPrimingTheBindingsFails() {
+        doThrow(new WebServiceException("priming failed"))
+                .when(mockIdentityIQClient)
+                .primeBindings(any(SAARequest.class), any(RTQRequest.class));
+
+        new SnapStartPrimer(mockJsonCodec, mockIdentityIQClient).prime();
+
+        verify(mockJsonCodec).warmUp();
+    }
+
+    @Test
+    void shouldNotAllowANullJsonCodec() {
+        assertThrows(
+                NullPointerException.class,
+                () -> new SnapStartPrimer(null, mockIdentityIQClient));
+    }
+
+    @Test
+    void shouldNotAllowANullIdentityIQClient() {
+        assertThrows(NullPointerException.class, () -> new SnapStartPrimer(mockJsonCodec, null));
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HttpIdentityIQClientTest {
+    private static final String ADDRESS = "https://iiq.example.com/IdentityIQWebService.asmx";
+    @Mock private SoapHttpClient mockSoapHttpClient;
+    @Mock private WaspTokenCache mockWaspTokenCache;
+    private HttpIdentityIQClient httpIdentityIQClient;
+
+    @BeforeEach
+    void setUp() {
+        httpIdentityIQClient =
+                new HttpIdentityIQClient(mockSoapHttpClient, ADDRESS, mockWaspTokenCache);
+    }
+
+    @Test
+    void shouldPrimeTheCodecWithoutFetchingATokenOrCallingExperian() {
+        var control = new Control();
+        control.setURN("priming-urn");
+        var saaRequest = new SAARequest();
+        saaRequest.setControl(control);
+        var rtqRequest = new RTQRequest();
+        rtqRequest.setControl(control);
+
+        assertDoesNotThrow(() -> httpIdentityIQClient.primeBindings(saaRequest, rtqRequest));
+        verifyNoInteractions(mockSoapHttpClient, mockWaspTokenCache);
+    }
+
+    @Test
+    void shouldExpireTheRejectedTokenWhenExperianReturnsAnAuthenticationFault() {
+        when(mockWaspTokenCache.getEncodedToken()).thenReturn("cmVqZWN0ZWQ=");
+        when(mockSoapHttpClient.call(
+                        eq(ADDRESS), eq(HttpIdentityIQClient.SAA_ACTION), any(), any()))
+                .thenThrow(new SoapFaultException("wsse:FailedAuthentication", "Rejected"));
+        var saaRequest = new SAARequest();
+
+        assertThrows(SoapFaultException.class, () -> httpIdentityIQClient.saa(saaRequest));
+        verify(mockWaspTokenCache).invalidate("cmVqZWN0ZWQ=");
+    }
+}
@@ -0,0 +1,207 @@
+package uk.gov.di.ipv.cri.kbv.api.soap;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Applicant;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicantDateOfBirth;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ApplicantName;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Response;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Responses;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityIQSoapCodecTest {
+    private static final String ENVELOPE_START =
+            "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>";
+    private static final String ENVELOPE_END = "</soap:Body></soap:Envelope>";
+    private final IdentityIQSoapCodec codec = new IdentityIQSoapCodec();
+
+    @Test
+    void shouldWriteTheSaaRequestWithTheWaspSecurityHeader() throws XMLStreamException {
+        SAARequest saaRequest = new SAARequest();
+        Control control = new Control();
+        control.setURN("urn-123");
+        control.setOperatorID("GDSCABINETUIIQ01U");
+        saaRequest.setControl(control);
+        Applicant applicant = new Applicant();
+        applicant.setApplicantIdentifier("1");
+        ApplicantName name = new ApplicantName();
+        name.setForename("Mary");
+        name.setSurname("Watson & Co");
+        applicant.setName(name);
+        ApplicantDateOfBirth dateOfBirth = new ApplicantDateOfBirth();
+        dateOfBirth.setCCYY(1932);
+        dateOfBirth.setMM(2);
+        dateOfBirth.setDD(25);
+        applicant.setDateOfBirth(dateOfBirth);
+        saaRequest.setApplicant(applicant);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        codec.writeSaaRequest(outputStream, saaRequest, "ZW5jb2RlZA==");
+
+        String request = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(request.contains("EncodingType=\"wsse:Base64Binary\""));
+        assertTrue(request.contains("ValueType=\"ExperianWASP\">ZW5jb2RlZA==</wsse:"));
+        assertTrue(
+                request.contains(
+                        "<SAA xmlns=\"" + IdentityIQSoapCodec.IIQ_NAMESPACE + "\"><sAARequest>"));
+        assertTrue(
+                request.contains(
+                        "<Applicant><ApplicantIdentifier>1</ApplicantIdentifier><Name>"
+                                + "<Forename>Mary</Forename><Surname>Watson &amp; Co</Surname>"
+                                + "</Name><DateOfBirth><CCYY>1932</CCYY><MM>2</MM><DD>25</DD>"
+                                + "</DateOfBirth></Applicant><Control><URN>urn-123</URN>"
+                                + "<OperatorID>GDSCABINETUIIQ01U</OperatorID></Control>"));
+    }
+
+    @Test
+    void shouldWriteTheRtqResponsesWithANilFlagWhenNoCustomerResponseWasGiven()
+            throws XMLStreamException {
+        Response response = new Response();
+        response.setQuestionID("Q00015");
+        response.setAnswerGiven("UP TO 10,000");
+        response.setAnswerActionFlag("U");
+        Responses responses = new Responses();
+        responses.getResponse().add(response);
+        RTQRequest rtqRequest = new RTQRequest();
+        rtqRequest.setResponses(responses);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        codec.writeRtqRequest(outputStream, rtqRequest, "ZW5jb2RlZA==");
+
+        String request = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(
+                request.contains(
+                        "<Response><QuestionID>Q00015</QuestionID>"
+                                + "<AnswerGiven>UP TO 10,000</AnswerGiven>"
+                                + "<CustResponseFlag xmlns:xsi="));
+        assertTrue(request.contains("xsi:nil=\"true\""));
+        assertTrue(request.contains("<AnswerActionFlag>U</AnswerActionFlag></Response>"));
+    }
+
+    @Test
+    void shouldReadTheQuestionsOfAnSaaResponse() throws XMLStreamException {
+        SAAResponse2 saaResponse =
+                codec.readSaaResponse(
+                        envelope(
+                                "<SAAResponse xmlns=\""
+                                        + IdentityIQSoapCodec.IIQ_NAMESPACE
+                                        + "\"><SAAResult><Control><URN>urn-123</URN>"
+                                        + "<AuthRefNo>7DCTVTQ9</AuthRefNo>"
+                                        + "<DateTime><Date>2026-01-01</Date></DateTime></Control>"
+                                        + "<Questions><Question><QuestionID>Q00015</QuestionID>"
+                                        + "<Text>What is the balance?</Text>"
+                                        + "<AnswerFormat><Identifier>A00004</Identifier>"
+                                        + "<FieldType>G</FieldType>"
+                                        + "<AnswerList>UP TO 10,000</AnswerList>"
+                                        + "<AnswerList>NONE OF THE ABOVE</AnswerList>"
+                                        + "</AnswerFormat></Question>"
+                                        + "<SkipsRemaining xsi:nil=\"true\" xmlns:xsi="
+                                        + "\"http://www.w3.org/2001/XMLSchema-instance\"/>"
+                                        + "</Questions><Results><Outcome>Authentication"
+                                        + " Questions returned</Outcome>"
+                                        + "<NextTransId><string>RTQ</string></NextTransId>"
+                                        + "</Results></SAAResult></SAAResponse>"));
+
+        assertEquals("urn-123", saaResponse.getControl().getURN());
+        assertEquals("7DCTVTQ9", saaResponse.getControl().getAuthRefNo());
+        Question question = saaResponse.getQuestions().getQuestion().get(0);
+        assertEquals("Q00015", question.getQuestionID());
+        assertEquals("What is the balance?", question.getText());
+        assertEquals("A00004", question.getAnswerFormat().getIdentifier());
+        assertEquals(
+                List.of("UP TO 10,000", "NONE OF THE ABOVE"),
+                question.getAnswerFormat().getAnswerList());
+        assertNull(saaResponse.getQuestions().getSkipsRemaining());
+        assertEquals("Authentication Questions returned", saaResponse.getResults().getOutcome());
+        assertEquals(List.of("RTQ"), saaResponse.getResults().getNextTransId().getString());
+        assertNull(saaResponse.getError());
+    }
+
+    @Test
+    void shouldReadTheResultsAndErrorOfAnRtqResponse() throws XMLStreamException {
+        RTQResponse2 rtqResponse =
+                codec.readRtqResponse(
+                        envelope(
+                                "<RTQResponse xmlns=\""
+                                        + IdentityIQSoapCodec.IIQ_NAMESPACE
+                                        + "\"><RTQResult><Unexpected><Nested/></Unexpected>"
+                                        + "<Results><AuthenticationResult>Authenticated"
+                                        + "</AuthenticationResult><Questions><Asked>3</Asked>"
+                                        + "<Correct>2</Correct><Incorrect>1</Incorrect>"
+                                        + "<Skipped>0</Skipped></Questions><Alerts><Alerts>"
+                                        + "<Code>U501</Code><Text>Applicant has previously"
+                                        + " requested authentication</Text></Alerts></Alerts>"
+                                        + "</Results><Error><ErrorCode>1022</ErrorCode>"
+                                        + "<Message>Invalid answer</Message></Error>"
+                                        + "</RTQResult></RTQResponse>"));
+
+        assertEquals("Authenticated", rtqResponse.getResults().getAuthenticationResult());
+        assertEquals(3, rtqResponse.getResults().getQuestions().getAsked());
+        assertEquals(2, rtqResponse.getResults().getQuestions().getCorrect());
+        assertEquals(1, rtqResponse.getResults().getQuestions().getIncorrect());
+        assertEquals("U501", rtqResponse.getResults().getAlerts().getAlerts().get(0).getCode());
+        assertEquals("1022", rtqResponse.getError().getErrorCode());
+        assertEquals("Invalid answer", rtqResponse.getError().getMessage());
+    }
+
+    @Test
+    void shouldThrowTheSoapFaultOfAFaultResponse() {
+        InputStream response =
+                envelope(
+                        "<soap:Fault><faultcode>soap:Client</faultcode>"
+                                + "<faultstring>Invalid authentication token</faultstring>"
+                                + "<detail/></soap:Fault>");
+
+        SoapFaultException exception =
+                assertThrows(SoapFaultException.class, () -> codec.readRtqResponse(response));
+
+        assertEquals("soap:Client", exception.getFaultCode());
+        assertEquals("Invalid authentication token", exception.getFaultString());
+    }
+
+    @Test
+    void shouldWriteTheLoginRequestAndReadTheToken() throws XMLStreamException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        codec.writeLoginRequest(outputStream, "GDS DI", true);
+        String token =
+                codec.readLoginResponse(
+                        envelope(
+                                "<LoginWithCertificateResponse xmlns=\""
+                                        + IdentityIQSoapCodec.WASP_NAMESPACE
+                                        + "\"><LoginWithCertificateResult>wasp-token"
+                                        + "</LoginWithCertificateResult>"
+                                        + "</LoginWithCertificateResponse>"));
+
+        String request = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(
+                request.contains(
+                        "<soap:Body><LoginWithCertificate xmlns=\""
+                                + IdentityIQSoapCodec.WASP_NAMESPACE
+                                + "\"><application>GDS DI</application>"
+                                + "<checkIP>true</checkIP></LoginWithCertificate>"));
+        assertEquals("wasp-token", token);
+    }
+
+    private static InputStream envelope(String body) {
+        return new ByteArrayInputStream(
+                (ENVELOPE_START + body + ENVELOPE_END).getBytes(StandardCharsets.UTF_8));
+    }
+}
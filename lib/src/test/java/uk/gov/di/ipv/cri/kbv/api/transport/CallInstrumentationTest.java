@@ -0,0 +1,117 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.apache.cxf.binding.soap.SoapFault;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudwatchlogs.emf.logger.MetricsLogger;
+import software.amazon.cloudwatchlogs.emf.model.DimensionSet;
+import software.amazon.cloudwatchlogs.emf.model.Unit;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.xml.namespace.QName;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CallInstrumentationTest {
+    private static final String SOAP_NAMESPACE =
+            "http://schema.uk.experian.com/Experian/IdentityIQ/Services/WebService";
+    @Mock private MetricsLogger mockMetricsLogger;
+    @Mock private BindingOperationInfo mockBindingOperationInfo;
+
+    @Test
+    void shouldStartTimingTheOperationOfTheExchange() {
+        when(mockBindingOperationInfo.getName()).thenReturn(new QName(SOAP_NAMESPACE, "RTQ"));
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(BindingOperationInfo.class, mockBindingOperationInfo);
+
+        CallTimings callTimings = new CallInstrumentation(() -> null).start(exchange);
+
+        assertEquals("RTQ", callTimings.getOperation());
+        assertNull(callTimings.getTraceEntity());
+        assertSame(callTimings, exchange.get(CallTimings.class));
+    }
+
+    @Test
+    void shouldEmitTheTimingsAndPayloadsOfACallWithLowCardinalityDimensions() {
+        CallTimings callTimings = new CallTimings("SAA", 0, 0, null);
+        callTimings.connectStarted(1_000_000);
+        callTimings.connectCompleted(21_000_000);
+        callTimings.handshakeCompleted(61_000_000);
+        callTimings.firstByteReceived(361_000_000);
+        callTimings.complete(400_000_000, CallInstrumentation.SUCCESS);
+        callTimings.payloadMeasured(2_048, 512, 4_096, 1_024);
+
+        new CallInstrumentation(() -> null).emit(mockMetricsLogger, callTimings);
+
+        verify(mockMetricsLogger).putDimensions(any(DimensionSet.class));
+        verify(mockMetricsLogger).putMetric("experian_connect_time", 20L, Unit.MILLISECONDS);
+        verify(mockMetricsLogger).putMetric("experian_tls_time", 40L, Unit.MILLISECONDS);
+        verify(mockMetricsLogger).putMetric("experian_time_to_first_byte", 361L, Unit.MILLISECONDS);
+        verify(mockMetricsLogger).putMetric("experian_total_time", 400L, Unit.MILLISECONDS);
+        verify(mockMetricsLogger).putMetric("experian_request_bytes", 2_048L, Unit.BYTES);
+        verify(mockMetricsLogger).putMetric("experian_request_wire_bytes", 512L, Unit.BYTES);
+        verify(mockMetricsLogger).putMetric("experian_response_bytes", 4_096L, Unit.BYTES);
+        verify(mockMetricsLogger).putMetric("experian_response_wire_bytes", 1_024L, Unit.BYTES);
+    }
+
+    @Test
+    void shouldOmitTimingsThatWereNotMeasuredOnAReusedConnection() {
+        CallTimings callTimings = new CallTimings("LoginWithCertificate", 0, 0, null);
+        callTimings.complete(5_000_000, CallInstrumentation.TIMEOUT);
+
+        new CallInstrumentation(() -> null).emit(mockMetricsLogger, callTimings);
+
+        verify(mockMetricsLogger).putMetric("experian_total_time", 5L, Unit.MILLISECONDS);
+        verify(mockMetricsLogger, never())
+                .putMetric(anyString(), eq((double) CallTimings.NOT_MEASURED), any(Unit.class));
+    }
+
+    @Test
+    void shouldOnlyCompleteACallOnce() {
+        CallTimings callTimings = new CallTimings("SAA", 0, 0, null);
+
+        callTimings.complete(1_000_000, CallInstrumentation.SOAP_FAULT);
+        callTimings.complete(2_000_000, CallInstrumentation.SUCCESS);
+
+        assertEquals(CallInstrumentation.SOAP_FAULT, callTimings.getFaultType());
+        assertEquals(1L, callTimings.getTotalMillis());
+    }
+
+    @Test
+    void shouldClassifyFailuresByTheirCause() {
+        assertEquals(
+                CallInstrumentation.TIMEOUT,
+                CallInstrumentation.classify(new Fault(new SocketTimeoutException("timed out"))));
+        assertEquals(
+                CallInstrumentation.CONNECT_FAILURE,
+                CallInstrumentation.classify(new Fault(new ConnectException("refused"))));
+        assertEquals(
+                CallInstrumentation.TLS_FAILURE,
+                CallInstrumentation.classify(new Fault(new SSLHandshakeException("bad cert"))));
+        assertEquals(
+                CallInstrumentation.SOAP_FAULT,
+                CallInstrumentation.classify(
+                        new SoapFault("1022", new QName(SOAP_NAMESPACE, "Client"))));
+        assertEquals(
+                CallInstrumentation.OTHER_FAILURE,
+                CallInstrumentation.classify(new IllegalStateException("unexpected")));
+    }
+}
@@ -0,0 +1,222 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebService;
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
+import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ConduitConfigurerTest {
+    private static final TransportProfile TRANSPORT_PROFILE =
+            new TransportProfile(3_000, 15_000, true, 32_768, 16, 1_800, true, true, 2_048);
+    private final AtomicInteger sslContextsCreated = new AtomicInteger();
+    private final TransportMetrics transportMetrics = new TransportMetrics(mock(EventProbe.class));
+    private SSLContext lastSslContext;
+
+    @Test
+    void shouldAttachTheSslSocketFactoryToThePortConduit() {
+        ConduitConfigurer conduitConfigurer = createConduitConfigurer();
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+
+        IdentityIQWebServiceSoap configuredPort = conduitConfigurer.configure(port);
+
+        HTTPConduit httpConduit = (HTTPConduit) ClientProxy.getClient(port).getConduit();
+        assertSame(port, configuredPort);
+        assertSame(
+                getSslSocketFactory(conduitConfigurer),
+                httpConduit.getTlsClientParameters().getSSLSocketFactory());
+    }
+
+    @Test
+    void shouldSwapTheSslContextInPlaceWhenRefreshed() {
+        ConduitConfigurer conduitConfigurer = createConduitConfigurer();
+        ReloadableSSLSocketFactory sslSocketFactory = getSslSocketFactory(conduitConfigurer);
+        SSLSocketFactory initialDelegate = sslSocketFactory.getDelegate();
+
+        conduitConfigurer.refresh();
+
+        assertEquals(2, sslContextsCreated.get());
+        assertNotSame(initialDelegate, sslSocketFactory.getDelegate());
+    }
+
+    @Test
+    void shouldApplyTheTransportProfileToThePortConduit() {
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+
+        createConduitConfigurer().configure(port);
+
+        HTTPClientPolicy clientPolicy =
+                ((HTTPConduit) ClientProxy.getClient(port).getConduit()).getClient();
+        assertEquals(ConnectionType.KEEP_ALIVE, clientPolicy.getConnection());
+        assertEquals(3_000, clientPolicy.getConnectionTimeout());
+        assertEquals(15_000, clientPolicy.getReceiveTimeout());
+        assertTrue(clientPolicy.isAllowChunking());
+        assertEquals(32_768, clientPolicy.getChunkingThreshold());
+    }
+
+    @Test
+    void shouldConfigureTheTlsSessionCacheOnEverySslContext() {
+        ConduitConfigurer conduitConfigurer = createConduitConfigurer();
+        conduitConfigurer.refresh();
+
+        assertEquals(16, lastSslContext.getClientSessionContext().getSessionCacheSize());
+        assertEquals(1_800, lastSslContext.getClientSessionContext().getSessionTimeout());
+    }
+
+    @Test
+    void shouldCountTheRequestsSentThroughThePort() {
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+
+        createConduitConfigurer().configure(port);
+        ClientProxy.getClient(port).getOutInterceptors().stream()
+                .filter(ConduitConfigurer.RequestCountingInterceptor.class::isInstance)
+                .forEach(interceptor -> interceptor.handleMessage(null));
+
+        assertEquals(1, transportMetrics.getRequests());
+    }
+
+    @Test
+    void shouldCapTheCallTimeoutsAtTheRemainingRequestDeadline() {
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+        createConduitConfigurer().configure(port);
+        Message message = new MessageImpl();
+        message.put(RequestDeadline.CONTEXT_KEY, RequestDeadline.fromRemainingTime(5_000));
+
+        ClientProxy.getClient(port).getOutInterceptors().stream()
+                .filter(ConduitConfigurer.DeadlineInterceptor.class::isInstance)
+                .map(ConduitConfigurer.DeadlineInterceptor.class::cast)
+                .forEach(interceptor -> interceptor.handleMessage(message));
+
+        assertEquals(3_000L, message.get(Message.CONNECTION_TIMEOUT));
+        assertTrue((Long) message.get(Message.RECEIVE_TIMEOUT) <= 4_000L);
+        assertTrue(ClientProxy.getClient(port).isThreadLocalRequestContext());
+    }
+
+    @Test
+    void shouldNegotiateGzipOnlyWhenCompressionIsConfigured() {
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+        ConduitConfigurer conduitConfigurer = createConduitConfigurer();
+
+        conduitConfigurer.configure(port);
+        assertTrue(
+                ClientProxy.getClient(port).getOutInterceptors().stream()
+                        .noneMatch(GZIPOutInterceptor.class::isInstance));
+        conduitConfigurer.configureCompression(port);
+
+        Client client = ClientProxy.getClient(port);
+        assertEquals(
+                "gzip", ((HTTPConduit) client.getConduit()).getClient().getAcceptEncoding());
+        assertEquals(
+                2_048,
+                client.getOutInterceptors().stream()
+                        .filter(GZIPOutInterceptor.class::isInstance)
+                        .map(GZIPOutInterceptor.class::cast)
+                        .findFirst()
+                        .orElseThrow()
+                        .getThreshold());
+        assertTrue(
+                client.getInInterceptors().stream().anyMatch(GZIPInInterceptor.class::isInstance));
+    }
+
+    @Test
+    void shouldInstrumentEveryConfiguredClient() {
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+
+        createConduitConfigurer().configure(port);
+
+        Client client = ClientProxy.getClient(port);
+        assertTrue(
+                client.getOutInterceptors().stream()
+                        .anyMatch(CallInstrumentation.CallStartInterceptor.class::isInstance));
+        assertTrue(
+                client.getOutInterceptors().stream()
+                        .anyMatch(
+                                PayloadSizeInterceptors.RequestSizeInterceptor.class::isInstance));
+        assertTrue(
+                client.getInInterceptors().stream()
+                        .anyMatch(CallInstrumentation.FirstByteInterceptor.class::isInstance));
+        assertTrue(
+                client.getInFaultInterceptors().stream()
+                        .anyMatch(CallInstrumentation.CallCompletedInterceptor.class::isInstance));
+    }
+
+    @Test
+    void shouldPrewarmAConnectionToTheEndpoint() throws IOException {
+        HttpServer httpServer =
+                HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        AtomicInteger requestsReceived = new AtomicInteger();
+        httpServer.createContext(
+                "/",
+                exchange -> {
+                    requestsReceived.incrementAndGet();
+                    exchange.sendResponseHeaders(200, -1);
+                    exchange.close();
+                });
+        httpServer.start();
+        try {
+            int statusCode =
+                    createConduitConfigurer()
+                            .prewarm(
+                                    "http://localhost:"
+                                            + httpServer.getAddress().getPort()
+                                            + "/IdentityIQWebService.asmx",
+                                    Duration.ofSeconds(1));
+
+            assertEquals(200, statusCode);
+            assertEquals(1, requestsReceived.get());
+        } finally {
+            httpServer.stop(0);
+        }
+    }
+
+    private ConduitConfigurer createConduitConfigurer() {
+        return new ConduitConfigurer(this::createSslContext, TRANSPORT_PROFILE, transportMetrics);
+    }
+
+    private SSLContext createSslContext() {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, null, null);
+            sslContextsCreated.incrementAndGet();
+            lastSslContext = sslContext;
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ReloadableSSLSocketFactory getSslSocketFactory(
+            ConduitConfigurer conduitConfigurer) {
+        IdentityIQWebServiceSoap port = new IdentityIQWebService().getIdentityIQWebServiceSoap();
+        conduitConfigurer.configure(port);
+        HTTPConduit httpConduit = (HTTPConduit) ClientProxy.getClient(port).getConduit();
+        return (ReloadableSSLSocketFactory)
+                httpConduit.getTlsClientParameters().getSSLSocketFactory();
+    }
+}
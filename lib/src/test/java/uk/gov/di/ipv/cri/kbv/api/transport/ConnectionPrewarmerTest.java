@@ -0,0 +1,84 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static uk.gov.di.ipv.cri.kbv.api.transport.ConnectionPrewarmer.ENABLED_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.ConnectionPrewarmer.TIMEOUT_ENV_VAR;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPrewarmerTest {
+    private static final String ADDRESS = "https://localhost/IdentityIQWebService.asmx";
+    @Mock private EventProbe mockEventProbe;
+
+    @Test
+    void shouldBeDisabledByDefault() {
+        ConnectionPrewarmer connectionPrewarmer =
+                ConnectionPrewarmer.from(name -> null, mockEventProbe);
+
+        boolean prewarmed =
+                connectionPrewarmer.prewarm(
+                        ADDRESS,
+                        (address, timeout) -> {
+                            throw new AssertionError("Should not connect");
+                        });
+
+        assertFalse(prewarmed);
+        assertEquals(Duration.ofSeconds(2), connectionPrewarmer.getTimeout());
+        verifyNoInteractions(mockEventProbe);
+    }
+
+    @Test
+    void shouldConnectWithinTheConfiguredTimeoutAndReportTheLatency() {
+        ConnectionPrewarmer connectionPrewarmer =
+                ConnectionPrewarmer.from(
+                        Map.of(ENABLED_ENV_VAR, "true", TIMEOUT_ENV_VAR, "750")::get,
+                        mockEventProbe);
+
+        boolean prewarmed =
+                connectionPrewarmer.prewarm(
+                        ADDRESS,
+                        (address, timeout) -> {
+                            assertEquals(ADDRESS, address);
+                            assertEquals(Duration.ofMillis(750), timeout);
+                            return 200;
+                        });
+
+        assertTrue(prewarmed);
+        verify(mockEventProbe).counterMetric(ConnectionPrewarmer.PREWARM_SUCCESS_METRIC);
+        verify(mockEventProbe)
+                .counterMetric(eq(ConnectionPrewarmer.PREWARM_LATENCY_METRIC), anyDouble());
+    }
+
+    @Test
+    void shouldReportAFailedConnectionWithoutThrowing() {
+        ConnectionPrewarmer connectionPrewarmer =
+                ConnectionPrewarmer.from(Map.of(ENABLED_ENV_VAR, "true")::get, mockEventProbe);
+
+        boolean prewarmed =
+                connectionPrewarmer.prewarm(
+                        ADDRESS,
+                        (address, timeout) -> {
+                            throw new ConnectException("Connection refused");
+                        });
+
+        assertFalse(prewarmed);
+        verify(mockEventProbe).counterMetric(ConnectionPrewarmer.PREWARM_FAILURE_METRIC);
+        verify(mockEventProbe, never()).counterMetric(ConnectionPrewarmer.PREWARM_SUCCESS_METRIC);
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportMetrics.CONNECTIONS_OPENED_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedSSLSocketFactoryTest {
+    @Mock private EventProbe mockEventProbe;
+
+    @Test
+    void shouldCountEveryConnectionOpenedThroughTheFactory()
+            throws IOException, GeneralSecurityException {
+        TransportMetrics transportMetrics = new TransportMetrics(mockEventProbe);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        InstrumentedSSLSocketFactory sslSocketFactory =
+                new InstrumentedSSLSocketFactory(sslContext.getSocketFactory(), transportMetrics);
+
+        try (ServerSocket serverSocket = new ServerSocket(0, 2, InetAddress.getLoopbackAddress());
+                Socket ignored = layer(sslSocketFactory, serverSocket);
+                Socket alsoIgnored = layer(sslSocketFactory, serverSocket)) {
+            assertEquals(2, transportMetrics.getConnectionsOpened());
+        }
+        verify(mockEventProbe, times(2)).counterMetric(CONNECTIONS_OPENED_METRIC);
+    }
+
+    @Test
+    void shouldTimeTheConnectOfAnUnconnectedSocketBeforeLayeringTls()
+            throws IOException, GeneralSecurityException {
+        TransportMetrics transportMetrics = new TransportMetrics(mockEventProbe);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        InstrumentedSSLSocketFactory sslSocketFactory =
+                new InstrumentedSSLSocketFactory(sslContext.getSocketFactory(), transportMetrics);
+        CallTimings callTimings = new CallTimings("SAA", 0, 0, null);
+        CallTimings.bind(callTimings);
+
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+                Socket socket = sslSocketFactory.createSocket()) {
+            assertFalse(socket.isConnected());
+            socket.connect(serverSocket.getLocalSocketAddress(), 1_000);
+            assertNotEquals(CallTimings.NOT_MEASURED, callTimings.getConnectMillis());
+            try (Socket layered =
+                    sslSocketFactory.createSocket(
+                            socket, "localhost", serverSocket.getLocalPort(), true)) {
+                assertInstanceOf(SSLSocket.class, layered);
+            }
+        } finally {
+            CallTimings.unbind();
+        }
+        assertEquals(1, transportMetrics.getConnectionsOpened());
+    }
+
+    @Test
+    void shouldReportConnectionsReusedAcrossRequests() {
+        TransportMetrics transportMetrics = new TransportMetrics(mockEventProbe);
+
+        transportMetrics.connectionOpened();
+        transportMetrics.requestSent();
+        transportMetrics.requestSent();
+        transportMetrics.requestSent();
+        transportMetrics.handshakeCompleted(false);
+
+        assertEquals(2, transportMetrics.getConnectionsReused());
+        assertEquals(1, transportMetrics.getFullHandshakes());
+        assertEquals(0, transportMetrics.getResumedHandshakes());
+    }
+
+    private static Socket layer(
+            InstrumentedSSLSocketFactory sslSocketFactory, ServerSocket serverSocket)
+            throws IOException {
+        Socket socket = new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+        return sslSocketFactory.createSocket(
+                socket, "localhost", serverSocket.getLocalPort(), true);
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.di.ipv.cri.kbv.api.transport.PayloadSizeInterceptors.REQUEST_BYTES_KEY;
+import static uk.gov.di.ipv.cri.kbv.api.transport.PayloadSizeInterceptors.REQUEST_WIRE_BYTES_KEY;
+import static uk.gov.di.ipv.cri.kbv.api.transport.PayloadSizeInterceptors.RESPONSE_BYTES_KEY;
+import static uk.gov.di.ipv.cri.kbv.api.transport.PayloadSizeInterceptors.RESPONSE_WIRE_BYTES_KEY;
+
+class PayloadSizeInterceptorsTest {
+    private Exchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        exchange = new ExchangeImpl();
+    }
+
+    @Test
+    void shouldMeasureTheUncompressedAndWireSizesOfTheOperation() throws IOException {
+        byte[] request = createPayload("Question");
+        byte[] response = createPayload("AnswerFormat");
+
+        ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        Message outMessage = createMessage();
+        outMessage.setContent(OutputStream.class, wire);
+        new PayloadSizeInterceptors.RequestSizeInterceptor(REQUEST_WIRE_BYTES_KEY)
+                .handleMessage(outMessage);
+        outMessage.setContent(
+                OutputStream.class,
+                new GZIPOutputStream(outMessage.getContent(OutputStream.class)));
+        new PayloadSizeInterceptors.RequestSizeInterceptor(REQUEST_BYTES_KEY)
+                .handleMessage(outMessage);
+        try (OutputStream outputStream = outMessage.getContent(OutputStream.class)) {
+            outputStream.write(request);
+        }
+
+        byte[] compressedResponse = gzip(response);
+        Message inMessage = createMessage();
+        inMessage.setContent(InputStream.class, new ByteArrayInputStream(compressedResponse));
+        new PayloadSizeInterceptors.ResponseSizeInterceptor(RESPONSE_WIRE_BYTES_KEY)
+                .handleMessage(inMessage);
+        inMessage.setContent(
+                InputStream.class, new GZIPInputStream(inMessage.getContent(InputStream.class)));
+        new PayloadSizeInterceptors.ResponseSizeInterceptor(RESPONSE_BYTES_KEY)
+                .handleMessage(inMessage);
+        assertArrayEquals(response, inMessage.getContent(InputStream.class).readAllBytes());
+
+        assertTrue(wire.size() < request.length);
+        assertEquals(request.length, PayloadSizeInterceptors.getBytes(exchange, REQUEST_BYTES_KEY));
+        assertEquals(
+                wire.size(), PayloadSizeInterceptors.getBytes(exchange, REQUEST_WIRE_BYTES_KEY));
+        assertEquals(
+                response.length, PayloadSizeInterceptors.getBytes(exchange, RESPONSE_BYTES_KEY));
+        assertEquals(
+                compressedResponse.length,
+                PayloadSizeInterceptors.getBytes(exchange, RESPONSE_WIRE_BYTES_KEY));
+    }
+
+    @Test
+    void shouldReportPayloadsThatWereNotMeasured() {
+        assertEquals(
+                CallTimings.NOT_MEASURED,
+                PayloadSizeInterceptors.getBytes(exchange, REQUEST_BYTES_KEY));
+        assertEquals(
+                CallTimings.NOT_MEASURED,
+                PayloadSizeInterceptors.getBytes(exchange, RESPONSE_WIRE_BYTES_KEY));
+    }
+
+    private Message createMessage() {
+        Message message = new MessageImpl();
+        message.setExchange(exchange);
+        return message;
+    }
+
+    private static byte[] createPayload(String element) {
+        String fragment = "<" + element + ">tooltip</" + element + ">";
+        return ("<Envelope>" + fragment.repeat(200) + "</Envelope>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(payload);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+package uk.gov.di.ipv.cri.kbv.api.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.ALLOW_CHUNKING_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.CHUNKING_THRESHOLD_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.CONNECTION_TIMEOUT_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.GZIP_REQUESTS_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.GZIP_RESPONSES_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.GZIP_THRESHOLD_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.RECEIVE_TIMEOUT_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.TLS_SESSION_CACHE_SIZE_ENV_VAR;
+import static uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile.TLS_SESSION_TIMEOUT_ENV_VAR;
+
+class TransportProfileTest {
+    @Test
+    void shouldUseTheDefaultsWhenNothingIsConfigured() {
+        TransportProfile transportProfile = TransportProfile.from(name -> null);
+
+        assertEquals(5_000, transportProfile.getConnectionTimeoutMillis());
+        assertEquals(20_000, transportProfile.getReceiveTimeoutMillis());
+        assertTrue(transportProfile.isAllowChunking());
+        assertEquals(65_536, transportProfile.getChunkingThresholdBytes());
+        assertEquals(64, transportProfile.getTlsSessionCacheSize());
+        assertEquals(3_600, transportProfile.getTlsSessionTimeoutSeconds());
+        assertFalse(transportProfile.isGzipRequests());
+        assertFalse(transportProfile.isGzipResponses());
+        assertEquals(1_024, transportProfile.getGzipThresholdBytes());
+    }
+
+    @Test
+    void shouldReadTheProfileFromTheEnvironment() {
+        Map<String, String> environment =
+                Map.of(
+                        CONNECTION_TIMEOUT_ENV_VAR,
+                        "2000",
+                        RECEIVE_TIMEOUT_ENV_VAR,
+                        "10000",
+                        ALLOW_CHUNKING_ENV_VAR,
+                        "false",
+                        CHUNKING_THRESHOLD_ENV_VAR,
+                        "1024",
+                        TLS_SESSION_CACHE_SIZE_ENV_VAR,
+                        "8",
+                        TLS_SESSION_TIMEOUT_ENV_VAR,
+                        " 600 ",
+                        GZIP_REQUESTS_ENV_VAR,
+                        "true",
+                        GZIP_RESPONSES_ENV_VAR,
+                        "true",
+                        GZIP_THRESHOLD_ENV_VAR,
+                        "4096");
+
+        TransportProfile transportProfile = TransportProfile.from(environment::get);
+
+        assertEquals(2_000, transportProfile.getConnectionTimeoutMillis());
+        assertEquals(10_000, transportProfile.getReceiveTimeoutMillis());
+        assertFalse(transportProfile.isAllowChunking());
+        assertEquals(1_024, transportProfile.getChunkingThresholdBytes());
+        assertEquals(8, transportProfile.getTlsSessionCacheSize());
+        assertEquals(600, transportProfile.getTlsSessionTimeoutSeconds());
+        assertTrue(transportProfile.isGzipRequests());
+        assertTrue(transportProfile.isGzipResponses());
+        assertEquals(4_096, transportProfile.getGzipThresholdBytes());
+    }
+}
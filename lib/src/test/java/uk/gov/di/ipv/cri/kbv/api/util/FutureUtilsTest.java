@@ -0,0 +1,53 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FutureUtilsTest {
+    private static final RequestDeadline DEADLINE = RequestDeadline.fromRemainingTime(30_000);
+
+    @Test
+    void shouldReturnTheValueOfACompletedFuture() {
+        assertEquals(
+                "value", FutureUtils.join(CompletableFuture.completedFuture("value"), DEADLINE));
+    }
+
+    @Test
+    void shouldRethrowARuntimeExceptionCauseUnwrapped() {
+        IllegalArgumentException cause = new IllegalArgumentException("bad request");
+        CompletableFuture<String> future =
+                CompletableFuture.<String>failedFuture(cause).thenApply(String::trim);
+
+        assertSame(
+                cause,
+                assertThrows(
+                        IllegalArgumentException.class, () -> FutureUtils.join(future, DEADLINE)));
+    }
+
+    @Test
+    void shouldWrapACheckedExceptionCause() {
+        IOException cause = new IOException("connection reset");
+        CompletableFuture<String> future =
+                CompletableFuture.<String>failedFuture(cause).thenApply(String::trim);
+
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class, () -> FutureUtils.join(future, DEADLINE));
+
+        assertSame(cause, exception.getCause());
+    }
+
+    @Test
+    void shouldStopWaitingAtTheRequestDeadline() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        RequestDeadline deadline = RequestDeadline.fromRemainingTime(0);
+
+        assertThrows(DeadlineExceededException.class, () -> FutureUtils.join(future, deadline));
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.Evidence;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldRoundTripQuestionState(boolean blackbirdEnabled) throws JsonProcessingException {
+        var jsonCodec = new JsonCodec(blackbirdEnabled);
+        var questionState = new QuestionState();
+        questionState.setQAPairs(createQuestions());
+
+        var restored = jsonCodec.readQuestionState(jsonCodec.writeQuestionState(questionState));
+
+        assertEquals("Q00015", restored.getQaPairs().get(0).getQuestion().getQuestionID());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadSubmittedAnswer(boolean blackbirdEnabled) throws JsonProcessingException {
+        var jsonCodec = new JsonCodec(blackbirdEnabled);
+
+        var answer =
+                jsonCodec.readQuestionAnswer("{\"questionId\":\"Q00015\",\"answer\":\"ABC\"}");
+
+        assertEquals("Q00015", answer.getQuestionId());
+        assertEquals("ABC", answer.getAnswer());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldConvertEvidenceToMap(boolean blackbirdEnabled) {
+        var jsonCodec = new JsonCodec(blackbirdEnabled);
+        var evidence = new Evidence();
+        evidence.setTxn("some-txn");
+        evidence.setVerificationScore(2);
+
+        var evidenceMap = jsonCodec.toMap(evidence);
+
+        assertEquals("some-txn", evidenceMap.get("txn"));
+        assertEquals(2, evidenceMap.get("verificationScore"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldWarmUpWithoutThrowing(boolean blackbirdEnabled) {
+        var jsonCodec = new JsonCodec(blackbirdEnabled);
+
+        assertDoesNotThrow(jsonCodec::warmUp);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldThrowWhenQuestionStateIsMalformed(boolean blackbirdEnabled) {
+        var jsonCodec = new JsonCodec(blackbirdEnabled);
+
+        assertThrows(
+                JsonProcessingException.class, () -> jsonCodec.readQuestionState("{not-json"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldReadLegacyQuestionStateHoldingFullExperianQuestions(boolean blackbirdEnabled)
+            throws JsonProcessingException {
+        var jsonCodec = new JsonCodec(blackbirdEnabled);
+        var legacyJson =
+                "{\"qaPairs\":[{\"question\":{\"questionID\":\"Q00015\","
+                        + "\"text\":\"What is the first line of your address?\","
+                        + "\"tooltip\":null,\"answerFormat\":{\"identifier\":\"A00004\","
+                        + "\"fieldType\":\"G\",\"answerList\":[\"ABC\"]},"
+                        + "\"answerHeldFlag\":null},\"answer\":null}],"
+                        + "\"answers\":[{\"questionId\":\"Q00015\",\"answer\":null}],"
+                        + "\"nextQuestion\":{\"empty\":false,\"present\":true}}";
+
+        var restored = jsonCodec.readQuestionState(legacyJson);
+
+        var question = restored.getNextQuestion().orElseThrow();
+        assertEquals("Q00015", question.getQuestionID());
+        assertEquals(List.of("ABC"), question.getAnswerFormat().getAnswerList());
+    }
+
+    private static List<KBVQuestion> createQuestions() {
+        var answerFormat = new AnswerFormat();
+        answerFormat.setIdentifier("A00004");
+        answerFormat.setFieldType("G");
+        answerFormat.getAnswerList().add("ABC");
+
+        var question = new KBVQuestion();
+        question.setQuestionID("Q00015");
+        question.setText("What is the first line of your address?");
+        question.setAnswerFormat(answerFormat);
+        return List.of(question);
+    }
+}
@@ -0,0 +1,81 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelInitializerTest {
+    private ParallelInitializer parallelInitializer;
+
+    @BeforeEach
+    void setUp() {
+        parallelInitializer = new ParallelInitializer();
+    }
+
+    @Test
+    void shouldBuildIndependentComponentsConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        var first = parallelInitializer.submit("first", () -> awaitOther(bothStarted, "one"));
+        var second = parallelInitializer.submit("second", () -> awaitOther(bothStarted, "two"));
+
+        Map<String, Long> timings = parallelInitializer.join();
+
+        assertEquals("one", first.get());
+        assertEquals("two", second.get());
+        assertTrue(timings.containsKey("first"));
+        assertTrue(timings.containsKey("second"));
+    }
+
+    @Test
+    void shouldBuildDependentComponentFromItsDependency() {
+        var dependency = parallelInitializer.submit("dependency", () -> "value");
+        var dependent =
+                parallelInitializer.submit("dependent", dependency, value -> value + "-wrapped");
+
+        parallelInitializer.join();
+
+        assertEquals("value-wrapped", dependent.get());
+        assertEquals(2, parallelInitializer.getTimings().size());
+    }
+
+    @Test
+    void shouldRethrowTheOriginalExceptionWhenAComponentFails() {
+        parallelInitializer.submit(
+                "failing",
+                () -> {
+                    throw new IllegalArgumentException("bad config");
+                });
+
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> parallelInitializer.join());
+
+        assertEquals("bad config", exception.getMessage());
+    }
+
+    @Test
+    void shouldNotAllowTheSameComponentToBeSubmittedTwice() {
+        parallelInitializer.submit("component", () -> "one");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> parallelInitializer.submit("component", () -> "two"));
+    }
+
+    private static String awaitOther(CountDownLatch latch, String value) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,196 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.common.library.util.EventProbe;
+import uk.gov.di.ipv.cri.kbv.api.domain.AnswerFormat;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVItem;
+import uk.gov.di.ipv.cri.kbv.api.domain.KBVQuestion;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionAnswer;
+import uk.gov.di.ipv.cri.kbv.api.domain.QuestionState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static uk.gov.di.ipv.cri.kbv.api.util.QuestionStateCodec.COMPRESSION_THRESHOLD_ENV_VAR;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionStateCodecTest {
+    private final JsonCodec jsonCodec = new JsonCodec(false);
+    @Mock private EventProbe mockEventProbe;
+
+    @Test
+    void shouldRoundTripQuestionStateWithAnswers() throws IOException {
+        QuestionStateCodec codec = new QuestionStateCodec(jsonCodec, 1_024, mockEventProbe);
+
+        byte[] encoded = codec.encode(createQuestionState());
+        QuestionState restored = codec.decode(encoded);
+
+        assertEquals(QuestionStateCodec.VERSION, encoded[0]);
+        assertEquals(0, encoded[1]);
+        assertRestored(restored);
+    }
+
+    @Test
+    void shouldCompressQuestionStateAboveTheThreshold() throws IOException {
+        QuestionStateCodec codec = new QuestionStateCodec(jsonCodec, 0, mockEventProbe);
+
+        byte[] encoded = codec.encode(createQuestionState());
+
+        assertEquals(QuestionStateCodec.COMPRESSED, encoded[1]);
+        assertRestored(codec.decode(encoded));
+    }
+
+    @Test
+    void shouldBeSmallerThanTheLegacyJson() throws IOException {
+        QuestionStateCodec codec = QuestionStateCodec.from(name -> null, jsonCodec, mockEventProbe);
+        QuestionState questionState = createQuestionState();
+
+        byte[] encoded = codec.encode(questionState);
+
+        assertEquals(1_024, codec.getCompressionThreshold());
+        assertTrue(encoded.length < jsonCodec.writeQuestionState(questionState).length() / 2);
+    }
+
+    @Test
+    void shouldWriteTheBinaryAttributeAndDropTheLegacyJson() throws IOException {
+        QuestionStateCodec codec = new QuestionStateCodec(jsonCodec, 1_024, mockEventProbe);
+        KBVItem kbvItem = new KBVItem();
+        kbvItem.setQuestionState(jsonCodec.writeQuestionState(createQuestionState()));
+
+        codec.write(kbvItem, createQuestionState());
+
+        assertNull(kbvItem.getQuestionState());
+        assertRestored(codec.read(kbvItem));
+        verify(mockEventProbe)
+                .counterMetric(
+                        QuestionStateCodec.QUESTION_STATE_BYTES_METRIC,
+                        kbvItem.getQuestionStateData().asByteArray().length);
+    }
+
+    @Test
+    void shouldReadLegacyJsonQuestionState() throws IOException {
+        QuestionStateCodec codec = new QuestionStateCodec(jsonCodec, 1_024, mockEventProbe);
+        KBVItem kbvItem = new KBVItem();
+        kbvItem.setQuestionState(jsonCodec.writeQuestionState(createQuestionState()));
+
+        assertRestored(codec.read(kbvItem));
+        verify(mockEventProbe).counterMetric(QuestionStateCodec.LEGACY_READ_METRIC);
+    }
+
+    @Test
+    void shouldReadAnEmptyQuestionStateWhenNoneIsStored() throws IOException {
+        QuestionStateCodec codec =
+                QuestionStateCodec.from(
+                        Map.of(COMPRESSION_THRESHOLD_ENV_VAR, "512")::get,
+                        jsonCodec,
+                        mockEventProbe);
+
+        QuestionState questionState = codec.read(new KBVItem());
+
+        assertEquals(512, codec.getCompressionThreshold());
+        assertTrue(questionState.getQaPairs().isEmpty());
+        verifyNoInteractions(mockEventProbe);
+    }
+
+    @Test
+    void shouldDecodeTheFirstVersionThatHeldTheAnswerHeldFlag() throws IOException {
+        QuestionStateCodec codec = new QuestionStateCodec(jsonCodec, 1_024, mockEventProbe);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        encoded.write(QuestionStateCodec.VERSION_WITH_ANSWER_HELD_FLAG);
+        encoded.write(0);
+        try (DataOutputStream output = new DataOutputStream(encoded)) {
+            output.writeShort(1);
+            writeString(output, "Q00015");
+            writeString(output, "What is the outstanding balance of your mortgage?");
+            writeString(output, null);
+            writeString(output, "N");
+            output.writeBoolean(false);
+            writeString(output, "UP TO 10,000");
+        }
+
+        QuestionState questionState = codec.decode(encoded.toByteArray());
+
+        KBVQuestion question = questionState.getQaPairs().get(0).getQuestion();
+        assertEquals("Q00015", question.getQuestionID());
+        assertNull(question.getAnswerFormat());
+        assertEquals("UP TO 10,000", questionState.getQaPairs().get(0).getAnswer());
+    }
+
+    @Test
+    void shouldRejectAnUnsupportedVersion() {
+        QuestionStateCodec codec = new QuestionStateCodec(jsonCodec, 1_024, mockEventProbe);
+
+        IOException exception =
+                assertThrows(IOException.class, () -> codec.decode(new byte[] {9, 0, 0, 0}));
+
+        assertEquals("Unsupported question state version 9", exception.getMessage());
+    }
+
+    private static void assertRestored(QuestionState questionState) {
+        assertEquals(2, questionState.getQaPairs().size());
+        KBVQuestion answered = questionState.getQaPairs().get(0).getQuestion();
+        assertEquals("Q00015", answered.getQuestionID());
+        assertEquals("What is the outstanding balance of your mortgage?", answered.getText());
+        assertEquals("Think about your main mortgage", answered.getTooltip());
+        assertEquals("A00004", answered.getAnswerFormat().getIdentifier());
+        assertEquals("G", answered.getAnswerFormat().getFieldType());
+        assertEquals(
+                List.of("UP TO 10,000", "OVER 10,000 UP TO 35,000", "NONE OF THE ABOVE"),
+                answered.getAnswerFormat().getAnswerList());
+        assertEquals("UP TO 10,000", questionState.getQaPairs().get(0).getAnswer());
+        assertNull(questionState.getQaPairs().get(1).getQuestion().getTooltip());
+        assertEquals("Q00040", questionState.getNextQuestion().orElseThrow().getQuestionID());
+    }
+
+    private static QuestionState createQuestionState() {
+        QuestionAnswer questionAnswer = new QuestionAnswer();
+        questionAnswer.setQuestionId("Q00015");
+        questionAnswer.setAnswer("UP TO 10,000");
+
+        QuestionState questionState = new QuestionState();
+        questionState.setQAPairs(
+                List.of(
+                        createQuestion(
+                                "Q00015",
+                                "What is the outstanding balance of your mortgage?",
+                                "Think about your main mortgage"),
+                        createQuestion("Q00040", "Who is your mortgage provider?", null)));
+        questionState.setAnswer(questionAnswer);
+        return questionState;
+    }
+
+    private static KBVQuestion createQuestion(String questionId, String text, String tooltip) {
+        AnswerFormat answerFormat = new AnswerFormat();
+        answerFormat.setIdentifier("A00004");
+        answerFormat.setFieldType("G");
+        answerFormat
+                .getAnswerList()
+                .addAll(List.of("UP TO 10,000", "OVER 10,000 UP TO 35,000", "NONE OF THE ABOVE"));
+
+        KBVQuestion question = new KBVQuestion();
+        question.setQuestionID(questionId);
+        question.setText(text);
+        question.setTooltip(tooltip);
+        question.setAnswerFormat(answerFormat);
+        return question;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+}
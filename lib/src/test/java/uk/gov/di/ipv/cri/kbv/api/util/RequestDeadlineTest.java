@@ -0,0 +1,89 @@
+package uk.gov.di.ipv.cri.kbv.api.util;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.ipv.cri.kbv.api.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestDeadlineTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void shouldCountDownTheRemainingBudget() {
+        RequestDeadline deadline = new RequestDeadline(5_000, nanoTime::get);
+
+        advanceMillis(1_500);
+
+        assertEquals(3_500, deadline.getRemainingMillis());
+        assertTrue(deadline.hasRemaining(Duration.ofSeconds(3)));
+        assertFalse(deadline.hasRemaining(Duration.ofSeconds(4)));
+        assertFalse(deadline.isExpired());
+    }
+
+    @Test
+    void shouldCapCallTimeoutsAtTheRemainingBudget() {
+        RequestDeadline deadline = new RequestDeadline(5_000, nanoTime::get);
+
+        assertEquals(3_000, deadline.capTimeoutMillis(3_000));
+        assertEquals(5_000, deadline.capTimeoutMillis(20_000));
+    }
+
+    @Test
+    void shouldNeverReturnAnInfiniteTimeoutOnceExpired() {
+        RequestDeadline deadline = new RequestDeadline(1_000, nanoTime::get);
+
+        advanceMillis(2_000);
+
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.getRemainingMillis());
+        assertEquals(1, deadline.capTimeoutMillis(20_000));
+    }
+
+    @Test
+    void shouldFailFastWhenTheBudgetForAnOperationIsNotLeft() {
+        RequestDeadline deadline = new RequestDeadline(1_000, nanoTime::get);
+
+        assertDoesNotThrow(() -> deadline.ensureRemaining(Duration.ofMillis(500), "SAA call"));
+        advanceMillis(700);
+        DeadlineExceededException exception =
+                assertThrows(
+                        DeadlineExceededException.class,
+                        () -> deadline.ensureRemaining(Duration.ofMillis(500), "SAA call"));
+
+        assertEquals(
+                "SAA call needs 500 ms but only 300 ms of the request deadline remain",
+                exception.getMessage());
+    }
+
+    @Test
+    void shouldOnlyAttributeFailuresToTheDeadlineOnceItHasExpired() {
+        RequestDeadline deadline = new RequestDeadline(1_000, nanoTime::get);
+        IllegalStateException cause = new IllegalStateException("Read timed out");
+
+        assertSame(cause, deadline.describeFailure("RTQ call", cause));
+        advanceMillis(1_000);
+        Throwable failure = deadline.describeFailure("RTQ call", cause);
+
+        assertTrue(failure instanceof DeadlineExceededException);
+        assertEquals("RTQ call did not complete before the request deadline", failure.getMessage());
+        assertSame(cause, failure.getCause());
+    }
+
+    @Test
+    void shouldBeExpiredWhenTheLambdaHasLessTimeLeftThanTheSafetyMargin() {
+        assertTrue(RequestDeadline.fromRemainingTime(0).isExpired());
+    }
+
+    private void advanceMillis(long millis) {
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,219 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class ExperianStubServer implements AutoCloseable {
+    public static final String IIQ_PATH = "/IdentityIQWebService/IdentityIQWebService.asmx";
+    public static final String WASP_PATH = "/WASPAuthenticator/tokenService.asmx";
+    static final String PORT_ENV_VAR = "EXPERIAN_STUB_PORT";
+    private static final int DEFAULT_PORT = 8090;
+    private static final String GZIP_ENCODING = "gzip";
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final StubScenario stubScenario;
+    private final IdentityIQStub identityIQStub;
+    private final SoapCodec soapCodec = new SoapCodec();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+
+    private ExperianStubServer(HttpServer httpServer, StubScenario stubScenario) {
+        this.httpServer = httpServer;
+        this.stubScenario = stubScenario;
+        this.identityIQStub = new IdentityIQStub(stubScenario);
+        this.executorService = Executors.newCachedThreadPool(ExperianStubServer::newDaemonThread);
+        this.httpServer.setExecutor(executorService);
+        this.httpServer.createContext(IIQ_PATH, this::handle);
+        this.httpServer.createContext(WASP_PATH, this::handle);
+    }
+
+    public static ExperianStubServer start(InetSocketAddress address, StubScenario stubScenario)
+            throws IOException {
+        Objects.requireNonNull(stubScenario, "stubScenario must not be null");
+        ExperianStubServer stubServer =
+                new ExperianStubServer(HttpServer.create(address, 0), stubScenario);
+        stubServer.httpServer.start();
+        return stubServer;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String port = args.length > 0 ? args[0] : System.getenv(PORT_ENV_VAR);
+        ExperianStubServer stubServer =
+                start(new InetSocketAddress(getPort(port)), StubScenario.authenticated());
+        System.out.printf(
+                "Experian stub listening on %s and %s%n",
+                stubServer.getIdentityIQAddress(), stubServer.getWaspAddress());
+    }
+
+    public String getIdentityIQAddress() {
+        return getBaseAddress() + IIQ_PATH;
+    }
+
+    public String getWaspAddress() {
+        return getBaseAddress() + WASP_PATH;
+    }
+
+    public long getRequestCount(String operation) {
+        AtomicLong requestCount = requestCounts.get(operation);
+        return requestCount == null ? 0 : requestCount.get();
+    }
+
+    public int getActiveJourneys() {
+        return identityIQStub.getActiveJourneys();
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    private String getBaseAddress() {
+        InetSocketAddress address = httpServer.getAddress();
+        return "http://localhost:" + address.getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            SoapCodec.SoapRequest soapRequest;
+            try (InputStream requestBody = getRequestBody(exchange)) {
+                soapRequest = soapCodec.read(requestBody);
+            } catch (XMLStreamException | JAXBException e) {
+                respond(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, fault(e.getMessage()));
+                return;
+            }
+            String operation = soapRequest.getOperation();
+            requestCounts.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+            sleep(stubScenario.getLatency(operation).next());
+            byte[] response = createResponse(soapRequest);
+            if (response == null) {
+                respond(exchange, HttpURLConnection.HTTP_INTERNAL_ERROR, createFault(operation));
+                return;
+            }
+            respond(exchange, HttpURLConnection.HTTP_OK, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] createResponse(SoapCodec.SoapRequest soapRequest) throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            switch (soapRequest.getOperation()) {
+                case StubScenario.SAA:
+                    soapCodec.writeIdentityIQResponse(
+                            response,
+                            StubScenario.SAA,
+                            SAAResponse2.class,
+                            identityIQStub.saa(soapRequest.getPayload(SAARequest.class)));
+                    break;
+                case StubScenario.RTQ:
+                    soapCodec.writeIdentityIQResponse(
+                            response,
+                            StubScenario.RTQ,
+                            RTQResponse2.class,
+                            identityIQStub.rtq(soapRequest.getPayload(RTQRequest.class)));
+                    break;
+                case StubScenario.LOGIN_WITH_CERTIFICATE:
+                    if (stubScenario.getError(StubScenario.LOGIN_WITH_CERTIFICATE) != null) {
+                        return null;
+                    }
+                    soapCodec.writeLoginResponse(response, stubScenario.getWaspToken());
+                    break;
+                default:
+                    return null;
+            }
+        } catch (XMLStreamException | JAXBException e) {
+            throw new IOException("Unable to write the stub response", e);
+        }
+        return response.toByteArray();
+    }
+
+    private byte[] createFault(String operation) throws IOException {
+        StubScenario.StubError stubError = stubScenario.getError(operation);
+        if (stubError == null) {
+            return fault("Unsupported operation " + operation);
+        }
+        return fault(stubError.getErrorCode() + ": " + stubError.getMessage());
+    }
+
+    private byte[] fault(String faultString) throws IOException {
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try {
+            soapCodec.writeFault(response, String.valueOf(faultString));
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to write the stub fault", e);
+        }
+        return response.toByteArray();
+    }
+
+    private static int getPort(String port) {
+        if (port == null || port.isBlank()) {
+            return DEFAULT_PORT;
+        }
+        return Integer.parseInt(port.trim());
+    }
+
+    private static InputStream getRequestBody(HttpExchange exchange) throws IOException {
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (contentEncoding != null && contentEncoding.contains(GZIP_ENCODING)) {
+            return new GZIPInputStream(exchange.getRequestBody());
+        }
+        return exchange.getRequestBody();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/xml; charset=utf-8");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding == null || !acceptEncoding.contains(GZIP_ENCODING)) {
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Encoding", GZIP_ENCODING);
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream responseBody = new GZIPOutputStream(exchange.getResponseBody())) {
+            responseBody.write(body);
+        }
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero() || latency.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis(), (int) (latency.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "experian-stub");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
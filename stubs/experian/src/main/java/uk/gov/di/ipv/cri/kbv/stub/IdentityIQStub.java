@@ -0,0 +1,134 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.ArrayOfString;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Error;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Questions;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Results;
+import com.experian.uk.schema.experian.identityiq.services.webservice.ResultsQuestions;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdentityIQStub {
+    static final String QUESTIONS_RETURNED = "Authentication Questions returned";
+    static final String UNKNOWN_AUTH_REF_NO_ERROR = "1022";
+    private static final String NEXT_TRANSACTION = "RTQ";
+    private static final String END_TRANSACTION = "END";
+    private final StubScenario stubScenario;
+    private final Map<String, AtomicInteger> journeys = new ConcurrentHashMap<>();
+
+    IdentityIQStub(StubScenario stubScenario) {
+        this.stubScenario = Objects.requireNonNull(stubScenario, "stubScenario must not be null");
+    }
+
+    SAAResponse2 saa(SAARequest saaRequest) {
+        SAAResponse2 saaResponse = new SAAResponse2();
+        Control control = createControl(saaRequest.getControl(), generateAuthRefNo());
+        saaResponse.setControl(control);
+        StubScenario.StubError stubError = stubScenario.getError(StubScenario.SAA);
+        if (stubError != null) {
+            saaResponse.setError(createError(stubError.getErrorCode(), stubError.getMessage()));
+            return saaResponse;
+        }
+        AtomicInteger batchIndex = new AtomicInteger();
+        journeys.put(control.getAuthRefNo(), batchIndex);
+        saaResponse.setQuestions(nextQuestions(control.getAuthRefNo(), batchIndex));
+        saaResponse.setResults(createResults(saaResponse.getQuestions()));
+        return saaResponse;
+    }
+
+    RTQResponse2 rtq(RTQRequest rtqRequest) {
+        RTQResponse2 rtqResponse = new RTQResponse2();
+        Control requestControl = rtqRequest.getControl();
+        String authRefNo = requestControl == null ? null : requestControl.getAuthRefNo();
+        rtqResponse.setControl(createControl(requestControl, authRefNo));
+        StubScenario.StubError stubError = stubScenario.getError(StubScenario.RTQ);
+        if (stubError != null) {
+            rtqResponse.setError(createError(stubError.getErrorCode(), stubError.getMessage()));
+            return rtqResponse;
+        }
+        AtomicInteger batchIndex = authRefNo == null ? null : journeys.get(authRefNo);
+        if (batchIndex == null) {
+            rtqResponse.setError(
+                    createError(UNKNOWN_AUTH_REF_NO_ERROR, "Unknown authentication reference"));
+            return rtqResponse;
+        }
+        rtqResponse.setQuestions(nextQuestions(authRefNo, batchIndex));
+        rtqResponse.setResults(createResults(rtqResponse.getQuestions()));
+        return rtqResponse;
+    }
+
+    int getActiveJourneys() {
+        return journeys.size();
+    }
+
+    private Questions nextQuestions(String authRefNo, AtomicInteger batchIndex) {
+        List<List<Question>> questionBatches = stubScenario.getQuestionBatches();
+        int index = batchIndex.getAndIncrement();
+        if (index >= questionBatches.size()) {
+            journeys.remove(authRefNo);
+            return null;
+        }
+        Questions questions = new Questions();
+        questions.getQuestion().addAll(questionBatches.get(index));
+        questions.setSkipsRemaining(0);
+        return questions;
+    }
+
+    private Results createResults(Questions questions) {
+        Results results = new Results();
+        ArrayOfString nextTransId = new ArrayOfString();
+        if (questions != null) {
+            results.setOutcome(QUESTIONS_RETURNED);
+            nextTransId.getString().add(NEXT_TRANSACTION);
+        } else {
+            StubScenario.Outcome outcome = stubScenario.getOutcome();
+            results.setOutcome(outcome.getDescription());
+            results.setAuthenticationResult(outcome.getAuthenticationResult());
+            results.setQuestions(createResultsQuestions(outcome));
+            nextTransId.getString().add(END_TRANSACTION);
+        }
+        results.setNextTransId(nextTransId);
+        return results;
+    }
+
+    private ResultsQuestions createResultsQuestions(StubScenario.Outcome outcome) {
+        int asked = stubScenario.getQuestionBatches().stream().mapToInt(List::size).sum();
+        ResultsQuestions resultsQuestions = new ResultsQuestions();
+        resultsQuestions.setAsked(asked);
+        resultsQuestions.setCorrect(outcome == StubScenario.Outcome.AUTHENTICATED ? asked : 0);
+        resultsQuestions.setIncorrect(outcome == StubScenario.Outcome.AUTHENTICATED ? 0 : asked);
+        resultsQuestions.setSkipped(0);
+        return resultsQuestions;
+    }
+
+    private static Control createControl(Control requestControl, String authRefNo) {
+        Control control = new Control();
+        if (requestControl != null) {
+            control.setURN(requestControl.getURN());
+        }
+        control.setAuthRefNo(authRefNo);
+        return control;
+    }
+
+    private static Error createError(String errorCode, String message) {
+        Error error = new Error();
+        error.setErrorCode(errorCode);
+        error.setMessage(message);
+        return error;
+    }
+
+    private static String generateAuthRefNo() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase();
+    }
+}
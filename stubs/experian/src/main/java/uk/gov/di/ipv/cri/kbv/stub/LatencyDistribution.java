@@ -0,0 +1,49 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public interface LatencyDistribution {
+    Duration next();
+
+    static LatencyDistribution none() {
+        return () -> Duration.ZERO;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        Objects.requireNonNull(latency, "latency must not be null");
+        return () -> latency;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        return uniform(min, max, ThreadLocalRandom::current);
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max, Supplier<Random> random) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        if (maxNanos < minNanos) {
+            throw new IllegalArgumentException("max must not be less than min");
+        }
+        return () ->
+                Duration.ofNanos(
+                        minNanos + (long) (random.get().nextDouble() * (maxNanos - minNanos)));
+    }
+
+    static LatencyDistribution logNormal(Duration median, double sigma) {
+        return logNormal(median, sigma, ThreadLocalRandom::current);
+    }
+
+    static LatencyDistribution logNormal(Duration median, double sigma, Supplier<Random> random) {
+        if (sigma < 0) {
+            throw new IllegalArgumentException("sigma must not be negative");
+        }
+        double medianNanos = median.toNanos();
+        return () ->
+                Duration.ofNanos(
+                        (long) (medianNanos * Math.exp(sigma * random.get().nextGaussian())));
+    }
+}
@@ -0,0 +1,159 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.ObjectFactory;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+class SoapCodec {
+    static final String SOAP_NAMESPACE = "http://schemas.xmlsoap.org/soap/envelope/";
+    static final String IIQ_NAMESPACE =
+            "http://schema.uk.experian.com/Experian/IdentityIQ/Services/WebService";
+    static final String WASP_NAMESPACE = "http://www.uk.experian.com/WASP/";
+    private final JAXBContext jaxbContext;
+    private final XMLInputFactory xmlInputFactory;
+    private final XMLOutputFactory xmlOutputFactory;
+
+    SoapCodec() {
+        try {
+            this.jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Unable to create the IdentityIQ JAXB context", e);
+        }
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.xmlOutputFactory = XMLOutputFactory.newFactory();
+    }
+
+    SoapRequest read(InputStream inputStream) throws XMLStreamException, JAXBException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+        try {
+            advanceTo(reader, SOAP_NAMESPACE, "Body");
+            reader.nextTag();
+            String operation = reader.getLocalName();
+            int event = reader.nextTag();
+            Object payload = null;
+            if (event == XMLStreamReader.START_ELEMENT) {
+                Class<?> payloadType = getPayloadType(operation);
+                if (payloadType != null) {
+                    payload =
+                            jaxbContext
+                                    .createUnmarshaller()
+                                    .unmarshal(reader, payloadType)
+                                    .getValue();
+                }
+            }
+            return new SoapRequest(operation, payload);
+        } finally {
+            reader.close();
+        }
+    }
+
+    <T> void writeIdentityIQResponse(
+            OutputStream outputStream, String operation, Class<T> resultType, T result)
+            throws XMLStreamException, JAXBException {
+        XMLStreamWriter writer = startEnvelope(outputStream);
+        writer.writeStartElement("", operation + "Response", IIQ_NAMESPACE);
+        writer.writeDefaultNamespace(IIQ_NAMESPACE);
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        QName resultName = new QName(IIQ_NAMESPACE, operation + "Result");
+        marshaller.marshal(new JAXBElement<>(resultName, resultType, result), writer);
+        endEnvelope(writer);
+    }
+
+    void writeLoginResponse(OutputStream outputStream, String token) throws XMLStreamException {
+        XMLStreamWriter writer = startEnvelope(outputStream);
+        writer.writeStartElement("", "LoginWithCertificateResponse", WASP_NAMESPACE);
+        writer.writeDefaultNamespace(WASP_NAMESPACE);
+        writer.writeStartElement("", "LoginWithCertificateResult", WASP_NAMESPACE);
+        writer.writeCharacters(token);
+        writer.writeEndElement();
+        endEnvelope(writer);
+    }
+
+    void writeFault(OutputStream outputStream, String faultString) throws XMLStreamException {
+        XMLStreamWriter writer = startEnvelope(outputStream);
+        writer.writeStartElement("soap", "Fault", SOAP_NAMESPACE);
+        writer.writeStartElement("faultcode");
+        writer.writeCharacters("soap:Client");
+        writer.writeEndElement();
+        writer.writeStartElement("faultstring");
+        writer.writeCharacters(faultString);
+        writer.writeEndElement();
+        endEnvelope(writer);
+    }
+
+    private XMLStreamWriter startEnvelope(OutputStream outputStream) throws XMLStreamException {
+        XMLStreamWriter writer =
+                xmlOutputFactory.createXMLStreamWriter(
+                        outputStream, StandardCharsets.UTF_8.name());
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        writer.writeStartElement("soap", "Envelope", SOAP_NAMESPACE);
+        writer.writeNamespace("soap", SOAP_NAMESPACE);
+        writer.writeStartElement("soap", "Body", SOAP_NAMESPACE);
+        return writer;
+    }
+
+    private static void endEnvelope(XMLStreamWriter writer) throws XMLStreamException {
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+    }
+
+    private static Class<?> getPayloadType(String operation) {
+        switch (operation) {
+            case StubScenario.SAA:
+                return SAARequest.class;
+            case StubScenario.RTQ:
+                return RTQRequest.class;
+            default:
+                return null;
+        }
+    }
+
+    private static void advanceTo(XMLStreamReader reader, String namespace, String localName)
+            throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamReader.START_ELEMENT
+                    && namespace.equals(reader.getNamespaceURI())
+                    && localName.equals(reader.getLocalName())) {
+                return;
+            }
+        }
+        throw new XMLStreamException("No " + localName + " element in the SOAP envelope");
+    }
+
+    static class SoapRequest {
+        private final String operation;
+        private final Object payload;
+
+        SoapRequest(String operation, Object payload) {
+            this.operation = operation;
+            this.payload = payload;
+        }
+
+        String getOperation() {
+            return operation;
+        }
+
+        <T> T getPayload(Class<T> payloadType) {
+            return payloadType.isInstance(payload) ? payloadType.cast(payload) : null;
+        }
+    }
+}
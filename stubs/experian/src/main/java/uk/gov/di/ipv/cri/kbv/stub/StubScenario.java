@@ -0,0 +1,166 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.AnswerFormat;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class StubScenario {
+    public static final String SAA = "SAA";
+    public static final String RTQ = "RTQ";
+    public static final String LOGIN_WITH_CERTIFICATE = "LoginWithCertificate";
+    private final List<List<Question>> questionBatches;
+    private final Outcome outcome;
+    private final Map<String, StubError> errors;
+    private final Map<String, LatencyDistribution> latencies;
+    private final String waspToken;
+
+    private StubScenario(Builder builder) {
+        this.questionBatches = List.copyOf(builder.questionBatches);
+        this.outcome = builder.outcome;
+        this.errors = Map.copyOf(builder.errors);
+        this.latencies = Map.copyOf(builder.latencies);
+        this.waspToken = builder.waspToken;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static StubScenario authenticated() {
+        return builder()
+                .questionBatch(createQuestions("Q00015", "Q00040"))
+                .questionBatch(createQuestions("Q00016", "Q00041"))
+                .outcome(Outcome.AUTHENTICATED)
+                .build();
+    }
+
+    public static List<Question> createQuestions(String... questionIds) {
+        List<Question> questions = new ArrayList<>();
+        for (String questionId : questionIds) {
+            AnswerFormat answerFormat = new AnswerFormat();
+            answerFormat.setIdentifier("A00004");
+            answerFormat.setFieldType("G");
+            answerFormat
+                    .getAnswerList()
+                    .addAll(
+                            List.of(
+                                    "UP TO £10,000",
+                                    "OVER £35,000 UP TO £60,000",
+                                    "OVER £60,000 UP TO £85,000",
+                                    "NONE OF THE ABOVE / DOES NOT APPLY"));
+            Question question = new Question();
+            question.setQuestionID(questionId);
+            question.setText("What is the outstanding balance of your current mortgage?");
+            question.setTooltip(
+                    "If you have more than one mortgage, choose the balance of any of them.");
+            question.setAnswerFormat(answerFormat);
+            question.setAnswerHeldFlag("N");
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    public List<List<Question>> getQuestionBatches() {
+        return questionBatches;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public StubError getError(String operation) {
+        return errors.get(operation);
+    }
+
+    public LatencyDistribution getLatency(String operation) {
+        return latencies.getOrDefault(operation, LatencyDistribution.none());
+    }
+
+    public String getWaspToken() {
+        return waspToken;
+    }
+
+    public enum Outcome {
+        AUTHENTICATED("Authenticated", "Authentication successful"),
+        NOT_AUTHENTICATED("Not Authenticated", "Authentication unsuccessful");
+
+        private final String authenticationResult;
+        private final String description;
+
+        Outcome(String authenticationResult, String description) {
+            this.authenticationResult = authenticationResult;
+            this.description = description;
+        }
+
+        public String getAuthenticationResult() {
+            return authenticationResult;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public static class StubError {
+        private final String errorCode;
+        private final String message;
+
+        public StubError(String errorCode, String message) {
+            this.errorCode = Objects.requireNonNull(errorCode, "errorCode must not be null");
+            this.message = message;
+        }
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    public static class Builder {
+        private final List<List<Question>> questionBatches = new ArrayList<>();
+        private final Map<String, StubError> errors = new HashMap<>();
+        private final Map<String, LatencyDistribution> latencies = new HashMap<>();
+        private Outcome outcome = Outcome.AUTHENTICATED;
+        private String waspToken = "stub-wasp-token";
+
+        private Builder() {}
+
+        public Builder questionBatch(List<Question> questions) {
+            questionBatches.add(List.copyOf(questions));
+            return this;
+        }
+
+        public Builder outcome(Outcome outcome) {
+            this.outcome = Objects.requireNonNull(outcome, "outcome must not be null");
+            return this;
+        }
+
+        public Builder error(String operation, String errorCode, String message) {
+            errors.put(operation, new StubError(errorCode, message));
+            return this;
+        }
+
+        public Builder latency(String operation, LatencyDistribution latency) {
+            latencies.put(
+                    operation, Objects.requireNonNull(latency, "latency must not be null"));
+            return this;
+        }
+
+        public Builder waspToken(String waspToken) {
+            this.waspToken = Objects.requireNonNull(waspToken, "waspToken must not be null");
+            return this;
+        }
+
+        public StubScenario build() {
+            return new StubScenario(this);
+        }
+    }
+}
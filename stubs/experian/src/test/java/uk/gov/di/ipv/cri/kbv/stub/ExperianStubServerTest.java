@@ -0,0 +1,198 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import com.experian.uk.schema.experian.identityiq.services.webservice.Control;
+import com.experian.uk.schema.experian.identityiq.services.webservice.IdentityIQWebServiceSoap;
+import com.experian.uk.schema.experian.identityiq.services.webservice.Question;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQRequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.RTQResponse2;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAARequest;
+import com.experian.uk.schema.experian.identityiq.services.webservice.SAAResponse2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.ipv.cri.kbv.api.security.ExperianSecrets;
+import uk.gov.di.ipv.cri.kbv.api.security.KBVClientFactory;
+import uk.gov.di.ipv.cri.kbv.api.security.SoapToken;
+import uk.gov.di.ipv.cri.kbv.api.security.WaspTokenCache;
+import uk.gov.di.ipv.cri.kbv.api.soap.HttpIdentityIQClient;
+import uk.gov.di.ipv.cri.kbv.api.soap.HttpTokenService;
+import uk.gov.di.ipv.cri.kbv.api.soap.SoapHttpClient;
+import uk.gov.di.ipv.cri.kbv.api.transport.TransportProfile;
+import uk.gov.di.ipv.cri.kbv.api.util.RequestDeadline;
+
+import javax.net.ssl.SSLContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExperianStubServerTest {
+    @Mock private ExperianSecrets mockExperianSecrets;
+    @Mock private WaspTokenCache mockWaspTokenCache;
+    private ExperianStubServer experianStubServer;
+
+    @AfterEach
+    void tearDown() {
+        if (experianStubServer != null) {
+            experianStubServer.close();
+        }
+    }
+
+    @Test
+    void shouldServeEachQuestionBatchAndThenTheScriptedOutcome() throws IOException {
+        IdentityIQWebServiceSoap client =
+                createIdentityIQClient(
+                        StubScenario.builder()
+                                .questionBatch(StubScenario.createQuestions("Q1", "Q2"))
+                                .questionBatch(StubScenario.createQuestions("Q3"))
+                                .outcome(StubScenario.Outcome.NOT_AUTHENTICATED)
+                                .build());
+
+        SAAResponse2 saaResponse = client.saa(createSaaRequest());
+        RTQResponse2 secondBatch = client.rtq(createRtqRequest(saaResponse.getControl()));
+        RTQResponse2 result = client.rtq(createRtqRequest(saaResponse.getControl()));
+
+        assertEquals("urn", saaResponse.getControl().getURN());
+        assertEquals(2, saaResponse.getQuestions().getQuestion().size());
+        assertEquals(List.of("RTQ"), saaResponse.getResults().getNextTransId().getString());
+        assertEquals("Q3", secondBatch.getQuestions().getQuestion().get(0).getQuestionID());
+        assertNull(result.getQuestions());
+        assertEquals("Not Authenticated", result.getResults().getAuthenticationResult());
+        assertEquals(List.of("END"), result.getResults().getNextTransId().getString());
+        assertEquals(1, experianStubServer.getRequestCount(StubScenario.SAA));
+        assertEquals(2, experianStubServer.getRequestCount(StubScenario.RTQ));
+        assertEquals(0, experianStubServer.getActiveJourneys());
+    }
+
+    @Test
+    void shouldReturnTheScriptedErrorCode() throws IOException {
+        IdentityIQWebServiceSoap client =
+                createIdentityIQClient(
+                        StubScenario.builder()
+                                .error(StubScenario.SAA, "1024", "Invalid applicant")
+                                .build());
+
+        SAAResponse2 saaResponse = client.saa(createSaaRequest());
+
+        assertNotNull(saaResponse.getControl().getAuthRefNo());
+        assertEquals("1024", saaResponse.getError().getErrorCode());
+        assertEquals("Invalid applicant", saaResponse.getError().getMessage());
+        assertNull(saaResponse.getQuestions());
+    }
+
+    @Test
+    void shouldIssueTheScriptedWaspToken() throws IOException {
+        startStubServer(StubScenario.builder().waspToken("scripted-token").build());
+        when(mockExperianSecrets.getSecretValue(ExperianSecrets.IIQ_WASP_SERVICE))
+                .thenReturn(experianStubServer.getWaspAddress());
+
+        SoapToken soapToken =
+                new SoapToken(
+                        "GDS DI",
+                        true,
+                        new KBVClientFactory(mockExperianSecrets).createTokenClient());
+
+        assertEquals("scripted-token", soapToken.getToken());
+        assertEquals(1, experianStubServer.getRequestCount(StubScenario.LOGIN_WITH_CERTIFICATE));
+    }
+
+    @Test
+    void shouldDecodeTheSameResponsesThroughTheLightweightHttpClient() throws Exception {
+        startStubServer(
+                StubScenario.builder()
+                        .questionBatch(StubScenario.createQuestions("Q1", "Q2"))
+                        .outcome(StubScenario.Outcome.AUTHENTICATED)
+                        .waspToken("scripted-token")
+                        .build());
+        when(mockWaspTokenCache.getEncodedToken()).thenReturn("c3R1Yi13YXNwLXRva2Vu");
+        when(mockWaspTokenCache.getEncodedToken(any(RequestDeadline.class)))
+                .thenReturn("c3R1Yi13YXNwLXRva2Vu");
+        SoapHttpClient soapHttpClient =
+                new SoapHttpClient(
+                        ExperianStubServerTest::createSslContext,
+                        new TransportProfile(1_000, 5_000, true, 65_536, 8, 60, true, true, 0));
+        HttpIdentityIQClient client =
+                new HttpIdentityIQClient(
+                        soapHttpClient,
+                        experianStubServer.getIdentityIQAddress(),
+                        mockWaspTokenCache);
+
+        SAAResponse2 saaResponse = client.saa(createSaaRequest());
+        RTQResponse2 result =
+                client.rtqAsync(
+                                createRtqRequest(saaResponse.getControl()),
+                                RequestDeadline.fromRemainingTime(10_000))
+                        .get(5, TimeUnit.SECONDS);
+        String token =
+                new HttpTokenService(soapHttpClient, experianStubServer.getWaspAddress())
+                        .loginWithCertificate("GDS DI", true);
+
+        assertEquals("urn", saaResponse.getControl().getURN());
+        assertEquals(
+                List.of("Q1", "Q2"),
+                saaResponse.getQuestions().getQuestion().stream()
+                        .map(Question::getQuestionID)
+                        .collect(Collectors.toList()));
+        assertEquals(List.of("RTQ"), saaResponse.getResults().getNextTransId().getString());
+        assertNull(result.getQuestions());
+        assertEquals("Authenticated", result.getResults().getAuthenticationResult());
+        assertEquals(2, result.getResults().getQuestions().getCorrect());
+        assertEquals(List.of("END"), result.getResults().getNextTransId().getString());
+        assertEquals("scripted-token", token);
+        assertEquals(0, experianStubServer.getActiveJourneys());
+    }
+
+    private IdentityIQWebServiceSoap createIdentityIQClient(StubScenario stubScenario)
+            throws IOException {
+        startStubServer(stubScenario);
+        when(mockExperianSecrets.getSecretValue(ExperianSecrets.IIQ_WEBSERVICE))
+                .thenReturn(experianStubServer.getIdentityIQAddress());
+        when(mockWaspTokenCache.getEncodedToken()).thenReturn("c3R1Yi13YXNwLXRva2Vu");
+        return new KBVClientFactory(mockExperianSecrets).createClient(mockWaspTokenCache);
+    }
+
+    private void startStubServer(StubScenario stubScenario) throws IOException {
+        experianStubServer =
+                ExperianStubServer.start(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                        stubScenario);
+    }
+
+    private static SSLContext createSslContext() {
+        try {
+            return SSLContext.getDefault();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SAARequest createSaaRequest() {
+        Control control = new Control();
+        control.setURN("urn");
+        SAARequest saaRequest = new SAARequest();
+        saaRequest.setControl(control);
+        return saaRequest;
+    }
+
+    private static RTQRequest createRtqRequest(Control saaControl) {
+        Control control = new Control();
+        control.setURN(saaControl.getURN());
+        control.setAuthRefNo(saaControl.getAuthRefNo());
+        RTQRequest rtqRequest = new RTQRequest();
+        rtqRequest.setControl(control);
+        return rtqRequest;
+    }
+}
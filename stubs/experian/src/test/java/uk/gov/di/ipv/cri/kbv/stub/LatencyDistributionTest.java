@@ -0,0 +1,49 @@
+package uk.gov.di.ipv.cri.kbv.stub;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyDistributionTest {
+    @Test
+    void shouldAlwaysReturnTheFixedLatency() {
+        LatencyDistribution latencyDistribution = LatencyDistribution.fixed(Duration.ofMillis(250));
+
+        assertEquals(Duration.ofMillis(250), latencyDistribution.next());
+        assertEquals(Duration.ofMillis(250), latencyDistribution.next());
+    }
+
+    @Test
+    void shouldKeepUniformLatenciesWithinTheBounds() {
+        Random random = new Random(42);
+        LatencyDistribution latencyDistribution =
+                LatencyDistribution.uniform(
+                        Duration.ofMillis(100), Duration.ofMillis(200), () -> random);
+
+        for (int i = 0; i < 1_000; i++) {
+            Duration latency = latencyDistribution.next();
+            assertTrue(latency.compareTo(Duration.ofMillis(100)) >= 0);
+            assertTrue(latency.compareTo(Duration.ofMillis(200)) <= 0);
+        }
+    }
+
+    @Test
+    void shouldReturnTheMedianWhenTheLogNormalSpreadIsZero() {
+        LatencyDistribution latencyDistribution =
+                LatencyDistribution.logNormal(Duration.ofMillis(300), 0, () -> new Random(7));
+
+        assertEquals(Duration.ofMillis(300), latencyDistribution.next());
+    }
+
+    @Test
+    void shouldRejectAnInvertedUniformRange() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> LatencyDistribution.uniform(Duration.ofMillis(200), Duration.ofMillis(100)));
+    }
+}